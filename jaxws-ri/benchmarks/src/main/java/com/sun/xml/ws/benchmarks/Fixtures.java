@@ -0,0 +1,143 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.benchmarks;
+
+import com.sun.xml.ws.api.BindingID;
+import com.sun.xml.ws.api.server.DocumentAddressResolver;
+import com.sun.xml.ws.api.server.SDDocument;
+import com.sun.xml.ws.api.server.ServiceDefinition;
+import com.sun.xml.ws.api.server.WSEndpoint;
+import com.sun.xml.ws.binding.BindingImpl;
+import org.xml.sax.EntityResolver;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.namespace.QName;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Messages and endpoints shared by the benchmarks.
+ */
+final class Fixtures {
+    static final String NS = "http://benchmarks.ws.xml.sun.com/";
+    static final String WSA_NS = "http://www.w3.org/2005/08/addressing";
+    static final String SOAP11_CONTENT_TYPE = "text/xml; charset=utf-8";
+
+    /**
+     * Discards SAX events, to consume a message without keeping it.
+     */
+    static final DefaultHandler DISCARD = new DefaultHandler();
+
+    private Fixtures() {
+    }
+
+    /**
+     * Name of the n-th application header of {@link #envelope(int)}.
+     */
+    static QName header(int n) {
+        return new QName(NS, "header" + n);
+    }
+
+    /**
+     * Creates a SOAP 1.1 request with the WS-Addressing headers, the given
+     * number of application headers and an {@code echo} payload.
+     */
+    static byte[] envelope(int headers) {
+        StringBuilder sb = new StringBuilder(1024);
+        sb.append("<S:Envelope xmlns:S=\"http://schemas.xmlsoap.org/soap/envelope/\">")
+          .append("<S:Header>")
+          .append("<To xmlns=\"").append(WSA_NS).append("\">http://localhost:8080/echo</To>")
+          .append("<Action xmlns=\"").append(WSA_NS).append("\">").append(NS).append("Echo/echoRequest</Action>")
+          .append("<ReplyTo xmlns=\"").append(WSA_NS).append("\"><Address>http://www.w3.org/2005/08/addressing/anonymous</Address></ReplyTo>")
+          .append("<MessageID xmlns=\"").append(WSA_NS).append("\">uuid:2f6a5c0e-4c8e-4d0e-9f4e-6a3b0c1d2e3f</MessageID>");
+        for (int i = 0; i < headers; i++) {
+            sb.append("<h:header").append(i).append(" xmlns:h=\"").append(NS).append("\">value ")
+              .append(i).append("</h:header").append(i).append('>');
+        }
+        sb.append("</S:Header>")
+          .append("<S:Body><ns2:echo xmlns:ns2=\"").append(NS).append("\"><arg0>hello, world</arg0></ns2:echo></S:Body>")
+          .append("</S:Envelope>");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Deploys {@link EchoServiceImpl} over SOAP 1.1/HTTP.
+     */
+    static WSEndpoint<EchoServiceImpl> createEndpoint() {
+        return WSEndpoint.create(EchoServiceImpl.class, false, null, null, null, null,
+                BindingImpl.create(BindingID.SOAP11_HTTP), null, null, (EntityResolver) null, true);
+    }
+
+    /**
+     * Writes the generated WSDL and schemas of the endpoint to the given
+     * directory, so that a client can be created from them.
+     *
+     * @return the URL of the primary WSDL.
+     */
+    static URL writeServiceDefinition(ServiceDefinition sd, File dir) throws IOException {
+        final Map<SDDocument, String> names = new HashMap<SDDocument, String>();
+        int i = 0;
+        for (SDDocument doc : sd) {
+            names.put(doc, doc == sd.getPrimary() ? "service.wsdl" : "doc" + (i++) + ".xml");
+        }
+        DocumentAddressResolver resolver = new DocumentAddressResolver() {
+            @Override
+            public String getRelativeAddressFor(SDDocument current, SDDocument referenced) {
+                return names.get(referenced);
+            }
+        };
+        for (Map.Entry<SDDocument, String> e : names.entrySet()) {
+            OutputStream os = new FileOutputStream(new File(dir, e.getValue()));
+            try {
+                e.getKey().writeTo(null, resolver, os);
+            } finally {
+                os.close();
+            }
+        }
+        return new File(dir, "service.wsdl").toURI().toURL();
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.benchmarks;
+
+import com.sun.xml.ws.api.SOAPVersion;
+import com.sun.xml.ws.api.message.Header;
+import com.sun.xml.ws.api.message.HeaderList;
+import com.sun.xml.ws.api.message.Headers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.xml.namespace.QName;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups in a {@link HeaderList}, for a header that is present near the
+ * end of the list and for one that is absent.
+ *
+ * <p>
+ * Each lookup is run with the name index of {@link HeaderList} and with a plain
+ * scan of the list. {@link #decodeAndLookup()} also pays for building the index,
+ * as a freshly decoded message does, so comparing the two modes over the header
+ * counts shows where {@link HeaderList#indexThreshold} should be.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HeaderListBenchmark {
+
+    @Param({"4", "8", "16", "32", "64"})
+    public int headers;
+
+    @Param({"false", "true"})
+    public boolean indexed;
+
+    private HeaderList list;
+    private Header[] decoded;
+    private QName[] lookups;
+    private QName last;
+    private QName absent;
+    private int indexThreshold;
+
+    @Setup
+    public void setUp() {
+        indexThreshold = HeaderList.indexThreshold;
+        HeaderList.indexThreshold = indexed ? 1 : 0;
+        decoded = new Header[headers];
+        list = new HeaderList(SOAPVersion.SOAP_11);
+        for (int i = 0; i < headers; i++) {
+            decoded[i] = Headers.create(Fixtures.header(i), "value " + i);
+            list.add(decoded[i]);
+        }
+        lookups = new QName[6];
+        for (int i = 0; i < lookups.length; i++) {
+            lookups[i] = Fixtures.header((i * 7) % headers);
+        }
+        last = Fixtures.header(headers - 1);
+        absent = new QName(Fixtures.NS, "absent");
+    }
+
+    @TearDown
+    public void tearDown() {
+        HeaderList.indexThreshold = indexThreshold;
+    }
+
+    @Benchmark
+    public Header getPresent() {
+        return list.get(last, false);
+    }
+
+    @Benchmark
+    public Header getAbsent() {
+        return list.get(absent, false);
+    }
+
+    @Benchmark
+    public Header getByNamespaceAndLocalName() {
+        return list.get(last.getNamespaceURI(), last.getLocalPart(), false);
+    }
+
+    /**
+     * Fills a new list and looks up a handful of headers in it,
+     * like the addressing and mustUnderstand tubes do for each message.
+     */
+    @Benchmark
+    public int decodeAndLookup() {
+        HeaderList l = new HeaderList(SOAPVersion.SOAP_11);
+        for (Header h : decoded) {
+            l.add(h);
+        }
+        int found = 0;
+        for (QName name : lookups) {
+            if (l.get(name, true) != null) {
+                found++;
+            }
+        }
+        if (l.get(absent, false) == null) {
+            found++;
+        }
+        return found;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.benchmarks;
+
+import com.sun.xml.ws.api.server.WSEndpoint;
+import com.sun.xml.ws.transport.local.InVmServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.xml.ws.BindingProvider;
+import javax.xml.ws.Service;
+import java.io.File;
+import java.net.URL;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full request/response round trip from an SEI proxy into an SEI endpoint,
+ * through the client and server tubelines and the in-VM transport.
+ * The "in-vm" scheme includes encoding and decoding on both sides,
+ * "in-vm-direct" hands the messages over without serializing them.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InVmRoundTripBenchmark {
+
+    private static final String SERVER_ID = "benchmarks";
+
+    @Param({"in-vm", "in-vm-direct"})
+    public String scheme;
+
+    private InVmServer server;
+    private File wsdlDir;
+    private EchoService port;
+
+    @Setup
+    public void setUp() throws Exception {
+        WSEndpoint<?> endpoint = Fixtures.createEndpoint();
+        server = new InVmServer(SERVER_ID, Collections.<WSEndpoint>singletonList(endpoint));
+
+        wsdlDir = File.createTempFile("jaxws-benchmarks", "");
+        wsdlDir.delete();
+        wsdlDir.mkdirs();
+        URL wsdl = Fixtures.writeServiceDefinition(endpoint.getServiceDefinition(), wsdlDir);
+
+        Service service = Service.create(wsdl, endpoint.getServiceName());
+        port = service.getPort(endpoint.getPortName(), EchoService.class);
+        ((BindingProvider) port).getRequestContext().put(
+                BindingProvider.ENDPOINT_ADDRESS_PROPERTY, scheme + "://" + SERVER_ID + "/");
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.undeploy();
+        File[] files = wsdlDir.listFiles();
+        if (files != null) {
+            for (File f : files) {
+                f.delete();
+            }
+        }
+        wsdlDir.delete();
+    }
+
+    @Benchmark
+    public String echo() {
+        return port.echo("hello, world");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String echoConcurrent() {
+        return port.echo("hello, world");
+    }
+}
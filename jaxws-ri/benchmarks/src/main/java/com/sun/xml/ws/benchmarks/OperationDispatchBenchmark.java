@@ -0,0 +1,106 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.benchmarks;
+
+import com.sun.xml.ws.api.SOAPVersion;
+import com.sun.xml.ws.api.message.Messages;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.model.WSDLOperationMapping;
+import com.sun.xml.ws.api.server.WSEndpoint;
+import com.sun.xml.ws.wsdl.DispatchException;
+import com.sun.xml.ws.wsdl.OperationDispatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatch of requests to the operations of an SEI endpoint by their payload
+ * QName, the way the server finds the method to invoke.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OperationDispatchBenchmark {
+
+    private WSEndpoint<?> endpoint;
+    private OperationDispatcher dispatcher;
+    private Packet echo;
+    private Packet add;
+
+    @Setup
+    public void setUp() throws Exception {
+        endpoint = Fixtures.createEndpoint();
+        dispatcher = new OperationDispatcher(endpoint.getPort(), endpoint.getBinding(), endpoint.getSEIModel());
+        Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        echo = new Packet(Messages.createUsingPayload(doc.createElementNS(Fixtures.NS, "echo"), SOAPVersion.SOAP_11));
+        add = new Packet(Messages.createUsingPayload(doc.createElementNS(Fixtures.NS, "add"), SOAPVersion.SOAP_11));
+    }
+
+    @TearDown
+    public void tearDown() {
+        endpoint.dispose();
+    }
+
+    @Benchmark
+    public WSDLOperationMapping dispatchEcho() throws DispatchException {
+        return dispatcher.getWSDLOperationMapping(echo);
+    }
+
+    @Benchmark
+    public WSDLOperationMapping dispatchAdd() throws DispatchException {
+        return dispatcher.getWSDLOperationMapping(add);
+    }
+}
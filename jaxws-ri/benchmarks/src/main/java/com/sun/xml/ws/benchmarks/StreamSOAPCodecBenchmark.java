@@ -0,0 +1,114 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.benchmarks;
+
+import com.sun.xml.ws.api.SOAPVersion;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.pipe.Codecs;
+import com.sun.xml.ws.api.pipe.ContentType;
+import com.sun.xml.ws.api.pipe.StreamSOAPCodec;
+import com.sun.xml.ws.message.jaxb.JAXBMessage;
+import com.sun.xml.ws.util.ByteArrayBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.xml.bind.JAXBContext;
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding of plain SOAP 1.1 envelopes by {@link StreamSOAPCodec}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StreamSOAPCodecBenchmark {
+
+    @Param({"0", "8"})
+    public int headers;
+
+    private StreamSOAPCodec codec;
+    private JAXBContext context;
+    private EchoRequest payload;
+    private byte[] request;
+    private final ByteArrayBuffer out = new ByteArrayBuffer();
+
+    @Setup
+    public void setUp() throws Exception {
+        codec = Codecs.createSOAPEnvelopeXmlCodec(SOAPVersion.SOAP_11);
+        context = JAXBContext.newInstance(EchoRequest.class);
+        payload = new EchoRequest("hello, world", null);
+        request = Fixtures.envelope(headers);
+    }
+
+    /**
+     * Decodes a request and reads it through, as the server does.
+     */
+    @Benchmark
+    public Packet decode() throws Exception {
+        Packet packet = new Packet();
+        codec.decode(new ByteArrayInputStream(request), Fixtures.SOAP11_CONTENT_TYPE, packet);
+        packet.getMessage().writeTo(Fixtures.DISCARD, Fixtures.DISCARD);
+        return packet;
+    }
+
+    /**
+     * Encodes a JAXB payload, as the client does.
+     */
+    @Benchmark
+    public ContentType encode() throws Exception {
+        out.reset();
+        Packet packet = new Packet(JAXBMessage.create(context, payload, SOAPVersion.SOAP_11));
+        return codec.encode(packet, out);
+    }
+}
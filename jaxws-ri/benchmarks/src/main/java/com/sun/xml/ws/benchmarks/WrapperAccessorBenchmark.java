@@ -0,0 +1,170 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+
+package com.sun.xml.ws.benchmarks;
+
+import com.sun.xml.ws.spi.db.JAXBWrapperAccessor;
+import com.sun.xml.ws.spi.db.PropertyAccessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads and writes of the properties of a document/literal wrapper bean through
+ * {@link JAXBWrapperAccessor}, as done for each parameter of a wrapped operation.
+ *
+ * <p>
+ * Each benchmark is run with the {@link java.lang.invoke.MethodHandle} based
+ * accessors and with the reflective ones ({@link JAXBWrapperAccessor#useMethodHandles}).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WrapperAccessorBenchmark {
+
+    /**
+     * Shaped like the wrapper beans generated by wsgen: private fields with
+     * public getters and setters.
+     */
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Add {
+        @XmlElement(name = "arg0", namespace = "")
+        private String arg0;
+        @XmlElement(name = "arg1", namespace = "")
+        private int arg1;
+        @XmlElement(name = "arg2", namespace = "")
+        private long arg2;
+
+        public String getArg0() {
+            return arg0;
+        }
+
+        public void setArg0(String arg0) {
+            this.arg0 = arg0;
+        }
+
+        public int getArg1() {
+            return arg1;
+        }
+
+        public void setArg1(int arg1) {
+            this.arg1 = arg1;
+        }
+
+        public long getArg2() {
+            return arg2;
+        }
+
+        public void setArg2(long arg2) {
+            this.arg2 = arg2;
+        }
+    }
+
+    @Param({"false", "true"})
+    public boolean methodHandles;
+
+    private PropertyAccessor[] accessors;
+    private Object[] values;
+    private Add bean;
+    private boolean useMethodHandles;
+
+    @Setup
+    public void setUp() {
+        useMethodHandles = JAXBWrapperAccessor.useMethodHandles;
+        JAXBWrapperAccessor.useMethodHandles = methodHandles;
+        JAXBWrapperAccessor wrapper = new JAXBWrapperAccessor(Add.class);
+        accessors = new PropertyAccessor[] {
+            wrapper.getPropertyAccessor("", "arg0"),
+            wrapper.getPropertyAccessor("", "arg1"),
+            wrapper.getPropertyAccessor("", "arg2")
+        };
+        values = new Object[] {"message", 42, 42L};
+        bean = new Add();
+    }
+
+    @TearDown
+    public void tearDown() {
+        JAXBWrapperAccessor.useMethodHandles = useMethodHandles;
+    }
+
+    /**
+     * Fills a wrapper bean, like the client does for a request.
+     */
+    @Benchmark
+    public Add set() {
+        Add b = new Add();
+        for (int i = 0; i < accessors.length; i++) {
+            accessors[i].set(b, values[i]);
+        }
+        return b;
+    }
+
+    /**
+     * Reads all the properties of a wrapper bean, like the endpoint does for a request.
+     */
+    @Benchmark
+    public int get() {
+        int n = 0;
+        for (PropertyAccessor a : accessors) {
+            if (a.get(bean) != null) {
+                n++;
+            }
+        }
+        return n;
+    }
+}
@@ -40,6 +40,8 @@
 
 package com.sun.xml.ws.transport.httpspi.servlet;
 
+import com.sun.xml.ws.transport.http.ParallelDeployment;
+
 import javax.servlet.ServletContext;
 import javax.servlet.ServletContextAttributeEvent;
 import javax.servlet.ServletContextAttributeListener;
@@ -48,6 +50,7 @@ import javax.servlet.ServletContextListener;
 import javax.xml.ws.WebServiceException;
 import java.net.URL;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -61,6 +64,11 @@ import java.util.logging.Logger;
  * The user application writes this in their <tt>web.xml</tt> so that we can
  * start when the container starts the webapp.
  *
+ * <p>
+ * Endpoints can be published concurrently by setting the
+ * {@link ParallelDeployment#PARALLELISM_PROPERTY} context parameter
+ * (or system property) to the number of threads to use.
+ *
  * @author Jitendra Kotamraju
  */
 public final class WSSPIContextListener
@@ -104,9 +112,18 @@ public final class WSSPIContextListener
             if(sunJaxWsXml==null)
                 throw new WebServiceException("Runtime descriptor "+JAXWS_RI_RUNTIME+" is mising");
             List<EndpointAdapter> adapters = parser.parse(sunJaxWsXml.toExternalForm(), sunJaxWsXml.openStream());
-            for(EndpointAdapter adapter : adapters) {
-                adapter.publish();
+            // publishing creates the endpoints, which are independent of each other
+            ParallelDeployment<Void> deployment = new ParallelDeployment<Void>(ParallelDeployment.getParallelism(
+                    context.getInitParameter(ParallelDeployment.PARALLELISM_PROPERTY)));
+            for(final EndpointAdapter adapter : adapters) {
+                deployment.add(adapter.getUrlPattern(), new Callable<Void>() {
+                    public Void call() {
+                        adapter.publish();
+                        return null;
+                    }
+                });
             }
+            deployment.run();
 
             delegate = createDelegate(adapters, context);
 
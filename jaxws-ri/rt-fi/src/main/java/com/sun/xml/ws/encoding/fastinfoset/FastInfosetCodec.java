@@ -50,6 +50,7 @@ import com.sun.xml.ws.api.message.Messages;
 import com.sun.xml.ws.api.pipe.Codec;
 import com.sun.xml.ws.api.pipe.ContentType;
 import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.encoding.ChannelStreams;
 import com.sun.xml.ws.encoding.ContentTypeImpl;
 import java.io.BufferedInputStream;
 
@@ -117,8 +118,7 @@ public class FastInfosetCodec implements Codec {
     }
     
     public ContentType encode(Packet packet, WritableByteChannel buffer) {
-        //TODO: not yet implemented
-        throw new UnsupportedOperationException();
+        return ChannelStreams.encode(this, packet, buffer);
     }
     
     public void decode(InputStream in, String contentType, Packet packet) throws IOException {
@@ -137,7 +137,7 @@ public class FastInfosetCodec implements Codec {
     }
     
     public void decode(ReadableByteChannel in, String contentType, Packet response) {
-        throw new UnsupportedOperationException();
+        ChannelStreams.decode(this, in, contentType, response);
     }
     
     private XMLStreamWriter getXMLStreamWriter(OutputStream out) {
@@ -49,6 +49,7 @@ import com.sun.xml.ws.api.SOAPVersion;
 import com.sun.xml.ws.api.pipe.StreamSOAPCodec;
 import com.sun.xml.ws.message.stream.StreamHeader;
 import com.sun.xml.stream.buffer.XMLStreamBuffer;
+import com.sun.xml.ws.encoding.ChannelStreams;
 import com.sun.xml.ws.encoding.ContentTypeImpl;
 
 import javax.xml.stream.XMLStreamException;
@@ -118,8 +119,7 @@ public abstract class FastInfosetStreamSOAPCodec implements Codec {
     }
     
     public ContentType encode(Packet packet, WritableByteChannel buffer) {
-        //TODO: not yet implemented
-        throw new UnsupportedOperationException();
+        return ChannelStreams.encode(this, packet, buffer);
     }
     
     public void decode(InputStream in, String contentType, Packet response) throws IOException {
@@ -128,7 +128,7 @@ public abstract class FastInfosetStreamSOAPCodec implements Codec {
     }
     
     public void decode(ReadableByteChannel in, String contentType, Packet response) {
-        throw new UnsupportedOperationException();
+        ChannelStreams.decode(this, in, contentType, response);
     }
     
     protected abstract StreamHeader createHeader(XMLStreamReader reader, XMLStreamBuffer mark);
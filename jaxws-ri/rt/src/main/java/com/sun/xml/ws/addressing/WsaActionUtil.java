@@ -52,6 +52,38 @@ import java.util.logging.Logger;
  */
 public class WsaActionUtil {
     
+    /**
+     * Computes the input action of an operation the same way as it is
+     * generated in the WSDL of a Java-first endpoint.
+     */
+    public static String getDefaultInputAction(JavaMethod method) {
+        //this assumes that fromjava case there won't be input name.
+        String name = (method.getMEP().isOneWay()) ?
+                method.getOperationName() : method.getOperationName() + "Request";
+        return buildAction(method, name);
+    }
+
+    /**
+     * Computes the output action of an operation the same way as it is
+     * generated in the WSDL of a Java-first endpoint.
+     */
+    public static String getDefaultOutputAction(JavaMethod method) {
+        //this assumes that fromjava case there won't be output name.
+        return buildAction(method, method.getOperationName() + "Response");
+    }
+
+    private static String buildAction(JavaMethod method, String name) {
+        String tns = method.getOwner().getTargetNamespace();
+        String delim = getDelimiter(tns);
+        if (tns.endsWith(delim)) {
+            tns = tns.substring(0, tns.length() - 1);
+        }
+
+        return new StringBuilder(tns).append(delim).append(
+                method.getOwner().getPortTypeName().getLocalPart()).append(
+                delim).append(name).toString();
+    }
+
     @SuppressWarnings("FinalStaticMethod")
     public static final String getDefaultFaultAction(JavaMethod method, CheckedException ce) {
         String tns = method.getOwner().getTargetNamespace();
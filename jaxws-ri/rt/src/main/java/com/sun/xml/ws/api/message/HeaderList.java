@@ -42,6 +42,7 @@ package com.sun.xml.ws.api.message;
 
 import java.util.ArrayList;
 import java.util.BitSet;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -145,6 +146,18 @@ public class HeaderList extends ArrayList<Header> implements MessageHeaders {
     private BitSet moreUnderstoodBits = null;
 
     private SOAPVersion soapVersion;
+
+    /**
+     * Lists with at least this many headers look headers up by name through
+     * a {@link NameIndex} instead of scanning the list. 0 disables the index.
+     */
+    public static volatile int indexThreshold = Integer.getInteger(HeaderList.class.getName() + ".indexThreshold", 16);
+
+    /**
+     * Lazily built index of the headers by name, or null.
+     * Only valid while {@link NameIndex#modCount} matches {@link #modCount}.
+     */
+    private transient NameIndex index;
     
     /**
      * This method is deprecated - instead use this one: 
@@ -303,17 +316,48 @@ public class HeaderList extends ArrayList<Header> implements MessageHeaders {
      */
     @Override
     public @Nullable Header get(@NotNull String nsUri, @NotNull String localName, boolean markAsUnderstood) {
+        int i = indexOf(nsUri, localName, 0);
+        if (i < 0) {
+            return null;
+        }
+        if (markAsUnderstood) {
+            understood(i);
+        }
+        return get(i);
+    }
+
+    /**
+     * Returns the position of the first {@link Header} of the specified name
+     * at or after {@code from}, or -1 if there's none.
+     */
+    private int indexOf(String nsUri, String localName, int from) {
         int len = size();
-        for (int i = 0; i < len; i++) {
+        int threshold = indexThreshold;
+        if (threshold > 0 && len >= threshold) {
+            NameIndex idx = getIndex();
+            for (int i = idx.first(localName); i >= 0; i = idx.next[i]) {
+                if (i >= from && get(i).getNamespaceURI().equals(nsUri)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        for (int i = from; i < len; i++) {
             Header h = get(i);
             if (h.getLocalPart().equals(localName) && h.getNamespaceURI().equals(nsUri)) {
-                if (markAsUnderstood) {
-                    understood(i);
-                }
-                return h;
+                return i;
             }
         }
-        return null;
+        return -1;
+    }
+
+    private NameIndex getIndex() {
+        NameIndex idx = index;
+        if (idx == null || idx.modCount != modCount) {
+            idx = new NameIndex(this);
+            index = idx;
+        }
+        return idx;
     }
 
     /**
@@ -403,12 +447,12 @@ public class HeaderList extends ArrayList<Header> implements MessageHeaders {
             }
 
             private void fetch() {
-                while (idx < size()) {
-                    Header h = get(idx++);
-                    if (h.getLocalPart().equals(localName) && h.getNamespaceURI().equals(nsUri)) {
-                        next = h;
-                        break;
-                    }
+                int i = indexOf(nsUri, localName, idx);
+                if (i < 0) {
+                    idx = size();
+                } else {
+                    next = get(i);
+                    idx = i + 1;
                 }
             }
 
@@ -654,7 +698,24 @@ public class HeaderList extends ArrayList<Header> implements MessageHeaders {
      */
     @Override
     public boolean add(Header header) {
-        return super.add(header);
+        NameIndex idx = index;
+        // appending keeps the index valid, so extend it rather than rebuilding it
+        boolean indexed = idx != null && idx.modCount == modCount;
+        super.add(header);
+        if (indexed) {
+            idx.append(header.getLocalPart(), size() - 1, modCount);
+        }
+        return true;
+    }
+
+    /**
+     * {@link ArrayList#set(int, Object)} is not a structural modification,
+     * so it has to drop the index explicitly.
+     */
+    @Override
+    public Header set(int index, Header header) {
+        this.index = null;
+        return super.set(index, header);
     }
 
     /**
@@ -668,14 +729,8 @@ public class HeaderList extends ArrayList<Header> implements MessageHeaders {
     @Nullable
     @Override
     Header remove(@NotNull String nsUri, @NotNull String localName) {
-        int len = size();
-        for (int i = 0; i < len; i++) {
-            Header h = get(i);
-            if (h.getLocalPart().equals(localName) && h.getNamespaceURI().equals(nsUri)) {
-                return remove(i);
-            }
-        }
-        return null;
+        int i = indexOf(nsUri, localName, 0);
+        return (i < 0) ? null : remove(i);
     }
     
     /**
@@ -691,35 +746,27 @@ public class HeaderList extends ArrayList<Header> implements MessageHeaders {
      */
     @Override
     public boolean addOrReplace(Header header) {
-        for (int i=0; i < size(); i++) {
-          Header hdr = get(i);
-          if (hdr.getNamespaceURI().equals(header.getNamespaceURI()) &&
-              hdr.getLocalPart().equals(header.getLocalPart())) {
+        int i = indexOf(header.getNamespaceURI(), header.getLocalPart(), 0);
+        if (i >= 0) {
             // Put the new header in the old position. Call super versions
             // internally to avoid UnsupportedOperationException
             removeInternal(i);
             addInternal(i, header);
             return true;
-          }
         }
         return add(header);
     }
     
     @Override
     public void replace(Header old, Header header) {
-        for (int i=0; i < size(); i++) {
-            Header hdr = get(i);
-            if (hdr.getNamespaceURI().equals(header.getNamespaceURI()) &&
-                hdr.getLocalPart().equals(header.getLocalPart())) {
-              // Put the new header in the old position. Call super versions
-              // internally to avoid UnsupportedOperationException
-              removeInternal(i);
-              addInternal(i, header);
-              return;
-            }
-          }
-        
-          throw new IllegalArgumentException();
+        int i = indexOf(header.getNamespaceURI(), header.getLocalPart(), 0);
+        if (i < 0) {
+            throw new IllegalArgumentException();
+        }
+        // Put the new header in the old position. Call super versions
+        // internally to avoid UnsupportedOperationException
+        removeInternal(i);
+        addInternal(i, header);
     }
 
     protected void addInternal(int index, Header header) {
@@ -915,13 +962,8 @@ public class HeaderList extends ArrayList<Header> implements MessageHeaders {
     
     @Override
     public boolean isUnderstood(String nsUri, String localName) {
-        for (int i = 0; i < size(); i++) {
-            Header h = get(i);
-            if (h.getLocalPart().equals(localName) && h.getNamespaceURI().equals(nsUri)) {
-                return isUnderstood(i);
-            }
-        }
-        return false;
+        int i = indexOf(nsUri, localName, 0);
+        return i >= 0 && isUnderstood(i);
     }
     
     @Override
@@ -989,4 +1031,58 @@ public class HeaderList extends ArrayList<Header> implements MessageHeaders {
     public List<Header> asList() {
         return this;
     }
+
+    /**
+     * Positions of the headers grouped by local name.
+     *
+     * <p>
+     * Headers with the same local name are chained through {@link #next}
+     * in list order, so the first match of a lookup is the same header
+     * a scan of the list would find. Namespace URIs are compared on the
+     * headers themselves, as few headers share a local name.
+     */
+    private static final class NameIndex {
+        /**
+         * Local name to {first, last} position of the chain.
+         */
+        private final HashMap<String, int[]> chains;
+        /**
+         * Position of the next header with the same local name, or -1.
+         */
+        int[] next;
+        /**
+         * {@link HeaderList#modCount} this index was built for.
+         */
+        int modCount;
+
+        NameIndex(HeaderList list) {
+            int len = list.size();
+            chains = new HashMap<String, int[]>(len * 2);
+            next = new int[Math.max(len, 8)];
+            for (int i = 0; i < len; i++) {
+                append(list.get(i).getLocalPart(), i, list.modCount);
+            }
+            modCount = list.modCount;
+        }
+
+        int first(String localName) {
+            int[] chain = chains.get(localName);
+            return (chain == null) ? -1 : chain[0];
+        }
+
+        void append(String localName, int position, int modCount) {
+            if (position >= next.length) {
+                next = Arrays.copyOf(next, next.length * 2);
+            }
+            next[position] = -1;
+            int[] chain = chains.get(localName);
+            if (chain == null) {
+                chains.put(localName, new int[] {position, position});
+            } else {
+                next[chain[1]] = position;
+                chain[1] = position;
+            }
+            this.modCount = modCount;
+        }
+    }
 }
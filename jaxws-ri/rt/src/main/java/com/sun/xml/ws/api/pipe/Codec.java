@@ -147,8 +147,9 @@ public interface Codec {
      * that writes to NIO {@link ByteBuffer}.
      *
      * <p>
-     * TODO: for the convenience of implementation, write
-     * an adapter that wraps {@link WritableByteChannel} to {@link OutputStream}.
+     * For the convenience of implementation,
+     * {@link com.sun.xml.ws.encoding.ChannelStreams} adapts this
+     * to {@link #encode(Packet, OutputStream)}.
      */
     ContentType encode( Packet packet, WritableByteChannel buffer );
 
@@ -41,23 +41,40 @@
 package com.sun.xml.ws.api.pipe;
 
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 
+import com.sun.istack.NotNull;
 import com.sun.xml.ws.api.message.Packet;
 import com.sun.xml.ws.api.server.Container;
 import com.sun.xml.ws.api.server.ContainerResolver;
+import com.sun.xml.ws.developer.EngineThreadPoolFeature;
+import com.sun.xml.ws.util.VirtualThreadSupport;
 
 /**
  * Collection of {@link Fiber}s.
  * Owns an {@link Executor} to run them.
  *
+ * <p>
+ * Unless an {@link Executor} is set, fibers run on a bounded
+ * {@link EngineThreadPool} created on first use. When that pool can't accept
+ * a fiber, the fiber is completed with a {@link RejectedExecutionException}.
+ * If the virtual thread mode of {@link VirtualThreadSupport} is enabled, each
+ * fiber runs on its own virtual thread instead.
+ *
  * @author Kohsuke Kawaguchi
  * @author Jitendra Kotamraju
  */
 public class Engine {
     private volatile Executor threadPool;
+    /**
+     * Set when {@link #threadPool} wraps an {@link EngineThreadPool}.
+     */
+    private volatile EngineThreadPool engineThreadPool;
+    /**
+     * The executor this engine is responsible for, shut down by {@link #shutdown()}.
+     */
+    private volatile ExecutorService ownedExecutor;
     public final String id;
     private final Container container;
 
@@ -71,7 +88,7 @@ public class Engine {
     
     public Engine(String id, Container container, Executor threadPool) {
         this(id, container);
-        this.threadPool = threadPool != null ? wrap(threadPool) : null;
+        setExecutor(threadPool);
     }
 
     public Engine(String id) {
@@ -84,16 +101,67 @@ public class Engine {
     }
 
     public void setExecutor(Executor threadPool) {
+        this.engineThreadPool = threadPool instanceof EngineThreadPool ? (EngineThreadPool) threadPool : null;
         this.threadPool = threadPool != null ? wrap(threadPool) : null;
+        this.ownedExecutor = null;
+    }
+
+    /**
+     * Sets a thread pool that only this engine uses, and that {@link #shutdown()}
+     * shuts down with it.
+     */
+    public void setOwnedExecutor(@NotNull ExecutorService threadPool) {
+        setExecutor(threadPool);
+        this.ownedExecutor = threadPool;
+    }
+
+    /**
+     * Shuts down the thread pool set with {@link #setOwnedExecutor(ExecutorService)},
+     * or created by this engine because no {@link Executor} was set.
+     * Fibers already queued still run, new ones are rejected.
+     */
+    public void shutdown() {
+        ExecutorService executor = ownedExecutor;
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Gets the {@link EngineThreadPool} that runs the fibers of this engine,
+     * for monitoring purposes.
+     *
+     * @return
+     *      null if the fibers run on an application provided {@link Executor},
+     *      or if no fiber has been run asynchronously yet.
+     */
+    public EngineThreadPool getEngineThreadPool() {
+        return engineThreadPool;
     }
 
     void addRunnable(Fiber fiber) {
         if(threadPool==null) {
             synchronized(this) {
-                threadPool = wrap(Executors.newCachedThreadPool(new DaemonThreadFactory()));
+                if (threadPool == null) {
+                    ExecutorService vt = VirtualThreadSupport.isEnabled()
+                            ? VirtualThreadSupport.newVirtualThreadPerTaskExecutor("jaxws-engine-" + id + "-thread-")
+                            : null;
+                    setOwnedExecutor(vt != null ? vt : new EngineThreadPool(new EngineThreadPoolFeature()));
+                }
+            }
+        }
+        try {
+            threadPool.execute(fiber);
+        } catch (RejectedExecutionException e) {
+            if (engineThreadPool == null) {
+                // application's executor, let the caller deal with it as before
+                throw e;
             }
+            // back-pressure: fail the fiber rather than blocking on the pool.
+            // The tubes it went through unwind on the submitting thread, so
+            // callers must not hold the fiber lock when scheduling it.
+            fiber.abort(e);
         }
-        threadPool.execute(fiber);
     }
     
     private Executor wrap(Executor ex) {
@@ -112,26 +180,4 @@ public class Engine {
     public Fiber createFiber() {
         return new Fiber(this);
     }
-
-    private static class DaemonThreadFactory implements ThreadFactory {
-        static final AtomicInteger poolNumber = new AtomicInteger(1);
-        final AtomicInteger threadNumber = new AtomicInteger(1);
-        final String namePrefix;
-
-        DaemonThreadFactory() {
-            namePrefix = "jaxws-engine-" + poolNumber.getAndIncrement() + "-thread-";
-        }
-
-        public Thread newThread(Runnable r) {
-            Thread t = ThreadHelper.createNewThread(r);
-            t.setName(namePrefix + threadNumber.getAndIncrement());
-            if (!t.isDaemon()) {
-                t.setDaemon(true);
-            }
-            if (t.getPriority() != Thread.NORM_PRIORITY) {
-                t.setPriority(Thread.NORM_PRIORITY);
-            }
-            return t;
-        }
-    }
 }
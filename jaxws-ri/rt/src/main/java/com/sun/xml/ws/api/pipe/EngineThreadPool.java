@@ -0,0 +1,146 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.api.pipe;
+
+import com.sun.xml.ws.developer.EngineThreadPoolFeature;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded thread pool that runs {@link Fiber}s of an {@link Engine} when
+ * the application hasn't provided an {@link java.util.concurrent.Executor}.
+ *
+ * <p>
+ * Fibers that can't be queued are rejected; {@link Engine} then completes
+ * them with the {@link RejectedExecutionException} instead of running them.
+ * The pool keeps count of the rejections and exposes its queue depth and
+ * the number of fibers being run for monitoring.
+ *
+ * @see EngineThreadPoolFeature
+ * @since 2.3.1
+ */
+public final class EngineThreadPool extends ThreadPoolExecutor {
+
+    private final CountingAbortPolicy rejectionPolicy;
+
+    public EngineThreadPool(EngineThreadPoolFeature config) {
+        this(config, new CountingAbortPolicy());
+    }
+
+    private EngineThreadPool(EngineThreadPoolFeature config, CountingAbortPolicy rejectionPolicy) {
+        super(config.getCorePoolSize(), config.getMaximumPoolSize(),
+                config.getKeepAliveTime(), TimeUnit.MILLISECONDS,
+                createQueue(config.getQueueCapacity()),
+                new DaemonThreadFactory(), rejectionPolicy);
+        this.rejectionPolicy = rejectionPolicy;
+        if (config.getKeepAliveTime() > 0) {
+            // behave like a cached thread pool when idle
+            allowCoreThreadTimeOut(true);
+        }
+    }
+
+    private static BlockingQueue<Runnable> createQueue(int capacity) {
+        return (capacity == 0) ? new SynchronousQueue<Runnable>() : new ArrayBlockingQueue<Runnable>(capacity);
+    }
+
+    /**
+     * Number of fibers waiting for a thread.
+     */
+    public int getQueuedFibers() {
+        return getQueue().size();
+    }
+
+    /**
+     * Number of fibers being executed by the threads of this pool.
+     */
+    public int getRunningFibers() {
+        return getActiveCount();
+    }
+
+    /**
+     * Number of fibers rejected because the queue was full.
+     */
+    public long getRejectedFibers() {
+        return rejectionPolicy.rejected.get();
+    }
+
+    private static final class CountingAbortPolicy implements RejectedExecutionHandler {
+        final AtomicLong rejected = new AtomicLong();
+
+        @Override
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+            rejected.incrementAndGet();
+            throw new RejectedExecutionException("Fiber " + r + " rejected: " + executor.getQueue().size()
+                    + " fibers queued, " + executor.getActiveCount() + " running");
+        }
+    }
+
+    private static class DaemonThreadFactory implements ThreadFactory {
+        static final AtomicInteger poolNumber = new AtomicInteger(1);
+        final AtomicInteger threadNumber = new AtomicInteger(1);
+        final String namePrefix;
+
+        DaemonThreadFactory() {
+            namePrefix = "jaxws-engine-" + poolNumber.getAndIncrement() + "-thread-";
+        }
+
+        public Thread newThread(Runnable r) {
+            Thread t = ThreadHelper.createNewThread(r);
+            t.setName(namePrefix + threadNumber.getAndIncrement());
+            if (!t.isDaemon()) {
+                t.setDaemon(true);
+            }
+            if (t.getPriority() != Thread.NORM_PRIORITY) {
+                t.setPriority(Thread.NORM_PRIORITY);
+            }
+            return t;
+        }
+    }
+}
@@ -277,6 +277,14 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
     private final ReentrantLock lock = new ReentrantLock();
     private final Condition condition = lock.newCondition();
 
+    /**
+     * Guards {@link #currentThread} and {@link #interceptors} so that they are
+     * accessible to {@link #cancel(boolean)} even when {@link #lock} is held.
+     * A lock rather than a monitor, so that a fiber running on a virtual thread
+     * never pins its carrier thread.
+     */
+    private final ReentrantLock stateLock = new ReentrantLock();
+
     private volatile boolean isCanceled;
     
     /**
@@ -475,6 +483,8 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
     public void resume(@NotNull Packet resumePacket,
                        boolean forceSync,
                        CompletionCallback callback) {
+       boolean runHere = false;
+       boolean dispatch = false;
        lock.lock();
        try {
            if (callback != null) {
@@ -498,10 +508,10 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
                         if(synchronous) {
                             condition.signalAll();
                         } else if (forceSync || startedSync) {
-                            run();
+                            runHere = true;
                         } else {
                             dumpFiberContext("resuming (async)");
-                            owner.addRunnable(this);
+                            dispatch = true;
                         }
                    }
                 } else {
@@ -512,6 +522,13 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
        } finally {
            lock.unlock();
        }
+       // drive the fiber only once the lock is released, so that suspending
+       // it again, or aborting it when the pool rejects it, sees no extra hold
+       if (runHere) {
+           run();
+       } else if (dispatch) {
+           owner.addRunnable(this);
+       }
     }
 
     /**
@@ -618,10 +635,13 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
     public void cancel(boolean mayInterrupt) {
         isCanceled = true;
         if (mayInterrupt) {
-            // synchronized(this) is used as Thread running Fiber will be holding lock
-            synchronized(this) {
+            // stateLock is used as Thread running Fiber will be holding lock
+            stateLock.lock();
+            try {
                 if (currentThread != null)
                     currentThread.interrupt();
+            } finally {
+                stateLock.unlock();
             }
         }
     }
@@ -674,10 +694,13 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
             // synchronous use cases cannot disconnect from the current thread
             if (!synchronous) { 
                 /* INTENTIONALLY UNLOCKING EARLY */
-                synchronized(this) {
-                    // currentThread is protected by the monitor for this fiber so 
-                    // that it is accessible to cancel() even when the lock is held
+                stateLock.lock();
+                try {
+                    // currentThread is protected by stateLock so that it is
+                    // accessible to cancel() even when the lock is held
                     currentThread = null;
+                } finally {
+                    stateLock.unlock();
                 }
                 lock.unlock();
                 assert(!lock.isHeldByCurrentThread());
@@ -731,16 +754,26 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
      * <li>interceptor.execute() is invoked
      * <li>Y.processRequest()
      * </ol>
+     * <p/>
+     * This may be called from any thread, also while the fiber runs. The
+     * interceptors are guarded by a lock internal to the fiber rather than by
+     * the monitor of the {@link Fiber} object, so synchronizing on the fiber
+     * doesn't keep them from changing.
      */
-    public synchronized void addInterceptor(@NotNull FiberContextSwitchInterceptor interceptor) {
-        if (interceptors == null) {
-            interceptors = new ArrayList<FiberContextSwitchInterceptor>();
-        } else {
-            List<FiberContextSwitchInterceptor> l = new ArrayList<FiberContextSwitchInterceptor>();
-            l.addAll(interceptors);
-            interceptors = l;
+    public void addInterceptor(@NotNull FiberContextSwitchInterceptor interceptor) {
+        stateLock.lock();
+        try {
+            if (interceptors == null) {
+                interceptors = new ArrayList<FiberContextSwitchInterceptor>();
+            } else {
+                List<FiberContextSwitchInterceptor> l = new ArrayList<FiberContextSwitchInterceptor>();
+                l.addAll(interceptors);
+                interceptors = l;
+            }
+            interceptors.add(interceptor);
+        } finally {
+            stateLock.unlock();
         }
-        interceptors.add(interceptor);
     }
 
     /**
@@ -763,22 +796,31 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
      * <li>X.processResponse()
      * </ol>
      *
+     * <p/>
+     * Like {@link #addInterceptor(FiberContextSwitchInterceptor)}, this may be
+     * called from any thread.
+     *
      * @return true if the specified interceptor was removed. False if
      *         the specified interceptor was not registered with this fiber to begin with.
      */
-    public synchronized boolean removeInterceptor(@NotNull FiberContextSwitchInterceptor interceptor) {
-        if (interceptors != null) {
-            boolean result = interceptors.remove(interceptor);
-            if (interceptors.isEmpty())
-                interceptors = null;
-            else {
-                List<FiberContextSwitchInterceptor> l = new ArrayList<FiberContextSwitchInterceptor>();
-                l.addAll(interceptors);
-                interceptors = l;
+    public boolean removeInterceptor(@NotNull FiberContextSwitchInterceptor interceptor) {
+        stateLock.lock();
+        try {
+            if (interceptors != null) {
+                boolean result = interceptors.remove(interceptor);
+                if (interceptors.isEmpty())
+                    interceptors = null;
+                else {
+                    List<FiberContextSwitchInterceptor> l = new ArrayList<FiberContextSwitchInterceptor>();
+                    l.addAll(interceptors);
+                    interceptors = l;
+                }
+                return result;
             }
-            return result;
+            return false;
+        } finally {
+            stateLock.unlock();
         }
-        return false;
     }
 
     /**
@@ -932,6 +974,30 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
         }
     }
 
+    /**
+     * Fails this fiber with the given error instead of executing the next tube.
+     * Used by {@link Engine} when it can't schedule the fiber.
+     *
+     * <p>
+     * The tubes the fiber already went through still get their
+     * {@link Tube#processException(Throwable)} called, on the current thread,
+     * so that they can clean up before the fiber completes. The caller must
+     * not hold the lock of this fiber, as the unwind may suspend the fiber again.
+     */
+    void abort(@NotNull Throwable error) {
+        lock.lock();
+        try {
+            if(isTraceEnabled())
+                LOGGER.log(Level.FINE, "{0} aborted: {1}", new Object[]{getName(), error});
+            next = null;
+            throwable = error;
+            startedSync = false;
+        } finally {
+            lock.unlock();
+        }
+        run();
+    }
+
     /**
      * Invokes all registered {@link InterceptorHandler}s and then call into
      * {@link Fiber#__doRun()}.
@@ -1027,11 +1093,12 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
         try {
             List<FiberContextSwitchInterceptor> ints;
             ClassLoader old;
-            synchronized(this) {
+            stateLock.lock();
+            try {
                 ints = interceptors;
                 
-                // currentThread is protected by the monitor for this fiber so 
-                // that it is accessible to cancel() even when the lock is held
+                // currentThread is protected by stateLock so that it is
+                // accessible to cancel() even when the lock is held
                 currentThread = Thread.currentThread();
                 if (isTraceEnabled()) {
                     LOGGER.log(Level.FINE, "Thread entering _doRun(): {0}", currentThread);
@@ -1039,6 +1106,8 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
     
                 old = currentThread.getContextClassLoader();
                 currentThread.setContextClassLoader(contextClassLoader);
+            } finally {
+                stateLock.unlock();
             }
 
             try {
@@ -1057,10 +1126,13 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
                         }
                     }
                     
-                    synchronized(this) {
+                    stateLock.lock();
+                    try {
                         needsToReenter = (ints != interceptors);
                         if (needsToReenter)
                             ints = interceptors;
+                    } finally {
+                        stateLock.unlock();
                     }
                 } while (needsToReenter);
             } catch(OnExitRunnableException o) {
@@ -1084,8 +1156,11 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
             return false;
         } finally {
             if (isRequireUnlock.value) {
-                synchronized(this) {
+                stateLock.lock();
+                try {
                     currentThread = null;
+                } finally {
+                    stateLock.unlock();
                 }
                 lock.unlock();
             }
@@ -1272,15 +1347,21 @@ public final class Fiber implements Runnable, Cancelable, ComponentRegistry {
                     interrupted = true;
                 }
             
-            synchronized(this) {
+            stateLock.lock();
+            try {
                 return interceptors == originalInterceptors;
+            } finally {
+                stateLock.unlock();
             }
         }
         else {
             if (suspendedCount>0)
                 return false;
-            synchronized(this) {
+            stateLock.lock();
+            try {
                 return interceptors == originalInterceptors;
+            } finally {
+                stateLock.unlock();
             }
         }
     }
@@ -44,7 +44,9 @@ import com.sun.istack.NotNull;
 import com.sun.istack.Nullable;
 import com.sun.xml.ws.api.EndpointAddress;
 import com.sun.xml.ws.api.pipe.helper.PipeAdapter;
+import com.sun.xml.ws.developer.NonBlockingHttpTransportFeature;
 import com.sun.xml.ws.transport.http.client.HttpTransportPipe;
+import com.sun.xml.ws.transport.http.client.NonBlockingHttpTransportTube;
 import com.sun.xml.ws.util.ServiceFinder;
 import com.sun.xml.ws.util.pipe.StandaloneTubeAssembler;
 import java.util.logging.Level;
@@ -168,6 +170,10 @@ public abstract class TransportTubeFactory {
     }
     
     protected Tube createHttpTransport(ClientTubeAssemblerContext context) {
+        NonBlockingHttpTransportFeature nonBlocking = context.getBinding().getFeature(NonBlockingHttpTransportFeature.class);
+        if (nonBlocking != null && nonBlocking.isEnabled()) {
+            return new NonBlockingHttpTransportTube(context.getCodec(), context.getBinding());
+        }
         return new HttpTransportPipe(context.getCodec(), context.getBinding());
     }
 
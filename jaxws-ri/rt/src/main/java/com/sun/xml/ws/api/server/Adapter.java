@@ -45,6 +45,7 @@ import com.sun.xml.ws.api.Component;
 import com.sun.xml.ws.api.pipe.Codec;
 import com.sun.xml.ws.api.message.Packet;
 import com.sun.xml.ws.api.server.WSEndpoint.PipeHead;
+import com.sun.xml.ws.developer.TubelinePoolFeature;
 import com.sun.xml.ws.util.Pool;
 
 /**
@@ -117,11 +118,7 @@ public abstract class Adapter<TK extends Adapter.Toolkit>
      * an object out of the pool, you must make sure that it is recycled by the
      * same instance of the pool.
      */
-    protected volatile Pool<TK> pool = new Pool<TK>() {
-        protected TK create() {
-            return createToolkit();
-        }
-    };
+    protected volatile Pool<TK> pool;
 
     /**
      * Creates an {@link Adapter} that delivers
@@ -130,6 +127,7 @@ public abstract class Adapter<TK extends Adapter.Toolkit>
     protected Adapter(WSEndpoint endpoint) {
         assert endpoint!=null;
         this.endpoint = endpoint;
+        this.pool = createPool();
         // Enables other components to reconfigure this adapter
         endpoint.getComponents().add(getEndpointComponent());
     }
@@ -149,13 +147,36 @@ public abstract class Adapter<TK extends Adapter.Toolkit>
      * The pool instance needs to be recreated to prevent reuse of old Toolkit instances.
      */
     public void reconfigure() {
-        this.pool = new Pool<TK>() {
+        this.pool = createPool();
+        prewarmPool();
+    }
+
+    private Pool<TK> createPool() {
+        TubelinePoolFeature config = getPoolConfiguration();
+        return new Pool<TK>(config.getMaximumSize(), config.isSoftReferences()) {
             protected TK create() {
                 return createToolkit();
             }
         };
     }
 
+    private TubelinePoolFeature getPoolConfiguration() {
+        TubelinePoolFeature config = endpoint.getBinding().getFeature(TubelinePoolFeature.class);
+        return config != null && config.isEnabled() ? config : new TubelinePoolFeature();
+    }
+
+    /**
+     * Creates {@link Toolkit}s up to the {@link TubelinePoolFeature#getMinimumSize() minimum size}
+     * of the pool, so that the first requests don't pay for copying the tubeline.
+     *
+     * <p>
+     * As this calls {@link #createToolkit()}, derived classes call it once
+     * they are fully constructed.
+     */
+    protected final void prewarmPool() {
+        pool.prewarm(getPoolConfiguration().getMinimumSize());
+    }
+
     public <S> S getSPI(Class<S> spiType) {
         if (spiType.isAssignableFrom(Reconfigurable.class)) {
             return spiType.cast(this);
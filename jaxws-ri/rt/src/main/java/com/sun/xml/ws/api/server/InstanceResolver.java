@@ -43,6 +43,8 @@ package com.sun.xml.ws.api.server;
 import com.sun.istack.NotNull;
 import com.sun.xml.ws.api.message.Message;
 import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.model.JavaMethod;
+import com.sun.xml.ws.api.model.SEIModel;
 import com.sun.xml.ws.resources.ServerMessages;
 import com.sun.xml.ws.resources.WsservletMessages;
 import com.sun.xml.ws.server.ServerRtException;
@@ -84,6 +86,14 @@ import java.util.logging.Logger;
  * @author Kohsuke Kawaguchi
  */
 public abstract class InstanceResolver<T> {
+    /**
+     * Whether the {@link Invoker} created by {@link #createInvoker()} calls endpoint
+     * methods through cached {@link java.lang.invoke.MethodHandle}s. When disabled,
+     * every call goes through reflection. Methods that aren't publicly accessible
+     * are always invoked reflectively.
+     */
+    public static volatile boolean useMethodHandles = !Boolean.getBoolean(InstanceResolver.class.getName() + ".disableMethodHandles");
+
     /**
      * Decides which instance of 'T' serves the given request message.
      *
@@ -233,9 +243,17 @@ public abstract class InstanceResolver<T> {
      */
     public @NotNull Invoker createInvoker() {
         return new Invoker() {
+            private final MethodHandleInvoker handles = new MethodHandleInvoker();
+
             @Override
             public void start(@NotNull WSWebServiceContext wsc, @NotNull WSEndpoint endpoint) {
                 InstanceResolver.this.start(wsc,endpoint);
+                SEIModel seiModel = endpoint.getSEIModel();
+                if (useMethodHandles && seiModel != null) {
+                    for (JavaMethod jm : seiModel.getJavaMethods()) {
+                        handles.prepare(jm.getMethod());
+                    }
+                }
             }
 
             @Override
@@ -247,6 +265,9 @@ public abstract class InstanceResolver<T> {
             public Object invoke(Packet p, Method m, Object... args) throws InvocationTargetException, IllegalAccessException {
                 T t = resolve(p);
                 try {
+                    if (useMethodHandles) {
+                        return handles.invoke(t, m, args);
+                    }
                     return MethodUtil.invoke(t, m, args );
                 } finally {
                     postInvoke(p,t);
@@ -0,0 +1,245 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013-2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+
+package com.sun.xml.ws.api.server;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Invokes endpoint methods through {@link MethodHandle}s instead of reflection.
+ *
+ * <p>
+ * A handle is looked up once per {@link Method} and then cached, so that the
+ * per-request cost is a plain {@link MethodHandle#invokeExact} call rather than
+ * the access checks and trampoline bounce done by {@link MethodUtil}.
+ * Only public methods of public classes are handled this way (the handles come
+ * from {@link MethodHandles#publicLookup()}); everything else, including methods
+ * of classes loaded by the bootstrap loader, keeps going through {@link MethodUtil}.
+ *
+ * <p>
+ * As with reflection, a receiver or arguments the method can't take are reported
+ * with an {@link IllegalArgumentException}; only what the method itself throws is
+ * wrapped in an {@link InvocationTargetException}. So the receiver and the
+ * arguments are checked, and primitive arguments widened, before the handle is
+ * invoked.
+ */
+final class MethodHandleInvoker {
+
+    private static final Logger LOGGER = Logger.getLogger(MethodHandleInvoker.class.getName());
+
+    /**
+     * Marks methods that must be invoked reflectively.
+     */
+    private static final Handle REFLECTIVE = new Handle(null, null);
+
+    /**
+     * Primitive types in the order of the widening conversions between them.
+     */
+    private static final List<Class<?>> NUMERIC_TYPES = Arrays.<Class<?>>asList(
+            byte.class, short.class, int.class, long.class, float.class, double.class);
+    private static final List<Class<?>> NUMERIC_WRAPPERS = Arrays.<Class<?>>asList(
+            Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class);
+
+    private final ConcurrentMap<Method, Handle> handles = new ConcurrentHashMap<Method, Handle>();
+
+    /**
+     * Looks up and caches the handle for the given method ahead of the first request.
+     */
+    void prepare(Method method) {
+        handle(method);
+    }
+
+    Object invoke(Object target, Method method, Object[] args) throws IllegalAccessException, InvocationTargetException {
+        Handle h = handle(method);
+        if (h == REFLECTIVE) {
+            return MethodUtil.invoke(target, method, args);
+        }
+        Object[] arguments = h.convert(target, args);
+        try {
+            return (Object) h.handle.invokeExact(target, arguments);
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    private Handle handle(Method method) {
+        Handle h = handles.get(method);
+        if (h == null) {
+            h = create(method);
+            Handle old = handles.putIfAbsent(method, h);
+            if (old != null) {
+                h = old;
+            }
+        }
+        return h;
+    }
+
+    private static Handle create(Method method) {
+        Class<?> clazz = method.getDeclaringClass();
+        if (Modifier.isStatic(method.getModifiers()) || clazz.getClassLoader() == null) {
+            return REFLECTIVE;
+        }
+        try {
+            int n = method.getParameterTypes().length;
+            return new Handle(method, MethodHandles.publicLookup().unreflect(method)
+                    .asType(MethodType.genericMethodType(n + 1))
+                    .asSpreader(Object[].class, n));
+        } catch (IllegalAccessException e) {
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "Method {0} is not publicly accessible, falling back to reflection", method);
+            }
+            return REFLECTIVE;
+        }
+    }
+
+    /**
+     * The handle of a method, with what is needed to check its arguments.
+     */
+    private static final class Handle {
+        private static final Object[] NO_ARGS = new Object[0];
+
+        final MethodHandle handle;
+        private final Class<?> declaringClass;
+        private final Class<?>[] parameterTypes;
+
+        Handle(Method method, MethodHandle handle) {
+            this.handle = handle;
+            this.declaringClass = method != null ? method.getDeclaringClass() : null;
+            this.parameterTypes = method != null ? method.getParameterTypes() : null;
+        }
+
+        /**
+         * Checks the receiver and the arguments as {@link Method#invoke} does,
+         * and converts primitive arguments to the exact wrapper of the
+         * parameter type, so that invoking the handle can't fail on them.
+         *
+         * @return the arguments to spread, never null.
+         * @throws IllegalArgumentException if the method can't take them.
+         */
+        Object[] convert(Object target, Object[] args) {
+            if (!declaringClass.isInstance(target)) {
+                if (target == null) {
+                    throw new NullPointerException("null receiver for " + declaringClass.getName());
+                }
+                throw new IllegalArgumentException("object of type " + target.getClass().getName()
+                        + " is not an instance of " + declaringClass.getName());
+            }
+            int n = args == null ? 0 : args.length;
+            if (n != parameterTypes.length) {
+                throw new IllegalArgumentException("wrong number of arguments: expected "
+                        + parameterTypes.length + ", got " + n);
+            }
+            if (n == 0) {
+                return NO_ARGS;
+            }
+            Object[] converted = args;
+            for (int i = 0; i < n; i++) {
+                Class<?> type = parameterTypes[i];
+                Object arg = args[i];
+                if (type.isPrimitive()) {
+                    Object c = widen(type, arg);
+                    if (c == null) {
+                        throw mismatch(i, type, arg);
+                    }
+                    if (c != arg) {
+                        if (converted == args) {
+                            converted = args.clone();
+                        }
+                        converted[i] = c;
+                    }
+                } else if (arg != null && !type.isInstance(arg)) {
+                    throw mismatch(i, type, arg);
+                }
+            }
+            return converted;
+        }
+
+        /**
+         * @return the argument boxed as the given primitive type, or null if
+         *      there is no widening primitive conversion from it.
+         */
+        private static Object widen(Class<?> type, Object arg) {
+            if (type == boolean.class) {
+                return arg instanceof Boolean ? arg : null;
+            }
+            if (type == char.class) {
+                return arg instanceof Character ? arg : null;
+            }
+            if (arg instanceof Character) {
+                // char widens as int does, but for short
+                arg = Integer.valueOf((Character) arg);
+            }
+            int from = arg == null ? -1 : NUMERIC_WRAPPERS.indexOf(arg.getClass());
+            int to = NUMERIC_TYPES.indexOf(type);
+            if (from < 0 || from > to) {
+                return null;
+            }
+            if (from == to) {
+                return arg;
+            }
+            Number n = (Number) arg;
+            switch (to) {
+                case 1: return n.shortValue();
+                case 2: return n.intValue();
+                case 3: return n.longValue();
+                case 4: return n.floatValue();
+                default: return n.doubleValue();
+            }
+        }
+
+        private static IllegalArgumentException mismatch(int i, Class<?> type, Object arg) {
+            return new IllegalArgumentException("argument " + i + " of type "
+                    + (arg == null ? "null" : arg.getClass().getName())
+                    + " can't be passed as " + type.getName());
+        }
+    }
+}
@@ -86,11 +86,21 @@ public class MetroTubelineAssembler implements TubelineAssembler {
         final boolean dumpBefore;
         final boolean dumpAfter;
         final Level logLevel;
+        final int sampleRate;
+        final int maxDumpSize;
+        final boolean asynchronous;
 
-        MessageDumpingInfo(boolean dumpBefore, boolean dumpAfter, Level logLevel) {
+        MessageDumpingInfo(boolean dumpBefore, boolean dumpAfter, Level logLevel, int sampleRate, int maxDumpSize, boolean asynchronous) {
             this.dumpBefore = dumpBefore;
             this.dumpAfter = dumpAfter;
             this.logLevel = logLevel;
+            this.sampleRate = sampleRate;
+            this.maxDumpSize = maxDumpSize;
+            this.asynchronous = asynchronous;
+        }
+
+        LoggingDumpTube createTube(LoggingDumpTube.Position position, Tube tubelineHead) {
+            return new LoggingDumpTube(logLevel, position, tubelineHead, sampleRate, maxDumpSize, asynchronous);
         }
     }
 
@@ -131,7 +141,7 @@ public class MetroTubelineAssembler implements TubelineAssembler {
             final Tube oldTubelineHead = context.getTubelineHead();
             LoggingDumpTube afterDumpTube = null;
             if (msgDumpInfo.dumpAfter) {
-                afterDumpTube = new LoggingDumpTube(msgDumpInfo.logLevel, LoggingDumpTube.Position.After, context.getTubelineHead());
+                afterDumpTube = msgDumpInfo.createTube(LoggingDumpTube.Position.After, context.getTubelineHead());
                 context.setTubelineHead(afterDumpTube);
             }
 
@@ -146,7 +156,7 @@ public class MetroTubelineAssembler implements TubelineAssembler {
                 }
 
                 if (msgDumpInfo.dumpBefore) {
-                    final LoggingDumpTube beforeDumpTube = new LoggingDumpTube(msgDumpInfo.logLevel, LoggingDumpTube.Position.Before, context.getTubelineHead());
+                    final LoggingDumpTube beforeDumpTube = msgDumpInfo.createTube(LoggingDumpTube.Position.Before, context.getTubelineHead());
                     beforeDumpTube.setLoggedTubeName(loggedTubeName);
                     context.setTubelineHead(beforeDumpTube);
                 }
@@ -185,7 +195,7 @@ public class MetroTubelineAssembler implements TubelineAssembler {
             final Tube oldTubelineHead = context.getTubelineHead();
             LoggingDumpTube afterDumpTube = null;
             if (msgDumpInfo.dumpAfter) {
-                afterDumpTube = new LoggingDumpTube(msgDumpInfo.logLevel, LoggingDumpTube.Position.After, context.getTubelineHead());
+                afterDumpTube = msgDumpInfo.createTube(LoggingDumpTube.Position.After, context.getTubelineHead());
                 context.setTubelineHead(afterDumpTube);
             }
 
@@ -200,7 +210,7 @@ public class MetroTubelineAssembler implements TubelineAssembler {
                 }
 
                 if (msgDumpInfo.dumpBefore) {
-                    final LoggingDumpTube beforeDumpTube = new LoggingDumpTube(msgDumpInfo.logLevel, LoggingDumpTube.Position.Before, context.getTubelineHead());
+                    final LoggingDumpTube beforeDumpTube = msgDumpInfo.createTube(LoggingDumpTube.Position.Before, context.getTubelineHead());
                     beforeDumpTube.setLoggedTubeName(loggedTubeName);
                     context.setTubelineHead(beforeDumpTube);
                 }
@@ -216,6 +226,25 @@ public class MetroTubelineAssembler implements TubelineAssembler {
     }
 
     private MessageDumpingInfo setupMessageDumping(String msgDumpSystemPropertyBase, Side side) {
+        // sampling, size limit and asynchronous logging, from the least to the most specific property
+        int sampleRate = 1;
+        int maxDumpSize = 0;
+        boolean asynchronous = false;
+        for (String base : new String[] {
+                COMMON_MESSAGE_DUMP_SYSTEM_PROPERTY_BASE,
+                COMMON_MESSAGE_DUMP_SYSTEM_PROPERTY_BASE + "." + side.toString(),
+                msgDumpSystemPropertyBase,
+                msgDumpSystemPropertyBase + "." + side.toString()}) {
+            Integer intValue = getIntegerValue(base + ".sampleRate");
+            sampleRate = (intValue != null) ? intValue.intValue() : sampleRate;
+
+            intValue = getIntegerValue(base + ".maxSize");
+            maxDumpSize = (intValue != null) ? intValue.intValue() : maxDumpSize;
+
+            Boolean asyncValue = getBooleanValue(base + ".async");
+            asynchronous = (asyncValue != null) ? asyncValue.booleanValue() : asynchronous;
+        }
+
         boolean dumpBefore = false;
         boolean dumpAfter = false;
         Level logLevel = Level.INFO;
@@ -295,7 +324,7 @@ public class MetroTubelineAssembler implements TubelineAssembler {
             logLevel = levelValue;
         }
 
-        return new MessageDumpingInfo(dumpBefore, dumpAfter, logLevel);
+        return new MessageDumpingInfo(dumpBefore, dumpAfter, logLevel, sampleRate, maxDumpSize, asynchronous);
     }
 
     private Boolean getBooleanValue(String propertyName) {
@@ -310,6 +339,22 @@ public class MetroTubelineAssembler implements TubelineAssembler {
         return retVal;
     }
 
+    private Integer getIntegerValue(String propertyName) {
+        Integer retVal = null;
+
+        String stringValue = System.getProperty(propertyName);
+        if (stringValue != null) {
+            LOGGER.fine(TubelineassemblyMessages.MASM_0018_MSG_LOGGING_SYSTEM_PROPERTY_SET_TO_VALUE(propertyName, stringValue));
+            try {
+                retVal = Integer.valueOf(stringValue.trim());
+            } catch (NumberFormatException ex) {
+                // ignored the same way Integer.getInteger() does
+            }
+        }
+
+        return retVal;
+    }
+
     private Level getLevelValue(String propertyName) {
         Level retVal = null;
 
@@ -49,6 +49,7 @@ import com.sun.xml.ws.api.pipe.TubeCloner;
 import com.sun.xml.ws.api.pipe.helper.AbstractTubeImpl;
 import com.sun.xml.ws.api.server.SDDocument;
 import com.sun.xml.ws.util.MetadataUtil;
+import com.sun.xml.ws.util.Pool;
 import com.sun.xml.ws.util.pipe.AbstractSchemaValidationTube;
 import org.xml.sax.SAXException;
 
@@ -69,7 +70,9 @@ public class ClientSchemaValidationTube extends AbstractSchemaValidationTube {
     private static final Logger LOGGER = Logger.getLogger(ClientSchemaValidationTube.class.getName());
 
     private final Schema schema;
-    private final Validator validator;
+    private Validator validator;
+    private final Pool.Validator validators;
+    private final Pool.ValidatorHandler validatorHandlers;
     private final boolean noValidation;
     private final WSDLPort port;
 
@@ -94,19 +97,34 @@ public class ClientSchemaValidationTube extends AbstractSchemaValidationTube {
                 } catch(SAXException e) {
                     throw new WebServiceException(e);
                 }
-                validator = schema.newValidator();
+                validators = new Pool.Validator(schema);
+                validatorHandlers = new Pool.ValidatorHandler(schema);
                 return;
             }
         }
         noValidation = true;
         schema = null;
-        validator = null;
+        validators = null;
+        validatorHandlers = null;
     }
 
     protected Validator getValidator() {
+        if (validator == null && schema != null) {
+            validator = schema.newValidator();
+        }
         return validator;
     }
 
+    @Override
+    protected Pool.Validator getValidatorPool() {
+        return validators;
+    }
+
+    @Override
+    protected Pool.ValidatorHandler getValidatorHandlerPool() {
+        return validatorHandlers;
+    }
+
     protected boolean isNoValidation() {
         return noValidation;
     }
@@ -115,7 +133,8 @@ public class ClientSchemaValidationTube extends AbstractSchemaValidationTube {
         super(that,cloner);
         this.port = that.port;
         this.schema = that.schema;
-        this.validator = schema.newValidator();
+        this.validators = that.validators;
+        this.validatorHandlers = that.validatorHandlers;
         this.noValidation = that.noValidation;
     }
 
@@ -41,6 +41,7 @@
 package com.sun.xml.ws.client;
 
 import com.sun.xml.ws.api.model.wsdl.WSDLService;
+import com.sun.xml.ws.api.pipe.EngineThreadPool;
 import com.sun.xml.ws.api.server.Container;
 
 import java.util.Map;
@@ -95,6 +96,28 @@ public final class MonitorRootClient extends com.sun.xml.ws.server.MonitorBase {
     @ManagedAttribute
     private WSDLService wsdlService() { return stub.owner.getWsdlService(); }
 
+    //
+    // From Engine
+    //
+
+    @ManagedAttribute
+    private int engineQueuedFibers() {
+        EngineThreadPool pool = stub.getEngine().getEngineThreadPool();
+        return pool != null ? pool.getQueuedFibers() : 0;
+    }
+
+    @ManagedAttribute
+    private int engineRunningFibers() {
+        EngineThreadPool pool = stub.getEngine().getEngineThreadPool();
+        return pool != null ? pool.getRunningFibers() : 0;
+    }
+
+    @ManagedAttribute
+    private long engineRejectedFibers() {
+        EngineThreadPool pool = stub.getEngine().getEngineThreadPool();
+        return pool != null ? pool.getRejectedFibers() : 0;
+    }
+
     
         
 }
@@ -0,0 +1,235 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.client;
+
+import com.oracle.webservices.api.databinding.ExternalMetadataFeature;
+import com.sun.istack.NotNull;
+import com.sun.istack.Nullable;
+import com.sun.xml.ws.api.model.SEIModel;
+import com.sun.xml.ws.api.model.wsdl.WSDLPort;
+import com.sun.xml.ws.binding.WebServiceFeatureList;
+import com.sun.xml.ws.developer.UsesJAXBContextFeature;
+
+import javax.xml.namespace.QName;
+import javax.xml.ws.WebServiceFeature;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@link SEIModel}s, and so their {@link com.sun.xml.ws.api.databinding.Databinding},
+ * shared by all the {@link WSServiceDelegate}s that create a proxy of the
+ * same SEI for the same {@link WSDLPort}.
+ *
+ * <p>
+ * Building the model reflects over the SEI, creates the JAXB context and
+ * generates the wrapper beans, which is by far the most expensive part of
+ * creating a proxy. The models are attached to the SEI class, so they go
+ * away with its class loader, and the models kept per SEI are bounded by the
+ * {@code com.sun.xml.ws.client.SEIModelCache.maxSize} system property
+ * (8 by default, 0 disables sharing).
+ *
+ * <p>
+ * The {@link WSDLPort} is compared by identity, so models are shared by the
+ * services created from the same parsed WSDL; see {@link WSDLModelCache}.
+ */
+final class SEIModelCache {
+
+    static final int MAX_SIZE = AccessController.doPrivileged(new PrivilegedAction<Integer>() {
+        @Override
+        public Integer run() {
+            return Integer.getInteger(SEIModelCache.class.getName() + ".maxSize", 8);
+        }
+    });
+
+    private static final ClassValue<Map<Key, SEIModel>> MODELS = new ClassValue<Map<Key, SEIModel>>() {
+        @Override
+        protected Map<Key, SEIModel> computeValue(Class<?> sei) {
+            return Collections.synchronizedMap(new LinkedHashMap<Key, SEIModel>(4, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, SEIModel> eldest) {
+                    return size() > MAX_SIZE;
+                }
+            });
+        }
+    };
+
+    private SEIModelCache() {
+    }
+
+    /**
+     * Creates the key of the model built with the given parameters.
+     *
+     * <p>
+     * The model captures the features, so the key includes the value of
+     * each of their properties, such as the MTOM threshold.
+     *
+     * @return null if the model can't be shared.
+     */
+    static @Nullable Key createKey(@NotNull QName serviceName, @NotNull QName portName, @Nullable WSDLPort wsdlPort,
+            @Nullable URL wsdlURL, @NotNull WebServiceFeatureList features) {
+        if (MAX_SIZE <= 0) {
+            return null;
+        }
+        Map<String, List<Object>> values = new TreeMap<String, List<Object>>();
+        for (WebServiceFeature f : features) {
+            if (f instanceof UsesJAXBContextFeature || f instanceof ExternalMetadataFeature) {
+                // carry application objects that can't be compared
+                return null;
+            }
+            List<Object> featureValues = valuesOf(f);
+            if (featureValues == null) {
+                return null;
+            }
+            values.put(f.getClass().getName(), featureValues);
+        }
+        List<Object> signature = new ArrayList<Object>();
+        signature.add(serviceName);
+        signature.add(portName);
+        signature.add(wsdlURL == null ? null : wsdlURL.toExternalForm());
+        for (Map.Entry<String, List<Object>> e : values.entrySet()) {
+            signature.add(e.getKey());
+            signature.addAll(e.getValue());
+        }
+        return new Key(signature, wsdlPort);
+    }
+
+    /**
+     * Reads the properties of a feature.
+     *
+     * @return null if a property holds a value that can't be compared.
+     */
+    private static @Nullable List<Object> valuesOf(WebServiceFeature feature) {
+        List<Method> getters = GETTERS.get(feature.getClass());
+        List<Object> values = new ArrayList<Object>(getters.size());
+        for (Method getter : getters) {
+            Object value;
+            try {
+                value = getter.invoke(feature);
+            } catch (Exception e) {
+                return null;
+            }
+            if (value instanceof Collection && ((Collection) value).isEmpty()
+                    || value instanceof Map && ((Map) value).isEmpty()) {
+                value = null;
+            } else if (!(value == null || value instanceof String || value instanceof Number
+                    || value instanceof Boolean || value instanceof Character
+                    || value instanceof Enum || value instanceof Class)) {
+                return null;
+            }
+            values.add(value);
+        }
+        return values;
+    }
+
+    /**
+     * The public getters of a feature class, ordered by name.
+     */
+    private static final ClassValue<List<Method>> GETTERS = new ClassValue<List<Method>>() {
+        @Override
+        protected List<Method> computeValue(Class<?> type) {
+            List<Method> getters = new ArrayList<Method>();
+            for (Method m : type.getMethods()) {
+                String name = m.getName();
+                if (m.getDeclaringClass() != Object.class && !Modifier.isStatic(m.getModifiers())
+                        && m.getParameterTypes().length == 0 && m.getReturnType() != void.class
+                        && (name.startsWith("get") || name.startsWith("is"))) {
+                    getters.add(m);
+                }
+            }
+            Collections.sort(getters, new Comparator<Method>() {
+                @Override
+                public int compare(Method m1, Method m2) {
+                    return m1.getName().compareTo(m2.getName());
+                }
+            });
+            return getters;
+        }
+    };
+
+    static @Nullable SEIModel get(@NotNull Class<?> sei, @NotNull Key key) {
+        return MODELS.get(sei).get(key);
+    }
+
+    static void put(@NotNull Class<?> sei, @NotNull Key key, @NotNull SEIModel model) {
+        MODELS.get(sei).put(key, model);
+    }
+
+    static final class Key {
+        /**
+         * Immutable values that are compared with {@link Object#equals(Object)}.
+         */
+        private final List<Object> signature;
+        /**
+         * Also referenced by the model, holding it doesn't retain anything more.
+         */
+        private final WSDLPort port;
+
+        Key(List<Object> signature, WSDLPort port) {
+            this.signature = signature;
+            this.port = port;
+        }
+
+        @Override
+        public int hashCode() {
+            return signature.hashCode() * 31 + System.identityHashCode(port);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) o;
+            return port == that.port && signature.equals(that.signature);
+        }
+    }
+}
@@ -65,6 +65,7 @@ import com.sun.xml.ws.api.model.SEIModel;
 import com.sun.xml.ws.api.model.wsdl.WSDLPort;
 import com.sun.xml.ws.api.pipe.ClientTubeAssemblerContext;
 import com.sun.xml.ws.api.pipe.Engine;
+import com.sun.xml.ws.api.pipe.EngineThreadPool;
 import com.sun.xml.ws.api.pipe.Fiber;
 import com.sun.xml.ws.api.pipe.FiberContextSwitchInterceptorFactory;
 import com.sun.xml.ws.api.pipe.SyncStartForAsyncFeature;
@@ -74,6 +75,8 @@ import com.sun.xml.ws.api.pipe.TubelineAssemblerFactory;
 import com.sun.xml.ws.api.server.Container;
 import com.sun.xml.ws.api.server.ContainerResolver;
 import com.sun.xml.ws.binding.BindingImpl;
+import com.sun.xml.ws.developer.EngineThreadPoolFeature;
+import com.sun.xml.ws.developer.TubelinePoolFeature;
 import com.sun.xml.ws.developer.JAXWSProperties;
 import com.sun.xml.ws.developer.WSBindingProvider;
 import com.sun.xml.ws.model.wsdl.WSDLDirectProperties;
@@ -294,6 +297,16 @@ public abstract class Stub implements WSBindingProvider, ResponseContextReceiver
                 this.requestContext.setEndpointAddress(defaultEndPointAddress);
             }
             this.engine = new Engine(getStringId(), owner.getContainer(), owner.getExecutor());
+            EngineThreadPoolFeature poolFeature = binding.getFeature(EngineThreadPoolFeature.class);
+            if (owner.getExecutor() == null && poolFeature != null && poolFeature.isEnabled()) {
+                EngineThreadPool sharedPool = owner.getSharedEngineThreadPool(poolFeature);
+                if (sharedPool != null) {
+                    engine.setExecutor(sharedPool);
+                } else {
+                    // set on the port, shut down when this proxy is closed
+                    engine.setOwnedExecutor(new EngineThreadPool(poolFeature));
+                }
+            }
             this.endpointReference = epr;
             wsdlProperties = (wsdlPort == null) ? new WSDLDirectProperties(owner.getServiceName(), portname) : new WSDLPortProperties(wsdlPort);
             
@@ -304,11 +317,16 @@ public abstract class Stub implements WSBindingProvider, ResponseContextReceiver
     
             managedObjectManager = new MonitorRootClient(this).createManagedObjectManager(this);
     
-            if (master != null) {
-                this.tubes = new TubePool(master);
-            } else {
-                this.tubes = new TubePool(createPipeline(portInfo, binding));
+            if (master == null) {
+                master = createPipeline(portInfo, binding);
+            }
+            TubelinePoolFeature tubelinePool = binding.getFeature(TubelinePoolFeature.class);
+            if (tubelinePool == null || !tubelinePool.isEnabled()) {
+                tubelinePool = new TubelinePoolFeature();
             }
+            TubePool tp = new TubePool(master, tubelinePool.getMaximumSize(), tubelinePool.isSoftReferences());
+            tp.prewarm(tubelinePool.getMinimumSize());
+            this.tubes = tp;
     
             addrVersion = binding.getAddressingVersion();
     
@@ -427,6 +445,13 @@ public abstract class Stub implements WSBindingProvider, ResponseContextReceiver
         return owner.getExecutor();
     }
 
+    /**
+     * Gets the {@link Engine} that runs the fibers of this proxy.
+     */
+    /*package*/ Engine getEngine() {
+        return engine;
+    }
+
     /**
      * Passes a message to a pipe for processing.
      * <p>
@@ -606,6 +631,7 @@ public abstract class Stub implements WSBindingProvider, ResponseContextReceiver
             }
             managedObjectManagerClosed = true;
         }
+        engine.shutdown();
     }
     
     @Override
@@ -0,0 +1,330 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.client;
+
+import com.sun.istack.NotNull;
+import com.sun.istack.Nullable;
+import com.sun.xml.ws.api.model.wsdl.WSDLModel;
+import com.sun.xml.ws.api.server.Container;
+import com.sun.xml.ws.api.wsdl.parser.WSDLParserExtension;
+import org.xml.sax.EntityResolver;
+
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Process-wide cache of the {@link WSDLModel}s parsed for client
+ * {@link javax.xml.ws.Service}s, so that creating many services from the
+ * same WSDL parses it only once.
+ *
+ * <p>
+ * Models are keyed by the WSDL location, the catalog resolver, the parser
+ * extensions, the service class, the context class loader and the container,
+ * as any of them may change the result of the parsing. Only WSDLs given by
+ * their location are cached, not the ones given as a stream.
+ *
+ * <p>
+ * The cache is disabled unless a maximum size is set with the
+ * {@code com.sun.xml.ws.client.WSDLModelCache.maxSize} system property or
+ * {@link #setMaxSize(int)}. The least recently used model is evicted when the
+ * cache is full, and models older than the
+ * {@code com.sun.xml.ws.client.WSDLModelCache.expiry} system property (in
+ * milliseconds, if set) are parsed again. Applications whose WSDL changes at
+ * runtime can drop it with {@link #invalidate(URL)}.
+ *
+ * @since 2.3.1
+ */
+public final class WSDLModelCache {
+
+    private static final WSDLModelCache INSTANCE = new WSDLModelCache(
+            getIntegerProperty(WSDLModelCache.class.getName() + ".maxSize", 0),
+            getIntegerProperty(WSDLModelCache.class.getName() + ".expiry", 0));
+
+    private final Map<Key, CachedModel> models = new LinkedHashMap<Key, CachedModel>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, CachedModel> eldest) {
+            if (size() > maxSize) {
+                evictions++;
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private int maxSize;
+    private long expiry;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    WSDLModelCache(int maxSize, long expiry) {
+        this.maxSize = maxSize;
+        this.expiry = expiry;
+    }
+
+    public static @NotNull WSDLModelCache getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /**
+     * Sets the maximum number of cached models. 0 disables the cache.
+     */
+    public synchronized void setMaxSize(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize must not be negative: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        Iterator<CachedModel> it = models.values().iterator();
+        while (models.size() > maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Sets the milliseconds after which a cached model is parsed again.
+     * 0 keeps the models until they are evicted or invalidated.
+     */
+    public synchronized void setExpiry(long expiry) {
+        if (expiry < 0) {
+            throw new IllegalArgumentException("expiry must not be negative: " + expiry);
+        }
+        this.expiry = expiry;
+    }
+
+    public synchronized long getExpiry() {
+        return expiry;
+    }
+
+    /**
+     * Drops the models parsed from the given WSDL location.
+     */
+    public synchronized void invalidate(@NotNull URL wsdlLocation) {
+        String location = wsdlLocation.toExternalForm();
+        for (Iterator<Key> it = models.keySet().iterator(); it.hasNext();) {
+            if (it.next().location.equals(location)) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Drops all the models.
+     */
+    public synchronized void invalidateAll() {
+        models.clear();
+    }
+
+    public synchronized int size() {
+        return models.size();
+    }
+
+    /**
+     * Number of services created from a cached model.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Number of WSDLs parsed while the cache was enabled.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Number of models evicted to keep the cache within its maximum size.
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    synchronized @Nullable WSDLModel get(@NotNull Key key) {
+        CachedModel e = models.get(key);
+        if (e != null && expiry > 0 && System.currentTimeMillis() - e.created > expiry) {
+            models.remove(key);
+            e = null;
+        }
+        if (e == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return e.model;
+    }
+
+    synchronized void put(@NotNull Key key, @NotNull WSDLModel model) {
+        if (maxSize > 0) {
+            models.put(key, new CachedModel(model, System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * Creates the key of the model parsed with the given parameters.
+     *
+     * @return null if the model can't be cached, because the WSDL isn't
+     *         identified by its location alone.
+     */
+    static @Nullable Key createKey(@Nullable URL wsdlLocation, @NotNull Source wsdlSource,
+            @NotNull EntityResolver resolver, @NotNull Container container, @Nullable Class serviceClass,
+            @NotNull WSDLParserExtension[] extensions) {
+        if (wsdlLocation == null || !(wsdlSource instanceof StreamSource)) {
+            return null;
+        }
+        StreamSource ss = (StreamSource) wsdlSource;
+        if (ss.getInputStream() != null || ss.getReader() != null) {
+            return null;
+        }
+        String[] names = new String[extensions.length];
+        for (int i = 0; i < extensions.length; i++) {
+            names[i] = extensions[i].getClass().getName();
+        }
+        Arrays.sort(names);
+        StringBuilder signature = new StringBuilder(resolver.getClass().getName());
+        for (String name : names) {
+            signature.append(',').append(name);
+        }
+        ClassLoader loader = AccessController.doPrivileged(new PrivilegedAction<ClassLoader>() {
+            @Override
+            public ClassLoader run() {
+                return Thread.currentThread().getContextClassLoader();
+            }
+        });
+        // a ClientContainer is created for every service that has none, and they all behave the same
+        Object c = container instanceof ClientContainer ? null : container;
+        return new Key(wsdlLocation.toExternalForm(), signature.toString(), serviceClass, loader, c);
+    }
+
+    private static int getIntegerProperty(final String name, final int def) {
+        return AccessController.doPrivileged(new PrivilegedAction<Integer>() {
+            @Override
+            public Integer run() {
+                return Integer.getInteger(name, def);
+            }
+        });
+    }
+
+    private static final class CachedModel {
+        final WSDLModel model;
+        final long created;
+
+        CachedModel(WSDLModel model, long created) {
+            this.model = model;
+            this.created = created;
+        }
+    }
+
+    /**
+     * Identifies how a model was parsed. Class loaders, classes and
+     * containers are held weakly so that the cache doesn't keep
+     * undeployed applications alive.
+     */
+    static final class Key {
+        final String location;
+        private final String signature;
+        private final WeakReference<?>[] refs;
+        private final int hash;
+
+        Key(String location, String signature, Object... objects) {
+            this.location = location;
+            this.signature = signature;
+            this.refs = new WeakReference<?>[objects.length];
+            int h = location.hashCode() * 31 + signature.hashCode();
+            for (int i = 0; i < objects.length; i++) {
+                refs[i] = objects[i] == null ? null : new WeakReference<Object>(objects[i]);
+                h = h * 31 + System.identityHashCode(objects[i]);
+            }
+            this.hash = h;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) o;
+            if (hash != that.hash || !location.equals(that.location) || !signature.equals(that.signature)
+                    || refs.length != that.refs.length) {
+                return false;
+            }
+            for (int i = 0; i < refs.length; i++) {
+                if (refs[i] == null || that.refs[i] == null) {
+                    if (refs[i] != that.refs[i]) {
+                        return false;
+                    }
+                } else {
+                    Object o1 = refs[i].get();
+                    // a collected referent matches nothing, the entry is left to eviction
+                    if (o1 == null || o1 != that.refs[i].get()) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -59,6 +59,7 @@ import com.sun.xml.ws.api.model.SEIModel;
 import com.sun.xml.ws.api.model.wsdl.WSDLModel;
 import com.sun.xml.ws.api.model.wsdl.WSDLPort;
 import com.sun.xml.ws.api.model.wsdl.WSDLService;
+import com.sun.xml.ws.api.pipe.EngineThreadPool;
 import com.sun.xml.ws.api.pipe.Stubs;
 import com.sun.xml.ws.api.server.Container;
 import com.sun.xml.ws.api.server.ContainerResolver;
@@ -68,6 +69,7 @@ import com.sun.xml.ws.binding.WebServiceFeatureList;
 import com.sun.xml.ws.client.HandlerConfigurator.AnnotationConfigurator;
 import com.sun.xml.ws.client.HandlerConfigurator.HandlerResolverImpl;
 import com.sun.xml.ws.client.sei.SEIStub;
+import com.sun.xml.ws.developer.EngineThreadPoolFeature;
 import com.sun.xml.ws.developer.MemberSubmissionAddressingFeature;
 import com.sun.xml.ws.developer.UsesJAXBContextFeature;
 import com.sun.xml.ws.developer.WSBindingProvider;
@@ -188,6 +190,12 @@ public class WSServiceDelegate extends WSService {
     // this executor doesn't affect the already created proxies.
     private volatile Executor executor;
 
+    /**
+     * Fiber thread pool shared by the proxies created from this service
+     * when it is configured with {@link EngineThreadPoolFeature}.
+     */
+    private EngineThreadPool engineThreadPool;
+
     /**
      * The WSDL service that this {@link Service} object represents.
      * <p>
@@ -361,8 +369,24 @@ public class WSServiceDelegate extends WSService {
      */
     private WSDLModel parseWSDL(URL wsdlDocumentLocation, Source wsdlSource, Class serviceClass) {
         try {
-            return RuntimeWSDLParser.parse(wsdlDocumentLocation, wsdlSource, createCatalogResolver(),
-                true, getContainer(), serviceClass, ServiceFinder.find(WSDLParserExtension.class).toArray());
+            EntityResolver resolver = createCatalogResolver();
+            WSDLParserExtension[] extensions = ServiceFinder.find(WSDLParserExtension.class).toArray();
+            WSDLModelCache cache = WSDLModelCache.getInstance();
+            WSDLModelCache.Key key = cache.isEnabled()
+                    ? WSDLModelCache.createKey(wsdlDocumentLocation, wsdlSource, resolver, getContainer(), serviceClass, extensions)
+                    : null;
+            if (key != null) {
+                WSDLModel model = cache.get(key);
+                if (model != null) {
+                    return model;
+                }
+            }
+            WSDLModel model = RuntimeWSDLParser.parse(wsdlDocumentLocation, wsdlSource, resolver,
+                true, getContainer(), serviceClass, extensions);
+            if (key != null) {
+                cache.put(key, model);
+            }
+            return model;
         } catch (IOException e) {
             throw new WebServiceException(e);
         } catch (XMLStreamException e) {
@@ -386,6 +410,23 @@ public class WSServiceDelegate extends WSService {
         this.executor = executor;
     }
 
+    /**
+     * Gets the thread pool shared by all the proxies for the fibers of a proxy
+     * configured with the given feature.
+     *
+     * @return null if the feature is set on the port rather than on this service,
+     *      in which case the proxy has a pool of its own.
+     */
+    /*package*/ synchronized @Nullable EngineThreadPool getSharedEngineThreadPool(@NotNull EngineThreadPoolFeature poolFeature) {
+        if (poolFeature != features.get(EngineThreadPoolFeature.class)) {
+            return null;
+        }
+        if (engineThreadPool == null) {
+            engineThreadPool = new EngineThreadPool(poolFeature);
+        }
+        return engineThreadPool;
+    }
+
     public HandlerResolver getHandlerResolver() {
         return handlerConfigurator.getResolver();
     }
@@ -896,10 +937,32 @@ public class WSServiceDelegate extends WSService {
 
     private SEIPortInfo createSEIPortInfo(QName portName, Class portInterface, WebServiceFeatureList features) {
         WSDLPort wsdlPort = getPortModel(wsdlService, portName);
-        SEIModel model = buildRuntimeModel(serviceName, portName, portInterface, wsdlPort, features);
+        // a subclass may build the model differently, don't share it then
+        SEIModelCache.Key key = isBuildRuntimeModelOverridden()
+                ? null
+                : SEIModelCache.createKey(serviceName, portName, wsdlPort, wsdlURL, features);
+        SEIModel model = key != null ? SEIModelCache.get(portInterface, key) : null;
+        if (model == null) {
+            model = buildRuntimeModel(serviceName, portName, portInterface, wsdlPort, features);
+            if (key != null) {
+                SEIModelCache.put(portInterface, key, model);
+            }
+        }
 		
         return new SEIPortInfo(this, portInterface, (SOAPSEIModel) model, wsdlPort);
     }
+
+    private boolean isBuildRuntimeModelOverridden() {
+        if (getClass() == WSServiceDelegate.class) {
+            return false;
+        }
+        try {
+            return getClass().getMethod("buildRuntimeModel", QName.class, QName.class, Class.class,
+                    WSDLPort.class, WebServiceFeatureList.class).getDeclaringClass() != WSServiceDelegate.class;
+        } catch (NoSuchMethodException e) {
+            return true;
+        }
+    }
     
     private boolean useOwnSEIModel(WebServiceFeatureList features) {
         return features.contains(UsesJAXBContextFeature.class);
@@ -52,7 +52,9 @@ import com.sun.xml.ws.api.client.WSPortInfo;
 import com.sun.xml.ws.binding.BindingImpl;
 import com.sun.xml.ws.client.WSServiceDelegate;
 import com.sun.xml.ws.message.jaxb.JAXBDispatchMessage;
+import com.sun.xml.ws.message.jaxb.JAXBMessage;
 import com.sun.xml.ws.spi.db.BindingContextFactory;
+import com.sun.xml.ws.util.JAXBContextPools;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
@@ -76,6 +78,12 @@ public class JAXBDispatch extends DispatchImpl<Object> {
 
     private final JAXBContext jaxbcontext;
 
+    /**
+     * Marshallers and unmarshallers of {@link #jaxbcontext}, shared by all the
+     * {@code Dispatch}es of the context and handed to the messages they create.
+     */
+    private final JAXBContextPools pools;
+
     // We will support a JAXBContext parameter from an unknown JAXB
     // implementation by marshaling and unmarshaling directly from the
     // context object, as there is no Bond available.
@@ -85,28 +93,35 @@ public class JAXBDispatch extends DispatchImpl<Object> {
     public JAXBDispatch(QName port, JAXBContext jc, Service.Mode mode, WSServiceDelegate service, Tube pipe, BindingImpl binding, WSEndpointReference epr) {
         super(port, mode, service, pipe, binding, epr);
         this.jaxbcontext = jc;
+        this.pools = JAXBContextPools.of(jc);
         this.isContextSupported = BindingContextFactory.isContextSupported(jc);
     }
 
     public JAXBDispatch(WSPortInfo portInfo, JAXBContext jc, Service.Mode mode, BindingImpl binding, WSEndpointReference epr) {
         super(portInfo, mode, binding, epr);
         this.jaxbcontext = jc;
+        this.pools = JAXBContextPools.of(jc);
         this.isContextSupported = BindingContextFactory.isContextSupported(jc);
     }
 
     Object toReturnValue(Packet response) {
         try {
-            Unmarshaller unmarshaller = jaxbcontext.createUnmarshaller();
+            Unmarshaller unmarshaller = pools.takeUnmarshaller();
             Message msg = response.getMessage();
+            Object value;
             switch (mode) {
                 case PAYLOAD:
-                    return msg.<Object>readPayloadAsJAXB(unmarshaller);
+                    value = msg.<Object>readPayloadAsJAXB(unmarshaller);
+                    break;
                 case MESSAGE:
                     Source result = msg.readEnvelopeAsSource();
-                    return unmarshaller.unmarshal(result);
+                    value = unmarshaller.unmarshal(result);
+                    break;
                 default:
                     throw new WebServiceException("Unrecognized dispatch mode");
             }
+            pools.recycle(unmarshaller);
+            return value;
         } catch (JAXBException e) {
             throw new WebServiceException(e);
         }
@@ -120,14 +135,14 @@ public class JAXBDispatch extends DispatchImpl<Object> {
         if (mode == Service.Mode.MESSAGE) {
             message = isContextSupported ?
                     new JAXBDispatchMessage(BindingContextFactory.create(jaxbcontext), msg, soapVersion) :
-                    new JAXBDispatchMessage(jaxbcontext, msg, soapVersion);
+                    new JAXBDispatchMessage(jaxbcontext, pools, msg, soapVersion);
         } else {
             if (msg == null) {
                 message = Messages.createEmpty(soapVersion);
             } else {
                 message = isContextSupported ?
                         Messages.create(jaxbcontext, msg, soapVersion) :
-                        Messages.createRaw(jaxbcontext, msg, soapVersion);
+                        JAXBMessage.createRaw(jaxbcontext, pools, msg, soapVersion);
             }
         }
 
@@ -103,6 +103,27 @@ public final class Converter {
         return toString(packet.getMessage());
     }
     
+    /**
+     * Converts the message of the packet to String, writing at most
+     * {@code maxLength} characters of it.
+     *
+     * <p>
+     * The serialization of the message stops as soon as the limit is reached,
+     * so large messages are not written out in full only to be cut afterwards.
+     *
+     * @param maxLength maximum number of characters of the message to write,
+     *        0 or less for no limit
+     */
+    public static String toString(Packet packet, int maxLength) {
+        if (packet == null) {
+            return "[ Null packet ]";
+        } else if (packet.getMessage() == null) {
+                return "[ Empty packet ]";
+        }
+
+        return toString(packet.getMessage(), true, maxLength);
+    }
+
     public static String toStringNoIndent(Packet packet) {
         if (packet == null) {
             return "[ Null packet ]";
@@ -122,12 +143,16 @@ public final class Converter {
     }
 
     private static String toString(Message message, boolean createIndenter) {
+        return toString(message, createIndenter, 0);
+    }
+
+    private static String toString(Message message, boolean createIndenter, int maxLength) {
         if (message == null) {
             return "[ Null message ]";
         }
-        StringWriter stringOut = null;
+        Writer stringOut = null;
         try {
-            stringOut = new StringWriter();
+            stringOut = (maxLength > 0) ? new TruncatingWriter(maxLength) : new StringWriter();
             XMLStreamWriter writer = null;
             try {
                 writer = xmlOutputFactory.get().createXMLStreamWriter(stringOut);
@@ -136,13 +161,17 @@ public final class Converter {
                 }
                 message.copy().writeTo(writer);
             } catch (Exception e) { // WSIT-1596 - Message Dumping should not affect other processing
-                LOGGER.log(Level.WARNING, "Unexpected exception occured while dumping message", e);
+                if (!isTruncated(stringOut)) {
+                    LOGGER.log(Level.WARNING, "Unexpected exception occured while dumping message", e);
+                }
             } finally {
                 if (writer != null) {
                     try {
                         writer.close();
                     } catch (XMLStreamException ignored) {
-                        LOGGER.fine("Unexpected exception occured while closing XMLStreamWriter", ignored);
+                        if (!isTruncated(stringOut)) {
+                            LOGGER.fine("Unexpected exception occured while closing XMLStreamWriter", ignored);
+                        }
                     }
                 }
             }
@@ -158,6 +187,51 @@ public final class Converter {
         }
     }
 
+    private static boolean isTruncated(Writer out) {
+        return out instanceof TruncatingWriter && ((TruncatingWriter) out).truncated;
+    }
+
+    /**
+     * {@link Writer} that keeps the first characters written to it and fails
+     * all writes past its limit, which aborts the serialization of the message.
+     */
+    private static final class TruncatingWriter extends Writer {
+        private final StringBuilder buffer = new StringBuilder();
+        private final int maxLength;
+        private boolean truncated;
+
+        TruncatingWriter(int maxLength) {
+            this.maxLength = maxLength;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            int room = maxLength - buffer.length();
+            if (len > room) {
+                buffer.append(cbuf, off, room);
+                truncated = true;
+                throw new IOException("Message dump limit reached");
+            }
+            buffer.append(cbuf, off, len);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            if (!truncated) {
+                return buffer.toString();
+            }
+            return buffer.toString() + String.format("%n[ Message truncated after %d characters ]", maxLength);
+        }
+    }
+
     public static byte[] toBytes(Message message, String encoding) throws XMLStreamException {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
 
@@ -0,0 +1,143 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.developer;
+
+import com.sun.xml.ws.api.FeatureConstructor;
+
+import javax.xml.ws.WebServiceFeature;
+
+/**
+ * Configures the thread pool that runs the {@link com.sun.xml.ws.api.pipe.Fiber}s
+ * of a service (client side) or an endpoint (server side), when no
+ * {@link java.util.concurrent.Executor} has been set by the application.
+ *
+ * <p>
+ * The pool starts up to {@link #getMaximumPoolSize()} threads, then queues
+ * up to {@link #getQueueCapacity()} fibers. A fiber that doesn't fit in the
+ * queue is not executed; it completes with a
+ * {@link java.util.concurrent.RejectedExecutionException} instead.
+ *
+ * <p>
+ * When set on a {@link javax.xml.ws.Service}, all the ports created from it
+ * share one pool. When set on a port or an endpoint, that port or endpoint
+ * gets its own pool.
+ *
+ * <pre>
+ * for e.g.:
+ *
+ * new HelloService(wsdl, name, new EngineThreadPoolFeature(16, 64, 1000, 60000));
+ * </pre>
+ *
+ * <p>
+ * Defaults can be changed with the system properties
+ * {@code com.sun.xml.ws.developer.EngineThreadPoolFeature.corePoolSize},
+ * {@code .maximumPoolSize}, {@code .queueCapacity} and {@code .keepAliveTime}.
+ *
+ * <p>
+ * <b>THIS feature IS EXPERIMENTAL AND IS SUBJECT TO CHANGE WITHOUT NOTICE IN FUTURE.</b>
+ *
+ * @since 2.3.1
+ */
+public final class EngineThreadPoolFeature extends WebServiceFeature {
+    /**
+     * Constant value identifying the {@link EngineThreadPoolFeature} feature.
+     */
+    public static final String ID = "http://jax-ws.java.net/features/engine-thread-pool";
+
+    private static final String PREFIX = EngineThreadPoolFeature.class.getName();
+
+    public static final int DEFAULT_MAXIMUM_POOL_SIZE = Integer.getInteger(PREFIX + ".maximumPoolSize", 256);
+    public static final int DEFAULT_CORE_POOL_SIZE = Integer.getInteger(PREFIX + ".corePoolSize", DEFAULT_MAXIMUM_POOL_SIZE);
+    public static final int DEFAULT_QUEUE_CAPACITY = Integer.getInteger(PREFIX + ".queueCapacity", 10000);
+    public static final long DEFAULT_KEEP_ALIVE_TIME = Long.getLong(PREFIX + ".keepAliveTime", 60000L);
+
+    private final int corePoolSize;
+    private final int maximumPoolSize;
+    private final int queueCapacity;
+    private final long keepAliveTime;
+
+    public EngineThreadPoolFeature() {
+        this(DEFAULT_CORE_POOL_SIZE, DEFAULT_MAXIMUM_POOL_SIZE, DEFAULT_QUEUE_CAPACITY, DEFAULT_KEEP_ALIVE_TIME);
+    }
+
+    /**
+     * @param corePoolSize
+     *      threads kept in the pool while there is work; idle threads
+     *      are still released after {@code keepAliveTime}.
+     * @param maximumPoolSize
+     *      maximum number of threads, used once the queue is full.
+     * @param queueCapacity
+     *      maximum number of fibers waiting for a thread.
+     * @param keepAliveTime
+     *      milliseconds an idle thread is kept.
+     */
+    @FeatureConstructor({"corePoolSize", "maximumPoolSize", "queueCapacity", "keepAliveTime"})
+    public EngineThreadPoolFeature(int corePoolSize, int maximumPoolSize, int queueCapacity, long keepAliveTime) {
+        if (maximumPoolSize <= 0 || corePoolSize < 0 || corePoolSize > maximumPoolSize || queueCapacity < 0 || keepAliveTime < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.enabled = true;
+        this.corePoolSize = corePoolSize;
+        this.maximumPoolSize = maximumPoolSize;
+        this.queueCapacity = queueCapacity;
+        this.keepAliveTime = keepAliveTime;
+    }
+
+    public String getID() {
+        return ID;
+    }
+
+    public int getCorePoolSize() {
+        return corePoolSize;
+    }
+
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public long getKeepAliveTime() {
+        return keepAliveTime;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.developer;
+
+import com.sun.xml.ws.api.FeatureConstructor;
+
+import javax.xml.ws.WebServiceFeature;
+
+/**
+ * Selects the non-blocking HTTP client transport for a proxy or a
+ * {@link javax.xml.ws.Dispatch}.
+ *
+ * <p>
+ * With this feature enabled, plain {@code http} requests are written and
+ * their responses are read by a single selector thread. The {@link com.sun.xml.ws.api.pipe.Fiber}
+ * that sent the request is suspended while the exchange is in flight, so
+ * asynchronous invocations don't hold a thread for each outstanding call.
+ * Requests that the non-blocking transport can't handle (for e.g. {@code https}
+ * endpoints or endpoints reached through a proxy) transparently use the default
+ * {@link java.net.HttpURLConnection} based transport.
+ *
+ * <pre>
+ * for e.g.:
+ *
+ * HelloPort port = service.getHelloPort(new NonBlockingHttpTransportFeature());
+ * </pre>
+ *
+ * <p>
+ * <b>THIS feature IS EXPERIMENTAL AND IS SUBJECT TO CHANGE WITHOUT NOTICE IN FUTURE.</b>
+ *
+ * @since 2.3.1
+ */
+public final class NonBlockingHttpTransportFeature extends WebServiceFeature {
+    /**
+     * Constant value identifying the {@link NonBlockingHttpTransportFeature} feature.
+     */
+    public static final String ID = "http://jax-ws.java.net/features/non-blocking-http-transport";
+
+    /**
+     * Default number of milliseconds an unused keep-alive connection is retained.
+     */
+    public static final int DEFAULT_IDLE_TIMEOUT = 30000;
+
+    private final int idleTimeout;
+
+    public NonBlockingHttpTransportFeature() {
+        this(true, DEFAULT_IDLE_TIMEOUT);
+    }
+
+    public NonBlockingHttpTransportFeature(boolean enabled) {
+        this(enabled, DEFAULT_IDLE_TIMEOUT);
+    }
+
+    /**
+     * @param enabled
+     *      true to use the non-blocking transport.
+     * @param idleTimeout
+     *      milliseconds an idle keep-alive connection is kept open for reuse.
+     *      0 disables connection reuse.
+     */
+    @FeatureConstructor({"enabled", "idleTimeout"})
+    public NonBlockingHttpTransportFeature(boolean enabled, int idleTimeout) {
+        this.enabled = enabled;
+        this.idleTimeout = idleTimeout;
+    }
+
+    public String getID() {
+        return ID;
+    }
+
+    /**
+     * Milliseconds an idle keep-alive connection is kept open for reuse.
+     */
+    public int getIdleTimeout() {
+        return idleTimeout;
+    }
+}
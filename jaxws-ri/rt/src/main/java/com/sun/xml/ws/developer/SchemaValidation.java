@@ -101,6 +101,14 @@ public @interface SchemaValidation {
      */
     boolean outbound() default true;
 
+    /**
+     * Validates the payload while it is read or written, instead of
+     * validating a copy of it up front.
+     *
+     * @since JAX-WS RI 2.3.1
+     */
+    boolean streaming() default false;
+
     /**
      * Does validation for bound headers in a SOAP message.
      *
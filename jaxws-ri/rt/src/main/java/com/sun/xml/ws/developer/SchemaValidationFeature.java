@@ -65,6 +65,7 @@ public class SchemaValidationFeature extends WebServiceFeature {
     private final Class<? extends ValidationErrorHandler> clazz;
     private final boolean inbound;
     private final boolean outbound;
+    private final boolean streaming;
 
     public SchemaValidationFeature() {
         this(true, true, DraconianValidationErrorHandler.class);
@@ -88,12 +89,21 @@ public class SchemaValidationFeature extends WebServiceFeature {
     /**
      * @since JAX-WS RI 2.2.2
      */
-    @FeatureConstructor({"inbound", "outbound", "handler"})
     public SchemaValidationFeature(boolean inbound, boolean outbound, Class<? extends ValidationErrorHandler> clazz) {
+        this(inbound, outbound, clazz, false);
+    }
+
+    /**
+     * @since JAX-WS RI 2.3.1
+     */
+    @FeatureConstructor({"inbound", "outbound", "handler", "streaming"})
+    public SchemaValidationFeature(boolean inbound, boolean outbound, Class<? extends ValidationErrorHandler> clazz,
+            boolean streaming) {
         this.enabled = true;
         this.inbound = inbound;
         this.outbound = outbound;
         this.clazz = clazz;
+        this.streaming = streaming;
     }
 
     @ManagedAttribute
@@ -129,4 +139,17 @@ public class SchemaValidationFeature extends WebServiceFeature {
     public boolean isOutbound() {
         return outbound;
     }
+
+    /**
+     * Validates the payload while it is read or written, instead of
+     * validating a copy of it up front. Invalid inbound messages are then
+     * only detected when the payload is unmarshalled, so a server doesn't
+     * reply with a client fault for them.
+     *
+     * @since JAX-WS RI 2.3.1
+     */
+    @ManagedAttribute
+    public boolean isStreaming() {
+        return streaming;
+    }
 }
@@ -0,0 +1,139 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.developer;
+
+import com.sun.xml.ws.api.FeatureConstructor;
+
+import javax.xml.ws.WebServiceFeature;
+
+/**
+ * Configures how copies of the tubeline are pooled: the {@link com.sun.xml.ws.api.pipe.Tube}
+ * pool of a port (client side), or the pool of per-request resources of an
+ * HTTP endpoint (server side), each of which holds its own tubeline copy.
+ *
+ * <p>
+ * Copying a tubeline can be expensive, for example with security and
+ * addressing tubes. By default copies are only kept softly reachable, so
+ * after a full garbage collection they are all made again on the next
+ * requests. This feature can:
+ * <ul>
+ * <li>create {@link #getMinimumSize()} copies up front, when the port or the
+ *     endpoint is created;
+ * <li>keep at most {@link #getMaximumSize()} idle copies;
+ * <li>keep idle copies strongly reachable, so that they survive garbage collections.
+ * </ul>
+ *
+ * <pre>
+ * for e.g.:
+ *
+ * HelloPort port = service.getHelloPort(new TubelinePoolFeature(4, 32, false));
+ * </pre>
+ *
+ * <p>
+ * The same settings apply to ports and endpoints without this feature.
+ * Their defaults can be changed with the system properties
+ * {@code com.sun.xml.ws.developer.TubelinePoolFeature.minimumSize},
+ * {@code .maximumSize} and {@code .softReferences}.
+ *
+ * <p>
+ * Hit, miss and copy counts are available from the pool,
+ * see {@link com.sun.xml.ws.util.Pool#getHitCount()}.
+ *
+ * <p>
+ * <b>THIS feature IS EXPERIMENTAL AND IS SUBJECT TO CHANGE WITHOUT NOTICE IN FUTURE.</b>
+ *
+ * @since 2.3.1
+ */
+public final class TubelinePoolFeature extends WebServiceFeature {
+    /**
+     * Constant value identifying the {@link TubelinePoolFeature} feature.
+     */
+    public static final String ID = "http://jax-ws.java.net/features/tubeline-pool";
+
+    private static final String PREFIX = TubelinePoolFeature.class.getName();
+
+    public static final int DEFAULT_MINIMUM_SIZE = Integer.getInteger(PREFIX + ".minimumSize", 0);
+    public static final int DEFAULT_MAXIMUM_SIZE = Integer.getInteger(PREFIX + ".maximumSize", 0);
+    public static final boolean DEFAULT_SOFT_REFERENCES = Boolean.parseBoolean(System.getProperty(PREFIX + ".softReferences", "true"));
+
+    private final int minimumSize;
+    private final int maximumSize;
+    private final boolean softReferences;
+
+    public TubelinePoolFeature() {
+        this(DEFAULT_MINIMUM_SIZE, DEFAULT_MAXIMUM_SIZE, DEFAULT_SOFT_REFERENCES);
+    }
+
+    /**
+     * @param minimumSize
+     *      number of copies created up front.
+     * @param maximumSize
+     *      maximum number of idle copies kept, or 0 for no limit.
+     * @param softReferences
+     *      true to let the garbage collector reclaim idle copies.
+     */
+    @FeatureConstructor({"minimumSize", "maximumSize", "softReferences"})
+    public TubelinePoolFeature(int minimumSize, int maximumSize, boolean softReferences) {
+        if (minimumSize < 0 || maximumSize < 0 || (maximumSize > 0 && minimumSize > maximumSize)) {
+            throw new IllegalArgumentException();
+        }
+        this.enabled = true;
+        this.minimumSize = minimumSize;
+        this.maximumSize = maximumSize;
+        this.softReferences = softReferences;
+    }
+
+    public String getID() {
+        return ID;
+    }
+
+    public int getMinimumSize() {
+        return minimumSize;
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public boolean isSoftReferences() {
+        return softReferences;
+    }
+}
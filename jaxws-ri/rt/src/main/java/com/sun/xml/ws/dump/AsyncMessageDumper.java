@@ -0,0 +1,107 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.dump;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Logs message dumps on a background thread, so that the threads processing
+ * the messages don't wait for the log handlers.
+ *
+ * <p>
+ * The dumps wait in a bounded queue shared by all the dumping tubes. When the
+ * queue is full, new dumps are dropped and counted rather than blocking the caller.
+ * The size of the queue is set by the
+ * {@code com.sun.xml.ws.dump.AsyncMessageDumper.queueSize} system property
+ * (1024 by default). The thread is started when the first dump is submitted.
+ */
+final class AsyncMessageDumper implements Runnable {
+    private static final Logger LOGGER = Logger.getLogger(AsyncMessageDumper.class.getName());
+
+    private static final int QUEUE_SIZE = Integer.getInteger(AsyncMessageDumper.class.getName() + ".queueSize", 1024);
+
+    private static final AsyncMessageDumper INSTANCE = new AsyncMessageDumper();
+
+    private final BlockingQueue<Runnable> queue = new ArrayBlockingQueue<Runnable>(Math.max(1, QUEUE_SIZE));
+    private final AtomicLong dropped = new AtomicLong();
+
+    private AsyncMessageDumper() {
+        Thread t = new Thread(this, "jaxws-message-dumper");
+        t.setDaemon(true);
+        // don't pin the class loader of the application that happened to dump first
+        t.setContextClassLoader(AsyncMessageDumper.class.getClassLoader());
+        t.start();
+    }
+
+    /**
+     * Queues the given dump for logging.
+     *
+     * @return
+     *      false if the queue was full and the dump was dropped.
+     */
+    static boolean submit(Runnable dump) {
+        if (INSTANCE.queue.offer(dump)) {
+            return true;
+        }
+        if (INSTANCE.dropped.getAndIncrement() == 0) {
+            LOGGER.log(Level.WARNING, "Message dump queue is full, dropping message dumps. "
+                    + "Set the {0} system property to increase its size.",
+                    AsyncMessageDumper.class.getName() + ".queueSize");
+        }
+        return false;
+    }
+
+    public void run() {
+        while (true) {
+            try {
+                queue.take().run();
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Unexpected exception occured while dumping message", e);
+            }
+        }
+    }
+}
@@ -50,6 +50,7 @@ import com.sun.xml.ws.commons.xmlutil.Converter;
 import com.sun.xml.ws.dump.MessageDumper.ProcessingState;
 
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -77,12 +78,41 @@ public class LoggingDumpTube extends AbstractFilterTubeImpl {
     private final Level loggingLevel;
     private final Position position;
     private final int tubeId;
+    private final DumpSampler sampler;
+    private final int maxDumpSize;
+    private final boolean asynchronous;
+    /**
+     * Shared by the copies of this tube.
+     */
+    private final AtomicLong droppedMessages;
+    /**
+     * Whether the current exchange was sampled for dumping.
+     */
+    private boolean sampled;
 
     public LoggingDumpTube(Level loggingLevel, Position position, Tube tubelineHead) {
+        this(loggingLevel, position, tubelineHead, 1, 0, false);
+    }
+
+    /**
+     * @param sampleRate
+     *      1 in how many messages are dumped. 1 or less dumps every message.
+     * @param maxDumpSize
+     *      maximum number of characters of a message that are dumped,
+     *      0 or less for no limit.
+     * @param asynchronous
+     *      if true, dumps are logged by a background thread, and dropped
+     *      when too many of them are waiting.
+     */
+    public LoggingDumpTube(Level loggingLevel, Position position, Tube tubelineHead, int sampleRate, int maxDumpSize, boolean asynchronous) {
         super(tubelineHead);
 
         this.position = position;
         this.loggingLevel = loggingLevel;
+        this.sampler = new DumpSampler(sampleRate);
+        this.maxDumpSize = maxDumpSize;
+        this.asynchronous = asynchronous;
+        this.droppedMessages = new AtomicLong();
         
         this.tubeId = ID_GENERATOR.incrementAndGet();
     }
@@ -101,10 +131,22 @@ public class LoggingDumpTube extends AbstractFilterTubeImpl {
         this.messageDumper = original.messageDumper;
         this.loggingLevel = original.loggingLevel;
         this.position = original.position;
+        this.sampler = original.sampler;
+        this.maxDumpSize = original.maxDumpSize;
+        this.asynchronous = original.asynchronous;
+        this.droppedMessages = original.droppedMessages;
 
         this.tubeId = ID_GENERATOR.incrementAndGet();
     }
 
+    /**
+     * Number of asynchronous dumps of this tube and its copies that were
+     * dropped because too many dumps were waiting to be logged.
+     */
+    public long getDroppedMessageCount() {
+        return droppedMessages.get();
+    }
+
     public LoggingDumpTube copy(TubeCloner cloner) {
         return new LoggingDumpTube(this, cloner);
     }
@@ -112,9 +154,10 @@ public class LoggingDumpTube extends AbstractFilterTubeImpl {
 
     @Override
     public NextAction processRequest(Packet request) {
-        if (messageDumper.isLoggable()) {
+        sampled = messageDumper.isLoggable() && sampler.sample();
+        if (sampled) {
             Packet dumpPacket = (request != null) ? request.copy(true) : null;
-            messageDumper.dump(MessageDumper.MessageType.Request, position.requestState, Converter.toString(dumpPacket), tubeId, Fiber.current().owner.id);
+            dump(MessageDumper.MessageType.Request, position.requestState, Converter.toString(dumpPacket, maxDumpSize));
         }
 
         return super.processRequest(request);
@@ -122,9 +165,9 @@ public class LoggingDumpTube extends AbstractFilterTubeImpl {
 
     @Override
     public NextAction processResponse(Packet response) {
-        if (messageDumper.isLoggable()) {
+        if (sampled && messageDumper.isLoggable()) {
             Packet dumpPacket = (response != null) ? response.copy(true) : null;
-            messageDumper.dump(MessageDumper.MessageType.Response, position.responseState, Converter.toString(dumpPacket), tubeId, Fiber.current().owner.id);
+            dump(MessageDumper.MessageType.Response, position.responseState, Converter.toString(dumpPacket, maxDumpSize));
         }
 
         return super.processResponse(response);
@@ -133,12 +176,23 @@ public class LoggingDumpTube extends AbstractFilterTubeImpl {
     @Override
     public NextAction processException(Throwable t) {
         if (messageDumper.isLoggable()) {
-            messageDumper.dump(MessageDumper.MessageType.Exception, position.responseState, Converter.toString(t), tubeId, Fiber.current().owner.id);
+            dump(MessageDumper.MessageType.Exception, position.responseState, Converter.toString(t));
         }
 
         return super.processException(t);
     }
 
+    private void dump(MessageDumper.MessageType messageType, ProcessingState processingState, String message) {
+        String engineId = Fiber.current().owner.id;
+        if (asynchronous) {
+            if (!messageDumper.logAsync(messageDumper.createLogMessage(messageType, processingState, tubeId, engineId, message))) {
+                droppedMessages.incrementAndGet();
+            }
+        } else {
+            messageDumper.dump(messageType, processingState, message, tubeId, engineId);
+        }
+    }
+
     @Override
     public void preDestroy() {
         super.preDestroy();
@@ -119,4 +119,19 @@ final class MessageDumper {
 
         return logMessage;
     }
+
+    /**
+     * Logs an already created log message on the background dumping thread.
+     *
+     * @return
+     *      false if the message was dropped because too many dumps are waiting to be logged.
+     */
+    final boolean logAsync(final String logMessage) {
+        final Level level = loggingLevel;
+        return AsyncMessageDumper.submit(new Runnable() {
+            public void run() {
+                logger.log(level, logMessage);
+            }
+        });
+    }
 }
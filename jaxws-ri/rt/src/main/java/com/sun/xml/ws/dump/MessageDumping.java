@@ -74,4 +74,19 @@ public @interface MessageDumping {
      * Turns on or off storing messages
      */
     boolean storeMessages() default false; 
+
+    /**
+     * 1 in how many messages are dumped
+     */
+    int sampleRate() default 1;
+
+    /**
+     * Maximum number of characters of a message that are dumped, 0 for no limit
+     */
+    int maxDumpSize() default 0;
+
+    /**
+     * Turns on or off logging the dumps on a background thread
+     */
+    boolean asynchronous() default false;
 }
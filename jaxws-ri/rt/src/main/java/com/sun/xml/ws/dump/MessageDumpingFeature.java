@@ -41,12 +41,17 @@
 package com.sun.xml.ws.dump;
 
 import com.sun.xml.ws.api.FeatureConstructor;
+import com.sun.xml.ws.api.message.Packet;
 import org.glassfish.gmbal.ManagedAttribute;
 import org.glassfish.gmbal.ManagedData;
 
+import javax.xml.namespace.QName;
 import javax.xml.ws.WebServiceFeature;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 
 /**
@@ -64,16 +69,38 @@ public final class MessageDumpingFeature extends WebServiceFeature {
     private final AtomicBoolean messageLoggingStatus;
     private final String messageLoggingRoot;
     private final Level messageLoggingLevel;
+    private final int maxDumpSize;
+    private final boolean asynchronous;
+    private volatile DumpSampler sampler;
+    private final ConcurrentMap<String, DumpSampler> operationSamplers = new ConcurrentHashMap<String, DumpSampler>();
+    private final AtomicLong droppedMessages = new AtomicLong();
 
     public MessageDumpingFeature() {
         this(null, null, true);
     }
 
     public MessageDumpingFeature(String msgLogRoot, Level msgLogLevel, boolean storeMessages) {
+        this(msgLogRoot, msgLogLevel, storeMessages, 1, 0, false);
+    }
+
+    /**
+     * @param sampleRate
+     *      1 in how many messages are dumped. 1 or less dumps every message.
+     * @param maxDumpSize
+     *      maximum number of characters of a message that are dumped,
+     *      0 or less for no limit.
+     * @param asynchronous
+     *      if true, dumps are logged by a background thread, and dropped
+     *      when too many of them are waiting.
+     */
+    public MessageDumpingFeature(String msgLogRoot, Level msgLogLevel, boolean storeMessages, int sampleRate, int maxDumpSize, boolean asynchronous) {
         this.messageQueue =  (storeMessages) ? new java.util.concurrent.ConcurrentLinkedQueue<String>() : null;
         this.messageLoggingStatus = new AtomicBoolean(true);
         this.messageLoggingRoot = (msgLogRoot != null && msgLogRoot.length() > 0) ? msgLogRoot : MessageDumpingTube.DEFAULT_MSGDUMP_LOGGING_ROOT;
         this.messageLoggingLevel = (msgLogLevel != null) ? msgLogLevel : DEFAULT_MSG_LOG_LEVEL;
+        this.sampler = new DumpSampler(sampleRate);
+        this.maxDumpSize = maxDumpSize;
+        this.asynchronous = asynchronous;
 
         super.enabled = true;
     }
@@ -84,7 +111,6 @@ public final class MessageDumpingFeature extends WebServiceFeature {
         super.enabled = enabled;
     }
 
-    @FeatureConstructor({"enabled", "messageLoggingRoot", "messageLoggingLevel", "storeMessages"})
     public MessageDumpingFeature(boolean enabled, String msgLogRoot, String msgLogLevel, boolean storeMessages) {
         // this constructor is here just to satisfy JAX-WS specification requirements
         this(msgLogRoot, Level.parse(msgLogLevel), storeMessages);
@@ -92,6 +118,14 @@ public final class MessageDumpingFeature extends WebServiceFeature {
         super.enabled = enabled;
     }
 
+    @FeatureConstructor({"enabled", "messageLoggingRoot", "messageLoggingLevel", "storeMessages", "sampleRate", "maxDumpSize", "asynchronous"})
+    public MessageDumpingFeature(boolean enabled, String msgLogRoot, String msgLogLevel, boolean storeMessages,
+            int sampleRate, int maxDumpSize, boolean asynchronous) {
+        this(msgLogRoot, Level.parse(msgLogLevel), storeMessages, sampleRate, maxDumpSize, asynchronous);
+
+        super.enabled = enabled;
+    }
+
     @Override
     @ManagedAttribute
     public String getID() {
@@ -125,7 +159,72 @@ public final class MessageDumpingFeature extends WebServiceFeature {
         return messageLoggingLevel;
     }
 
+    /**
+     * Sets 1 in how many messages are dumped.
+     */
+    public void setSampleRate(int sampleRate) {
+        sampler = new DumpSampler(sampleRate);
+    }
+
+    @ManagedAttribute
+    public int getSampleRate() {
+        return sampler.getRate();
+    }
+
+    /**
+     * Sets 1 in how many messages of the given WSDL operation are dumped,
+     * overriding {@link #setSampleRate(int)} for that operation.
+     *
+     * @param operation
+     *      local name of the WSDL operation.
+     */
+    public void setSampleRate(String operation, int sampleRate) {
+        operationSamplers.put(operation, new DumpSampler(sampleRate));
+    }
+
+    @ManagedAttribute
+    public int getMaxDumpSize() {
+        return maxDumpSize;
+    }
+
+    @ManagedAttribute
+    public boolean isAsynchronous() {
+        return asynchronous;
+    }
+
+    /**
+     * Number of asynchronous dumps that were dropped because
+     * too many dumps were waiting to be logged.
+     */
+    @ManagedAttribute
+    public long getDroppedMessageCount() {
+        return droppedMessages.get();
+    }
+
     boolean offerMessage(String message) {
         return (messageQueue != null) ? messageQueue.offer(message) : false;
     }
+
+    boolean isStoringMessages() {
+        return messageQueue != null;
+    }
+
+    /**
+     * Decides whether the exchange started by the given request is dumped.
+     */
+    boolean sample(Packet request) {
+        DumpSampler s = sampler;
+        if (!operationSamplers.isEmpty()) {
+            QName operation = request.getWSDLOperation();
+            DumpSampler os = (operation != null) ? operationSamplers.get(operation.getLocalPart()) : null;
+            if (os != null) {
+                s = os;
+            }
+        }
+        return s.sample();
+    }
+
+    void messageDropped() {
+        droppedMessages.incrementAndGet();
+    }
 }
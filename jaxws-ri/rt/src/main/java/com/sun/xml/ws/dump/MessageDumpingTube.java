@@ -64,6 +64,11 @@ final class MessageDumpingTube extends AbstractFilterTubeImpl {
     private final int tubeId;
     //
     private final MessageDumpingFeature messageDumpingFeature;
+    /**
+     * Whether the current exchange was sampled for dumping.
+     * A tube instance only processes one exchange at a time.
+     */
+    private boolean sampled;
     /**
      * @param name
      *      Specify the name that identifies this {@link MessageDumpingTube}
@@ -105,28 +110,52 @@ final class MessageDumpingTube extends AbstractFilterTubeImpl {
 
     @Override
     public NextAction processRequest(Packet request) {
-        dump(MessageType.Request, Converter.toString(request), Fiber.current().owner.id);
+        sampled = isDumping() && messageDumpingFeature.sample(request);
+        if (sampled) {
+            dump(MessageType.Request, Converter.toString(request, messageDumpingFeature.getMaxDumpSize()), Fiber.current().owner.id);
+        }
         return super.processRequest(request);
     }
 
     @Override
     public NextAction processResponse(Packet response) {
-        dump(MessageType.Response, Converter.toString(response), Fiber.current().owner.id);
+        if (sampled && isDumping()) {
+            dump(MessageType.Response, Converter.toString(response, messageDumpingFeature.getMaxDumpSize()), Fiber.current().owner.id);
+        }
         return super.processResponse(response);
     }
 
     @Override
     public NextAction processException(Throwable t) {
-        dump(MessageType.Exception, Converter.toString(t), Fiber.current().owner.id);
+        // exceptions are rare and worth seeing, so they are not sampled
+        if (isDumping()) {
+            dump(MessageType.Exception, Converter.toString(t), Fiber.current().owner.id);
+        }
 
         return super.processException(t);
     }
 
+    /**
+     * Whether a dump would be logged or stored at all,
+     * so that messages are not serialized for nothing.
+     */
+    private boolean isDumping() {
+        return messageDumpingFeature.isStoringMessages()
+                || (messageDumpingFeature.getMessageLoggingStatus() && messageDumper.isLoggable());
+    }
+
     protected final void dump(MessageType messageType, String message, String engineId) {
         String logMessage;
         if (messageDumpingFeature.getMessageLoggingStatus()) {
             messageDumper.setLoggingLevel(messageDumpingFeature.getMessageLoggingLevel());
-            logMessage = messageDumper.dump(messageType, ProcessingState.Received, message, tubeId, engineId);
+            if (messageDumpingFeature.isAsynchronous()) {
+                logMessage = messageDumper.createLogMessage(messageType, ProcessingState.Received, tubeId, engineId, message);
+                if (!messageDumper.logAsync(logMessage)) {
+                    messageDumpingFeature.messageDropped();
+                }
+            } else {
+                logMessage = messageDumper.dump(messageType, ProcessingState.Received, message, tubeId, engineId);
+            }
         } else {
             logMessage = messageDumper.createLogMessage(messageType, ProcessingState.Received, tubeId, engineId, message);
         }
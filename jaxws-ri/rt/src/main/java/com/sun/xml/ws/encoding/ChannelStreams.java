@@ -0,0 +1,200 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+
+package com.sun.xml.ws.encoding;
+
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.pipe.Codec;
+import com.sun.xml.ws.api.pipe.ContentType;
+import com.sun.xml.ws.util.Pool;
+
+import javax.xml.ws.WebServiceException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.IllegalBlockingModeException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Implements the NIO channel methods of {@link Codec} on top of their stream
+ * counterparts.
+ *
+ * <p>
+ * Encoding goes through a pooled direct {@link ByteBuffer}: small writes, such as
+ * MIME part headers, are collected in it, while large arrays, such as attachment
+ * contents, are written to the channel as they are, together with what is buffered
+ * in a single gathering write when the channel supports it. Decoding reads the
+ * channel directly into the arrays of the parser.
+ *
+ * <p>
+ * The channels must be in blocking mode. As with the stream methods, a decoded
+ * {@link com.sun.xml.ws.api.message.Message} may read from the channel lazily,
+ * so it must stay open until the message is consumed.
+ */
+public final class ChannelStreams {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final Pool<ByteBuffer> BUFFERS = new Pool<ByteBuffer>(16, true) {
+        @Override
+        protected ByteBuffer create() {
+            return ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+    };
+
+    private ChannelStreams() {
+    }
+
+    /**
+     * Encodes the packet to the channel with {@link Codec#encode(Packet, OutputStream)}.
+     */
+    public static ContentType encode(Codec codec, Packet packet, WritableByteChannel channel) {
+        ChannelOutputStream out = new ChannelOutputStream(channel);
+        try {
+            ContentType ct = codec.encode(packet, out);
+            out.flush();
+            return ct;
+        } catch (IOException e) {
+            throw new WebServiceException(e);
+        } finally {
+            out.release();
+        }
+    }
+
+    /**
+     * Decodes the channel with {@link Codec#decode(InputStream, String, Packet)}.
+     */
+    public static void decode(Codec codec, ReadableByteChannel channel, String contentType, Packet packet) {
+        try {
+            codec.decode(newInputStream(channel), contentType, packet);
+        } catch (IOException e) {
+            throw new WebServiceException(e);
+        }
+    }
+
+    /**
+     * Reads from the channel without intermediate buffering: reads into an array
+     * are done on a {@link ByteBuffer} wrapping it.
+     */
+    public static InputStream newInputStream(ReadableByteChannel channel) {
+        return Channels.newInputStream(channel);
+    }
+
+    private static final class ChannelOutputStream extends OutputStream {
+        private final WritableByteChannel channel;
+        private ByteBuffer buffer;
+
+        ChannelOutputStream(WritableByteChannel channel) {
+            if (channel instanceof SelectableChannel && !((SelectableChannel) channel).isBlocking()) {
+                throw new IllegalBlockingModeException();
+            }
+            this.channel = channel;
+            this.buffer = BUFFERS.take();
+            this.buffer.clear();
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len <= buffer.remaining()) {
+                buffer.put(b, off, len);
+                return;
+            }
+            if (len < buffer.capacity()) {
+                drain();
+                buffer.put(b, off, len);
+                return;
+            }
+            // too big to be worth copying
+            ByteBuffer data = ByteBuffer.wrap(b, off, len);
+            buffer.flip();
+            if (buffer.hasRemaining() && channel instanceof GatheringByteChannel) {
+                ByteBuffer[] srcs = {buffer, data};
+                while (data.hasRemaining()) {
+                    ((GatheringByteChannel) channel).write(srcs);
+                }
+            } else {
+                writeFully(buffer);
+                writeFully(data);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void flush() throws IOException {
+            drain();
+        }
+
+        /**
+         * Returns the buffer to the pool. The channel is left open.
+         */
+        void release() {
+            if (buffer != null) {
+                BUFFERS.recycle(buffer);
+                buffer = null;
+            }
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            writeFully(buffer);
+            buffer.clear();
+        }
+
+        private void writeFully(ByteBuffer src) throws IOException {
+            while (src.hasRemaining()) {
+                channel.write(src);
+            }
+        }
+    }
+}
@@ -42,11 +42,23 @@ package com.sun.xml.ws.encoding;
 
 import com.sun.istack.Nullable;
 import com.sun.istack.NotNull;
+import com.sun.xml.ws.util.BoundedCache;
+
+import java.nio.charset.Charset;
 
 /**
  * @author Vivek Pandey
  */
 public final class ContentTypeImpl implements com.sun.xml.ws.api.pipe.ContentType {
+    /**
+     * Maximum number of distinct received Content-Type headers whose parameters are cached.
+     */
+    public static final int CACHE_SIZE = Integer.getInteger(ContentTypeImpl.class.getName() + ".cacheSize", 64);
+
+    private static final BoundedCache<String, Parameters> PARAMETERS = new BoundedCache<String, Parameters>(CACHE_SIZE);
+
+    private static final BoundedCache<String, Boolean> SUPPORTED_CHARSETS = new BoundedCache<String, Boolean>(CACHE_SIZE);
+
     private final @NotNull String contentType;
     private final @NotNull String soapAction;
     private String accept;
@@ -68,6 +80,86 @@ public final class ContentTypeImpl implements com.sun.xml.ws.api.pipe.ContentTyp
         this(contentType, soapAction, accept, null);
     }
     
+    private ContentTypeImpl(String contentType, Parameters p) {
+        this.contentType = contentType;
+        this.accept = null;
+        this.soapAction = getQuotedSOAPAction(null);
+        this.charset = p.charset;
+        this.rootId = p.start;
+        this.boundary = p.boundary;
+    }
+
+    /**
+     * Creates the {@link ContentTypeImpl} of a received message from its Content-Type header.
+     *
+     * <p>
+     * Peers tend to send the same few headers, so their parameters are parsed once and
+     * cached. Headers with a MIME boundary, which is usually unique to a message, aren't.
+     */
+    public static ContentTypeImpl fromHeader(String contentType) {
+        Parameters p = parameters(contentType);
+        return (p != null) ? new ContentTypeImpl(contentType, p) : new ContentTypeImpl(contentType);
+    }
+
+    /**
+     * Returns the {@code action} parameter of a received Content-Type header, as used by SOAP 1.2.
+     *
+     * @throws javax.xml.ws.WebServiceException if the header can't be parsed.
+     */
+    static @Nullable String getActionParameter(String contentType) {
+        Parameters p = parameters(contentType);
+        return (p != null) ? p.action : new ContentType(contentType).getParameter("action");
+    }
+
+    /**
+     * {@link Charset#isSupported(String)}, cached for the charsets of received messages.
+     */
+    static boolean isSupportedCharset(String charset) {
+        Boolean supported = SUPPORTED_CHARSETS.get(charset);
+        if (supported == null) {
+            supported = SUPPORTED_CHARSETS.intern(charset, Charset.isSupported(charset));
+        }
+        return supported;
+    }
+
+    /**
+     * @return null if the header can't be parsed.
+     */
+    private static Parameters parameters(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        Parameters p = PARAMETERS.get(contentType);
+        if (p == null) {
+            try {
+                p = new Parameters(new ContentType(contentType));
+            } catch (Exception e) {
+                return null;
+            }
+            if (p.boundary == null) {
+                p = PARAMETERS.intern(contentType, p);
+            }
+        }
+        return p;
+    }
+
+    /**
+     * Parameters of a parsed Content-Type header.
+     */
+    private static final class Parameters {
+        final String charset;
+        final String start;
+        final String boundary;
+        final String action;
+
+        Parameters(ContentType ct) {
+            charset = ct.getParameter("charset");
+            start = ct.getParameter("start");
+            boundary = ct.getParameter("boundary");
+            action = ct.getParameter("action");
+        }
+    }
+
     public ContentTypeImpl(String contentType, @Nullable String soapAction, @Nullable String accept, String charsetParam) {
         this.contentType = contentType;
         this.accept = accept;
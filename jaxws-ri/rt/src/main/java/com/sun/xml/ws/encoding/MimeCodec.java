@@ -50,6 +50,7 @@ import com.sun.xml.ws.api.pipe.Codec;
 import com.sun.xml.ws.api.pipe.ContentType;
 import com.sun.xml.ws.developer.StreamingAttachmentFeature;
 
+import javax.xml.ws.WebServiceException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -196,7 +197,12 @@ abstract class MimeCodec implements Codec {
     }
 
     public void decode(ReadableByteChannel in, String contentType, Packet packet) {
-        throw new UnsupportedOperationException();
+        MimeMultipartParser parser = new MimeMultipartParser(ChannelStreams.newInputStream(in), contentType, features.get(StreamingAttachmentFeature.class));
+        try {
+            decode(parser,packet);
+        } catch (IOException e) {
+            throw new WebServiceException(e);
+        }
     }
 
     /**
@@ -68,6 +68,8 @@ import org.jvnet.staxex.XMLStreamReaderEx;
 import org.jvnet.staxex.XMLStreamWriterEx;
 
 import javax.activation.DataHandler;
+import javax.activation.DataSource;
+import javax.activation.FileDataSource;
 import javax.xml.namespace.NamespaceContext;
 import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
@@ -81,7 +83,6 @@ import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.nio.channels.WritableByteChannel;
-import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -283,7 +284,7 @@ public class MtomCodec extends MimeCodec {
 
     @Override
     public ContentType encode(Packet packet, WritableByteChannel buffer) {
-        throw new UnsupportedOperationException();
+        return ChannelStreams.encode(this, packet, buffer);
     }
 
     @Override
@@ -304,9 +305,9 @@ public class MtomCodec extends MimeCodec {
         String charset = null;
         String ct = mpp.getRootPart().getContentType();
         if (ct != null) {
-            charset = new ContentTypeImpl(ct).getCharSet();
+            charset = ContentTypeImpl.fromHeader(ct).getCharSet();
         }
-        if (charset != null && !Charset.isSupported(charset)) {
+        if (charset != null && !ContentTypeImpl.isSupportedCharset(charset)) {
             throw new UnsupportedMediaException(charset);
         }
 
@@ -372,10 +373,40 @@ public class MtomCodec extends MimeCodec {
 
         @Override
         public void writeBinary(DataHandler dataHandler) throws XMLStreamException {
-            // TODO how do we check threshold and if less inline the data
+            //check threshold and if less write as base64encoded value
+            if (isInlined(dataHandler)) {
+                try {
+                    com.sun.xml.ws.util.ByteArrayBuffer data = new com.sun.xml.ws.util.ByteArrayBuffer();
+                    data.write(dataHandler.getInputStream());
+                    writeCharacters(DatatypeConverterImpl._printBase64Binary(data.getRawData(), 0, data.size()));
+                } catch (IOException e) {
+                    throw new XMLStreamException(e);
+                }
+                return;
+            }
             writeBinary(new ByteArrayBuffer(dataHandler, boundary));
         }
 
+        /**
+         * True if the data is known to be smaller than the threshold. The size of
+         * the data is only known when it is in memory or in a file, other data
+         * is always sent as an attachment, streamed from its source.
+         */
+        private boolean isInlined(DataHandler dataHandler) {
+            int threshold = myMtomFeature.getThreshold();
+            if (threshold <= 0) {
+                return false;
+            }
+            DataSource ds = dataHandler.getDataSource();
+            if (ds instanceof ByteArrayDataSource) {
+                return threshold > ((ByteArrayDataSource) ds).getLength();
+            }
+            if (ds instanceof FileDataSource) {
+                return threshold > ((FileDataSource) ds).getFile().length();
+            }
+            return false;
+        }
+
         @Override
         public OutputStream writeBinary(String contentType) throws XMLStreamException {
             throw new UnsupportedOperationException();
@@ -387,6 +418,11 @@ public class MtomCodec extends MimeCodec {
                 return;
             if(data instanceof Base64Data){
                 Base64Data binaryData = (Base64Data)data;
+                if (binaryData.hasData() && myMtomFeature.getThreshold() > binaryData.getDataLen()) {
+                    // already base64 characters
+                    writeCharacters(data.toString());
+                    return;
+                }
                 writeBinary(binaryData.getDataHandler());
                 return;
             }
@@ -433,8 +469,10 @@ public class MtomCodec extends MimeCodec {
 
                 @Override
                 public String addMtomAttachment(DataHandler data, String elementNamespace, String elementLocalName) {
-                    // Should we do the threshold processing on DataHandler ? But that would be
-                    // expensive as DataHolder need to read the data again from its source
+                    // inline the data based on the threshold, when its size is known
+                    if (isInlined(data)) {
+                        return null;                // JAXB inlines the attachment data
+                    }
                     ByteArrayBuffer bab = new ByteArrayBuffer(data, boundary);
                     mtomAttachments.add(bab);
                     return "cid:"+bab.contentId;
@@ -298,7 +298,7 @@ public class SOAPBindingCodec extends MimeCodec implements com.sun.xml.ws.api.pi
         if (contentType == null) {
             contentType = xmlMimeType;
         }
-        packet.setContentType(new ContentTypeImpl(contentType));
+        packet.setContentType(ContentTypeImpl.fromHeader(contentType));
         preDecode(packet);
         try {
             if(isMultipartRelated(contentType))
@@ -395,10 +395,7 @@ public class SOAPBindingCodec extends MimeCodec implements com.sun.xml.ws.api.pi
     }
     
     private boolean compareStrings(String a, String b) {
-        return a.length() >= b.length() &&
-                b.equalsIgnoreCase(
-                a.substring(0,
-                b.length()));
+        return a.regionMatches(true, 0, b, 0, b.length());
     }
     
 //    private boolean isFastInfosetAcceptable(String accept) {
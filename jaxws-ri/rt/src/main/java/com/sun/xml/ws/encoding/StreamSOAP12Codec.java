@@ -98,8 +98,7 @@ final class StreamSOAP12Codec extends StreamSOAPCodec {
 
     @Override
     public void decode(InputStream in, String contentType, Packet packet, AttachmentSet att ) throws IOException {
-        com.sun.xml.ws.encoding.ContentType ct = new com.sun.xml.ws.encoding.ContentType(contentType);
-        packet.soapAction = fixQuotesAroundSoapAction(ct.getParameter("action"));
+        packet.soapAction = fixQuotesAroundSoapAction(ContentTypeImpl.getActionParameter(contentType));
         super.decode(in,contentType,packet,att);
     }
 
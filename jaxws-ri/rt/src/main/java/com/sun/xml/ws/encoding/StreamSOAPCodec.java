@@ -62,6 +62,7 @@ import com.sun.xml.ws.api.pipe.ContentType;
 import com.sun.xml.ws.api.streaming.XMLStreamWriterFactory;
 import com.sun.xml.ws.developer.SerializationFeature;
 import com.sun.xml.ws.message.AttachmentSetImpl;
+import com.sun.xml.ws.message.stream.HeaderBufferPool;
 import com.sun.xml.ws.message.stream.StreamMessage;
 import com.sun.xml.ws.protocol.soap.VersionMismatchException;
 import com.sun.xml.ws.server.UnsupportedMediaException;
@@ -78,7 +79,6 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
-import java.nio.charset.Charset;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -100,6 +100,12 @@ public abstract class StreamSOAPCodec implements com.sun.xml.ws.api.pipe.StreamS
     
     private final StreamDecoder streamDecoder;
 
+    /**
+     * Buffers the headers of decoded {@link StreamMessage}s are cached into.
+     * Shared by all threads, as {@link #copy()} returns this instance.
+     */
+    private final HeaderBufferPool headerBufferPool = new HeaderBufferPool();
+
     // charset of last decoded message. Will be used for encoding server's
     // response messages with the request message's encoding
     // it will stored in the packet.invocationProperties
@@ -156,8 +162,7 @@ public abstract class StreamSOAPCodec implements com.sun.xml.ws.api.pipe.StreamS
     protected abstract String getDefaultContentType();
 
     public ContentType encode(Packet packet, WritableByteChannel buffer) {
-        //TODO: not yet implemented
-        throw new UnsupportedOperationException();
+        return ChannelStreams.encode(this, packet, buffer);
     }
 
     protected abstract List<String> getExpectedContentTypes();
@@ -206,7 +211,7 @@ public abstract class StreamSOAPCodec implements com.sun.xml.ws.api.pipe.StreamS
      *      (like MIME multipart codec.)
      */
     public final Message decode(XMLStreamReader reader, @NotNull AttachmentSet attachmentSet) {
-        return decode(soapVersion, reader, attachmentSet);
+        return withHeaderBufferPool(decode(soapVersion, reader, attachmentSet));
     }
     
     public static final Message decode(SOAPVersion soapVersion, XMLStreamReader reader, @NotNull AttachmentSet attachmentSet) {
@@ -222,7 +227,7 @@ public abstract class StreamSOAPCodec implements com.sun.xml.ws.api.pipe.StreamS
     }
 
     public void decode(ReadableByteChannel in, String contentType, Packet packet ) {
-        throw new UnsupportedOperationException();
+        ChannelStreams.decode(this, in, contentType, packet);
     }
 
     public final StreamSOAPCodec copy() {
@@ -236,9 +241,9 @@ public abstract class StreamSOAPCodec implements com.sun.xml.ws.api.pipe.StreamS
         }
         com.oracle.webservices.api.message.ContentType pct = packet.getInternalContentType();
         ContentTypeImpl cti = (pct != null && pct instanceof ContentTypeImpl) ?
-                (ContentTypeImpl)pct : new ContentTypeImpl(contentType);
+                (ContentTypeImpl)pct : ContentTypeImpl.fromHeader(contentType);
         String charset = cti.getCharSet();
-        if (charset != null && !Charset.isSupported(charset)) {
+        if (charset != null && !ContentTypeImpl.isSupportedCharset(charset)) {
             throw new UnsupportedMediaException(charset);
         }
         if (charset != null) {
@@ -246,11 +251,22 @@ public abstract class StreamSOAPCodec implements com.sun.xml.ws.api.pipe.StreamS
         } else {
             packet.invocationProperties.remove(DECODED_MESSAGE_CHARSET);
         }
-        packet.setMessage(streamDecoder.decode(in, charset, att, soapVersion));
+        packet.setMessage(withHeaderBufferPool(streamDecoder.decode(in, charset, att, soapVersion)));
+    }
+
+    private Message withHeaderBufferPool(Message message) {
+        if (message instanceof StreamMessage) {
+            ((StreamMessage) message).setHeaderBufferPool(headerBufferPool);
+        }
+        return message;
     }
 
     public void decode(ReadableByteChannel in, String contentType, Packet response, AttachmentSet att ) {
-        throw new UnsupportedOperationException();
+        try {
+            decode(ChannelStreams.newInputStream(in), contentType, response, att);
+        } catch (IOException e) {
+            throw new WebServiceException(e);
+        }
     }
 
     /*
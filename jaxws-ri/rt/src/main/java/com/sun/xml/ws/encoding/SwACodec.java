@@ -88,8 +88,7 @@ public final class SwACodec extends MimeCodec {
     }
 
     public ContentType encode(Packet packet, WritableByteChannel buffer) {
-        //TODO: not yet implemented
-        throw new UnsupportedOperationException();
+        return ChannelStreams.encode(this, packet, buffer);
     }
 
     public SwACodec copy() {
@@ -61,6 +61,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.Method;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.util.StringTokenizer;
 
@@ -167,7 +168,12 @@ public final class XMLHTTPBindingCodec extends MimeCodec {
 
     @Override
     public ContentType encode(Packet packet, WritableByteChannel buffer) {
-        throw new UnsupportedOperationException();
+        return ChannelStreams.encode(this, packet, buffer);
+    }
+
+    @Override
+    public void decode(ReadableByteChannel in, String contentType, Packet packet) {
+        ChannelStreams.decode(this, in, contentType, packet);
     }
 
     @Override
@@ -226,10 +232,7 @@ public final class XMLHTTPBindingCodec extends MimeCodec {
     }
     
     private boolean compareStrings(String a, String b) {
-        return a.length() >= b.length() && 
-                b.equalsIgnoreCase(
-                    a.substring(0,
-                        b.length()));
+        return a.regionMatches(true, 0, b, 0, b.length());
     }
 
     private boolean isFastInfosetAcceptable(String accept) {
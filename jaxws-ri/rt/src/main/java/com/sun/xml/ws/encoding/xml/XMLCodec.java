@@ -47,6 +47,7 @@ import com.sun.xml.ws.api.pipe.ContentType;
 import com.sun.xml.ws.api.streaming.XMLStreamWriterFactory;
 import com.sun.xml.ws.api.WSBinding;
 import com.sun.xml.ws.api.WSFeatureList;
+import com.sun.xml.ws.encoding.ChannelStreams;
 import com.sun.xml.ws.encoding.ContentTypeImpl;
 
 import javax.xml.stream.XMLStreamException;
@@ -108,8 +109,7 @@ public final class XMLCodec implements Codec {
     }
 
     public ContentType encode(Packet packet, WritableByteChannel buffer) {
-        //TODO: not yet implemented
-        throw new UnsupportedOperationException();
+        return ChannelStreams.encode(this, packet, buffer);
     }
 
     public Codec copy() {
@@ -122,7 +122,6 @@ public final class XMLCodec implements Codec {
     }
 
     public void decode(ReadableByteChannel in, String contentType, Packet packet) {
-        // TODO
-        throw new UnsupportedOperationException();
+        ChannelStreams.decode(this, in, contentType, packet);
     }    
 }
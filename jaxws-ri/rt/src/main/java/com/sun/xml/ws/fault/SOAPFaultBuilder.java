@@ -55,6 +55,7 @@ import com.sun.xml.ws.model.JavaMethodImpl;
 import com.sun.xml.ws.spi.db.WrapperComposite;
 import com.sun.xml.ws.spi.db.XMLBridge;
 import com.sun.xml.ws.util.DOMUtil;
+import com.sun.xml.ws.util.JAXBContextPools;
 import com.sun.xml.ws.util.StringUtils;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -62,6 +63,7 @@ import org.w3c.dom.Node;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.annotation.XmlTransient;
 import javax.xml.namespace.QName;
 import javax.xml.soap.SOAPFault;
@@ -550,7 +552,10 @@ public abstract class SOAPFaultBuilder {
      * @throws JAXBException if the parsing fails.
      */
     public static SOAPFaultBuilder create(Message msg) throws JAXBException {
-        return msg.readPayloadAsJAXB(JAXB_CONTEXT.createUnmarshaller());
+        Unmarshaller u = JAXB_POOLS.takeUnmarshaller();
+        SOAPFaultBuilder fault = msg.readPayloadAsJAXB(u);
+        JAXB_POOLS.recycle(u);
+        return fault;
     }
 
     /**
@@ -558,6 +563,11 @@ public abstract class SOAPFaultBuilder {
      */
     private static final JAXBContext JAXB_CONTEXT;
 
+    /**
+     * Unmarshallers of {@link #JAXB_CONTEXT}, so that reading a fault doesn't create one.
+     */
+    private static final JAXBContextPools JAXB_POOLS;
+
     private static final Logger logger = Logger.getLogger(SOAPFaultBuilder.class.getName());
 
     /**
@@ -576,6 +586,7 @@ public abstract class SOAPFaultBuilder {
         }
         captureStackTrace = tmpVal;
         JAXB_CONTEXT = createJAXBContext();
+        JAXB_POOLS = JAXBContextPools.of(JAXB_CONTEXT);
     }
 
     private static JAXBContext createJAXBContext() {
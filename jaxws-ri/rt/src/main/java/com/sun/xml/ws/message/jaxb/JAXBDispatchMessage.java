@@ -48,6 +48,7 @@ import com.sun.xml.ws.message.AbstractMessageImpl;
 import com.sun.xml.ws.message.PayloadElementSniffer;
 import com.sun.xml.ws.spi.db.BindingContext;
 import com.sun.xml.ws.spi.db.XMLBridge;
+import com.sun.xml.ws.util.JAXBContextPools;
 import org.jvnet.staxex.util.MtomStreamWriter;
 import com.sun.xml.ws.streaming.XMLStreamWriterUtil;
 import org.xml.sax.ContentHandler;
@@ -89,6 +90,11 @@ public class JAXBDispatchMessage extends AbstractMessageImpl {
      */
     private final JAXBContext rawContext;
 
+    /**
+     * Marshallers of {@link #rawContext}, when there is one.
+     */
+    private final JAXBContextPools rawPools;
+
     /**
      * Lazily sniffed payload element name
      */
@@ -101,14 +107,24 @@ public class JAXBDispatchMessage extends AbstractMessageImpl {
         super(that);
         jaxbObject = that.jaxbObject;
         rawContext = that.rawContext;
+        rawPools = that.rawPools;
         bridge = that.bridge;
         copyFrom(that);
     }
 
     public JAXBDispatchMessage(JAXBContext rawContext, Object jaxbObject, SOAPVersion soapVersion) {
+        this(rawContext, JAXBContextPools.of(rawContext), jaxbObject, soapVersion);
+    }
+
+    /**
+     * @param rawPools
+     *      marshallers of {@code rawContext}, looked up once by the caller.
+     */
+    public JAXBDispatchMessage(JAXBContext rawContext, JAXBContextPools rawPools, Object jaxbObject, SOAPVersion soapVersion) {
         super(soapVersion);
         this.bridge = null;
         this.rawContext = rawContext;
+        this.rawPools = rawPools;
         this.jaxbObject = jaxbObject;
     }
 
@@ -116,6 +132,7 @@ public class JAXBDispatchMessage extends AbstractMessageImpl {
         super(soapVersion);
         this.bridge = context.createFragmentBridge();
         this.rawContext = null;
+        this.rawPools = null;
         this.jaxbObject = jaxbObject;
     }
 
@@ -154,9 +171,10 @@ public class JAXBDispatchMessage extends AbstractMessageImpl {
         PayloadElementSniffer sniffer = new PayloadElementSniffer();
         try {
             if (rawContext != null) {
-                Marshaller m = rawContext.createMarshaller();
+                Marshaller m = rawPools.takeMarshaller();
                 m.setProperty("jaxb.fragment", Boolean.FALSE);
                 m.marshal(jaxbObject, sniffer);
+                rawPools.recycle(m);
             } else {
                 bridge.marshal(jaxbObject, sniffer, null);
             }
@@ -212,7 +230,7 @@ public class JAXBDispatchMessage extends AbstractMessageImpl {
             // Get output stream and use JAXB UTF-8 writer
             OutputStream os = bridge.supportOutputStream() ? XMLStreamWriterUtil.getOutputStream(sw) : null;
             if (rawContext != null) {
-                Marshaller m = rawContext.createMarshaller();
+                Marshaller m = rawPools.takeMarshaller();
                 m.setProperty("jaxb.fragment", Boolean.FALSE);
                 m.setAttachmentMarshaller(am);
                 if (os != null) {
@@ -220,6 +238,7 @@ public class JAXBDispatchMessage extends AbstractMessageImpl {
                 } else {
                     m.marshal(jaxbObject, sw);
                 }
+                rawPools.recycle(m);
 
             } else {
 
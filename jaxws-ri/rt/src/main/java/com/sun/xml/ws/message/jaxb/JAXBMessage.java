@@ -62,6 +62,7 @@ import com.sun.xml.ws.spi.db.XMLBridge;
 import com.sun.xml.ws.streaming.XMLStreamWriterUtil;
 import com.sun.xml.ws.streaming.XMLStreamReaderUtil;
 import org.jvnet.staxex.util.MtomStreamWriter;
+import com.sun.xml.ws.util.JAXBContextPools;
 import com.sun.xml.ws.util.xml.XMLReaderComposite;
 import com.sun.xml.ws.util.xml.XMLReaderComposite.ElemInfo;
 
@@ -111,6 +112,11 @@ public final class JAXBMessage extends AbstractMessageImpl implements StreamingS
      */
     private final JAXBContext rawContext;
 
+    /**
+     * Marshallers of {@link #rawContext}, when there is one.
+     */
+    private final JAXBContextPools rawPools;
+
     /**
      * Lazily sniffed payload element name
      */
@@ -174,7 +180,15 @@ public final class JAXBMessage extends AbstractMessageImpl implements StreamingS
      * 
      */ 
     public static Message createRaw(JAXBContext context, Object jaxbObject, SOAPVersion soapVersion) {
-        return new JAXBMessage(context,jaxbObject,soapVersion,null,null);
+        return createRaw(context,JAXBContextPools.of(context),jaxbObject,soapVersion);
+    }
+
+    /**
+     * Same as {@link #createRaw(JAXBContext, Object, SOAPVersion)}, with the
+     * marshallers of the context already looked up by the caller.
+     */
+    public static Message createRaw(JAXBContext context, JAXBContextPools pools, Object jaxbObject, SOAPVersion soapVersion) {
+        return new JAXBMessage(context,pools,jaxbObject,soapVersion,null,null);
     }
 
     private JAXBMessage( BindingContext context, Object jaxbObject, SOAPVersion soapVer, MessageHeaders headers, AttachmentSet attachments ) {
@@ -182,15 +196,17 @@ public final class JAXBMessage extends AbstractMessageImpl implements StreamingS
 //        this.bridge = new MarshallerBridge(context);
         this.bridge = context.createFragmentBridge();
         this.rawContext = null;
+        this.rawPools = null;
         this.jaxbObject = jaxbObject;
         this.headers = headers;
         this.attachmentSet = attachments;
     }
     
-    private JAXBMessage( JAXBContext rawContext, Object jaxbObject, SOAPVersion soapVer, MessageHeaders headers, AttachmentSet attachments ) {
+    private JAXBMessage( JAXBContext rawContext, JAXBContextPools rawPools, Object jaxbObject, SOAPVersion soapVer, MessageHeaders headers, AttachmentSet attachments ) {
         super(soapVer);
 //        this.bridge = new MarshallerBridge(context);
         this.rawContext = rawContext;
+        this.rawPools = rawPools;
         this.bridge = null;
         this.jaxbObject = jaxbObject;
         this.headers = headers;
@@ -235,6 +251,7 @@ public final class JAXBMessage extends AbstractMessageImpl implements StreamingS
         // TODO: think about a better way to handle BridgeContext
         this.bridge = bridge;
         this.rawContext = null;
+        this.rawPools = null;
         this.jaxbObject = jaxbObject;
         QName tagName = bridge.getTypeInfo().tagName;
         this.nsUri = tagName.getNamespaceURI();
@@ -255,6 +272,7 @@ public final class JAXBMessage extends AbstractMessageImpl implements StreamingS
         this.jaxbObject = that.jaxbObject;
         this.bridge = that.bridge;
         this.rawContext = that.rawContext;
+        this.rawPools = that.rawPools;
         this.copyFrom(that);
     }
     
@@ -296,9 +314,10 @@ public final class JAXBMessage extends AbstractMessageImpl implements StreamingS
         RootElementSniffer sniffer = new RootElementSniffer(false);
         try {
         	if (rawContext != null) {
-        		Marshaller m = rawContext.createMarshaller();
+        		Marshaller m = rawPools.takeMarshaller();
         		m.setProperty("jaxb.fragment", Boolean.TRUE);
         		m.marshal(jaxbObject,sniffer);
+        		rawPools.recycle(m);
         	} else
         		bridge.marshal(jaxbObject,sniffer,null);
         } catch (JAXBException e) {
@@ -325,9 +344,10 @@ public final class JAXBMessage extends AbstractMessageImpl implements StreamingS
         try {
             out.getHandler().startDocument();
             if (rawContext != null) {
-            	Marshaller m = rawContext.createMarshaller();
+            	Marshaller m = rawPools.takeMarshaller();
             	m.setProperty("jaxb.fragment", Boolean.TRUE);
             	m.marshal(jaxbObject,out);
+            	rawPools.recycle(m);
             } else
             	bridge.marshal(jaxbObject,out);
             out.getHandler().endDocument();
@@ -343,9 +363,10 @@ public final class JAXBMessage extends AbstractMessageImpl implements StreamingS
             if(infoset==null) {
 				if (rawContext != null) {
 	                XMLStreamBufferResult sbr = new XMLStreamBufferResult();
-					Marshaller m = rawContext.createMarshaller();
+					Marshaller m = rawPools.takeMarshaller();
 					m.setProperty("jaxb.fragment", Boolean.TRUE);
 					m.marshal(jaxbObject, sbr);
+					rawPools.recycle(m);
 	                infoset = sbr.getXMLStreamBuffer();
 				} else {
 				    MutableXMLStreamBuffer buffer = new MutableXMLStreamBuffer();
@@ -373,10 +394,11 @@ public final class JAXBMessage extends AbstractMessageImpl implements StreamingS
                 contentHandler = new FragmentContentHandler(contentHandler);
             AttachmentMarshallerImpl am = new AttachmentMarshallerImpl(attachmentSet);
             if (rawContext != null) {
-            	Marshaller m = rawContext.createMarshaller();
+            	Marshaller m = rawPools.takeMarshaller();
             	m.setProperty("jaxb.fragment", Boolean.TRUE);
             	m.setAttachmentMarshaller(am);
             	m.marshal(jaxbObject,contentHandler);
+            	rawPools.recycle(m);
             } else
             	bridge.marshal(jaxbObject,contentHandler, am);
             am.cleanup();
@@ -402,7 +424,7 @@ public final class JAXBMessage extends AbstractMessageImpl implements StreamingS
             // Get output stream and use JAXB UTF-8 writer
             OutputStream os = bridge.supportOutputStream() ? XMLStreamWriterUtil.getOutputStream(sw) : null;
             if (rawContext != null) {
-                Marshaller m = rawContext.createMarshaller();
+                Marshaller m = rawPools.takeMarshaller();
                 m.setProperty("jaxb.fragment", Boolean.TRUE);
                 m.setAttachmentMarshaller(am);
                 if (os != null) {
@@ -410,6 +432,7 @@ public final class JAXBMessage extends AbstractMessageImpl implements StreamingS
                 } else {
                     m.marshal(jaxbObject, sw);
                 }
+                rawPools.recycle(m);
             } else {
                 if (os != null && encoding != null && encoding.equalsIgnoreCase(SOAPBindingCodec.UTF8_ENCODING)) {
                     bridge.marshal(jaxbObject, os, sw.getNamespaceContext(), am);
@@ -0,0 +1,119 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.message.stream;
+
+import com.sun.xml.stream.buffer.MutableXMLStreamBuffer;
+import com.sun.xml.ws.util.Pool;
+
+/**
+ * Pool of {@link MutableXMLStreamBuffer}s that {@link StreamMessage} caches
+ * SOAP header blocks into.
+ *
+ * <p>
+ * One instance is owned by each {@link com.sun.xml.ws.encoding.StreamSOAPCodec}
+ * and is shared by all the messages it decodes, so it is safe to use from
+ * multiple threads. Newly created buffers are sized after the header volume
+ * recently seen by the codec, so that small headers don't pay for the default
+ * buffer size and large ones don't have to grow fragment by fragment.
+ *
+ * <p>
+ * Buffers only come back to the pool through {@link StreamMessage#recycleHeaderBuffer()},
+ * which the transport calls once it knows nothing refers to the headers anymore.
+ * Buffers that are never recycled are simply garbage collected.
+ */
+public final class HeaderBufferPool extends Pool<MutableXMLStreamBuffer> {
+
+    private static final int MIN_SIZE = 32;
+
+    private static final int MAX_SIZE = 4096;
+
+    /**
+     * Rough number of characters of header markup per buffer slot.
+     */
+    private static final int CHARS_PER_SLOT = 8;
+
+    /**
+     * Moving average of the header section length, in characters,
+     * or -1 until the first message was measured.
+     * Updates may race, which only makes the estimate a bit less accurate.
+     */
+    private volatile int averageChars = -1;
+
+    protected MutableXMLStreamBuffer create() {
+        return new MutableXMLStreamBuffer(getInitialSize());
+    }
+
+    /**
+     * Records the length of a header section that was just cached.
+     *
+     * @param chars
+     *      number of characters between the first header block and the end
+     *      of the header section.
+     */
+    void record(int chars) {
+        if (chars < 0) {
+            return;
+        }
+        int avg = averageChars;
+        averageChars = (avg < 0) ? chars : avg + (chars - avg) / 8;
+    }
+
+    /**
+     * Size newly created buffers start with.
+     */
+    int getInitialSize() {
+        int avg = averageChars;
+        if (avg < 0) {
+            return MutableXMLStreamBuffer.DEFAULT_ARRAY_SIZE;
+        }
+        int slots = Math.max(MIN_SIZE, Math.min(MAX_SIZE, avg / CHARS_PER_SLOT));
+        // round up to a power of two so that the size doesn't change on every small variation
+        return Integer.highestOneBit(slots - 1) << 1;
+    }
+
+    /**
+     * Resets the buffer and returns it to the pool.
+     */
+    void release(MutableXMLStreamBuffer buffer) {
+        buffer.reset();
+        recycle(buffer);
+    }
+}
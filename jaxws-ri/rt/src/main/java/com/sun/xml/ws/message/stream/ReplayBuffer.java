@@ -0,0 +1,670 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.message.stream;
+
+import com.sun.xml.ws.api.streaming.XMLStreamReaderFactory;
+import com.sun.xml.ws.streaming.XMLStreamReaderUtil;
+import com.sun.xml.ws.util.xml.DummyLocation;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.WeakHashMap;
+
+/**
+ * Events of an {@link XMLStreamReader} shared by several {@link Reader}s,
+ * so that a {@link StreamMessage} and its copies can each read the payload.
+ *
+ * <p>
+ * The source is only read as far as the furthest reader has advanced, and
+ * the events that all the readers are past are dropped. So the memory
+ * held is bounded by the distance between the readers, instead of by the
+ * size of the message: a copy that is logged and then dropped before the
+ * original is forwarded only keeps what the logger has read ahead.
+ *
+ * <p>
+ * Readers that are garbage collected without being closed don't hold the
+ * events back.
+ *
+ * @see StreamMessage#copy()
+ */
+final class ReplayBuffer {
+
+    /**
+     * Number of events recorded between two attempts to drop the read ones.
+     */
+    private static final int TRIM_INTERVAL = 256;
+
+    /**
+     * Null once all its events are recorded, or nobody reads anymore.
+     */
+    private XMLStreamReader source;
+    private final List<Event> events = new ArrayList<Event>();
+    /**
+     * Position of the first event of {@link #events}.
+     */
+    private int offset;
+    private int recordedSinceTrim;
+    private final Map<Reader, Boolean> readers = new WeakHashMap<Reader, Boolean>();
+    /**
+     * Namespaces in scope at the start, as { prefix0, uri0, prefix1, uri1, ... }.
+     */
+    private final String[] inscope;
+
+    /**
+     * @param source the first event recorded is the current one.
+     */
+    ReplayBuffer(XMLStreamReader source, String[] inscope) {
+        this.source = source;
+        this.inscope = inscope;
+        record();
+    }
+
+    /**
+     * Creates a reader positioned at the first event.
+     */
+    synchronized Reader newReader() {
+        assert offset == 0;
+        Reader reader = new Reader(this, 0, events.get(0));
+        reader.pushNamespaces();
+        readers.put(reader, Boolean.TRUE);
+        return reader;
+    }
+
+    /**
+     * Creates a reader at the same position, and in the same namespace scope, as the given one.
+     */
+    synchronized Reader fork(Reader that) {
+        Reader reader = new Reader(that);
+        readers.put(reader, Boolean.TRUE);
+        return reader;
+    }
+
+    private synchronized Event get(int position) throws XMLStreamException {
+        while (position >= offset + events.size()) {
+            if (source == null) {
+                throw new NoSuchElementException();
+            }
+            source.next();
+            record();
+        }
+        return events.get(position - offset);
+    }
+
+    private synchronized void release(Reader reader) {
+        readers.remove(reader);
+        if (readers.isEmpty()) {
+            close();
+            events.clear();
+        }
+    }
+
+    private void record() {
+        Event event = new Event(source);
+        events.add(event);
+        if (event.type == END_DOCUMENT) {
+            close();
+        }
+        if (++recordedSinceTrim >= TRIM_INTERVAL) {
+            recordedSinceTrim = 0;
+            trim();
+        }
+    }
+
+    /**
+     * Drops the events that all the readers are past.
+     */
+    private void trim() {
+        int min = offset + events.size() - 1;
+        for (Reader reader : readers.keySet()) {
+            min = Math.min(min, reader.position);
+        }
+        if (min > offset) {
+            events.subList(0, min - offset).clear();
+            offset = min;
+        }
+    }
+
+    private void close() {
+        if (source != null) {
+            XMLStreamReaderUtil.close(source);
+            XMLStreamReaderFactory.recycle(source);
+            source = null;
+        }
+    }
+
+    private static final int START_ELEMENT = XMLStreamReader.START_ELEMENT;
+    private static final int END_ELEMENT = XMLStreamReader.END_ELEMENT;
+    private static final int END_DOCUMENT = XMLStreamReader.END_DOCUMENT;
+
+    private static final String[] EMPTY = new String[0];
+
+    /**
+     * Immutable copy of the state of the source at one event.
+     */
+    private static final class Event {
+        final int type;
+        final String uri;
+        final String localName;
+        final String prefix;
+        /**
+         * Namespace declarations, as { prefix0, uri0, prefix1, uri1, ... }.
+         */
+        final String[] ns;
+        /**
+         * Attributes, as { uri0, localName0, prefix0, type0, value0, uri1, ... }.
+         */
+        final String[] atts;
+        final String text;
+        final boolean whiteSpace;
+        final String piTarget;
+        final String piData;
+        /**
+         * Lazily created from {@link #text}, the race to do so is harmless.
+         */
+        private char[] chars;
+
+        Event(XMLStreamReader r) {
+            type = r.getEventType();
+            String uri = null, localName = null, prefix = null, text = null, piTarget = null, piData = null;
+            String[] ns = EMPTY, atts = EMPTY;
+            boolean whiteSpace = false;
+            switch (type) {
+                case START_ELEMENT:
+                    atts = new String[r.getAttributeCount() * 5];
+                    for (int i = 0; i < atts.length; i += 5) {
+                        int index = i / 5;
+                        atts[i] = r.getAttributeNamespace(index);
+                        atts[i + 1] = r.getAttributeLocalName(index);
+                        atts[i + 2] = r.getAttributePrefix(index);
+                        atts[i + 3] = r.getAttributeType(index);
+                        atts[i + 4] = r.getAttributeValue(index);
+                    }
+                    // fall through
+                case END_ELEMENT:
+                    uri = r.getNamespaceURI();
+                    localName = r.getLocalName();
+                    prefix = r.getPrefix();
+                    ns = new String[r.getNamespaceCount() * 2];
+                    for (int i = 0; i < ns.length; i += 2) {
+                        ns[i] = r.getNamespacePrefix(i / 2);
+                        ns[i + 1] = r.getNamespaceURI(i / 2);
+                    }
+                    break;
+                case XMLStreamReader.CHARACTERS:
+                case XMLStreamReader.CDATA:
+                case XMLStreamReader.SPACE:
+                    text = r.getText();
+                    whiteSpace = r.isWhiteSpace();
+                    break;
+                case XMLStreamReader.COMMENT:
+                case XMLStreamReader.DTD:
+                    text = r.getText();
+                    break;
+                case XMLStreamReader.ENTITY_REFERENCE:
+                    localName = r.getLocalName();
+                    text = r.getText();
+                    break;
+                case XMLStreamReader.PROCESSING_INSTRUCTION:
+                    piTarget = r.getPITarget();
+                    piData = r.getPIData();
+                    break;
+                default:
+                    break;
+            }
+            this.uri = uri;
+            this.localName = localName;
+            this.prefix = prefix;
+            this.ns = ns;
+            this.atts = atts;
+            this.text = text;
+            this.whiteSpace = whiteSpace;
+            this.piTarget = piTarget;
+            this.piData = piData;
+        }
+
+        char[] chars() {
+            char[] c = chars;
+            if (c == null) {
+                chars = c = text.toCharArray();
+            }
+            return c;
+        }
+    }
+
+    /**
+     * {@link XMLStreamReader} over the events of a {@link ReplayBuffer}.
+     * Like any reader, an instance is used by one thread at a time.
+     */
+    static final class Reader implements XMLStreamReader, XMLStreamReaderFactory.RecycleAware {
+        private final ReplayBuffer buffer;
+        /**
+         * Position of the current event. Read by the buffer, only ever increases.
+         */
+        private volatile int position;
+        private Event event;
+        private boolean closed;
+
+        /**
+         * Namespaces in scope, as { prefix0, uri0, prefix1, uri1, ... }.
+         */
+        private String[] nsStack;
+        private int nsSize;
+        /**
+         * {@link #nsSize} before each open element.
+         */
+        private int[] marks = new int[16];
+        private int depth;
+
+        private final NamespaceContext namespaceContext = new NamespaceContext() {
+            public String getNamespaceURI(String prefix) {
+                String uri = Reader.this.getNamespaceURI(prefix);
+                return uri == null ? XMLConstants.NULL_NS_URI : uri;
+            }
+
+            public String getPrefix(String namespaceURI) {
+                Iterator<String> prefixes = getPrefixes(namespaceURI);
+                return prefixes.hasNext() ? prefixes.next() : null;
+            }
+
+            public Iterator<String> getPrefixes(String namespaceURI) {
+                List<String> prefixes = new ArrayList<String>();
+                for (int i = nsSize - 2; i >= 0; i -= 2) {
+                    String prefix = nsStack[i];
+                    if (nsStack[i + 1].equals(namespaceURI) && !prefixes.contains(prefix)
+                            && namespaceURI.equals(Reader.this.getNamespaceURI(prefix))) {
+                        prefixes.add(prefix);
+                    }
+                }
+                return prefixes.iterator();
+            }
+        };
+
+        Reader(ReplayBuffer buffer, int position, Event event) {
+            this.buffer = buffer;
+            this.position = position;
+            this.event = event;
+            this.nsStack = buffer.inscope.clone();
+            this.nsSize = nsStack.length;
+        }
+
+        Reader(Reader that) {
+            this.buffer = that.buffer;
+            this.position = that.position;
+            this.event = that.event;
+            this.nsStack = that.nsStack.clone();
+            this.nsSize = that.nsSize;
+            this.marks = that.marks.clone();
+            this.depth = that.depth;
+        }
+
+        /**
+         * Creates another reader of the same buffer, at the same position.
+         */
+        Reader fork() {
+            return buffer.fork(this);
+        }
+
+        public int next() throws XMLStreamException {
+            if (event.type == END_DOCUMENT) {
+                throw new NoSuchElementException();
+            }
+            if (event.type == END_ELEMENT && depth > 0) {
+                nsSize = marks[--depth];
+            }
+            event = buffer.get(position + 1);
+            position++;
+            if (event.type == START_ELEMENT) {
+                pushNamespaces();
+            } else if (event.type == END_DOCUMENT) {
+                close();
+            }
+            return event.type;
+        }
+
+        void pushNamespaces() {
+            if (event.type != START_ELEMENT) {
+                return;
+            }
+            if (depth == marks.length) {
+                marks = Arrays.copyOf(marks, depth * 2);
+            }
+            marks[depth++] = nsSize;
+            String[] ns = event.ns;
+            if (nsSize + ns.length > nsStack.length) {
+                nsStack = Arrays.copyOf(nsStack, Math.max(nsStack.length * 2, nsSize + ns.length));
+            }
+            for (int i = 0; i < ns.length; i += 2) {
+                nsStack[nsSize++] = fixNull(ns[i]);
+                nsStack[nsSize++] = fixNull(ns[i + 1]);
+            }
+        }
+
+        public int nextTag() throws XMLStreamException {
+            int type = next();
+            while ((type == CHARACTERS && isWhiteSpace()) || (type == CDATA && isWhiteSpace())
+                    || type == SPACE || type == PROCESSING_INSTRUCTION || type == COMMENT) {
+                type = next();
+            }
+            if (type != START_ELEMENT && type != END_ELEMENT) {
+                throw new XMLStreamException("expected start or end tag", getLocation());
+            }
+            return type;
+        }
+
+        public String getElementText() throws XMLStreamException {
+            if (event.type != START_ELEMENT) {
+                throw new XMLStreamException("parser must be on START_ELEMENT to read next text", getLocation());
+            }
+            StringBuilder text = new StringBuilder();
+            for (int type = next(); type != END_ELEMENT; type = next()) {
+                if (type == CHARACTERS || type == CDATA || type == SPACE || type == ENTITY_REFERENCE) {
+                    text.append(event.text);
+                } else if (type == START_ELEMENT) {
+                    throw new XMLStreamException("element text content may not contain START_ELEMENT", getLocation());
+                } else if (type == END_DOCUMENT) {
+                    throw new XMLStreamException("unexpected end of document when reading element text content", getLocation());
+                }
+            }
+            return text.toString();
+        }
+
+        public void require(int type, String namespaceURI, String localName) throws XMLStreamException {
+            if (type != event.type
+                    || (namespaceURI != null && !namespaceURI.equals(fixNull(getNamespaceURI())))
+                    || (localName != null && !localName.equals(getLocalName()))) {
+                throw new XMLStreamException("require(" + type + ", " + namespaceURI + ", " + localName
+                        + ") failed on event " + event.type, getLocation());
+            }
+        }
+
+        public boolean hasNext() {
+            return event.type != END_DOCUMENT;
+        }
+
+        public void close() {
+            if (!closed) {
+                closed = true;
+                buffer.release(this);
+            }
+        }
+
+        public void onRecycled() {
+            close();
+        }
+
+        public String getNamespaceURI(String prefix) {
+            if (prefix == null) {
+                throw new IllegalArgumentException();
+            }
+            if (XMLConstants.XML_NS_PREFIX.equals(prefix)) {
+                return XMLConstants.XML_NS_URI;
+            }
+            if (XMLConstants.XMLNS_ATTRIBUTE.equals(prefix)) {
+                return XMLConstants.XMLNS_ATTRIBUTE_NS_URI;
+            }
+            for (int i = nsSize - 2; i >= 0; i -= 2) {
+                if (nsStack[i].equals(prefix)) {
+                    return nsStack[i + 1];
+                }
+            }
+            return null;
+        }
+
+        public boolean isStartElement() {
+            return event.type == START_ELEMENT;
+        }
+
+        public boolean isEndElement() {
+            return event.type == END_ELEMENT;
+        }
+
+        public boolean isCharacters() {
+            return event.type == CHARACTERS;
+        }
+
+        public boolean isWhiteSpace() {
+            return event.whiteSpace;
+        }
+
+        public String getAttributeValue(String namespaceURI, String localName) {
+            checkStartElement();
+            String[] atts = event.atts;
+            for (int i = 0; i < atts.length; i += 5) {
+                if (atts[i + 1].equals(localName)
+                        && (namespaceURI == null || namespaceURI.equals(fixNull(atts[i])))) {
+                    return atts[i + 4];
+                }
+            }
+            return null;
+        }
+
+        public int getAttributeCount() {
+            checkStartElement();
+            return event.atts.length / 5;
+        }
+
+        public QName getAttributeName(int index) {
+            checkStartElement();
+            return new QName(fixNull(event.atts[index * 5]), event.atts[index * 5 + 1], fixNull(event.atts[index * 5 + 2]));
+        }
+
+        public String getAttributeNamespace(int index) {
+            checkStartElement();
+            return event.atts[index * 5];
+        }
+
+        public String getAttributeLocalName(int index) {
+            checkStartElement();
+            return event.atts[index * 5 + 1];
+        }
+
+        public String getAttributePrefix(int index) {
+            checkStartElement();
+            return event.atts[index * 5 + 2];
+        }
+
+        public String getAttributeType(int index) {
+            checkStartElement();
+            return event.atts[index * 5 + 3];
+        }
+
+        public String getAttributeValue(int index) {
+            checkStartElement();
+            return event.atts[index * 5 + 4];
+        }
+
+        public boolean isAttributeSpecified(int index) {
+            checkStartElement();
+            return true;
+        }
+
+        public int getNamespaceCount() {
+            checkElement();
+            return event.ns.length / 2;
+        }
+
+        public String getNamespacePrefix(int index) {
+            checkElement();
+            return event.ns[index * 2];
+        }
+
+        public String getNamespaceURI(int index) {
+            checkElement();
+            return event.ns[index * 2 + 1];
+        }
+
+        public NamespaceContext getNamespaceContext() {
+            return namespaceContext;
+        }
+
+        public int getEventType() {
+            return event.type;
+        }
+
+        public String getText() {
+            checkText();
+            return event.text;
+        }
+
+        public char[] getTextCharacters() {
+            checkText();
+            return event.chars();
+        }
+
+        public int getTextCharacters(int sourceStart, char[] target, int targetStart, int length) throws XMLStreamException {
+            checkText();
+            int n = Math.min(length, event.text.length() - sourceStart);
+            if (n > 0) {
+                System.arraycopy(event.chars(), sourceStart, target, targetStart, n);
+            }
+            return Math.max(n, 0);
+        }
+
+        public int getTextStart() {
+            checkText();
+            return 0;
+        }
+
+        public int getTextLength() {
+            checkText();
+            return event.text.length();
+        }
+
+        public String getEncoding() {
+            return null;
+        }
+
+        public boolean hasText() {
+            return event.text != null;
+        }
+
+        public Location getLocation() {
+            return DummyLocation.INSTANCE;
+        }
+
+        public QName getName() {
+            checkElement();
+            return new QName(fixNull(event.uri), event.localName, fixNull(event.prefix));
+        }
+
+        public String getLocalName() {
+            if (event.localName == null) {
+                throw new IllegalStateException("no local name for event " + event.type);
+            }
+            return event.localName;
+        }
+
+        public boolean hasName() {
+            return event.type == START_ELEMENT || event.type == END_ELEMENT;
+        }
+
+        public String getNamespaceURI() {
+            return event.uri;
+        }
+
+        public String getPrefix() {
+            return event.prefix;
+        }
+
+        public String getVersion() {
+            return null;
+        }
+
+        public boolean isStandalone() {
+            return false;
+        }
+
+        public boolean standaloneSet() {
+            return false;
+        }
+
+        public String getCharacterEncodingScheme() {
+            return null;
+        }
+
+        public String getPITarget() {
+            return event.piTarget;
+        }
+
+        public String getPIData() {
+            return event.piData;
+        }
+
+        public Object getProperty(String name) {
+            if (name == null) {
+                throw new IllegalArgumentException();
+            }
+            return null;
+        }
+
+        private void checkStartElement() {
+            if (event.type != START_ELEMENT) {
+                throw new IllegalStateException("not at START_ELEMENT but at " + event.type);
+            }
+        }
+
+        private void checkElement() {
+            if (!hasName()) {
+                throw new IllegalStateException("not at START_ELEMENT or END_ELEMENT but at " + event.type);
+            }
+        }
+
+        private void checkText() {
+            if (event.text == null) {
+                throw new IllegalStateException("no text for event " + event.type);
+            }
+        }
+
+        private static String fixNull(String s) {
+            return s == null ? "" : s;
+        }
+    }
+}
@@ -65,6 +65,7 @@ import com.sun.xml.ws.streaming.XMLStreamReaderUtil;
 import com.sun.xml.ws.util.xml.DummyLocation;
 import com.sun.xml.ws.util.xml.StAXSource;
 import com.sun.xml.ws.util.xml.XMLReaderComposite;
+import org.jvnet.staxex.XMLStreamReaderEx;
 import org.jvnet.staxex.util.XMLStreamReaderToXMLStreamWriter;
 import com.sun.xml.ws.util.xml.XMLReaderComposite.ElemInfo;
 
@@ -129,6 +130,16 @@ public class StreamMessage extends AbstractMessageImpl implements StreamingSOAP
     private Throwable consumedAt;
 
     private XMLStreamReader envelopeReader;
+
+    /**
+     * Pool the header blocks are cached into, if the decoding codec provided one.
+     */
+    private @Nullable HeaderBufferPool headerBufferPool;
+
+    /**
+     * Buffer taken from {@link #headerBufferPool} that holds the header blocks.
+     */
+    private @Nullable MutableXMLStreamBuffer headerBuffer;
     
     public StreamMessage(SOAPVersion v) {
         super(v);
@@ -163,7 +174,35 @@ public class StreamMessage extends AbstractMessageImpl implements StreamingSOAP
         }
         return envelopeReader;
     }
-    
+
+    /**
+     * Makes this message cache its SOAP header blocks into a buffer taken from the given pool.
+     *
+     * <p>
+     * This only has an effect if the headers haven't been parsed yet,
+     * which is the case right after the message is decoded.
+     */
+    public void setHeaderBufferPool(@Nullable HeaderBufferPool pool) {
+        this.headerBufferPool = pool;
+    }
+
+    /**
+     * Returns the buffer holding the header blocks to the {@link HeaderBufferPool}
+     * it came from.
+     *
+     * <p>
+     * The headers of this message, and of any copy of it, must not be used
+     * after this method is called. This includes {@link com.sun.xml.ws.api.addressing.WSEndpointReference}s
+     * read from them. Does nothing if the headers weren't cached into a pooled buffer.
+     */
+    public void recycleHeaderBuffer() {
+        MutableXMLStreamBuffer buffer = headerBuffer;
+        if (buffer != null) {
+            headerBuffer = null;
+            headerBufferPool.release(buffer);
+        }
+    }
+
     /**
      * Creates a {@link StreamMessage} from a {@link XMLStreamReader}
      * that points at the start element of the payload, and headers.
@@ -521,10 +560,46 @@ public class StreamMessage extends AbstractMessageImpl implements StreamingSOAP
         }
     }        
 
-    // TODO: this method should be probably rewritten to respect spaces between elements; is it used at all?
+    /**
+     * Shares the rest of the payload between a message and its copies
+     * through a {@link ReplayBuffer}, instead of copying it up front.
+     *
+     * <p>
+     * Off by default: the copies then read from the transport stream, so
+     * they have to be read before the transport closes or recycles it, and
+     * a copy that is kept around holds the connection.
+     */
+    public static volatile boolean lazyCopy = Boolean.getBoolean(StreamMessage.class.getName() + ".lazyCopy");
+
+    /**
+     * Copies the rest of the payload into a buffer, or, with {@link #lazyCopy},
+     * lets the copy and this message read it from a shared {@link ReplayBuffer}
+     * that only holds what one has read and the other not yet. MTOM payloads
+     * are always buffered up front, so that their binary data stays out of
+     * the character stream.
+     */
     @Override
     public Message copy() {
         if ( envelopeReader != null ) readEnvelope(this);
+        if (!(reader instanceof ReplayBuffer.Reader)
+                && (!lazyCopy || reader instanceof XMLStreamReaderEx)) {
+            return copyToBuffer();
+        }
+        assert unconsumed();
+        consumedAt = null; // but we don't want to mark it as consumed
+        XMLStreamReader clone;
+        if (reader instanceof ReplayBuffer.Reader) {
+            clone = ((ReplayBuffer.Reader) reader).fork();
+        } else {
+            ReplayBuffer buffer = new ReplayBuffer(reader, getInscopeNamespaces());
+            reader = buffer.newReader();
+            clone = buffer.newReader();
+        }
+        return new StreamMessage(envelopeTag, headerTag, attachmentSet, HeaderList.copy(headers), bodyPrologue, bodyTag, bodyEpilogue, clone, soapVersion).copyFrom(this);
+    }
+
+    // TODO: this method should be probably rewritten to respect spaces between elements; is it used at all?
+    private Message copyToBuffer() {
         try {
             assert unconsumed();
             consumedAt = null; // but we don't want to mark it as consumed
@@ -716,7 +791,7 @@ public class StreamMessage extends AbstractMessageImpl implements StreamingSOAP
                 try {
                     // Cache SOAP header blocks
                     StreamHeaderDecoder headerDecoder = SOAPVersion.SOAP_11.equals(soapVersion) ? SOAP11StreamHeaderDecoder : SOAP12StreamHeaderDecoder;
-                    cacheHeaders(reader, namespaces, headers, headerDecoder);
+                    message.headerBuffer = cacheHeaders(reader, namespaces, headers, headerDecoder, message.headerBufferPool);
                 } catch (XMLStreamException e) {
                     // TODO need to throw more meaningful exception
                     throw new WebServiceException(e);
@@ -739,10 +814,15 @@ public class StreamMessage extends AbstractMessageImpl implements StreamingSOAP
     }
 
 
-    private static XMLStreamBuffer cacheHeaders(XMLStreamReader reader,
+    /**
+     * @return
+     *      the buffer taken from the pool, or null if there's no pool.
+     */
+    private static MutableXMLStreamBuffer cacheHeaders(XMLStreamReader reader,
             Map<String, String> namespaces, HeaderList headers, 
-            StreamHeaderDecoder headerDecoder) throws XMLStreamException {
-        MutableXMLStreamBuffer buffer = createXMLStreamBuffer();
+            StreamHeaderDecoder headerDecoder, @Nullable HeaderBufferPool pool) throws XMLStreamException {
+        MutableXMLStreamBuffer buffer = (pool != null) ? pool.take() : createXMLStreamBuffer();
+        int start = (pool != null) ? getCharacterOffset(reader) : -1;
         StreamReaderBufferCreator creator = new StreamReaderBufferCreator();
         creator.setXMLStreamBuffer(buffer);
 
@@ -774,16 +854,26 @@ public class StreamMessage extends AbstractMessageImpl implements StreamingSOAP
             }
         }
 
+        if (pool == null) {
+            return null;
+        }
+        if (start >= 0) {
+            pool.record(getCharacterOffset(reader) - start);
+        }
         return buffer;
     }
 
     private static MutableXMLStreamBuffer createXMLStreamBuffer() {
-        // TODO: Decode should own one MutableXMLStreamBuffer for reuse
-        // since it is more efficient. ISSUE: possible issue with
-        // lifetime of information in the buffer if accessed beyond
-        // the pipe line.
+        // Lifetime of the information in the buffer may extend beyond
+        // the pipeline, so reuse is only done through HeaderBufferPool
+        // when the transport says it is safe.
         return new MutableXMLStreamBuffer();
     }
+
+    private static int getCharacterOffset(XMLStreamReader reader) {
+        Location location = reader.getLocation();
+        return (location != null) ? location.getCharacterOffset() : -1;
+    }
     
     public boolean isPayloadStreamReader() { return true; }
 
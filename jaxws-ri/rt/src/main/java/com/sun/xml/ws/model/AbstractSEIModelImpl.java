@@ -41,6 +41,7 @@
 package com.sun.xml.ws.model;
 
 import com.sun.istack.NotNull;
+import com.sun.istack.Nullable;
 import com.sun.xml.bind.api.Bridge;
 import com.sun.xml.bind.api.JAXBRIContext;
 import com.sun.xml.bind.api.TypeReference;
@@ -117,8 +118,12 @@ public abstract class AbstractSEIModelImpl implements SEIModel {
     /**
      * Link {@link SEIModel} to {@link WSDLModel}.
      * Merge it with {@link #postProcess()}.
+     *
+     * @param port
+     *      null for an endpoint that runs without a WSDL model, in which
+     *      case the actions default to those of the generated WSDL.
      */
-    public void freeze(WSDLPort port) {
+    public void freeze(@Nullable WSDLPort port) {
         this.port = port;
         for (JavaMethodImpl m : javaMethods) {
             m.freeze(port);
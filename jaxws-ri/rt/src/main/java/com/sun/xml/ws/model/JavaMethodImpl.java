@@ -41,6 +41,7 @@
 package com.sun.xml.ws.model;
 
 import com.sun.xml.bind.api.TypeReference;
+import com.sun.xml.ws.addressing.WsaActionUtil;
 import com.sun.xml.ws.api.databinding.MetadataReader;
 import com.sun.xml.ws.api.model.JavaMethod;
 import com.sun.xml.ws.api.model.MEP;
@@ -376,6 +377,10 @@ public final class JavaMethodImpl implements JavaMethod {
     }
 
     /*package*/ void freeze(WSDLPort portType) {
+        if (portType == null) {
+            freezeDefaultActions();
+            return;
+        }
         this.wsdlOperation = portType.getBinding().get(new QName(portType.getBinding().getPortType().getName().getNamespaceURI(),getOperationName()));
         // TODO: replace this with proper error handling
         if(wsdlOperation ==null)
@@ -411,6 +416,26 @@ public final class JavaMethodImpl implements JavaMethod {
         }
     }
 
+    /**
+     * Sets the actions that aren't given by annotations to the ones
+     * the generated WSDL of this method would have, for endpoints
+     * that run without a WSDL model.
+     */
+    private void freezeDefaultActions() {
+        if (inputAction.equals(""))
+            inputAction = WsaActionUtil.getDefaultInputAction(this);
+
+        if (!mep.isOneWay()) {
+            if (outputAction.equals(""))
+                outputAction = WsaActionUtil.getDefaultOutputAction(this);
+
+            for (CheckedExceptionImpl ce : exceptions) {
+                if (ce.getFaultAction().equals(""))
+                    ce.setFaultAction(ce.getDefaultFaultAction());
+            }
+        }
+    }
+
     final void fillTypes(List<TypeInfo> types) {
         fillTypes(requestParams, types);
         fillTypes(responseParams, types);
@@ -124,6 +124,27 @@ import java.util.logging.Logger;
  */
 public class EndpointFactory {
 	private static final EndpointFactory instance = new EndpointFactory();
+
+    /**
+     * When true, SEI endpoints without a WSDL don't generate one when they are
+     * created, but the first time their {@link ServiceDefinitionImpl service definition}
+     * is used, typically by a {@code ?wsdl} request.
+     *
+     * <p>
+     * Such endpoints run without a WSDL model, the same way Provider
+     * endpoints without a WSDL do: operations are dispatched from the SEI
+     * model, and policies are taken from the policy configuration rather
+     * than from the generated WSDL.
+     */
+    public static volatile boolean deferWSDLGeneration = Boolean.getBoolean(EndpointFactory.class.getName() + ".deferWSDLGeneration");
+
+    /**
+     * When true, the deferred WSDL of an endpoint is generated in the
+     * background right after the endpoint is created, instead of on first use.
+     *
+     * @see #deferWSDLGeneration
+     */
+    public static volatile boolean warmUpDeferredWSDL = Boolean.getBoolean(EndpointFactory.class.getName() + ".warmUpDeferredWSDL");
 	
 	public static EndpointFactory getInstance() {
 		return instance;
@@ -266,6 +287,7 @@ public class EndpointFactory {
         EndpointAwareTube terminal;
         WSDLPort wsdlPort = null;
         AbstractSEIModelImpl seiModel = null;
+        boolean deferredWSDL = false;
         // create WSDL model
         if (primaryDoc != null) {
             wsdlPort = getWSDLPort(primaryDoc, docList, serviceName, portName, container, resolver);
@@ -303,18 +325,28 @@ public class EndpointFactory {
                 ((SOAPBindingImpl)binding).setPortKnownHeaders(
                         ((SOAPSEIModel)seiModel).getKnownHeaders());
             }
-            // Generate WSDL for SEI endpoints(not for Provider endpoints)
-            if (primaryDoc == null) {
-                primaryDoc = generateWSDL(binding, seiModel, docList, container, implType);
-                // create WSDL model
-                wsdlPort = getWSDLPort(primaryDoc, docList, serviceName, portName, container, resolver);
-                seiModel.freeze(wsdlPort);
+            if (primaryDoc == null && deferWSDLGeneration) {
+                // No WSDL model, so try to merge features from Policy configuration
+                policyMap = PolicyResolverFactory.create().resolve(
+                        new PolicyResolver.ServerContext(null, container, implType, false));
+                features.mergeFeatures(PolicyUtil.getPortScopedFeatures(policyMap,serviceName,portName), true);
+                // default the wsa:Actions to those the generated WSDL will have
+                seiModel.freeze(null);
+                deferredWSDL = true;
+            } else {
+                // Generate WSDL for SEI endpoints(not for Provider endpoints)
+                if (primaryDoc == null) {
+                    primaryDoc = generateWSDL(binding, seiModel, docList, container, implType);
+                    // create WSDL model
+                    wsdlPort = getWSDLPort(primaryDoc, docList, serviceName, portName, container, resolver);
+                    seiModel.freeze(wsdlPort);
+                }
+                policyMap = wsdlPort.getOwner().getParent().getPolicyMap();
+                // New Features might have been added in WSDL through Policy.
+                //Merge features from WSDL and other policy configuration
+                // This sets only the wsdl features that are not already set(enabled/disabled)
+                features.mergeFeatures(wsdlPort.getFeatures(), true);
             }
-            policyMap = wsdlPort.getOwner().getParent().getPolicyMap();
-            // New Features might have been added in WSDL through Policy.
-            //Merge features from WSDL and other policy configuration
-            // This sets only the wsdl features that are not already set(enabled/disabled)
-            features.mergeFeatures(wsdlPort.getFeatures(), true);
             terminal = createSEIInvokerTube(seiModel,invoker,binding);
         }
 
@@ -327,10 +359,43 @@ public class EndpointFactory {
             docList = findMetadataClosure(primaryDoc, docList, resolver);
         }
         
-        ServiceDefinitionImpl serviceDefiniton = (primaryDoc != null) ? new ServiceDefinitionImpl(docList, primaryDoc) : null;
+        ServiceDefinitionImpl serviceDefiniton;
+        if (deferredWSDL) {
+            serviceDefiniton = new ServiceDefinitionImpl(createWSDLGenerator(binding, seiModel, docList, container, implType, resolver));
+        } else {
+            serviceDefiniton = (primaryDoc != null) ? new ServiceDefinitionImpl(docList, primaryDoc) : null;
+        }
 
-        return create(serviceName, portName, binding, container, seiModel, wsdlPort, implType, serviceDefiniton, 
+        WSEndpoint<T> endpoint = create(serviceName, portName, binding, container, seiModel, wsdlPort, implType, serviceDefiniton, 
         		terminal, isTransportSynchronous, policyMap);
+        if (deferredWSDL && warmUpDeferredWSDL) {
+            serviceDefiniton.warmUp();
+        }
+        return endpoint;
+    }
+
+    /**
+     * Generates the WSDL of an endpoint created with {@link #deferWSDLGeneration},
+     * with the context class loader of the thread that created the endpoint,
+     * where {@link WSDLGeneratorExtension}s are looked up.
+     */
+    private static ServiceDefinitionImpl.Generator createWSDLGenerator(final WSBinding binding, final AbstractSEIModelImpl seiModel,
+                                                                      final Collection<SDDocumentImpl> docList, final Container container,
+                                                                      final Class implType, final EntityResolver resolver) {
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return new ServiceDefinitionImpl.Generator() {
+            public ServiceDefinitionImpl generate() {
+                Thread thread = Thread.currentThread();
+                ClassLoader old = thread.getContextClassLoader();
+                thread.setContextClassLoader(contextClassLoader);
+                try {
+                    SDDocumentImpl primaryDoc = generateWSDL(binding, seiModel, docList, container, implType);
+                    return new ServiceDefinitionImpl(findMetadataClosure(primaryDoc, docList, resolver), primaryDoc);
+                } finally {
+                    thread.setContextClassLoader(old);
+                }
+            }
+        };
     }
     
     protected <T> WSEndpoint<T> create(QName serviceName, QName portName, WSBinding binding, Container container, SEIModel seiModel, WSDLPort wsdlPort, Class<T> implType, ServiceDefinitionImpl serviceDefinition, EndpointAwareTube terminal, boolean isTransportSynchronous, PolicyMap policyMap) {
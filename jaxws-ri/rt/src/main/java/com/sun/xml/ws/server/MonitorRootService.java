@@ -45,6 +45,7 @@ import com.sun.xml.ws.api.BindingID;
 import com.sun.xml.ws.api.WSFeatureList;
 import com.sun.xml.ws.api.EndpointAddress;
 import com.sun.xml.ws.api.addressing.AddressingVersion;
+import com.sun.xml.ws.api.pipe.EngineThreadPool;
 import com.sun.xml.ws.api.server.*;
 import com.sun.xml.ws.transport.http.HttpAdapter;
 import com.sun.xml.ws.util.RuntimeVersion;
@@ -175,6 +176,31 @@ public final class MonitorRootService extends MonitorBase {
                endpoint.getSEIModel().getWSDLLocation() : null;
     }
 
+    //
+    // Items from Engine
+    //
+
+    @ManagedAttribute
+    @Description("Fibers waiting for a thread of the endpoint thread pool")
+    public int engineQueuedFibers() {
+        EngineThreadPool pool = endpoint.getEngine().getEngineThreadPool();
+        return pool != null ? pool.getQueuedFibers() : 0;
+    }
+
+    @ManagedAttribute
+    @Description("Fibers run by the endpoint thread pool")
+    public int engineRunningFibers() {
+        EngineThreadPool pool = endpoint.getEngine().getEngineThreadPool();
+        return pool != null ? pool.getRunningFibers() : 0;
+    }
+
+    @ManagedAttribute
+    @Description("Fibers rejected because the endpoint thread pool queue was full")
+    public long engineRejectedFibers() {
+        EngineThreadPool pool = endpoint.getEngine().getEngineThreadPool();
+        return pool != null ? pool.getRejectedFibers() : 0;
+    }
+
     //
     // Items from RuntimeVersion
     //
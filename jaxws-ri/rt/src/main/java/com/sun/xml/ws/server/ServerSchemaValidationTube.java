@@ -52,6 +52,7 @@ import com.sun.xml.ws.api.pipe.TubeCloner;
 import com.sun.xml.ws.api.pipe.helper.AbstractTubeImpl;
 import com.sun.xml.ws.api.server.WSEndpoint;
 import com.sun.xml.ws.fault.SOAPFaultBuilder;
+import com.sun.xml.ws.util.Pool;
 import com.sun.xml.ws.util.pipe.AbstractSchemaValidationTube;
 import org.xml.sax.SAXException;
 
@@ -72,7 +73,9 @@ public class ServerSchemaValidationTube extends AbstractSchemaValidationTube {
     private static final Logger LOGGER = Logger.getLogger(ServerSchemaValidationTube.class.getName());
 
     private final Schema schema;
-    private final Validator validator;
+    private Validator validator;
+    private final Pool.Validator validators;
+    private final Pool.ValidatorHandler validatorHandlers;
 
     private final boolean noValidation;
     private final SEIModel seiModel;
@@ -99,19 +102,34 @@ public class ServerSchemaValidationTube extends AbstractSchemaValidationTube {
                 } catch(SAXException e) {
                     throw new WebServiceException(e);
                 }
-                validator = schema.newValidator();
+                validators = new Pool.Validator(schema);
+                validatorHandlers = new Pool.ValidatorHandler(schema);
                 return;
             }
         }
         noValidation = true;
         schema = null;
-        validator = null;
+        validators = null;
+        validatorHandlers = null;
     }
 
     protected Validator getValidator() {
+        if (validator == null && schema != null) {
+            validator = schema.newValidator();
+        }
         return validator;
     }
 
+    @Override
+    protected Pool.Validator getValidatorPool() {
+        return validators;
+    }
+
+    @Override
+    protected Pool.ValidatorHandler getValidatorHandlerPool() {
+        return validatorHandlers;
+    }
+
     protected boolean isNoValidation() {
         return noValidation;
     }
@@ -155,7 +173,8 @@ public class ServerSchemaValidationTube extends AbstractSchemaValidationTube {
         super(that,cloner);
         //this.docs = that.docs;
         this.schema = that.schema;      // Schema is thread-safe
-        this.validator = schema.newValidator();
+        this.validators = that.validators;
+        this.validatorHandlers = that.validatorHandlers;
         this.noValidation = that.noValidation;
         this.seiModel = that.seiModel;
         this.wsdlPort = that.wsdlPort;
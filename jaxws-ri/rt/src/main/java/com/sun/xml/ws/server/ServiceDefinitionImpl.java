@@ -52,6 +52,12 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * {@link ServiceDefinition} implementation.
@@ -63,10 +69,18 @@ import java.util.Map;
  * @author Kohsuke Kawaguchi
  */
 public final class ServiceDefinitionImpl implements ServiceDefinition, SDDocumentResolver {
-    private final Collection<SDDocumentImpl> docs;
+    private static final Logger LOGGER = Logger.getLogger(ServiceDefinitionImpl.class.getName());
+
+    private Collection<SDDocumentImpl> docs;
 
     private final Map<String,SDDocumentImpl> bySystemId;
-    private final @NotNull SDDocumentImpl primaryWsdl;
+    private SDDocumentImpl primaryWsdl;
+
+    /**
+     * Creates {@link #docs} and {@link #primaryWsdl} on first use,
+     * null once they are available.
+     */
+    private volatile Generator generator;
 
     /**
      * Set when {@link WSEndpointImpl} is created.
@@ -88,11 +102,80 @@ public final class ServiceDefinitionImpl implements ServiceDefinition, SDDocumen
         this.bySystemId = new HashMap<String, SDDocumentImpl>();
     }
 
+    /**
+     * Creates a service definition whose documents are only generated
+     * the first time they are needed.
+     *
+     * @param generator
+     *      generates the documents, which this object then takes over.
+     */
+    /*package*/ ServiceDefinitionImpl(@NotNull Generator generator) {
+        this.generator = generator;
+        this.bySystemId = new HashMap<String, SDDocumentImpl>();
+    }
+
+    /**
+     * Generates the documents of a service definition.
+     */
+    /*package*/ interface Generator {
+        /**
+         * @return
+         *      a service definition with the generated documents.
+         */
+        @NotNull ServiceDefinitionImpl generate();
+    }
+
+    private void generate() {
+        if (generator == null)
+            return;
+        synchronized (this) {
+            if (generator == null)
+                return;
+            ServiceDefinitionImpl generated = generator.generate();
+            docs = generated.docs;
+            primaryWsdl = generated.primaryWsdl;
+            generator = null;
+        }
+    }
+
+    /**
+     * Generates the documents in the background, so that the first
+     * request for them doesn't wait. Endpoints are warmed up one at a time.
+     */
+    /*package*/ void warmUp() {
+        WarmUp.EXECUTOR.execute(new Runnable() {
+            public void run() {
+                try {
+                    generate();
+                } catch (RuntimeException e) {
+                    // the request that needs the documents will try again
+                    LOGGER.log(Level.WARNING, e.getMessage(), e);
+                }
+            }
+        });
+    }
+
+    private static final class WarmUp {
+        static final ThreadPoolExecutor EXECUTOR = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                    public Thread newThread(Runnable r) {
+                        Thread t = new Thread(r, "jaxws-wsdl-warm-up");
+                        t.setDaemon(true);
+                        return t;
+                    }
+                });
+
+        static {
+            EXECUTOR.allowCoreThreadTimeOut(true);
+        }
+    }
+
     private boolean isInitialized = false;
     
     private synchronized void init() {
         if (isInitialized)
             return;
+        generate();
         isInitialized = true;
         
         for (SDDocumentImpl doc : docs) {
@@ -111,6 +194,7 @@ public final class ServiceDefinitionImpl implements ServiceDefinition, SDDocumen
     }
 
     public @NotNull SDDocument getPrimary() {
+        generate();
         return primaryWsdl;
     }
 
@@ -59,6 +59,7 @@ import com.sun.xml.ws.api.model.wsdl.WSDLPort;
 import com.sun.xml.ws.api.pipe.*;
 import com.sun.xml.ws.api.server.*;
 import com.sun.xml.ws.binding.BindingImpl;
+import com.sun.xml.ws.developer.EngineThreadPoolFeature;
 import com.sun.xml.ws.fault.SOAPFaultBuilder;
 import com.sun.xml.ws.model.wsdl.WSDLDirectProperties;
 import com.sun.xml.ws.model.wsdl.WSDLPortProperties;
@@ -187,7 +188,8 @@ public /*final*/ class WSEndpointImpl<T> extends WSEndpoint<T> implements LazyMO
                 Thread.currentThread().getContextClassLoader(), binding.getBindingId(), container);
         assert assembler != null;
 
-        this.operationDispatcher = (port == null) ? null : new OperationDispatcher(port, binding, seiModel);
+        // without a WSDL model, SEI endpoints dispatch from their SEI model
+        this.operationDispatcher = (port == null && seiModel == null) ? null : new OperationDispatcher(port, binding, seiModel);
 
         context = createServerTubeAssemblerContext(terminalTube, isSynchronous);
         this.masterTubeline = assembler.createServer(context);
@@ -202,7 +204,7 @@ public /*final*/ class WSEndpointImpl<T> extends WSEndpoint<T> implements LazyMO
 
         tubePool = new TubePool(masterTubeline);
         terminalTube.setEndpoint(this);
-        engine = new Engine(toString(), container);
+        engine = createEngine();
         wsdlProperties = (port == null) ? new WSDLDirectProperties(serviceName, portName, seiModel) : new WSDLPortProperties(port, seiModel);
 
         Map<QName, WSEndpointReference.EPRExtension> eprExtensions = new HashMap<QName, WSEndpointReference.EPRExtension>();
@@ -263,15 +265,24 @@ public /*final*/ class WSEndpointImpl<T> extends WSEndpoint<T> implements LazyMO
         LazyMOMProvider.INSTANCE.registerEndpoint(this);
         initManagedObjectManager();
 
-        this.operationDispatcher = (port == null) ? null : new OperationDispatcher(port, binding, seiModel);
+        this.operationDispatcher = (port == null && seiModel == null) ? null : new OperationDispatcher(port, binding, seiModel);
             this.context = new ServerPipeAssemblerContext(
                 seiModel, port, this, null /* not known */, false);
 
                 tubePool = new TubePool(masterTubeline);
-                engine = new Engine(toString(), container);
+                engine = createEngine();
                 wsdlProperties = (port == null) ? new WSDLDirectProperties(serviceName, portName, seiModel) : new WSDLPortProperties(port, seiModel);
   }
 
+    private Engine createEngine() {
+        Engine e = new Engine(toString(), container);
+        EngineThreadPoolFeature poolFeature = binding.getFeature(EngineThreadPoolFeature.class);
+        if (poolFeature != null && poolFeature.isEnabled()) {
+            e.setOwnedExecutor(new EngineThreadPool(poolFeature));
+        }
+        return e;
+    }
+
     public Collection<WSEndpointReference.EPRExtension> getEndpointReferenceExtensions() {
         return endpointReferenceExtensions.values();
     }
@@ -459,6 +470,8 @@ public /*final*/ class WSEndpointImpl<T> extends WSEndpoint<T> implements LazyMO
             }
             closeManagedObjectManager();
             LazyMOMProvider.INSTANCE.unregisterEndpoint(this);
+
+            engine.shutdown();
         }
 
         public ServiceDefinitionImpl getServiceDefinition() {
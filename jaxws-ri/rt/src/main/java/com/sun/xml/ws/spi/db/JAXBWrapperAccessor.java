@@ -71,6 +71,14 @@ import static com.sun.xml.ws.spi.db.PropertyGetterBase.verifyWrapperType;
 @SuppressWarnings({ "unchecked", "rawtypes" })
 public class JAXBWrapperAccessor extends WrapperAccessor {
 
+    /**
+     * Whether property accessors are backed by {@link java.lang.invoke.MethodHandle}s
+     * created once per wrapper bean, instead of calling {@link Field} or {@link Method}
+     * reflectively on every access. Read when a wrapper accessor is created; properties
+     * for which no handle can be obtained keep using reflection.
+     */
+    public static volatile boolean useMethodHandles = !Boolean.getBoolean(JAXBWrapperAccessor.class.getName() + ".disableMethodHandles");
+
     protected Class<?> contentClass;
     protected HashMap<Object, Class> elementDeclaredTypes;
 
@@ -104,6 +112,7 @@ public class JAXBWrapperAccessor extends WrapperAccessor {
                 publicGetters.put(key, method);
             }
         }
+        final boolean handles = useMethodHandles;
         HashSet<String> elementLocalNames = new HashSet<String>();
         for (Field field : getAllFields(contentClass)) {
             XmlElementWrapper xmlElemWrapper = field.getAnnotation(XmlElementWrapper.class);
@@ -165,6 +174,10 @@ public class JAXBWrapperAccessor extends WrapperAccessor {
             if ( isProperty(field, getMethod, setMethod) ) {
                 PropertySetter setter = createPropertySetter(field, setMethod);
                 PropertyGetter getter = createPropertyGetter(field, getMethod);
+                if (handles) {
+                    setter = withMethodHandle(setter);
+                    getter = withMethodHandle(getter);
+                }
                 setByQName.put(qname, setter);
                 setByLocalpart.put(localName, setter);
                 getByQName.put(qname, getter);
@@ -247,6 +260,16 @@ public class JAXBWrapperAccessor extends WrapperAccessor {
         return new PrivFieldSetter(field);
     }
 
+    static private PropertyGetter withMethodHandle(PropertyGetter getter) {
+        PropertyGetter h = MethodHandleGetter.create(getter);
+        return (h != null) ? h : getter;
+    }
+
+    static private PropertySetter withMethodHandle(PropertySetter setter) {
+        PropertySetter h = MethodHandleSetter.create(setter);
+        return (h != null) ? h : setter;
+    }
+
     private Class getElementDeclaredType(QName name) {
         Object key = (this.elementLocalNameCollision) ? name : name
                 .getLocalPart();
@@ -0,0 +1,131 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+
+package com.sun.xml.ws.spi.db;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import javax.xml.ws.WebServiceException;
+
+/**
+ * MethodHandleGetter reads a property through a {@link MethodHandle} bound to
+ * the field or getter method of another {@link PropertyGetter}, avoiding the
+ * reflective call on every access.
+ *
+ * @exclude
+ */
+final class MethodHandleGetter extends PropertyGetterBase {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final PropertyGetter delegate;
+    private final MethodHandle handle;
+
+    private MethodHandleGetter(PropertyGetter delegate, MethodHandle handle) {
+        this.delegate = delegate;
+        this.handle = handle;
+        type = delegate.getType();
+    }
+
+    /**
+     * Creates a handle based getter equivalent to the given {@link FieldGetter}
+     * or {@link MethodGetter}.
+     *
+     * @return null if no handle can be created, in which case the given getter
+     *         should be used as is.
+     */
+    static PropertyGetter create(PropertyGetter getter) {
+        try {
+            MethodHandle h;
+            if (getter instanceof FieldGetter) {
+                Field f = ((FieldGetter) getter).getField();
+                try {
+                    h = MethodHandles.lookup().unreflectGetter(f);
+                } catch (IllegalAccessException e) {
+                    h = MethodHandles.lookup().unreflectGetter(accessible(f));
+                }
+            } else if (getter instanceof MethodGetter) {
+                Method m = ((MethodGetter) getter).getMethod();
+                try {
+                    h = MethodHandles.lookup().unreflect(m);
+                } catch (IllegalAccessException e) {
+                    h = MethodHandles.lookup().unreflect(accessible(m));
+                }
+            } else {
+                return null;
+            }
+            return new MethodHandleGetter(getter, h.asType(GETTER_TYPE));
+        } catch (IllegalAccessException e) {
+            return null;
+        } catch (RuntimeException e) {
+            // SecurityException, or the member lives in a module that isn't open to us
+            return null;
+        }
+    }
+
+    static <T extends AccessibleObject> T accessible(final T member) {
+        return AccessController.doPrivileged(new PrivilegedAction<T>() {
+            @Override
+            public T run() {
+                member.setAccessible(true);
+                return member;
+            }
+        });
+    }
+
+    public <A> A getAnnotation(Class<A> annotationType) {
+        return delegate.getAnnotation(annotationType);
+    }
+
+    public Object get(final Object instance) {
+        try {
+            return (Object) handle.invokeExact(instance);
+        } catch (Throwable e) {
+            throw new WebServiceException(e);
+        }
+    }
+}
@@ -87,6 +87,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -149,6 +150,11 @@ public class DeploymentDescriptorParser<A> {
      */
     private final Map<String, SDDocumentSource> docs = new HashMap<String, SDDocumentSource>();
 
+    /**
+     * Number of endpoints created concurrently.
+     */
+    private int parallelism = ParallelDeployment.getParallelism(null);
+
     /**
      * @param cl             Used to load service implementations.
      * @param loader         Used to locate resources, in particular WSDL.
@@ -166,6 +172,24 @@ public class DeploymentDescriptorParser<A> {
         logger.log(Level.FINE, "war metadata={0}", docs);
     }
 
+    /**
+     * Sets the number of endpoints created concurrently by {@link #parse(String, InputStream)}.
+     * Defaults to the {@link ParallelDeployment#PARALLELISM_PROPERTY} system property.
+     *
+     * <p>
+     * The descriptor itself is still read, and the adapters created,
+     * in document order. Only the creation of the {@link WSEndpoint}s is
+     * done concurrently, as they are independent of each other.
+     *
+     * @see ParallelDeployment
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism: " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
     /**
      * Parses the {@code sun-jaxws.xml} file and configures
      * a set of {@link HttpAdapter}s.
@@ -232,7 +256,9 @@ public class DeploymentDescriptorParser<A> {
             failWithFullName("runtime.parser.invalidElement", reader);
         }
 
-        List<A> adapters = new ArrayList<A>();
+        ParallelDeployment<WSEndpoint<?>> endpoints = new ParallelDeployment<WSEndpoint<?>>(parallelism);
+        List<String> adapterNames = new ArrayList<String>();
+        List<String> urlPatterns = new ArrayList<String>();
 
         Attributes attrs = XMLStreamReaderUtil.getAttributes(reader);
         String version = getMandatoryNonEmptyAttribute(reader, attrs, ATTR_VERSION);
@@ -300,20 +326,38 @@ public class DeploymentDescriptorParser<A> {
                 EndpointFactory.verifyImplementorClass(implementorClass, metadataReader);
                 SDDocumentSource primaryWSDL = getPrimaryWSDL(reader, attrs, implementorClass, metadataReader);
 
-                WSEndpoint<?> endpoint = WSEndpoint.create(
-                        implementorClass, !handlersSetInDD,
-                        null,
-                        serviceName, portName, container, binding,
-                        primaryWSDL, docs.values(), createEntityResolver(), false
-                );
-                adapters.add(adapterFactory.createAdapter(name, urlPattern, endpoint));
+                endpoints.add(name, createEndpointTask(implementorClass, !handlersSetInDD, serviceName, portName, binding, primaryWSDL));
+                adapterNames.add(name);
+                urlPatterns.add(urlPattern);
             } else {
                 failWithLocalName("runtime.parser.invalidElement", reader);
             }
         }
+
+        List<WSEndpoint<?>> created = endpoints.run();
+        List<A> adapters = new ArrayList<A>(created.size());
+        for (int i = 0; i < created.size(); i++) {
+            adapters.add(adapterFactory.createAdapter(adapterNames.get(i), urlPatterns.get(i), created.get(i)));
+        }
         return adapters;
     }
 
+    private Callable<WSEndpoint<?>> createEndpointTask(final Class<?> implementorClass, final boolean processHandlerAnnotation,
+                                                       final QName serviceName, final QName portName,
+                                                       final WSBinding binding, final SDDocumentSource primaryWSDL) {
+        final EntityResolver resolver = createEntityResolver();
+        return new Callable<WSEndpoint<?>>() {
+            public WSEndpoint<?> call() {
+                return WSEndpoint.create(
+                        implementorClass, processHandlerAnnotation,
+                        null,
+                        serviceName, portName, container, binding,
+                        primaryWSDL, docs.values(), resolver, false
+                );
+            }
+        };
+    }
+
     /**
      * @param ddBindingId   binding id explicitlyspecified in the DeploymentDescriptor or parameter
      * @param implClass     Endpoint Implementation class
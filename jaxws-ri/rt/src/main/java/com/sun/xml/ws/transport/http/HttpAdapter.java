@@ -88,9 +88,12 @@ import com.sun.xml.ws.api.server.ServiceDefinition;
 import com.sun.xml.ws.api.server.TransportBackChannel;
 import com.sun.xml.ws.api.server.WSEndpoint;
 import com.sun.xml.ws.api.server.WebServiceContextDelegate;
+import com.sun.xml.ws.encoding.ContentTypeImpl;
 import com.sun.xml.ws.fault.SOAPFaultBuilder;
+import com.sun.xml.ws.message.stream.StreamMessage;
 import com.sun.xml.ws.resources.WsservletMessages;
 import com.sun.xml.ws.server.UnsupportedMediaException;
+import com.sun.xml.ws.util.BoundedCache;
 import com.sun.xml.ws.util.ByteArrayBuffer;
 import com.sun.xml.ws.util.Pool;
 
@@ -109,6 +112,12 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
 
     private static final Logger LOGGER = Logger.getLogger(HttpAdapter.class.getName());
 
+    /**
+     * Quoted forms of the unquoted SOAPAction headers received so far. Each one is
+     * only reported once, rather than on every request, while there is room here.
+     */
+    private static final BoundedCache<String, String> FIXED_SOAP_ACTIONS = new BoundedCache<String, String>(ContentTypeImpl.CACHE_SIZE);
+
     /**
      * {@link com.sun.xml.ws.api.server.SDDocument}s keyed by the query string like "?abc".
      * Used for serving documents via HTTP GET.
@@ -130,6 +139,12 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
      */
     private ServiceDefinition serviceDefinition = null;
 
+    /**
+     * Documents of {@link #serviceDefinition} already rewritten for the
+     * addresses they were requested at.
+     */
+    private final WSDLCache wsdlCache = new WSDLCache();
+
     public final HttpAdapterList<? extends HttpAdapter> owner;
 
     /**
@@ -174,6 +189,7 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
         this.urlPattern = urlPattern;
 
         initWSDLMap(endpoint.getServiceDefinition());
+        prewarmPool();
     }
 
     /**
@@ -192,6 +208,7 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
      */
     public final void initWSDLMap(final ServiceDefinition serviceDefinition) {
         this.serviceDefinition = serviceDefinition;
+        wsdlCache.clear();
         if(serviceDefinition==null) {
             wsdls = Collections.emptyMap();
             revWsdls = Collections.emptyMap();
@@ -516,6 +533,10 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
      */
     static public String fixQuotesAroundSoapAction(String soapAction) {
         if(soapAction != null && (!soapAction.startsWith("\"") || !soapAction.endsWith("\"")) ) {
+            String cached = FIXED_SOAP_ACTIONS.get(soapAction);
+            if (cached != null) {
+                return cached;
+            }
             if (LOGGER.isLoggable(Level.INFO)) {
                 LOGGER.log(Level.INFO, "Received WS-I BP non-conformant Unquoted SoapAction HTTP header: {0}", soapAction);
             }
@@ -526,7 +547,7 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
             if(!soapAction.endsWith("\"")) {
                 fixedSoapAction = fixedSoapAction + "\"";
             }
-            return fixedSoapAction;
+            return FIXED_SOAP_ACTIONS.intern(soapAction, fixedSoapAction);
         }
         return soapAction;
     }
@@ -847,8 +868,10 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
             try {
                 boolean invoke = false;
                 Packet packet;
+                Message request = null;
                 try {
                     packet = decodePacket(con, codec);
+                    request = packet.getInternalMessage();
                     invoke = true;
                 } catch(Exception e) {
                     packet = new Packet();
@@ -876,6 +899,9 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
                     }
                 }
                 encodePacket(packet, con, codec);
+                if (recycleHeaderBuffers && request instanceof StreamMessage) {
+                    ((StreamMessage) request).recycleHeaderBuffer();
+                }
             } finally {
                 if (!con.isClosed()) {
                     if (LOGGER.isLoggable(Level.FINE)) {
@@ -920,16 +946,81 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
             return;
         }
 
+        if (wsdlCacheSize <= 0) {
+            con.setStatus(HttpURLConnection.HTTP_OK);
+            con.setContentTypeResponseHeader("text/xml;charset=utf-8");
+
+            OutputStream os = con.getProtocol().contains("1.1") ? con.getOutput() : new Http10OutputStream(con);
+
+            PortAddressResolver portAddressResolver = getPortAddressResolver(con.getBaseAddress());
+            DocumentAddressResolver resolver = getDocumentAddressResolver(portAddressResolver);
+
+            doc.writeTo(portAddressResolver, resolver, os);
+            os.close();
+            return;
+        }
+
+        String baseAddress = con.getBaseAddress();
+        WSDLCache.Document cached = wsdlCache.get(baseAddress, con.getQueryString());
+        if (cached == null) {
+            PortAddressResolver portAddressResolver = getPortAddressResolver(baseAddress);
+            DocumentAddressResolver resolver = getDocumentAddressResolver(portAddressResolver);
+
+            ByteArrayBuffer buf = new ByteArrayBuffer();
+            doc.writeTo(portAddressResolver, resolver, buf);
+            cached = wsdlCache.put(baseAddress, con.getQueryString(), buf.toByteArray());
+        }
+
+        boolean gzip = publishGzippedWSDL && acceptsGzip(con.getRequestHeader("Accept-Encoding"));
+        con.setResponseHeader("ETag", cached.getETag(gzip));
+        con.setResponseHeader("Last-Modified", cached.getLastModifiedHeader());
+        if (publishGzippedWSDL) {
+            // the representation depends on Accept-Encoding, even when it is identity
+            con.setResponseHeader("Vary", "Accept-Encoding");
+        }
+        if (cached.isNotModified(gzip, con.getRequestHeader("If-None-Match"), con.getRequestHeader("If-Modified-Since"))) {
+            con.setStatus(HttpURLConnection.HTTP_NOT_MODIFIED);
+            con.getOutput().close();
+            return;
+        }
+
         con.setStatus(HttpURLConnection.HTTP_OK);
         con.setContentTypeResponseHeader("text/xml;charset=utf-8");
 
-        OutputStream os = con.getProtocol().contains("1.1") ? con.getOutput() : new Http10OutputStream(con);
+        byte[] content = cached.content;
+        if (gzip) {
+            content = cached.getGzipped();
+            con.setResponseHeader("Content-Encoding", "gzip");
+        }
+        // the length is known, so HTTP/1.0 needs no buffering either
+        con.setContentLengthResponseHeader(content.length);
+        OutputStream os = con.getOutput();
+        os.write(content);
+        os.close();
+    }
 
-        PortAddressResolver portAddressResolver = getPortAddressResolver(con.getBaseAddress());
-        DocumentAddressResolver resolver = getDocumentAddressResolver(portAddressResolver);
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            coding = coding.trim();
+            int semi = coding.indexOf(';');
+            String name = semi < 0 ? coding : coding.substring(0, semi).trim();
+            if (name.equalsIgnoreCase("gzip")) {
+                // gzip;q=0 means not acceptable
+                return semi < 0 || !coding.substring(semi + 1).replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
 
-        doc.writeTo(portAddressResolver, resolver, os);
-        os.close();
+    /**
+     * Forgets the rewritten metadata documents, because the addresses of
+     * the ports they refer to have changed.
+     */
+    void invalidateWSDLCache() {
+        wsdlCache.clear();
     }
 
     public PortAddressResolver getPortAddressResolver(String baseAddress) {
@@ -1121,6 +1212,25 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
 
     public static volatile boolean publishStatusPage = true;
 
+    /**
+     * Maximum number of rewritten metadata documents kept per adapter.
+     * 0 disables caching.
+     */
+    public static volatile int wsdlCacheSize = 64;
+
+    /**
+     * Whether metadata documents are sent gzip compressed to the clients
+     * that accept it.
+     */
+    public static volatile boolean publishGzippedWSDL = false;
+
+    /**
+     * Whether the buffer holding the headers of a request is returned to its
+     * codec once the response is sent. Only safe if the endpoint doesn't keep
+     * request headers, or anything read from them, beyond the request.
+     */
+    public static volatile boolean recycleHeaderBuffers = false;
+
     public static synchronized void setPublishStatus(boolean publish) {
         publishStatusPage = publish;
     }
@@ -1142,6 +1252,30 @@ public class HttpAdapter extends Adapter<HttpAdapter.HttpToolkit> {
                         new Object[] {HttpAdapter.class.getName() + ".dumpTreshold"});
             }
         }
+        try {
+            wsdlCacheSize = Integer.getInteger(HttpAdapter.class.getName() + ".wsdlCacheSize", 64);
+        } catch (SecurityException se) {
+            if (LOGGER.isLoggable(Level.CONFIG)) {
+                LOGGER.log(Level.CONFIG, "Cannot read ''{0}'' property, using defaults.",
+                        new Object[] {HttpAdapter.class.getName() + ".wsdlCacheSize"});
+            }
+        }
+        try {
+            publishGzippedWSDL = Boolean.getBoolean(HttpAdapter.class.getName() + ".publishGzippedWSDL");
+        } catch (SecurityException se) {
+            if (LOGGER.isLoggable(Level.CONFIG)) {
+                LOGGER.log(Level.CONFIG, "Cannot read ''{0}'' property, using defaults.",
+                        new Object[] {HttpAdapter.class.getName() + ".publishGzippedWSDL"});
+            }
+        }
+        try {
+            recycleHeaderBuffers = Boolean.getBoolean(HttpAdapter.class.getName() + ".recycleHeaderBuffers");
+        } catch (SecurityException se) {
+            if (LOGGER.isLoggable(Level.CONFIG)) {
+                LOGGER.log(Level.CONFIG, "Cannot read ''{0}'' property, using defaults.",
+                        new Object[] {HttpAdapter.class.getName() + ".recycleHeaderBuffers"});
+            }
+        }
         try {
             if (System.getProperty(HttpAdapter.class.getName() + ".publishStatusPage") != null) {
                 setPublishStatus(Boolean.getBoolean(HttpAdapter.class.getName() + ".publishStatusPage"));
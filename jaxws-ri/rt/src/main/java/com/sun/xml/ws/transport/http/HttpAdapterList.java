@@ -82,6 +82,10 @@ public abstract class HttpAdapterList<T extends HttpAdapter> extends AbstractLis
         if (port != null) {
             PortInfo portInfo = new PortInfo(port.getOwner().getName(),port.getName().getLocalPart(), endpoint.getImplementationClass());
             addressMap.put(portInfo, getValidPath(urlPattern));
+            // documents already published by the other adapters may refer to this port
+            for (T a : adapters) {
+                a.invalidateWSDLCache();
+            }
         }
         return t;
     }
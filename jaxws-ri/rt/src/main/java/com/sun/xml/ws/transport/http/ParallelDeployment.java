@@ -0,0 +1,235 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.transport.http;
+
+import com.sun.istack.NotNull;
+
+import javax.xml.ws.WebServiceException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs the creation of independent endpoints of a deployment, possibly
+ * concurrently.
+ *
+ * <p>
+ * Creating an endpoint runs the runtime modeler, builds its JAXB context and
+ * its policy map, which adds up for applications with many endpoints. With a
+ * {@link #getParallelism(String) parallelism} greater than 1, the tasks
+ * {@link #add(String, Callable) added} to this object run on a bounded
+ * {@link ForkJoinPool}, with the context class loader of the thread that
+ * calls {@link #run()}.
+ *
+ * <p>
+ * Results and errors are reported in the order in which the tasks were added,
+ * regardless of the order in which they complete: {@link #run()} waits
+ * for all the tasks, then throws the error of the first failed task, with
+ * the errors of the others attached as suppressed exceptions.
+ * The time each task took is logged at the {@link Level#FINE} level.
+ *
+ * @since 2.3.1
+ */
+public final class ParallelDeployment<T> {
+
+    /**
+     * Name of the system property, or servlet context parameter, giving the
+     * number of endpoints created concurrently. 1 (the default) creates them one
+     * after another, 0 uses as many threads as there are available processors.
+     */
+    public static final String PARALLELISM_PROPERTY = ParallelDeployment.class.getName() + ".parallelism";
+
+    private static final Logger logger = Logger.getLogger(com.sun.xml.ws.util.Constants.LoggingDomain + ".server.http");
+
+    private final int parallelism;
+    private final List<String> names = new ArrayList<String>();
+    private final List<Callable<T>> tasks = new ArrayList<Callable<T>>();
+
+    /**
+     * @param parallelism
+     *      maximum number of tasks that run concurrently.
+     */
+    public ParallelDeployment(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism: " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Parses the parallelism of a deployment.
+     *
+     * @param configured
+     *      value configured for the deployment, such as a servlet context
+     *      parameter, or null to use the {@link #PARALLELISM_PROPERTY} system property.
+     * @return
+     *      always at least 1.
+     */
+    public static int getParallelism(String configured) {
+        String value = configured != null ? configured : System.getProperty(PARALLELISM_PROPERTY);
+        if (value == null || value.trim().length() == 0) {
+            return 1;
+        }
+        int parallelism;
+        try {
+            parallelism = Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            logger.log(Level.WARNING, "Ignoring invalid {0} value: {1}", new Object[]{PARALLELISM_PROPERTY, value});
+            return 1;
+        }
+        if (parallelism == 0) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        return Math.max(parallelism, 1);
+    }
+
+    /**
+     * Adds a task.
+     *
+     * @param name
+     *      name of the endpoint the task creates, used in the log.
+     */
+    public void add(@NotNull String name, @NotNull Callable<T> task) {
+        names.add(name);
+        tasks.add(task);
+    }
+
+    /**
+     * Runs all the tasks added so far.
+     *
+     * @return
+     *      results of the tasks, in the order they were added.
+     */
+    public @NotNull List<T> run() {
+        List<T> results = new ArrayList<T>(tasks.size());
+        if (parallelism == 1 || tasks.size() < 2) {
+            for (int i = 0; i < tasks.size(); i++) {
+                results.add(call(i));
+            }
+            return results;
+        }
+
+        long start = System.nanoTime();
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        ForkJoinPool pool = new ForkJoinPool(Math.min(parallelism, tasks.size()));
+        try {
+            // failures are kept as they are, instead of going through Future.get(),
+            // where a ForkJoinTask may replace them with a copy
+            final Throwable[] failures = new Throwable[tasks.size()];
+            List<Future<T>> futures = new ArrayList<Future<T>>(tasks.size());
+            for (int i = 0; i < tasks.size(); i++) {
+                final int index = i;
+                futures.add(pool.submit(new Callable<T>() {
+                    public T call() {
+                        Thread thread = Thread.currentThread();
+                        ClassLoader old = thread.getContextClassLoader();
+                        thread.setContextClassLoader(contextClassLoader);
+                        try {
+                            return ParallelDeployment.this.call(index);
+                        } catch (Throwable t) {
+                            failures[index] = t;
+                            return null;
+                        } finally {
+                            thread.setContextClassLoader(old);
+                        }
+                    }
+                }));
+            }
+
+            Throwable failure = null;
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    failures[i] = e.getCause();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new WebServiceException(e);
+                }
+                if (failures[i] != null) {
+                    logger.log(Level.SEVERE, "Failed to create endpoint " + names.get(i), failures[i]);
+                    if (failure == null) {
+                        failure = failures[i];
+                    } else {
+                        failure.addSuppressed(failures[i]);
+                    }
+                }
+            }
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            if (failure != null) {
+                throw new WebServiceException(failure);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        if (logger.isLoggable(Level.INFO)) {
+            logger.log(Level.INFO, "Created {0} endpoints in {1} ms with {2} threads",
+                    new Object[]{tasks.size(), (System.nanoTime() - start) / 1000000L, Math.min(parallelism, tasks.size())});
+        }
+        return results;
+    }
+
+    private T call(int index) {
+        long start = System.nanoTime();
+        try {
+            return tasks.get(index).call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new WebServiceException(e);
+        } finally {
+            if (logger.isLoggable(Level.FINE)) {
+                logger.log(Level.FINE, "Endpoint {0} took {1} ms to create",
+                        new Object[]{names.get(index), (System.nanoTime() - start) / 1000000L});
+            }
+        }
+    }
+}
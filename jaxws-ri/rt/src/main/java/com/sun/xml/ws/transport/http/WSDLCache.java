@@ -0,0 +1,227 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.transport.http;
+
+import com.sun.istack.Nullable;
+import com.sun.xml.ws.util.ByteArrayBuffer;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Metadata documents published by an {@link HttpAdapter}, with their
+ * addresses already rewritten, so that repeated {@code ?wsdl} and
+ * {@code ?xsd=N} requests don't run the rewriting pipeline again.
+ *
+ * <p>
+ * Documents are keyed by the base address they were rewritten for and the
+ * query string that selects them. As the base address comes from the
+ * request, at most {@link HttpAdapter#wsdlCacheSize} documents are kept,
+ * and the least recently used one is evicted to make room for a new one.
+ */
+final class WSDLCache {
+
+    private final Map<String, Document> documents = new LinkedHashMap<String, Document>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Document> eldest) {
+            return size() > HttpAdapter.wsdlCacheSize;
+        }
+    };
+
+    @Nullable Document get(String baseAddress, String queryString) {
+        synchronized (documents) {
+            return documents.get(key(baseAddress, queryString));
+        }
+    }
+
+    /**
+     * Creates the cached form of the given rewritten document and keeps it,
+     * evicting the least recently used document if the cache is full.
+     */
+    Document put(String baseAddress, String queryString, byte[] content) {
+        Document doc = new Document(content, System.currentTimeMillis());
+        String key = key(baseAddress, queryString);
+        synchronized (documents) {
+            Document old = documents.get(key);
+            if (old != null) {
+                return old;
+            }
+            documents.put(key, doc);
+        }
+        return doc;
+    }
+
+    /**
+     * Forgets all the documents, when the service definition or the
+     * addresses of the ports change.
+     */
+    void clear() {
+        synchronized (documents) {
+            documents.clear();
+        }
+    }
+
+    int size() {
+        synchronized (documents) {
+            return documents.size();
+        }
+    }
+
+    private static String key(String baseAddress, String queryString) {
+        return baseAddress + '?' + queryString;
+    }
+
+    /**
+     * A rewritten document and its validators.
+     *
+     * <p>
+     * The gzip encoded representation is a different one as far as RFC 7232
+     * is concerned, so it has a strong ETag of its own, {@link #gzipEtag}.
+     */
+    static final class Document {
+        final byte[] content;
+        final String etag;
+        final String gzipEtag;
+        /**
+         * In milliseconds, truncated to seconds as in the HTTP header.
+         */
+        final long lastModified;
+        private volatile byte[] gzipped;
+
+        Document(byte[] content, long lastModified) {
+            this.content = content;
+            this.etag = computeETag(content);
+            this.gzipEtag = etag.substring(0, etag.length() - 1) + "-gzip\"";
+            this.lastModified = lastModified / 1000 * 1000;
+        }
+
+        String getLastModifiedHeader() {
+            return createDateFormat().format(new Date(lastModified));
+        }
+
+        /**
+         * The content compressed with gzip, computed on first use.
+         */
+        byte[] getGzipped() throws IOException {
+            byte[] g = gzipped;
+            if (g == null) {
+                ByteArrayBuffer buf = new ByteArrayBuffer(content.length / 4 + 64);
+                GZIPOutputStream gz = new GZIPOutputStream(buf);
+                gz.write(content);
+                gz.close();
+                gzipped = g = buf.toByteArray();
+            }
+            return g;
+        }
+
+        String getETag(boolean gzip) {
+            return gzip ? gzipEtag : etag;
+        }
+
+        /**
+         * Evaluates the conditional request headers against the representation
+         * that would be sent. As in RFC 7232, If-Modified-Since is ignored when
+         * If-None-Match is present.
+         *
+         * @param gzip
+         *      true if the gzip encoded representation would be sent.
+         * @return true if the client's copy is current and 304 can be sent.
+         */
+        boolean isNotModified(boolean gzip, @Nullable String ifNoneMatch, @Nullable String ifModifiedSince) {
+            String current = getETag(gzip);
+            if (ifNoneMatch != null) {
+                for (String tag : ifNoneMatch.split(",")) {
+                    tag = tag.trim();
+                    if (tag.startsWith("W/")) {
+                        tag = tag.substring(2);
+                    }
+                    if (tag.equals("*") || tag.equals(current)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            if (ifModifiedSince != null) {
+                try {
+                    return createDateFormat().parse(ifModifiedSince.trim()).getTime() >= lastModified;
+                } catch (ParseException e) {
+                    return false;
+                }
+            }
+            return false;
+        }
+
+        private static String computeETag(byte[] content) {
+            StringBuilder sb = new StringBuilder(34).append('"');
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+                for (int i = 0; i < 16; i++) {
+                    sb.append(Character.forDigit((digest[i] >> 4) & 0xF, 16))
+                      .append(Character.forDigit(digest[i] & 0xF, 16));
+                }
+            } catch (NoSuchAlgorithmException e) {
+                // every Java platform supports SHA-256, but don't fail publishing over it
+                sb.append(Integer.toHexString(Arrays.hashCode(content)))
+                  .append('-').append(content.length);
+            }
+            return sb.append('"').toString();
+        }
+    }
+
+    /**
+     * {@link SimpleDateFormat} isn't thread-safe.
+     */
+    private static SimpleDateFormat createDateFormat() {
+        SimpleDateFormat f = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US);
+        f.setTimeZone(TimeZone.getTimeZone("GMT"));
+        return f;
+    }
+}
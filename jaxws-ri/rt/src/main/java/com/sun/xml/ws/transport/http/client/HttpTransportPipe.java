@@ -89,8 +89,8 @@ public class HttpTransportPipe extends AbstractTubeImpl {
      */
     public static boolean dump;
 
-    private final Codec codec;
-    private final WSBinding binding;
+    final Codec codec;
+    final WSBinding binding;
     private final CookieHandler cookieJar;      // shared object among the tubes
     private final boolean sticky;
 
@@ -159,24 +159,7 @@ public class HttpTransportPipe extends AbstractTubeImpl {
         HttpClientTransport con;
         try {
             // get transport headers from message
-            Map<String, List<String>> reqHeaders = new Headers();
-            @SuppressWarnings("unchecked")
-            Map<String, List<String>> userHeaders = (Map<String, List<String>>) request.invocationProperties.get(MessageContext.HTTP_REQUEST_HEADERS);
-            boolean addUserAgent = true;
-            if (userHeaders != null) {
-                // userHeaders may not be modifiable like SingletonMap, just copy them
-                reqHeaders.putAll(userHeaders);
-                // application wants to use its own User-Agent header
-                if (userHeaders.get("User-Agent") != null) {
-                    addUserAgent = false;
-                }
-            }
-            if (addUserAgent) {
-                reqHeaders.put("User-Agent", USER_AGENT);
-            }
-
-            addBasicAuth(request, reqHeaders);
-            addCookies(request, reqHeaders);
+            Map<String, List<String>> reqHeaders = createRequestHeaders(request);
 
             con = getTransport(request, reqHeaders);
             request.addSatellite(new HttpResponseProperties(con));
@@ -237,6 +220,32 @@ public class HttpTransportPipe extends AbstractTubeImpl {
         }
     }
 
+    /*
+     * Collects the HTTP headers of the request: application supplied headers,
+     * User-Agent, basic authentication and session cookies.
+     */
+    Map<String, List<String>> createRequestHeaders(Packet request) throws IOException {
+        Map<String, List<String>> reqHeaders = new Headers();
+        @SuppressWarnings("unchecked")
+        Map<String, List<String>> userHeaders = (Map<String, List<String>>) request.invocationProperties.get(MessageContext.HTTP_REQUEST_HEADERS);
+        boolean addUserAgent = true;
+        if (userHeaders != null) {
+            // userHeaders may not be modifiable like SingletonMap, just copy them
+            reqHeaders.putAll(userHeaders);
+            // application wants to use its own User-Agent header
+            if (userHeaders.get("User-Agent") != null) {
+                addUserAgent = false;
+            }
+        }
+        if (addUserAgent) {
+            reqHeaders.put("User-Agent", USER_AGENT);
+        }
+
+        addBasicAuth(request, reqHeaders);
+        addCookies(request, reqHeaders);
+        return reqHeaders;
+    }
+
     private Packet createResponsePacket(Packet request, HttpClientTransport con) throws IOException {
         con.readResponseCodeAndMessage();   // throws IOE
         recordCookies(request, con);
@@ -301,8 +310,10 @@ public class HttpTransportPipe extends AbstractTubeImpl {
      * For all other status codes, it throws an exception
      */
     private void checkStatusCode(InputStream in, HttpClientTransport con) throws IOException {
-        int statusCode = con.statusCode;
-        String statusMessage = con.statusMessage;
+        checkStatusCode(in, con.statusCode, con.statusMessage);
+    }
+
+    void checkStatusCode(InputStream in, int statusCode, String statusMessage) throws IOException {
         // SOAP1.1 and SOAP1.2 differ here
         if (binding instanceof SOAPBinding) {
             if (binding.getSOAPVersion() == SOAPVersion.SOAP_12) {
@@ -383,13 +394,17 @@ public class HttpTransportPipe extends AbstractTubeImpl {
     }
 
     private void recordCookies(Packet context, HttpClientTransport con) throws IOException {
+        recordCookies(context, con.getHeaders());
+    }
+
+    void recordCookies(Packet context, Map<String, List<String>> respHeaders) throws IOException {
         Boolean shouldMaintainSessionProperty =
                 (Boolean) context.invocationProperties.get(BindingProvider.SESSION_MAINTAIN_PROPERTY);
         if (shouldMaintainSessionProperty != null && !shouldMaintainSessionProperty) {
             return;         // explicitly turned off
         }
         if (sticky || (shouldMaintainSessionProperty != null && shouldMaintainSessionProperty)) {
-            cookieJar.put(context.endpointAddress.getURI(), con.getHeaders());
+            cookieJar.put(context.endpointAddress.getURI(), respHeaders);
         }
     }
 
@@ -411,7 +426,7 @@ public class HttpTransportPipe extends AbstractTubeImpl {
      * write SOAPAction header if the soapAction parameter is non-null or BindingProvider properties set.
      * BindingProvider properties take precedence.
      */
-    private void writeSOAPAction(Map<String, List<String>> reqHeaders, String soapAction) {
+    void writeSOAPAction(Map<String, List<String>> reqHeaders, String soapAction) {
         //dont write SOAPAction HTTP header for SOAP 1.2 messages.
         if(SOAPVersion.SOAP_12.equals(binding.getSOAPVersion())) {
             return;
@@ -434,7 +449,7 @@ public class HttpTransportPipe extends AbstractTubeImpl {
     }
 
 
-    private void dump(ByteArrayBuffer buf, String caption, Map<String, List<String>> headers) throws IOException {
+    void dump(ByteArrayBuffer buf, String caption, Map<String, List<String>> headers) throws IOException {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         PrintWriter pw = new PrintWriter(baos, true);
         pw.println("---["+caption +"]---");
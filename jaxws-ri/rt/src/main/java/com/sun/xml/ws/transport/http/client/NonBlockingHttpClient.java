@@ -0,0 +1,631 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.transport.http.client;
+
+import com.sun.xml.ws.transport.Headers;
+import com.sun.xml.ws.util.ByteArrayBuffer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Minimal HTTP/1.1 client that multiplexes all in-flight exchanges
+ * of the {@link NonBlockingHttpTransportTube} on one selector thread.
+ *
+ * <p>
+ * The client only moves bytes: the request is fully encoded by the caller
+ * and the response body is collected into a {@link ByteArrayBuffer} before
+ * {@link Exchange#completed()} is called. Completion callbacks run on the
+ * selector thread, so they must only hand the exchange over (for e.g. by
+ * resuming a {@link com.sun.xml.ws.api.pipe.Fiber}).
+ *
+ * <p>
+ * Keep-alive connections are pooled per host and port, and closed after being
+ * idle for the {@link Exchange#idleTimeout idle timeout} of the last exchange.
+ */
+final class NonBlockingHttpClient implements Runnable {
+
+    private static final Logger LOGGER = Logger.getLogger(NonBlockingHttpClient.class.getName());
+    private static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
+
+    /**
+     * How often (in milliseconds) the selector thread checks for timed out
+     * exchanges and expired idle connections.
+     */
+    private static final long TIMEOUT_CHECK_INTERVAL = 250;
+
+    private static NonBlockingHttpClient instance;
+
+    private final Selector selector;
+    private final Queue<Exchange> pending = new ConcurrentLinkedQueue<Exchange>();
+
+    // only accessed by the selector thread
+    private final Map<String, Deque<Connection>> idle = new HashMap<String, Deque<Connection>>();
+    private final List<Connection> connections = new ArrayList<Connection>();
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(16 * 1024);
+    private long nextTimeoutCheck;
+
+    private NonBlockingHttpClient() throws IOException {
+        selector = Selector.open();
+    }
+
+    static synchronized NonBlockingHttpClient getInstance() throws IOException {
+        if (instance == null) {
+            NonBlockingHttpClient client = new NonBlockingHttpClient();
+            Thread t = new Thread(client, "jaxws-nio-http-client");
+            t.setDaemon(true);
+            t.start();
+            instance = client;
+        }
+        return instance;
+    }
+
+    /**
+     * Schedules the exchange. The caller is notified through
+     * {@link Exchange#completed()} or {@link Exchange#failed(IOException)}.
+     */
+    void send(Exchange exchange) {
+        pending.add(exchange);
+        selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            try {
+                selector.select(TIMEOUT_CHECK_INTERVAL);
+                Exchange exchange;
+                while ((exchange = pending.poll()) != null) {
+                    start(exchange);
+                }
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    handle((Connection) key.attachment());
+                }
+                long now = System.currentTimeMillis();
+                if (now >= nextTimeoutCheck) {
+                    nextTimeoutCheck = now + TIMEOUT_CHECK_INTERVAL;
+                    expire(now);
+                }
+            } catch (Throwable t) {
+                // never let the selector thread die, it serves all the clients in the VM
+                LOGGER.log(Level.WARNING, "Unexpected error in the non-blocking HTTP client", t);
+            }
+        }
+    }
+
+    private void start(Exchange exchange) {
+        Connection con = takeIdle(exchange.hostKey);
+        try {
+            if (con == null) {
+                con = connect(exchange);
+            } else {
+                con.attach(exchange);
+                con.key.interestOps(SelectionKey.OP_WRITE);
+            }
+        } catch (IOException e) {
+            exchange.failed(e);
+        }
+    }
+
+    private Connection connect(Exchange exchange) throws IOException {
+        SocketChannel channel = SocketChannel.open();
+        try {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, Boolean.TRUE);
+            Connection con = new Connection(channel, exchange.hostKey);
+            con.attach(exchange);
+            if (channel.connect(exchange.address)) {
+                con.key = channel.register(selector, SelectionKey.OP_WRITE, con);
+            } else {
+                con.key = channel.register(selector, SelectionKey.OP_CONNECT, con);
+            }
+            connections.add(con);
+            return con;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private Connection takeIdle(String hostKey) {
+        Deque<Connection> q = idle.get(hostKey);
+        if (q == null) {
+            return null;
+        }
+        Connection con = q.pollFirst();
+        if (q.isEmpty()) {
+            idle.remove(hostKey);
+        }
+        return con;
+    }
+
+    private void handle(Connection con) {
+        Exchange exchange = con.exchange;
+        if (exchange == null) {
+            // idle keep-alive connection became readable: closed by the server
+            removeIdle(con);
+            close(con);
+            return;
+        }
+        try {
+            SelectionKey key = con.key;
+            if (key.isConnectable()) {
+                con.channel.finishConnect();
+                exchange.touch(exchange.readTimeout);
+                key.interestOps(SelectionKey.OP_WRITE);
+            } else if (key.isWritable()) {
+                con.channel.write(exchange.data);
+                if (!exchange.data[exchange.data.length - 1].hasRemaining()) {
+                    key.interestOps(SelectionKey.OP_READ);
+                }
+                exchange.touch(exchange.readTimeout);
+            } else if (key.isReadable()) {
+                readBuffer.clear();
+                int n = con.channel.read(readBuffer);
+                if (n == -1) {
+                    if (!exchange.endOfStream()) {
+                        throw new IOException("Connection closed by the server before the response was complete");
+                    }
+                    complete(con, false);
+                } else {
+                    readBuffer.flip();
+                    exchange.touch(exchange.readTimeout);
+                    if (exchange.feed(readBuffer)) {
+                        complete(con, exchange.keepAlive);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            fail(con, e);
+        } catch (RuntimeException e) {
+            fail(con, new IOException(e));
+        }
+    }
+
+    private void complete(Connection con, boolean keepAlive) {
+        Exchange exchange = con.exchange;
+        con.exchange = null;
+        if (keepAlive && exchange.idleTimeout > 0) {
+            con.idleTimeout = exchange.idleTimeout;
+            con.idleSince = System.currentTimeMillis();
+            con.reused = true;
+            con.key.interestOps(SelectionKey.OP_READ);
+            Deque<Connection> q = idle.get(con.hostKey);
+            if (q == null) {
+                q = new ArrayDeque<Connection>();
+                idle.put(con.hostKey, q);
+            }
+            q.addFirst(con);
+        } else {
+            close(con);
+        }
+        exchange.completed();
+    }
+
+    private void fail(Connection con, IOException e) {
+        Exchange exchange = con.exchange;
+        con.exchange = null;
+        close(con);
+        if (exchange == null) {
+            return;
+        }
+        if (con.reused && !exchange.responseStarted()) {
+            // the server may have dropped the keep-alive connection while we
+            // were writing to it; the request wasn't processed, so try once more
+            // on a new connection like HttpURLConnection does
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "Retrying request on a new connection to " + exchange.hostKey, e);
+            }
+            exchange.reset();
+            try {
+                connect(exchange);
+                return;
+            } catch (IOException ioe) {
+                e = ioe;
+            }
+        }
+        exchange.failed(e);
+    }
+
+    private void expire(long now) {
+        // closing a connection changes the list, so only collect them first
+        List<Connection> expired = null;
+        for (Connection con : connections) {
+            Exchange exchange = con.exchange;
+            if (exchange != null
+                    ? exchange.deadline > 0 && now > exchange.deadline
+                    : now - con.idleSince > con.idleTimeout) {
+                if (expired == null) {
+                    expired = new ArrayList<Connection>();
+                }
+                expired.add(con);
+            }
+        }
+        if (expired == null) {
+            return;
+        }
+        for (Connection con : expired) {
+            Exchange exchange = con.exchange;
+            if (exchange != null) {
+                con.reused = false;     // don't retry timed out requests
+                fail(con, new SocketTimeoutException(exchange.responseStarted() ? "Read timed out" : "connect timed out"));
+            } else {
+                removeIdle(con);
+                close(con);
+            }
+        }
+    }
+
+    private void removeIdle(Connection con) {
+        Deque<Connection> q = idle.get(con.hostKey);
+        if (q != null) {
+            q.remove(con);
+            if (q.isEmpty()) {
+                idle.remove(con.hostKey);
+            }
+        }
+    }
+
+    private void close(Connection con) {
+        connections.remove(con);
+        if (con.key != null) {
+            con.key.cancel();
+        }
+        try {
+            con.channel.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Failed to close connection", e);
+        }
+    }
+
+    /**
+     * A socket connection, either serving an {@link Exchange} or idle.
+     */
+    private static final class Connection {
+        final SocketChannel channel;
+        final String hostKey;
+        SelectionKey key;
+        Exchange exchange;
+        boolean reused;
+        long idleSince;
+        long idleTimeout;
+
+        Connection(SocketChannel channel, String hostKey) {
+            this.channel = channel;
+            this.hostKey = hostKey;
+        }
+
+        void attach(Exchange exchange) {
+            this.exchange = exchange;
+            exchange.touch(exchange.connectTimeout);
+        }
+    }
+
+    /**
+     * One HTTP request/response exchange.
+     *
+     * <p>
+     * Parses the response as the bytes arrive. Status line and headers are
+     * decoded as ISO-8859-1, the body is delimited by {@code Content-Length},
+     * chunked transfer coding or the end of the stream.
+     */
+    static abstract class Exchange {
+        private static final int STATUS_LINE = 0;
+        private static final int HEADERS = 1;
+        private static final int BODY = 2;
+        private static final int CHUNK_SIZE = 3;
+        private static final int CHUNK_DATA = 4;
+        private static final int CHUNK_END = 5;
+        private static final int TRAILERS = 6;
+        private static final int BODY_UNTIL_CLOSE = 7;
+        private static final int DONE = 8;
+
+        final InetSocketAddress address;
+        final String hostKey;
+        final ByteBuffer[] data;
+        final int connectTimeout;
+        final int readTimeout;
+        final int idleTimeout;
+
+        int statusCode;
+        String statusMessage;
+        final Headers headers = new Headers();
+        final ByteArrayBuffer body = new ByteArrayBuffer();
+        boolean keepAlive;
+
+        private int state = STATUS_LINE;
+        private long remaining;
+        private boolean http11;
+        private boolean started;
+        private final StringBuilder line = new StringBuilder();
+        private boolean lineRead;
+        volatile long deadline;
+
+        /**
+         * @param data
+         *      the encoded request, written with a gathering write.
+         * @param connectTimeout, readTimeout
+         *      milliseconds, 0 means no timeout.
+         */
+        Exchange(InetSocketAddress address, ByteBuffer[] data,
+                 int connectTimeout, int readTimeout, int idleTimeout) {
+            this.address = address;
+            this.hostKey = address.getHostString() + ':' + address.getPort();
+            this.data = data;
+            this.connectTimeout = connectTimeout;
+            this.readTimeout = readTimeout;
+            this.idleTimeout = idleTimeout;
+        }
+
+        /**
+         * Called on the selector thread when the whole response is received.
+         */
+        abstract void completed();
+
+        /**
+         * Called on the selector thread when the exchange failed.
+         */
+        abstract void failed(IOException e);
+
+        void touch(int timeout) {
+            deadline = timeout > 0 ? System.currentTimeMillis() + timeout : 0;
+        }
+
+        boolean responseStarted() {
+            return started;
+        }
+
+        void reset() {
+            for (ByteBuffer b : data) {
+                b.rewind();
+            }
+            state = STATUS_LINE;
+            line.setLength(0);
+            lineRead = false;
+            headers.clear();
+            body.reset();
+        }
+
+        /**
+         * The server closed the connection.
+         *
+         * @return true if that terminates the response.
+         */
+        boolean endOfStream() {
+            keepAlive = false;
+            if (state == BODY_UNTIL_CLOSE) {
+                state = DONE;
+            }
+            return state == DONE;
+        }
+
+        /**
+         * Consumes the received bytes.
+         *
+         * @return true if the response is complete.
+         */
+        boolean feed(ByteBuffer buf) throws IOException {
+            started = true;
+            while (buf.hasRemaining() && state != DONE) {
+                switch (state) {
+                case STATUS_LINE:
+                    if (readLine(buf)) {
+                        parseStatusLine(line.toString());
+                        state = HEADERS;
+                    }
+                    break;
+                case HEADERS:
+                    if (readLine(buf)) {
+                        if (line.length() == 0) {
+                            startBody();
+                        } else {
+                            parseHeader(line.toString());
+                        }
+                    }
+                    break;
+                case BODY:
+                    remaining -= copy(buf, remaining);
+                    if (remaining == 0) {
+                        state = DONE;
+                    }
+                    break;
+                case CHUNK_SIZE:
+                    if (readLine(buf)) {
+                        String size = line.toString();
+                        int ext = size.indexOf(';');
+                        if (ext != -1) {
+                            size = size.substring(0, ext);
+                        }
+                        try {
+                            remaining = Long.parseLong(size.trim(), 16);
+                        } catch (NumberFormatException e) {
+                            throw new IOException("Invalid chunk size: " + size);
+                        }
+                        state = remaining == 0 ? TRAILERS : CHUNK_DATA;
+                    }
+                    break;
+                case CHUNK_DATA:
+                    remaining -= copy(buf, remaining);
+                    if (remaining == 0) {
+                        state = CHUNK_END;
+                    }
+                    break;
+                case CHUNK_END:
+                    if (readLine(buf)) {
+                        state = CHUNK_SIZE;
+                    }
+                    break;
+                case TRAILERS:
+                    if (readLine(buf) && line.length() == 0) {
+                        state = DONE;
+                    }
+                    break;
+                case BODY_UNTIL_CLOSE:
+                    copy(buf, buf.remaining());
+                    break;
+                default:
+                    throw new AssertionError();
+                }
+            }
+            if (state == DONE && buf.hasRemaining()) {
+                // unexpected data after the response, don't reuse the connection
+                keepAlive = false;
+            }
+            return state == DONE;
+        }
+
+        private int copy(ByteBuffer buf, long max) {
+            int len = (int) Math.min(buf.remaining(), max);
+            body.write(buf.array(), buf.arrayOffset() + buf.position(), len);
+            buf.position(buf.position() + len);
+            return len;
+        }
+
+        /**
+         * Reads a CRLF terminated line into {@link #line}.
+         *
+         * @return true if a complete line is read.
+         */
+        private boolean readLine(ByteBuffer buf) {
+            if (lineRead) {
+                line.setLength(0);
+                lineRead = false;
+            }
+            while (buf.hasRemaining()) {
+                char c = (char) (buf.get() & 0xFF);
+                if (c == '\n') {
+                    int len = line.length();
+                    if (len > 0 && line.charAt(len - 1) == '\r') {
+                        line.setLength(len - 1);
+                    }
+                    lineRead = true;
+                    return true;
+                }
+                line.append(c);
+            }
+            return false;
+        }
+
+        private void parseStatusLine(String statusLine) throws IOException {
+            // HTTP/1.1 200 OK
+            int sp1 = statusLine.indexOf(' ');
+            if (!statusLine.startsWith("HTTP/") || sp1 == -1) {
+                throw new IOException("Invalid HTTP status line: " + statusLine);
+            }
+            http11 = !statusLine.startsWith("HTTP/1.0");
+            int sp2 = statusLine.indexOf(' ', sp1 + 1);
+            try {
+                statusCode = Integer.parseInt(sp2 == -1 ? statusLine.substring(sp1 + 1) : statusLine.substring(sp1 + 1, sp2));
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid HTTP status line: " + statusLine);
+            }
+            statusMessage = sp2 == -1 ? "" : statusLine.substring(sp2 + 1);
+        }
+
+        private void parseHeader(String header) throws IOException {
+            int colon = header.indexOf(':');
+            if (colon <= 0) {
+                throw new IOException("Invalid HTTP header: " + header);
+            }
+            headers.add(header.substring(0, colon).trim(), header.substring(colon + 1).trim());
+        }
+
+        private void startBody() {
+            if (statusCode >= 100 && statusCode < 200) {
+                // interim response (for e.g. 100-continue), the real one follows
+                headers.clear();
+                state = STATUS_LINE;
+                return;
+            }
+            String connection = headers.getFirst("Connection");
+            keepAlive = http11
+                    ? connection == null || !connection.equalsIgnoreCase("close")
+                    : connection != null && connection.equalsIgnoreCase("keep-alive");
+
+            String te = headers.getFirst("Transfer-Encoding");
+            String cl = headers.getFirst("Content-Length");
+            if (statusCode == 204 || statusCode == 304) {
+                state = DONE;
+            } else if (te != null && te.toLowerCase().contains("chunked")) {
+                state = CHUNK_SIZE;
+            } else if (cl != null) {
+                remaining = Long.parseLong(cl.trim());
+                state = remaining == 0 ? DONE : BODY;
+            } else {
+                keepAlive = false;
+                state = BODY_UNTIL_CLOSE;
+            }
+        }
+
+        static byte[] encodeHeaders(String requestLine, Map<String, List<String>> headers) {
+            StringBuilder sb = new StringBuilder(256);
+            sb.append(requestLine).append("\r\n");
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                for (String value : header.getValue()) {
+                    sb.append(header.getKey()).append(": ").append(value).append("\r\n");
+                }
+            }
+            sb.append("\r\n");
+            return sb.toString().getBytes(ISO_8859_1);
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.transport.http.client;
+
+import com.sun.istack.NotNull;
+import com.sun.xml.ws.api.WSBinding;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.pipe.Codec;
+import com.sun.xml.ws.api.pipe.ContentType;
+import com.sun.xml.ws.api.pipe.Fiber;
+import com.sun.xml.ws.api.pipe.NextAction;
+import com.sun.xml.ws.api.pipe.TubeCloner;
+import com.sun.xml.ws.client.BindingProviderProperties;
+import com.sun.xml.ws.client.ClientTransportException;
+import com.sun.xml.ws.developer.JAXWSProperties;
+import com.sun.xml.ws.developer.NonBlockingHttpTransportFeature;
+import com.sun.xml.ws.resources.ClientMessages;
+import com.sun.xml.ws.util.ByteArrayBuffer;
+
+import javax.xml.ws.WebServiceException;
+import javax.xml.ws.handler.MessageContext;
+import javax.xml.ws.soap.SOAPBinding;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * {@link HttpTransportPipe} that sends the request without blocking the
+ * calling thread.
+ *
+ * <p>
+ * The request is encoded up front and handed over to the shared
+ * {@link NonBlockingHttpClient}, and the {@link Fiber} is suspended until the
+ * response is received. The response is then decoded in
+ * {@link #processResponse(Packet)}, on the thread that resumed the fiber.
+ * A synchronous invocation therefore still blocks its caller, but an
+ * asynchronous one doesn't hold any thread while waiting for the server.
+ *
+ * <p>
+ * Requests the non-blocking client doesn't handle (https, proxied endpoints,
+ * other methods than POST and PUT, fibers started synchronously) are sent
+ * with {@link java.net.HttpURLConnection} by the super class.
+ *
+ * @see NonBlockingHttpTransportFeature
+ */
+public class NonBlockingHttpTransportTube extends HttpTransportPipe {
+
+    private static final Logger LOGGER = Logger.getLogger(NonBlockingHttpTransportTube.class.getName());
+
+    private final int idleTimeout;
+
+    public NonBlockingHttpTransportTube(Codec codec, WSBinding binding) {
+        super(codec, binding);
+        NonBlockingHttpTransportFeature feature = binding.getFeature(NonBlockingHttpTransportFeature.class);
+        this.idleTimeout = (feature != null) ? feature.getIdleTimeout() : NonBlockingHttpTransportFeature.DEFAULT_IDLE_TIMEOUT;
+    }
+
+    /*
+     * Copy constructor for {@link Tube#copy(TubeCloner)}.
+     */
+    private NonBlockingHttpTransportTube(NonBlockingHttpTransportTube that, TubeCloner cloner) {
+        this(that.codec.copy(), that.binding);
+        cloner.add(that, this);
+    }
+
+    @Override
+    public NextAction processRequest(@NotNull final Packet request) {
+        final Fiber fiber = Fiber.getCurrentIfSet();
+        // a fiber started sync would continue on the selector thread once resumed
+        if (fiber == null || fiber.isStartedSync() || !isNonBlocking(request)) {
+            return super.processRequest(request);
+        }
+
+        final NonBlockingHttpClient client;
+        final NonBlockingHttpClient.Exchange exchange;
+        try {
+            client = NonBlockingHttpClient.getInstance();
+            exchange = createExchange(request, fiber);
+        } catch (WebServiceException wex) {
+            throw wex;
+        } catch (Exception ex) {
+            throw new WebServiceException(ex);
+        }
+        request.addSatellite(new NonBlockingHttpResponseProperties(exchange));
+
+        return doSuspend(new Runnable() {
+            @Override
+            public void run() {
+                client.send(exchange);
+            }
+        });
+    }
+
+    @Override
+    public NextAction processResponse(@NotNull Packet response) {
+        NonBlockingHttpResponseProperties props = response.getSatellite(NonBlockingHttpResponseProperties.class);
+        if (props == null) {
+            return super.processResponse(response);
+        }
+        try {
+            return doReturnWith(createResponsePacket(response, props.exchange));
+        } catch (WebServiceException wex) {
+            throw wex;
+        } catch (Exception ex) {
+            throw new WebServiceException(ex);
+        }
+    }
+
+    private boolean isNonBlocking(Packet request) {
+        URI uri = request.endpointAddress.getURI();
+        if (!"http".equalsIgnoreCase(uri.getScheme()) || uri.getHost() == null) {
+            return false;
+        }
+        String method = (String) request.invocationProperties.get(MessageContext.HTTP_REQUEST_METHOD);
+        if (method != null && !method.equalsIgnoreCase("POST") && !method.equalsIgnoreCase("PUT")) {
+            return false;
+        }
+        ProxySelector sel = ProxySelector.getDefault();
+        if (sel != null) {
+            Iterator<Proxy> it = sel.select(uri).iterator();
+            if (it.hasNext() && it.next().type() != Proxy.Type.DIRECT) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private NonBlockingHttpClient.Exchange createExchange(final Packet request, final Fiber fiber) throws IOException {
+        Map<String, List<String>> reqHeaders = createRequestHeaders(request);
+
+        ByteArrayBuffer buf = new ByteArrayBuffer();
+        OutputStream out = buf;
+        List<String> contentEncoding = reqHeaders.get("Content-Encoding");
+        if (contentEncoding != null && contentEncoding.get(0).contains("gzip")) {
+            out = new GZIPOutputStream(buf);
+        }
+        ContentType ct = codec.encode(request, out);
+        if (out != buf) {
+            out.close();
+        }
+
+        reqHeaders.put("Content-Length", Collections.singletonList(Integer.toString(buf.size())));
+        reqHeaders.put("Content-Type", Collections.singletonList(ct.getContentType()));
+        if (ct.getAcceptHeader() != null) {
+            reqHeaders.put("Accept", Collections.singletonList(ct.getAcceptHeader()));
+        }
+        if (binding instanceof SOAPBinding) {
+            writeSOAPAction(reqHeaders, ct.getSOAPActionHeader());
+        }
+        URI uri = request.endpointAddress.getURI();
+        int port = uri.getPort() == -1 ? 80 : uri.getPort();
+        reqHeaders.put("Host", Collections.singletonList(uri.getPort() == -1 ? uri.getHost() : uri.getHost() + ':' + port));
+        String path = uri.getRawPath();
+        if (path == null || path.length() == 0) {
+            path = "/";
+        }
+        if (uri.getRawQuery() != null) {
+            path = path + '?' + uri.getRawQuery();
+        }
+        String method = (String) request.invocationProperties.get(MessageContext.HTTP_REQUEST_METHOD);
+        String requestLine = ((method != null) ? method.toUpperCase() : "POST") + ' ' + path + " HTTP/1.1";
+        if (dump || LOGGER.isLoggable(Level.FINER)) {
+            dump(buf, "HTTP request - " + request.endpointAddress, reqHeaders);
+        }
+
+        ByteBuffer[] data = new ByteBuffer[] {
+            ByteBuffer.wrap(NonBlockingHttpClient.Exchange.encodeHeaders(requestLine, reqHeaders)),
+            ByteBuffer.wrap(buf.getRawData(), 0, buf.size())
+        };
+
+        // resolve here rather than on the selector thread, it may block
+        InetSocketAddress address = new InetSocketAddress(uri.getHost(), port);
+        Integer readTimeout = (Integer) request.invocationProperties.get(BindingProviderProperties.REQUEST_TIMEOUT);
+        Integer connectTimeout = (Integer) request.invocationProperties.get(JAXWSProperties.CONNECT_TIMEOUT);
+
+        return new NonBlockingHttpClient.Exchange(address, data,
+                connectTimeout != null ? connectTimeout : 0,
+                readTimeout != null ? readTimeout : 0,
+                idleTimeout) {
+
+            @Override
+            void completed() {
+                fiber.resume(request);
+            }
+
+            @Override
+            void failed(IOException e) {
+                fiber.resume(new ClientTransportException(ClientMessages.localizableHTTP_CLIENT_FAILED(e), e));
+            }
+        };
+    }
+
+    private Packet createResponsePacket(Packet request, NonBlockingHttpClient.Exchange exchange) throws IOException {
+        recordCookies(request, exchange.headers);
+
+        if (dump || LOGGER.isLoggable(Level.FINER)) {
+            dump(exchange.body, "HTTP response - " + request.endpointAddress + " - " + exchange.statusCode, exchange.headers);
+        }
+
+        InputStream responseStream = null;
+        if (exchange.body.size() > 0) {
+            responseStream = exchange.body.newInputStream();
+            String contentEncoding = exchange.headers.getFirst("Content-Encoding");
+            if (contentEncoding != null && contentEncoding.contains("gzip")) {
+                responseStream = new GZIPInputStream(responseStream);
+            }
+        }
+
+        // Allows only certain http status codes for a binding. For all
+        // other status codes, throws exception
+        checkStatusCode(responseStream, exchange.statusCode, exchange.statusMessage);
+
+        Packet reply = request.createClientResponse(null);
+        reply.wasTransportSecure = false;
+        if (responseStream != null) {
+            String contentType = exchange.headers.getFirst("Content-Type");
+            if (contentType != null && contentType.contains("text/html") && binding instanceof SOAPBinding) {
+                throw new ClientTransportException(ClientMessages.localizableHTTP_STATUS_CODE(exchange.statusCode, exchange.statusMessage));
+            }
+            codec.decode(responseStream, contentType, reply);
+        }
+        return reply;
+    }
+
+    @Override
+    public NonBlockingHttpTransportTube copy(TubeCloner cloner) {
+        return new NonBlockingHttpTransportTube(this, cloner);
+    }
+}
@@ -43,6 +43,7 @@ package com.sun.xml.ws.transport.http.server;
 import com.sun.net.httpserver.HttpContext;
 import com.sun.net.httpserver.HttpServer;
 import com.sun.xml.ws.server.ServerRtException;
+import com.sun.xml.ws.util.VirtualThreadSupport;
 
 import java.net.InetSocketAddress;
 import java.net.URL;
@@ -113,7 +114,10 @@ final class ServerMgr {
                         }
                         // Creates server with default socket backlog
                         server = HttpServer.create(inetAddress, 0);
-                        server.setExecutor(Executors.newCachedThreadPool());
+                        ExecutorService executor = VirtualThreadSupport.isEnabled()
+                                ? VirtualThreadSupport.newVirtualThreadPerTaskExecutor("jaxws-http-server-")
+                                : null;
+                        server.setExecutor(executor != null ? executor : Executors.newCachedThreadPool());
                         String path = url.toURI().getPath();
                         if (LOGGER.isLoggable(Level.FINE)) {
                             LOGGER.fine("Creating HTTP Context at = "+path);
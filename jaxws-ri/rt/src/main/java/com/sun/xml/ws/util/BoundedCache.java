@@ -0,0 +1,100 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+
+package com.sun.xml.ws.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Concurrent map of values derived from a small set of keys, such as parsed
+ * transport headers, that stops growing once it holds {@code maxSize} entries.
+ *
+ * <p>
+ * Nothing is ever evicted: the first distinct keys stay cached and any others
+ * are simply not cached, so a peer sending ever-changing values costs no more
+ * than having no cache at all. Values must be immutable, as they are shared
+ * between threads.
+ *
+ * @param <K> key type; keys must not be null
+ * @param <V> value type
+ */
+public final class BoundedCache<K, V> {
+
+    private final ConcurrentMap<K, V> map;
+    private final int maxSize;
+
+    public BoundedCache(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.map = new ConcurrentHashMap<K, V>(Math.min(maxSize, 16));
+    }
+
+    /**
+     * @return the cached value, or null
+     */
+    public V get(K key) {
+        return map.get(key);
+    }
+
+    /**
+     * Caches the value if there is room for it.
+     *
+     * @return the value cached for the key by a concurrent caller, if any,
+     *         the given value otherwise
+     */
+    public V intern(K key, V value) {
+        if (map.size() >= maxSize) {
+            return value;
+        }
+        V old = map.putIfAbsent(key, value);
+        return (old != null) ? old : value;
+    }
+
+    /**
+     * Number of cached entries.
+     */
+    public int size() {
+        return map.size();
+    }
+}
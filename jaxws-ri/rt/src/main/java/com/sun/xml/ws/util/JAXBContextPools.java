@@ -0,0 +1,189 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+
+package com.sun.xml.ws.util;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+
+/**
+ * Bounded {@link Marshaller} and {@link Unmarshaller} pools of a {@link JAXBContext}.
+ *
+ * <p>
+ * Used where the runtime marshals with a plain {@link JAXBContext} rather than
+ * through a {@link com.sun.xml.ws.spi.db.BindingContext}, such as the messages of a
+ * {@code Dispatch<Object>} or the parsing of SOAP faults, so that these don't
+ * create a new marshaller for every message.
+ *
+ * <p>
+ * There is one instance per context, obtained with {@link #of(JAXBContext)}, which
+ * takes a process-wide lock. Code creating many messages looks the pools up once and
+ * keeps them, as {@link com.sun.xml.ws.client.dispatch.JAXBDispatch} does. Idle
+ * objects are only softly reachable, so the pools keep an unused context alive at
+ * most until memory runs low. Objects are reset on
+ * {@link #recycle(Marshaller) recycle}, but callers set the properties they need
+ * (such as {@code jaxb.fragment}) on every use. An object that failed to marshal or
+ * unmarshal shouldn't be recycled.
+ */
+public final class JAXBContextPools {
+
+    /**
+     * Maximum number of idle marshallers, and of idle unmarshallers, kept for one context.
+     */
+    public static final int MAX_SIZE = Integer.getInteger(JAXBContextPools.class.getName() + ".maxSize", 16);
+
+    /**
+     * Guarded by itself.
+     */
+    private static final Map<JAXBContext, JAXBContextPools> POOLS = new WeakHashMap<JAXBContext, JAXBContextPools>();
+
+    /**
+     * Held weakly, as the pools are themselves reachable from the {@link WeakHashMap} value.
+     */
+    private final WeakReference<JAXBContext> context;
+
+    private final Pool<Marshaller> marshallers = new Pool<Marshaller>(MAX_SIZE, true) {
+        @Override
+        protected javax.xml.bind.Marshaller create() {
+            try {
+                return context().createMarshaller();
+            } catch (JAXBException e) {
+                // impossible
+                throw new AssertionError(e);
+            }
+        }
+    };
+
+    private final Pool<Unmarshaller> unmarshallers = new Pool<Unmarshaller>(MAX_SIZE, true) {
+        @Override
+        protected javax.xml.bind.Unmarshaller create() {
+            try {
+                return context().createUnmarshaller();
+            } catch (JAXBException e) {
+                // impossible
+                throw new AssertionError(e);
+            }
+        }
+    };
+
+    private JAXBContextPools(JAXBContext context) {
+        this.context = new WeakReference<JAXBContext>(context);
+    }
+
+    /**
+     * Gets the pools of the given context, creating them on first use.
+     */
+    public static JAXBContextPools of(JAXBContext context) {
+        synchronized (POOLS) {
+            JAXBContextPools p = POOLS.get(context);
+            if (p == null) {
+                p = new JAXBContextPools(context);
+                POOLS.put(context, p);
+            }
+            return p;
+        }
+    }
+
+    private JAXBContext context() {
+        JAXBContext c = context.get();
+        if (c == null) {
+            // only reachable through a caller that no longer holds the context
+            throw new IllegalStateException("JAXBContext has been garbage collected");
+        }
+        return c;
+    }
+
+    public Marshaller takeMarshaller() {
+        return marshallers.take();
+    }
+
+    /**
+     * Clears what a user of the marshaller may have set, and returns it to the pool.
+     */
+    public void recycle(Marshaller m) {
+        try {
+            m.setAttachmentMarshaller(null);
+            m.setEventHandler(null);
+            m.setListener(null);
+            m.setSchema(null);
+        } catch (JAXBException e) {
+            return;
+        } catch (UnsupportedOperationException e) {
+            return;
+        }
+        marshallers.recycle(m);
+    }
+
+    public Unmarshaller takeUnmarshaller() {
+        return unmarshallers.take();
+    }
+
+    /**
+     * Clears what a user of the unmarshaller may have set, and returns it to the pool.
+     */
+    public void recycle(Unmarshaller u) {
+        try {
+            u.setAttachmentUnmarshaller(null);
+            u.setEventHandler(null);
+            u.setListener(null);
+            u.setSchema(null);
+        } catch (JAXBException e) {
+            return;
+        } catch (UnsupportedOperationException e) {
+            return;
+        }
+        unmarshallers.recycle(u);
+    }
+
+    Pool<Marshaller> getMarshallerPool() {
+        return marshallers;
+    }
+
+    Pool<Unmarshaller> getUnmarshallerPool() {
+        return unmarshallers;
+    }
+}
@@ -45,8 +45,11 @@ import com.sun.xml.ws.api.pipe.TubeCloner;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
+import javax.xml.validation.Schema;
 
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.lang.ref.SoftReference; 
 
 
@@ -59,6 +62,9 @@ import java.lang.ref.SoftReference;
  *
  * <p>
  * This class provides a default implementation of such a pool.
+ * By default idle objects are only softly reachable, so the garbage collector
+ * may drop the whole pool, and there is no limit on how many of them are kept.
+ * Both can be changed by derived classes through {@link #Pool(int, boolean)}.
  *
  * TODO: improve the implementation
  *
@@ -67,7 +73,46 @@ import java.lang.ref.SoftReference;
 public abstract class Pool<T> {
 
     // volatile since multiple threads may access queue reference
-    private volatile SoftReference<ConcurrentLinkedQueue<T>> queue;
+    private volatile SoftReference<Slots<T>> queue;
+
+    /**
+     * Idle objects, when they are strongly held. Null in the soft mode.
+     */
+    private final Slots<T> retained;
+
+    /**
+     * Maximum number of idle objects kept, or 0 for no limit.
+     */
+    private final int maxSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+
+    /**
+     * Creates an unbounded pool whose idle objects may be reclaimed by the
+     * garbage collector.
+     */
+    protected Pool() {
+        this(0, true);
+    }
+
+    /**
+     * @param maxSize
+     *      maximum number of idle objects kept in the pool, or 0 for no limit.
+     *      Objects recycled into a full pool are dropped.
+     * @param soft
+     *      true to keep idle objects only softly reachable, false to keep
+     *      them until they are taken out or the pool itself is dropped.
+     */
+    protected Pool(int maxSize, boolean soft) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.retained = soft ? null : new Slots<T>();
+    }
 
     /**
      * Gets a new object from the pool.
@@ -80,22 +125,28 @@ public abstract class Pool<T> {
      */
     public final T take() {
         T t = getQueue().poll();
-        if(t==null)
-            return create();
+        if(t==null) {
+            misses.increment();
+            return newInstance();
+        }
+        hits.increment();
         return t;
     }
 
-    private ConcurrentLinkedQueue<T> getQueue() {
-    	SoftReference<ConcurrentLinkedQueue<T>> q = queue;
+    private Slots<T> getQueue() {
+        if (retained != null)
+            return retained;
+
+    	SoftReference<Slots<T>> q = queue;
         if (q != null) {
-            ConcurrentLinkedQueue<T> d = q.get();
+            Slots<T> d = q.get();
             if (d != null)
                 return d;
         }
 
         // overwrite the queue
-        ConcurrentLinkedQueue<T> d = new ConcurrentLinkedQueue<T>();
-        queue = new SoftReference<ConcurrentLinkedQueue<T>>(d);
+        Slots<T> d = new Slots<T>();
+        queue = new SoftReference<Slots<T>>(d);
 
         return d;
     }
@@ -104,7 +155,99 @@ public abstract class Pool<T> {
      * Returns an object back to the pool.
      */
     public final void recycle(T t) {
-        getQueue().offer(t);
+        if (!getQueue().offer(t, maxSize))
+            discarded.increment();
+    }
+
+    /**
+     * Creates objects until the pool holds at least {@code size} idle ones,
+     * or as many as its maximum size allows.
+     *
+     * <p>
+     * This moves the cost of {@link #create() creating} the objects
+     * to a time of the caller's choosing, such as the deployment of an
+     * endpoint or the creation of a port, away from the first requests.
+     */
+    public final void prewarm(int size) {
+        if (maxSize > 0 && size > maxSize)
+            size = maxSize;
+        Slots<T> q = getQueue();
+        while (q.size() < size) {
+            if (!q.offer(newInstance(), maxSize))
+                break;
+        }
+    }
+
+    /**
+     * Number of times {@link #take()} found an idle object.
+     */
+    public final long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Number of times {@link #take()} had to create a new object,
+     * because the pool was empty or had been reclaimed by the garbage collector.
+     */
+    public final long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Number of objects this pool has {@link #create() created},
+     * including the ones created by {@link #prewarm(int)}.
+     */
+    public final long getCreatedCount() {
+        return created.sum();
+    }
+
+    /**
+     * Number of objects dropped by {@link #recycle(Object)}
+     * because the pool was already at its maximum size.
+     */
+    public final long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    /**
+     * Number of objects currently idle in the pool.
+     */
+    public final int getIdleCount() {
+        return getQueue().size();
+    }
+
+    private T newInstance() {
+        created.increment();
+        return create();
+    }
+
+    /**
+     * Queue of idle objects with a count, as
+     * {@link ConcurrentLinkedQueue#size()} walks the whole queue.
+     */
+    private static final class Slots<T> {
+        private final ConcurrentLinkedQueue<T> items = new ConcurrentLinkedQueue<T>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        T poll() {
+            T t = items.poll();
+            if (t != null)
+                size.decrementAndGet();
+            return t;
+        }
+
+        boolean offer(T t, int maxSize) {
+            if (size.incrementAndGet() > maxSize && maxSize > 0) {
+                size.decrementAndGet();
+                return false;
+            }
+            items.offer(t);
+            return true;
+        }
+
+        int size() {
+            return size.get();
+        }
     }
 
     /**
@@ -163,8 +306,47 @@ public abstract class Pool<T> {
         }
     }
 
+    /**
+     * {@link javax.xml.validation.Validator}s of a {@link Schema}.
+     * Taken instances are {@link javax.xml.validation.Validator#reset() reset} by the caller.
+     */
+    public static final class Validator extends Pool<javax.xml.validation.Validator> {
+        private final Schema schema;
+
+        public Validator(Schema schema) {
+            this.schema = schema;
+        }
+
+        @Override
+        protected javax.xml.validation.Validator create() {
+            return schema.newValidator();
+        }
+    }
+
+    /**
+     * {@link javax.xml.validation.ValidatorHandler}s of a {@link Schema}, for
+     * validating documents as they are streamed. An instance is recycled
+     * once it has seen the end of a document.
+     */
+    public static final class ValidatorHandler extends Pool<javax.xml.validation.ValidatorHandler> {
+        private final Schema schema;
+
+        public ValidatorHandler(Schema schema) {
+            this.schema = schema;
+        }
+
+        @Override
+        protected javax.xml.validation.ValidatorHandler create() {
+            return schema.newValidatorHandler();
+        }
+    }
+
     /**
      * {@link Tube} pool.
+     *
+     * <p>
+     * New tubelines are {@link TubeCloner#clone(Tube) copied} from the master,
+     * so {@link #getCreatedCount()} is the number of copies made.
      */
     public static final class TubePool extends Pool<Tube> {
         private final Tube master;
@@ -174,6 +356,15 @@ public abstract class Pool<T> {
             recycle(master);    // we'll use master as a part of the pool, too.
         }
 
+        /**
+         * @see Pool#Pool(int, boolean)
+         */
+        public TubePool(Tube master, int maxSize, boolean soft) {
+            super(maxSize, soft);
+            this.master = master;
+            recycle(master);    // we'll use master as a part of the pool, too.
+        }
+
         @Override
         protected Tube create() {
             return TubeCloner.clone(master);
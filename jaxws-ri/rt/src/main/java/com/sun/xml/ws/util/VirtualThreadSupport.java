@@ -0,0 +1,148 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.util;
+
+import java.lang.reflect.Method;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Opt-in support for running fibers and HTTP requests on virtual threads.
+ *
+ * <p>
+ * The runtime is compiled for Java SE 8, so virtual threads (Java SE 21) are
+ * looked up reflectively. The mode is enabled by setting the
+ * {@code com.sun.xml.ws.util.VirtualThreadSupport.enabled} system property to
+ * {@code true}; on older runtimes the property is ignored with a warning and
+ * platform thread pools are used as before.
+ *
+ * <p>
+ * When enabled, {@link com.sun.xml.ws.api.pipe.Engine}s without an
+ * application provided executor run each fiber on its own virtual thread, and
+ * the HTTP servers created for {@link javax.xml.ws.Endpoint#publish(String)}
+ * handle each request on its own virtual thread.
+ *
+ * @since 2.3.1
+ */
+public final class VirtualThreadSupport {
+
+    private static final Logger LOGGER = Logger.getLogger(VirtualThreadSupport.class.getName());
+
+    /**
+     * {@code Thread.ofVirtual()}, null if virtual threads are not available.
+     */
+    private static final Method OF_VIRTUAL;
+    private static final Method BUILDER_NAME;
+    private static final Method BUILDER_FACTORY;
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+    private static final boolean ENABLED;
+
+    static {
+        Method ofVirtual = null;
+        Method name = null;
+        Method factory = null;
+        Method newExecutor = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            name = builder.getMethod("name", String.class, long.class);
+            factory = builder.getMethod("factory");
+            newExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        } catch (ReflectiveOperationException e) {
+            // virtual threads were added in Java SE 21
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = name;
+        BUILDER_FACTORY = factory;
+        NEW_THREAD_PER_TASK_EXECUTOR = newExecutor;
+
+        boolean requested = AccessController.doPrivileged(new PrivilegedAction<Boolean>() {
+            @Override
+            public Boolean run() {
+                return Boolean.getBoolean(VirtualThreadSupport.class.getName() + ".enabled");
+            }
+        });
+        if (requested && OF_VIRTUAL == null) {
+            LOGGER.warning("Virtual threads are not supported by this Java runtime, using platform threads");
+        }
+        ENABLED = requested && OF_VIRTUAL != null;
+    }
+
+    // no instantiating wanted
+    private VirtualThreadSupport() {
+    }
+
+    /**
+     * Returns true if the virtual thread mode is enabled and the runtime supports it.
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Creates an {@link ExecutorService} that runs each task on a new virtual thread.
+     *
+     * @param namePrefix
+     *      prefix of the thread names, followed by a sequence number.
+     * @return
+     *      null if virtual threads are not supported by this runtime.
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor(String namePrefix) {
+        if (OF_VIRTUAL == null) {
+            return null;
+        }
+        try {
+            Object builder = OF_VIRTUAL.invoke(null);
+            builder = BUILDER_NAME.invoke(builder, namePrefix, 1L);
+            ThreadFactory factory = (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            LOGGER.log(Level.WARNING, "Failed to create virtual thread executor, using platform threads", e);
+            return null;
+        }
+    }
+}
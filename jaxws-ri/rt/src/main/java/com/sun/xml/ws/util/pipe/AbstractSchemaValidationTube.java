@@ -56,6 +56,7 @@ import com.sun.xml.ws.developer.SchemaValidationFeature;
 import com.sun.xml.ws.developer.ValidationErrorHandler;
 import com.sun.xml.ws.server.SDDocumentImpl;
 import com.sun.xml.ws.util.ByteArrayBuffer;
+import com.sun.xml.ws.util.Pool;
 import com.sun.xml.ws.util.xml.XmlUtil;
 import com.sun.xml.ws.wsdl.SDDocumentResolver;
 import com.sun.xml.ws.wsdl.parser.WSDLConstants;
@@ -119,6 +120,26 @@ public abstract class AbstractSchemaValidationTube extends AbstractFilterTubeImp
 
     protected abstract Validator getValidator();
 
+    /**
+     * {@link Validator}s shared by this tube and its copies. When available,
+     * they are used instead of {@link #getValidator()}.
+     *
+     * @return null by default
+     */
+    protected @Nullable Pool.Validator getValidatorPool() {
+        return null;
+    }
+
+    /**
+     * {@link javax.xml.validation.ValidatorHandler}s shared by this tube and its copies,
+     * needed for the {@link SchemaValidationFeature#isStreaming() streaming} validation.
+     *
+     * @return null by default, then messages are validated up front.
+     */
+    protected @Nullable Pool.ValidatorHandler getValidatorHandlerPool() {
+        return null;
+    }
+
     protected abstract boolean isNoValidation();
 
     private static class ValidationDocumentAddressResolver implements DocumentAddressResolver {
@@ -556,7 +577,6 @@ public abstract class AbstractSchemaValidationTube extends AbstractFilterTubeImp
     }
 
     protected void doProcess(Packet packet) throws SAXException {
-        getValidator().reset();
         Class<? extends ValidationErrorHandler> handlerClass = feature.getErrorHandler();
         ValidationErrorHandler handler;
         try {
@@ -565,15 +585,30 @@ public abstract class AbstractSchemaValidationTube extends AbstractFilterTubeImp
             throw new WebServiceException(e);
         }
         handler.setPacket(packet);
-        getValidator().setErrorHandler(handler);
-        Message msg = packet.getMessage().copy();
-        Source source = msg.readPayloadAsSource();
+        Pool.ValidatorHandler handlers = getValidatorHandlerPool();
+        if (feature.isStreaming() && handlers != null) {
+            // validated when the payload is read or written
+            packet.setMessage(new ValidatingMessage(packet.getMessage(), handlers, handler));
+            return;
+        }
+        Pool.Validator validators = getValidatorPool();
+        Validator validator = validators != null ? validators.take() : getValidator();
         try {
+            validator.reset();
+            validator.setErrorHandler(handler);
+            Message msg = packet.getMessage().copy();
+            Source source = msg.readPayloadAsSource();
             // Validator javadoc allows ONLY SAX, and DOM Sources
             // But the impl seems to handle all kinds.
-            getValidator().validate(source);
+            validator.validate(source);
         } catch(IOException e) {
             throw new WebServiceException(e);
+        } finally {
+            if (validators != null) {
+                // don't keep the error handler, and the packet it reports to, in the pool
+                validator.setErrorHandler(null);
+                validators.recycle(validator);
+            }
         }
     }
 
@@ -0,0 +1,238 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.util.pipe;
+
+import com.sun.xml.bind.api.Bridge;
+import com.sun.xml.ws.api.message.FilterMessageImpl;
+import com.sun.xml.ws.api.message.Message;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.streaming.XMLStreamReaderFactory;
+import com.sun.xml.ws.message.AttachmentUnmarshallerImpl;
+import com.sun.xml.ws.spi.db.XMLBridge;
+import com.sun.xml.ws.streaming.MtomStreamWriter;
+import com.sun.xml.ws.streaming.XMLStreamReaderUtil;
+import com.sun.xml.ws.util.Pool;
+import com.sun.xml.ws.util.xml.StAXSource;
+import com.sun.xml.ws.util.xml.ValidatingXMLStreamReader;
+import com.sun.xml.ws.util.xml.ValidatingXMLStreamWriter;
+import org.jvnet.staxex.XMLStreamWriterEx;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.namespace.QName;
+import javax.xml.soap.SOAPException;
+import javax.xml.soap.SOAPMessage;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.Source;
+import javax.xml.ws.WebServiceException;
+
+/**
+ * {@link Message} whose payload is validated while it is read or written,
+ * instead of validating a copy up front.
+ *
+ * <p>
+ * The ways of consuming the message that don't go through StAX, or that
+ * write to a writer whose optimizations would be hidden by the filter (MTOM),
+ * validate a copy of the payload first, like the buffered mode does.
+ *
+ * @see AbstractSchemaValidationTube
+ */
+final class ValidatingMessage extends FilterMessageImpl {
+
+    private final Message delegate;
+    private final Pool.ValidatorHandler handlers;
+    private final ErrorHandler errorHandler;
+    private boolean validated;
+
+    ValidatingMessage(Message delegate, Pool.ValidatorHandler handlers, ErrorHandler errorHandler) {
+        super(delegate);
+        this.delegate = delegate;
+        this.handlers = handlers;
+        this.errorHandler = errorHandler;
+    }
+
+    @Override
+    public XMLStreamReader readPayload() throws XMLStreamException {
+        XMLStreamReader reader = delegate.readPayload();
+        if (validated) {
+            return reader;
+        }
+        validated = true;
+        return new ValidatingXMLStreamReader(reader, handlers, errorHandler);
+    }
+
+    @Override
+    public Source readPayloadAsSource() {
+        try {
+            return new StAXSource(readPayload(), true);
+        } catch (XMLStreamException e) {
+            throw new WebServiceException(e);
+        }
+    }
+
+    @Override
+    public <T> T readPayloadAsJAXB(Unmarshaller unmarshaller) throws JAXBException {
+        XMLStreamReader reader = readPayloadForJAXB();
+        if (hasAttachments()) {
+            unmarshaller.setAttachmentUnmarshaller(new AttachmentUnmarshallerImpl(getAttachments()));
+        }
+        try {
+            return (T) unmarshaller.unmarshal(reader);
+        } finally {
+            unmarshaller.setAttachmentUnmarshaller(null);
+            close(reader);
+        }
+    }
+
+    @Override
+    public <T> T readPayloadAsJAXB(Bridge<T> bridge) throws JAXBException {
+        XMLStreamReader reader = readPayloadForJAXB();
+        try {
+            return bridge.unmarshal(reader,
+                    hasAttachments() ? new AttachmentUnmarshallerImpl(getAttachments()) : null);
+        } finally {
+            close(reader);
+        }
+    }
+
+    @Override
+    public <T> T readPayloadAsJAXB(XMLBridge<T> bridge) throws JAXBException {
+        XMLStreamReader reader = readPayloadForJAXB();
+        try {
+            return bridge.unmarshal(reader,
+                    hasAttachments() ? new AttachmentUnmarshallerImpl(getAttachments()) : null);
+        } finally {
+            close(reader);
+        }
+    }
+
+    @Override
+    public Source readEnvelopeAsSource() {
+        validateCopy();
+        return delegate.readEnvelopeAsSource();
+    }
+
+    @Override
+    public SOAPMessage readAsSOAPMessage() throws SOAPException {
+        validateCopy();
+        return delegate.readAsSOAPMessage();
+    }
+
+    @Override
+    public SOAPMessage readAsSOAPMessage(Packet packet, boolean inbound) throws SOAPException {
+        validateCopy();
+        return delegate.readAsSOAPMessage(packet, inbound);
+    }
+
+    @Override
+    public void writePayloadTo(XMLStreamWriter sw) throws XMLStreamException {
+        XMLStreamWriter w = validating(sw, null);
+        delegate.writePayloadTo(w);
+        if (w instanceof ValidatingXMLStreamWriter) {
+            // the payload may be a single empty element
+            ((ValidatingXMLStreamWriter) w).writeEndSubtree();
+        }
+    }
+
+    @Override
+    public void writeTo(XMLStreamWriter sw) throws XMLStreamException {
+        delegate.writeTo(validating(sw, new QName(getSOAPVersion().nsUri, "Body")));
+    }
+
+    @Override
+    public void writeTo(ContentHandler contentHandler, ErrorHandler errorHandler) throws SAXException {
+        validateCopy();
+        delegate.writeTo(contentHandler, errorHandler);
+    }
+
+    /**
+     * The copy is validated when it is consumed too, unless this message
+     * has already been validated.
+     */
+    @Override
+    public Message copy() {
+        Message copy = super.copy();
+        return validated ? copy : new ValidatingMessage(copy, handlers, errorHandler);
+    }
+
+    private XMLStreamWriter validating(XMLStreamWriter sw, QName container) {
+        if (validated) {
+            return sw;
+        }
+        if (sw instanceof XMLStreamWriterEx || sw instanceof MtomStreamWriter) {
+            validateCopy();
+            return sw;
+        }
+        validated = true;
+        return new ValidatingXMLStreamWriter(sw, container, handlers, errorHandler);
+    }
+
+    private XMLStreamReader readPayloadForJAXB() throws JAXBException {
+        try {
+            return readPayload();
+        } catch (XMLStreamException e) {
+            throw new JAXBException(e);
+        }
+    }
+
+    private void validateCopy() {
+        if (validated) {
+            return;
+        }
+        validated = true;
+        try {
+            new ValidatingXMLStreamReader(delegate.copy().readPayload(), handlers, errorHandler).validateRest();
+        } catch (XMLStreamException e) {
+            throw new WebServiceException(e);
+        }
+    }
+
+    private static void close(XMLStreamReader reader) {
+        XMLStreamReaderUtil.readRest(reader);
+        XMLStreamReaderUtil.close(reader);
+        XMLStreamReaderFactory.recycle(reader);
+    }
+}
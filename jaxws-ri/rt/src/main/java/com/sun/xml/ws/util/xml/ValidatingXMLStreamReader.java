@@ -0,0 +1,154 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.util.xml;
+
+import com.sun.xml.ws.util.Pool;
+import org.xml.sax.ErrorHandler;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * {@link XMLStreamReader} that validates the element it is positioned on
+ * as it is read, with a {@link javax.xml.validation.ValidatorHandler} taken
+ * from the given pool.
+ *
+ * <p>
+ * Nothing is buffered, so a payload of any size is validated in the same
+ * pass that reads it. Validation errors are reported to the
+ * {@link ErrorHandler}, and an exception thrown by it surfaces as an
+ * {@link XMLStreamException} from the reading method.
+ *
+ * @see ValidatingXMLStreamWriter
+ */
+public class ValidatingXMLStreamReader extends XMLStreamReaderFilter {
+
+    private final ValidatorHandlerFeeder feeder;
+
+    /**
+     * @param reader positioned on the {@code START_ELEMENT} of the subtree to validate.
+     */
+    public ValidatingXMLStreamReader(XMLStreamReader reader, Pool.ValidatorHandler handlers, ErrorHandler errorHandler)
+            throws XMLStreamException {
+        super(reader);
+        feeder = new ValidatorHandlerFeeder(handlers, errorHandler);
+        if (reader.getEventType() == START_ELEMENT) {
+            feed(START_ELEMENT);
+        }
+    }
+
+    /**
+     * Reads and validates the rest of the subtree.
+     */
+    public void validateRest() throws XMLStreamException {
+        while (!feeder.isDone() && reader.hasNext()) {
+            next();
+        }
+    }
+
+    @Override
+    public int next() throws XMLStreamException {
+        int event = reader.next();
+        feed(event);
+        return event;
+    }
+
+    // so that the skipped events are validated, too
+    @Override
+    public int nextTag() throws XMLStreamException {
+        int event = next();
+        while ((event == CHARACTERS && isWhiteSpace()) || (event == CDATA && isWhiteSpace())
+                || event == SPACE || event == PROCESSING_INSTRUCTION || event == COMMENT) {
+            event = next();
+        }
+        if (event != START_ELEMENT && event != END_ELEMENT) {
+            throw new XMLStreamException("expected start or end tag", getLocation());
+        }
+        return event;
+    }
+
+    @Override
+    public String getElementText() throws XMLStreamException {
+        if (getEventType() != START_ELEMENT) {
+            throw new XMLStreamException("parser must be on START_ELEMENT to read next text", getLocation());
+        }
+        StringBuilder text = new StringBuilder();
+        for (int event = next(); event != END_ELEMENT; event = next()) {
+            if (event == CHARACTERS || event == CDATA || event == SPACE || event == ENTITY_REFERENCE) {
+                text.append(getText());
+            } else if (event == START_ELEMENT) {
+                throw new XMLStreamException("element text content may not contain START_ELEMENT", getLocation());
+            } else if (event == END_DOCUMENT) {
+                throw new XMLStreamException("unexpected end of document when reading element text content", getLocation());
+            }
+        }
+        return text.toString();
+    }
+
+    private void feed(int event) throws XMLStreamException {
+        if (feeder.isDone()) {
+            return;
+        }
+        switch (event) {
+            case START_ELEMENT:
+                for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                    feeder.declare(reader.getNamespacePrefix(i), reader.getNamespaceURI(i));
+                }
+                for (int i = 0; i < reader.getAttributeCount(); i++) {
+                    feeder.attribute(reader.getAttributeNamespace(i), reader.getAttributeLocalName(i),
+                            reader.getAttributePrefix(i), reader.getAttributeValue(i));
+                }
+                feeder.startElement(reader.getNamespaceURI(), reader.getLocalName(), reader.getPrefix(),
+                        reader.getNamespaceContext());
+                break;
+            case END_ELEMENT:
+                feeder.endElement(reader.getNamespaceURI(), reader.getLocalName(), reader.getPrefix());
+                break;
+            case CHARACTERS:
+            case CDATA:
+            case SPACE:
+                feeder.characters(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                break;
+            default:
+                break;
+        }
+    }
+}
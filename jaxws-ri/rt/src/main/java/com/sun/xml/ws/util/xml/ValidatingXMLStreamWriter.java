@@ -0,0 +1,322 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.util.xml;
+
+import com.sun.istack.Nullable;
+import com.sun.xml.ws.util.Pool;
+import org.xml.sax.ErrorHandler;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * {@link XMLStreamWriter} that validates an element subtree as it is
+ * written, with a {@link javax.xml.validation.ValidatorHandler} taken from
+ * the given pool.
+ *
+ * <p>
+ * When a container element is given, only its first child is validated,
+ * so that the payload of a whole SOAP envelope can be checked by passing
+ * the {@code Body} element. Otherwise the first element written is.
+ * Validation errors are reported to the {@link ErrorHandler}, and an
+ * exception thrown by it surfaces as an {@link XMLStreamException}
+ * from the writing method.
+ *
+ * @see ValidatingXMLStreamReader
+ */
+public class ValidatingXMLStreamWriter extends XMLStreamWriterFilter {
+
+    private final ValidatorHandlerFeeder feeder;
+    private final QName container;
+
+    /**
+     * Depth of the container element, or -1 when not inside of it.
+     */
+    private int containerDepth = -1;
+    private int depth;
+
+    /**
+     * Names of the validated elements that are open, as (uri, local name, prefix).
+     */
+    private final Deque<String[]> open = new ArrayDeque<String[]>();
+
+    /**
+     * Start tag whose attributes and namespace declarations are still being written.
+     */
+    private String[] pending;
+    private boolean pendingEmpty;
+
+    public ValidatingXMLStreamWriter(XMLStreamWriter writer, @Nullable QName container,
+            Pool.ValidatorHandler handlers, ErrorHandler errorHandler) {
+        super(writer);
+        this.container = container;
+        this.feeder = new ValidatorHandlerFeeder(handlers, errorHandler);
+    }
+
+    @Override
+    public void writeStartElement(String localName) throws XMLStreamException {
+        flushPending();
+        writer.writeStartElement(localName);
+        startElement(defaultNamespace(), localName, "", false);
+    }
+
+    @Override
+    public void writeStartElement(String namespaceURI, String localName) throws XMLStreamException {
+        flushPending();
+        writer.writeStartElement(namespaceURI, localName);
+        startElement(namespaceURI, localName, writer.getPrefix(namespaceURI), false);
+    }
+
+    @Override
+    public void writeStartElement(String prefix, String localName, String namespaceURI) throws XMLStreamException {
+        flushPending();
+        writer.writeStartElement(prefix, localName, namespaceURI);
+        startElement(namespaceURI, localName, prefix, false);
+    }
+
+    @Override
+    public void writeEmptyElement(String localName) throws XMLStreamException {
+        flushPending();
+        writer.writeEmptyElement(localName);
+        startElement(defaultNamespace(), localName, "", true);
+    }
+
+    @Override
+    public void writeEmptyElement(String namespaceURI, String localName) throws XMLStreamException {
+        flushPending();
+        writer.writeEmptyElement(namespaceURI, localName);
+        startElement(namespaceURI, localName, writer.getPrefix(namespaceURI), true);
+    }
+
+    @Override
+    public void writeEmptyElement(String prefix, String localName, String namespaceURI) throws XMLStreamException {
+        flushPending();
+        writer.writeEmptyElement(prefix, localName, namespaceURI);
+        startElement(namespaceURI, localName, prefix, true);
+    }
+
+    @Override
+    public void writeAttribute(String localName, String value) throws XMLStreamException {
+        writer.writeAttribute(localName, value);
+        if (pending != null) {
+            feeder.attribute("", localName, "", value);
+        }
+    }
+
+    @Override
+    public void writeAttribute(String namespaceURI, String localName, String value) throws XMLStreamException {
+        writer.writeAttribute(namespaceURI, localName, value);
+        if (pending != null) {
+            feeder.attribute(namespaceURI, localName, writer.getPrefix(namespaceURI), value);
+        }
+    }
+
+    @Override
+    public void writeAttribute(String prefix, String namespaceURI, String localName, String value) throws XMLStreamException {
+        writer.writeAttribute(prefix, namespaceURI, localName, value);
+        if (pending != null) {
+            feeder.attribute(namespaceURI, localName, prefix, value);
+        }
+    }
+
+    @Override
+    public void writeNamespace(String prefix, String namespaceURI) throws XMLStreamException {
+        writer.writeNamespace(prefix, namespaceURI);
+        if (pending != null) {
+            feeder.declare(prefix, namespaceURI);
+        }
+    }
+
+    @Override
+    public void writeDefaultNamespace(String namespaceURI) throws XMLStreamException {
+        writer.writeDefaultNamespace(namespaceURI);
+        if (pending != null) {
+            feeder.declare("", namespaceURI);
+        }
+    }
+
+    @Override
+    public void writeCharacters(String text) throws XMLStreamException {
+        flushPending();
+        writer.writeCharacters(text);
+        if (!open.isEmpty()) {
+            char[] ch = text.toCharArray();
+            feeder.characters(ch, 0, ch.length);
+        }
+    }
+
+    @Override
+    public void writeCharacters(char[] text, int start, int len) throws XMLStreamException {
+        flushPending();
+        writer.writeCharacters(text, start, len);
+        if (!open.isEmpty()) {
+            feeder.characters(text, start, len);
+        }
+    }
+
+    @Override
+    public void writeCData(String data) throws XMLStreamException {
+        flushPending();
+        writer.writeCData(data);
+        if (!open.isEmpty()) {
+            char[] ch = data.toCharArray();
+            feeder.characters(ch, 0, ch.length);
+        }
+    }
+
+    @Override
+    public void writeComment(String data) throws XMLStreamException {
+        flushPending();
+        writer.writeComment(data);
+    }
+
+    @Override
+    public void writeProcessingInstruction(String target) throws XMLStreamException {
+        flushPending();
+        writer.writeProcessingInstruction(target);
+    }
+
+    @Override
+    public void writeProcessingInstruction(String target, String data) throws XMLStreamException {
+        flushPending();
+        writer.writeProcessingInstruction(target, data);
+    }
+
+    @Override
+    public void writeEntityRef(String name) throws XMLStreamException {
+        flushPending();
+        writer.writeEntityRef(name);
+    }
+
+    @Override
+    public void writeEndElement() throws XMLStreamException {
+        flushPending();
+        writer.writeEndElement();
+        endElement();
+    }
+
+    @Override
+    public void writeEndDocument() throws XMLStreamException {
+        flushPending();
+        writer.writeEndDocument();
+        while (depth > 0) {
+            endElement();
+        }
+    }
+
+    @Override
+    public void flush() throws XMLStreamException {
+        flushPending();
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws XMLStreamException {
+        flushPending();
+        writer.close();
+    }
+
+    /**
+     * Validates what has been written but is still waiting for the next
+     * event, for when the validated subtree is the last thing written but
+     * the document isn't ended, as when only a payload is written. The
+     * validated subtree may be a single empty element, whose start tag waits
+     * for its attributes until the next event.
+     */
+    public void writeEndSubtree() throws XMLStreamException {
+        flushPending();
+    }
+
+    private void startElement(String uri, String localName, String prefix, boolean empty) throws XMLStreamException {
+        depth++;
+        if (isValidated()) {
+            pending = new String[]{uri, localName, prefix};
+            pendingEmpty = empty;
+        } else if (!empty && container != null && containerDepth < 0
+                && container.getLocalPart().equals(localName) && container.getNamespaceURI().equals(uri)) {
+            containerDepth = depth;
+        }
+        if (empty && pending == null) {
+            depth--;
+        }
+    }
+
+    private void flushPending() throws XMLStreamException {
+        if (pending == null) {
+            return;
+        }
+        String[] name = pending;
+        pending = null;
+        feeder.startElement(name[0], name[1], name[2], writer.getNamespaceContext());
+        open.push(name);
+        if (pendingEmpty) {
+            endElement();
+        }
+    }
+
+    private void endElement() throws XMLStreamException {
+        if (isValidated() && !open.isEmpty()) {
+            String[] name = open.pop();
+            feeder.endElement(name[0], name[1], name[2]);
+        } else if (depth == containerDepth) {
+            containerDepth = -1;
+        }
+        depth--;
+    }
+
+    /**
+     * Whether the element at the current depth is part of the validated subtree.
+     */
+    private boolean isValidated() {
+        if (feeder.isDone()) {
+            return !open.isEmpty();
+        }
+        return container == null || (containerDepth >= 0 && depth > containerDepth);
+    }
+
+    private String defaultNamespace() {
+        String uri = writer.getNamespaceContext().getNamespaceURI("");
+        return uri == null ? "" : uri;
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.util.xml;
+
+import com.sun.xml.ws.util.Pool;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+import org.xml.sax.helpers.NamespaceSupport;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.validation.ValidatorHandler;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * Feeds the StAX events of one element subtree to a pooled {@link ValidatorHandler}.
+ *
+ * <p>
+ * The subtree is validated as a document of its own. Prefixes used by it
+ * but declared by the ancestors (typically on the SOAP envelope) are
+ * re-declared on the first element that uses them, so that QName values
+ * like {@code xsi:type} can still be resolved.
+ *
+ * @see ValidatingXMLStreamReader
+ * @see ValidatingXMLStreamWriter
+ */
+final class ValidatorHandlerFeeder {
+
+    private static final String XSI_TYPE = "type";
+
+    private final Pool.ValidatorHandler pool;
+    /**
+     * null once the subtree ended, or the validation failed.
+     */
+    private ValidatorHandler handler;
+    private final NamespaceSupport nss = new NamespaceSupport();
+    private final AttributesImpl atts = new AttributesImpl();
+    private final List<String> declarations = new ArrayList<String>();
+    private int depth;
+
+    ValidatorHandlerFeeder(Pool.ValidatorHandler pool, ErrorHandler errorHandler) {
+        this.pool = pool;
+        this.handler = pool.take();
+        handler.setErrorHandler(errorHandler);
+    }
+
+    /**
+     * True when the whole subtree has been validated, or the validation failed.
+     */
+    boolean isDone() {
+        return handler == null;
+    }
+
+    /**
+     * Namespace declaration of the next {@link #startElement}.
+     */
+    void declare(String prefix, String uri) {
+        declarations.add(fixNull(prefix));
+        declarations.add(fixNull(uri));
+    }
+
+    /**
+     * Attribute of the next {@link #startElement}.
+     */
+    void attribute(String uri, String localName, String prefix, String value) {
+        atts.addAttribute(fixNull(uri), localName, qname(fixNull(prefix), localName), "CDATA", value);
+    }
+
+    void startElement(String uri, String localName, String prefix, NamespaceContext context) throws XMLStreamException {
+        try {
+            if (handler == null) {
+                return;
+            }
+            uri = fixNull(uri);
+            prefix = fixNull(prefix);
+            if (depth == 0) {
+                handler.startDocument();
+            }
+            nss.pushContext();
+            for (int i = 0; i < declarations.size(); i += 2) {
+                nss.declarePrefix(declarations.get(i), declarations.get(i + 1));
+            }
+            ensureDeclared(prefix, uri);
+            for (int i = 0; i < atts.getLength(); i++) {
+                String attUri = atts.getURI(i);
+                if (attUri.length() > 0) {
+                    ensureDeclared(prefixOf(atts.getQName(i)), attUri);
+                    if (XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI.equals(attUri)
+                            && XSI_TYPE.equals(atts.getLocalName(i))) {
+                        String valuePrefix = prefixOf(atts.getValue(i).trim());
+                        if (nss.getURI(valuePrefix) == null) {
+                            ensureDeclared(valuePrefix, context.getNamespaceURI(valuePrefix));
+                        }
+                    }
+                }
+            }
+            Enumeration<?> prefixes = nss.getDeclaredPrefixes();
+            while (prefixes.hasMoreElements()) {
+                String p = (String) prefixes.nextElement();
+                handler.startPrefixMapping(p, nss.getURI(p));
+            }
+            handler.startElement(uri, localName, qname(prefix, localName), atts);
+            depth++;
+        } catch (SAXException e) {
+            throw fail(e);
+        } finally {
+            atts.clear();
+            declarations.clear();
+        }
+    }
+
+    void characters(char[] ch, int start, int length) throws XMLStreamException {
+        if (handler == null || depth == 0) {
+            return;
+        }
+        try {
+            handler.characters(ch, start, length);
+        } catch (SAXException e) {
+            throw fail(e);
+        }
+    }
+
+    void endElement(String uri, String localName, String prefix) throws XMLStreamException {
+        if (handler == null) {
+            return;
+        }
+        try {
+            handler.endElement(fixNull(uri), localName, qname(fixNull(prefix), localName));
+            Enumeration<?> prefixes = nss.getDeclaredPrefixes();
+            while (prefixes.hasMoreElements()) {
+                handler.endPrefixMapping((String) prefixes.nextElement());
+            }
+            nss.popContext();
+            if (--depth == 0) {
+                handler.endDocument();
+                // don't keep the error handler, and the packet it reports to, in the pool
+                handler.setErrorHandler(null);
+                pool.recycle(handler);
+                handler = null;
+            }
+        } catch (SAXException e) {
+            throw fail(e);
+        }
+    }
+
+    private void ensureDeclared(String prefix, String uri) {
+        if (uri == null || uri.length() == 0 || XMLConstants.XML_NS_PREFIX.equals(prefix)) {
+            return;
+        }
+        if (!uri.equals(nss.getURI(prefix))) {
+            nss.declarePrefix(prefix, uri);
+        }
+    }
+
+    private XMLStreamException fail(SAXException e) {
+        // the handler is in an unknown state, don't recycle it
+        handler = null;
+        return new XMLStreamException(e.getMessage(), e);
+    }
+
+    private static String prefixOf(String qname) {
+        int idx = qname.indexOf(':');
+        return idx < 0 ? "" : qname.substring(0, idx);
+    }
+
+    private static String qname(String prefix, String localName) {
+        return prefix.length() == 0 ? localName : prefix + ':' + localName;
+    }
+
+    private static String fixNull(String s) {
+        return s == null ? "" : s;
+    }
+}
@@ -83,7 +83,7 @@ final class ActionBasedOperationFinder extends WSDLOperationFinder {
 
     private final @NotNull AddressingVersion av;
 
-    public ActionBasedOperationFinder(WSDLPort wsdlModel, WSBinding binding, @Nullable SEIModel seiModel) {
+    public ActionBasedOperationFinder(@Nullable WSDLPort wsdlModel, WSBinding binding, @Nullable SEIModel seiModel) {
         super(wsdlModel, binding, seiModel);
 
         assert binding.getAddressingVersion() != null;    // this dispatcher can be only used when addressing is on.
@@ -115,7 +115,7 @@ final class ActionBasedOperationFinder extends WSDLOperationFinder {
                     actionMap.put(action,wsdlOperationMapping(m));
                 }
             }
-        } else {
+        } else if (wsdlModel != null) {
             for (WSDLBoundOperation wsdlOp : wsdlModel.getBinding().getBindingOperations()) {
                 QName payloadName = wsdlOp.getRequestPayloadName();
                 if (payloadName == null)
@@ -69,7 +69,7 @@ public class OperationDispatcher {
     private List<WSDLOperationFinder> opFinders;
     private WSBinding binding;
 
-    public OperationDispatcher(@NotNull WSDLPort wsdlModel, @NotNull WSBinding binding, @Nullable SEIModel seiModel) {
+    public OperationDispatcher(@Nullable WSDLPort wsdlModel, @NotNull WSBinding binding, @Nullable SEIModel seiModel) {
         this.binding = binding;
         opFinders = new ArrayList<WSDLOperationFinder>();
         if (binding.getAddressingVersion() != null) {
@@ -82,7 +82,7 @@ final class PayloadQNameBasedOperationFinder extends WSDLOperationFinder {
     private final QNameMap<List<String>> unique = new QNameMap<List<String>>();
 
 
-    public PayloadQNameBasedOperationFinder(WSDLPort wsdlModel, WSBinding binding, @Nullable SEIModel seiModel) {
+    public PayloadQNameBasedOperationFinder(@Nullable WSDLPort wsdlModel, WSBinding binding, @Nullable SEIModel seiModel) {
         super(wsdlModel,binding,seiModel);
         if (seiModel != null) {
             // Find if any payload QNames repeat for operations
@@ -117,7 +117,7 @@ final class PayloadQNameBasedOperationFinder extends WSDLOperationFinder {
                     methodHandlers.put(name, wsdlOperationMapping(m));
                 }
             }
-        } else {
+        } else if (wsdlModel != null) {
             for (WSDLBoundOperation wsdlOp : wsdlModel.getBinding().getBindingOperations()) {
                 QName name = wsdlOp.getRequestPayloadName();
                 if (name == null)
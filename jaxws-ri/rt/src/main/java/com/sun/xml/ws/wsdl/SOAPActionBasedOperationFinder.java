@@ -67,7 +67,7 @@ import java.util.Map;
 final class SOAPActionBasedOperationFinder extends WSDLOperationFinder {
     private final Map<String, WSDLOperationMapping> methodHandlers;
 
-    public SOAPActionBasedOperationFinder(WSDLPort wsdlModel, WSBinding binding, @Nullable SEIModel seiModel) {
+    public SOAPActionBasedOperationFinder(@Nullable WSDLPort wsdlModel, WSBinding binding, @Nullable SEIModel seiModel) {
         super(wsdlModel,binding,seiModel);
         methodHandlers = new HashMap<String, WSDLOperationMapping>();
 
@@ -92,7 +92,7 @@ final class SOAPActionBasedOperationFinder extends WSDLOperationFinder {
                     methodHandlers.put('"' + soapAction + '"', wsdlOperationMapping(m));
                 }
             }
-        } else {
+        } else if (wsdlModel != null) {
             for(WSDLBoundOperation wsdlOp: wsdlModel.getBinding().getBindingOperations()) {
                 methodHandlers.put(wsdlOp.getSOAPAction(), wsdlOperationMapping(wsdlOp));
             }
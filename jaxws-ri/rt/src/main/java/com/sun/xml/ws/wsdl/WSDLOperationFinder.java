@@ -62,11 +62,11 @@ import javax.xml.namespace.QName;
  * @author Rama Pulavarthi
  */
 public abstract class WSDLOperationFinder {
-    protected final WSDLPort wsdlModel;
+    protected final @Nullable WSDLPort wsdlModel;
     protected final WSBinding binding;
     protected final SEIModel seiModel;
 
-    public WSDLOperationFinder(@NotNull WSDLPort wsdlModel, @NotNull WSBinding binding, @Nullable SEIModel seiModel) {
+    public WSDLOperationFinder(@Nullable WSDLPort wsdlModel, @NotNull WSBinding binding, @Nullable SEIModel seiModel) {
         this.wsdlModel = wsdlModel;
         this.binding = binding;
         this.seiModel= seiModel;
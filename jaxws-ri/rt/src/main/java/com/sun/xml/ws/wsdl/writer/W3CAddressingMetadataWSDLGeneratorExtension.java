@@ -49,9 +49,6 @@ import static com.sun.xml.ws.addressing.W3CAddressingMetadataConstants.*;
 import com.sun.xml.ws.model.JavaMethodImpl;
 import com.sun.xml.ws.model.CheckedExceptionImpl;
 import com.sun.xml.ws.addressing.WsaActionUtil;
-import java.net.URI;
-import java.net.URISyntaxException;
-import java.util.logging.Logger;
 
 /**
  * This extension class generates wsam:Action values for input, output and faults in the generated wsdl.
@@ -96,19 +93,7 @@ public class W3CAddressingMetadataWSDLGeneratorExtension extends
     }
 
     protected static final String getDefaultInputAction(JavaMethod method) {
-        String tns = method.getOwner().getTargetNamespace();
-        String delim = getDelimiter(tns);
-        if (tns.endsWith(delim))
-            tns = tns.substring(0, tns.length() - 1);
-        //this assumes that fromjava case there won't be input name.
-        // if there is input name in future, then here name=inputName
-        //else use operation name as follows.
-        String name = (method.getMEP().isOneWay()) ?
-                method.getOperationName() : method.getOperationName() + "Request";
-
-        return new StringBuilder(tns).append(delim).append(
-                method.getOwner().getPortTypeName().getLocalPart()).append(
-                delim).append(name).toString();
+        return WsaActionUtil.getDefaultInputAction(method);
     }
 
     private static final String getOutputAction(JavaMethod method) {
@@ -119,33 +104,7 @@ public class W3CAddressingMetadataWSDLGeneratorExtension extends
     }
 
     protected static final String getDefaultOutputAction(JavaMethod method) {
-        String tns = method.getOwner().getTargetNamespace();
-        String delim = getDelimiter(tns);
-        if (tns.endsWith(delim))
-            tns = tns.substring(0, tns.length() - 1);
-        //this assumes that fromjava case there won't be output name.
-        // if there is input name in future, then here name=outputName
-        //else use operation name as follows.
-        String name = method.getOperationName() + "Response";
-
-        return new StringBuilder(tns).append(delim).append(
-                method.getOwner().getPortTypeName().getLocalPart()).append(
-                delim).append(name).toString();
-    }
-
-
-    private static final String getDelimiter(String tns) {
-        String delim = "/";
-        // TODO: is this the correct way to find the separator ?
-        try {
-            URI uri = new URI(tns);
-            if ((uri.getScheme() != null) && uri.getScheme().equalsIgnoreCase("urn"))
-                delim = ":";
-        } catch (URISyntaxException e) {
-            LOGGER.warning("TargetNamespace of WebService is not a valid URI");
-        }
-        return delim;
-
+        return WsaActionUtil.getDefaultOutputAction(method);
     }
 
     private static final String getFaultAction(JavaMethod method,
@@ -160,7 +119,4 @@ public class W3CAddressingMetadataWSDLGeneratorExtension extends
     protected static final String getDefaultFaultAction(JavaMethod method, CheckedException ce) {
         return WsaActionUtil.getDefaultFaultAction(method,ce);
     }
-
-    private static final Logger LOGGER =
-            Logger.getLogger(W3CAddressingMetadataWSDLGeneratorExtension.class.getName());
 }
@@ -41,6 +41,7 @@
 package com.sun.xml.ws.api.message;
 
 import java.io.ByteArrayInputStream;
+import java.util.Iterator;
 import java.util.Set;
 
 import javax.xml.namespace.QName;
@@ -102,6 +103,60 @@ public class HeaderListTest extends TestCase {
         }
     }
     
+    public void testIndexedLookup() throws Exception {
+        int threshold = HeaderList.indexThreshold;
+        try {
+            HeaderList.indexThreshold = 1;
+            String[] indexed = lookups(testInstance);
+            HeaderList.indexThreshold = 0;
+            String[] scanned = lookups(new HeaderList(SOAPVersion.SOAP_11));
+            for (int i = 0; i < scanned.length; i++) {
+                assertEquals("lookup " + i, scanned[i], indexed[i]);
+            }
+        } finally {
+            HeaderList.indexThreshold = threshold;
+        }
+    }
+
+    /**
+     * Performs lookups interleaved with modifications of the list,
+     * each lookup also recording which headers are understood.
+     */
+    private static String[] lookups(HeaderList hl) {
+        String otherNs = TEST_NS + "other";
+        for (int i = 0; i < 20; i++) {
+            hl.add(Headers.create(new QName(TEST_NS, "h" + (i % 5)), "" + i));
+            hl.add(Headers.create(new QName(otherNs, "h" + i), "other" + i));
+        }
+        String[] results = new String[8];
+        results[0] = hl.get(TEST_NS, "h3", true).getStringContent();
+        results[1] = join(hl.getHeaders(TEST_NS, "h2", true)) + hl.getUnderstoodHeaders().size();
+        hl.remove(new QName(TEST_NS, "h2"));
+        hl.add(Headers.create(new QName(TEST_NS, "h7"), "added"));
+        results[2] = join(hl.getHeaders(TEST_NS, "h2", false)) + hl.get(TEST_NS, "h7", true).getStringContent();
+        hl.set(0, Headers.create(new QName(TEST_NS, "h9"), "set"));
+        results[3] = hl.get(TEST_NS, "h9", false).getStringContent() + hl.get(TEST_NS, "h0", false).getStringContent();
+        hl.addOrReplace(Headers.create(new QName(otherNs, "h4"), "replaced"));
+        results[4] = join(hl.getHeaders(otherNs, "h4", true)) + hl.isUnderstood(otherNs, "h4");
+        results[5] = String.valueOf(hl.get(otherNs, "h3", false) != null) + (hl.get(otherNs, "absent", false) == null);
+        hl.remove(otherNs, "h3");
+        results[6] = String.valueOf(hl.get(otherNs, "h3", false) == null) + hl.isUnderstood(TEST_NS, "h3");
+        StringBuilder understood = new StringBuilder();
+        for (int i = 0; i < hl.size(); i++) {
+            understood.append(hl.isUnderstood(i) ? '1' : '0');
+        }
+        results[7] = understood.toString();
+        return results;
+    }
+
+    private static String join(Iterator<Header> headers) {
+        StringBuilder sb = new StringBuilder();
+        while (headers.hasNext()) {
+            sb.append(headers.next().getStringContent()).append(',');
+        }
+        return sb.toString();
+    }
+
     public void testUnderstoodBehavior() throws Exception {
       //a fairly complex SOAPMessage with 2 mustUnderstand=true headers, 
         //one mustUnderstand=false and one with no mustUnderstand specified
@@ -42,7 +42,10 @@ package com.sun.xml.ws.api.pipe;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import com.sun.istack.NotNull;
 import com.sun.xml.ws.api.message.Packet;
@@ -50,6 +53,7 @@ import com.sun.xml.ws.api.pipe.Fiber.CompletionCallback;
 import com.sun.xml.ws.api.pipe.helper.AbstractTubeImpl;
 import com.sun.xml.ws.api.server.Container;
 import com.sun.xml.ws.api.server.ContainerResolver;
+import com.sun.xml.ws.developer.EngineThreadPoolFeature;
 
 import junit.framework.TestCase;
 
@@ -141,6 +145,212 @@ public class EngineTest extends TestCase {
         assertEquals(testContainer, firstCall.container);
     }
     
+    public void testRejectedFiberCompletesWithError() throws Exception {
+        EngineThreadPool pool = new EngineThreadPool(new EngineThreadPoolFeature(1, 1, 0, 0));
+        Engine e = new Engine("engine1", new Container() {});
+        e.setExecutor(pool);
+        assertSame(pool, e.getEngineThreadPool());
+
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        TestTube blockingTube = new TestTube() {
+            @Override
+            public NextAction processRequest(Packet request) {
+                running.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.processRequest(request);
+            }
+        };
+        try {
+            SimpleCompletionCallback first = new SimpleCompletionCallback();
+            e.createFiber().start(blockingTube, new Packet(), first);
+            assertTrue(running.await(10, TimeUnit.SECONDS));
+
+            TestTube testTube = new TestTube();
+            SimpleCompletionCallback second = new SimpleCompletionCallback();
+            e.createFiber().start(testTube, new Packet(), second);
+
+            assertTrue(second.error instanceof RejectedExecutionException);
+            assertNull(second.response);
+            assertTrue(testTube.getCalls().isEmpty());
+            assertEquals(1, pool.getRejectedFibers());
+            assertEquals(1, pool.getRunningFibers());
+        } finally {
+            release.countDown();
+            pool.shutdown();
+        }
+    }
+
+    public void testRejectedResumeUnwindsSuspendedTubes() throws Exception {
+        EngineThreadPool pool = new EngineThreadPool(new EngineThreadPoolFeature(1, 1, 0, 0));
+        Engine e = new Engine("engine1", new Container() {});
+        e.setExecutor(pool);
+
+        final CountDownLatch suspended = new CountDownLatch(1);
+        final Fiber[] suspendedFiber = new Fiber[1];
+        final TestTube suspendingTube = new TestTube() {
+            @Override
+            public NextAction processRequest(Packet request) {
+                super.processRequest(request);
+                suspendedFiber[0] = Fiber.current();
+                return doSuspend(new Runnable() {
+                    public void run() {
+                        suspended.countDown();
+                    }
+                });
+            }
+        };
+        TestTube outerTube = new TestTube() {
+            @Override
+            public NextAction processRequest(Packet request) {
+                super.processRequest(request);
+                return doInvoke(suspendingTube, request);
+            }
+        };
+
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        TestTube blockingTube = new TestTube() {
+            @Override
+            public NextAction processRequest(Packet request) {
+                running.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.processRequest(request);
+            }
+        };
+        try {
+            SimpleCompletionCallback callback = new SimpleCompletionCallback();
+            e.createFiber().start(outerTube, new Packet(), callback);
+            assertTrue(suspended.await(10, TimeUnit.SECONDS));
+
+            // occupy the only thread, so that resuming is rejected
+            occupy(e, blockingTube, running);
+
+            suspendedFiber[0].resume(new Packet());
+
+            assertTrue(callback.error instanceof RejectedExecutionException);
+            assertEquals(TubeCallType.EXCEPTION, suspendingTube.getCalls().get(1).callType);
+            assertEquals(TubeCallType.EXCEPTION, outerTube.getCalls().get(1).callType);
+        } finally {
+            release.countDown();
+            pool.shutdown();
+        }
+    }
+
+    public void testResumeIntoSaturatedPoolReleasesLock() throws Exception {
+        EngineThreadPool pool = new EngineThreadPool(new EngineThreadPoolFeature(1, 1, 0, 0));
+        Engine e = new Engine("engine1", new Container() {});
+        e.setExecutor(pool);
+
+        final CountDownLatch suspended = new CountDownLatch(1);
+        final Fiber[] suspendedFiber = new Fiber[1];
+        final TestTube suspendingTube = new TestTube() {
+            @Override
+            public NextAction processRequest(Packet request) {
+                super.processRequest(request);
+                suspendedFiber[0] = Fiber.current();
+                return doSuspend(new Runnable() {
+                    public void run() {
+                        suspended.countDown();
+                    }
+                });
+            }
+        };
+        // suspends again while unwinding the rejected fiber, which must not
+        // find the fiber lock still held by the thread that resumed it
+        final CountDownLatch unwound = new CountDownLatch(1);
+        TestTube outerTube = new TestTube() {
+            @Override
+            public NextAction processRequest(Packet request) {
+                super.processRequest(request);
+                return doInvoke(suspendingTube, request);
+            }
+
+            @Override
+            public NextAction processException(Throwable t) {
+                super.processException(t);
+                return doSuspend(new Runnable() {
+                    public void run() {
+                        unwound.countDown();
+                    }
+                });
+            }
+        };
+
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        TestTube blockingTube = new TestTube() {
+            @Override
+            public NextAction processRequest(Packet request) {
+                running.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.processRequest(request);
+            }
+        };
+        try {
+            SimpleCompletionCallback callback = new SimpleCompletionCallback();
+            e.createFiber().start(outerTube, new Packet(), callback);
+            assertTrue(suspended.await(10, TimeUnit.SECONDS));
+
+            occupy(e, blockingTube, running);
+
+            suspendedFiber[0].resume(new Packet());
+            assertEquals(0, unwound.getCount());
+            assertEquals(TubeCallType.EXCEPTION, suspendingTube.getCalls().get(1).callType);
+            assertEquals(TubeCallType.EXCEPTION, outerTube.getCalls().get(1).callType);
+
+            assertNull(callback.error);
+
+            // the fiber can still be driven to completion on this thread
+            suspendedFiber[0].resume(new Packet(), true, null);
+            assertTrue(callback.error instanceof RejectedExecutionException);
+        } finally {
+            release.countDown();
+            pool.shutdown();
+        }
+    }
+
+    public void testShutdownOwnedExecutor() {
+        EngineThreadPool shared = new EngineThreadPool(new EngineThreadPoolFeature());
+        Engine e = new Engine("engine1", new Container() {});
+        e.setExecutor(shared);
+        e.shutdown();
+        assertFalse(shared.isShutdown());
+
+        EngineThreadPool owned = new EngineThreadPool(new EngineThreadPoolFeature());
+        e.setOwnedExecutor(owned);
+        assertSame(owned, e.getEngineThreadPool());
+        e.shutdown();
+        assertTrue(owned.isShutdown());
+        shared.shutdown();
+    }
+
+    /**
+     * Starts a fiber that blocks in the given tube, retrying until the only
+     * thread of the pool has picked it up.
+     */
+    private static void occupy(Engine e, Tube blockingTube, CountDownLatch running) throws InterruptedException {
+        // a thread that just ran a fiber may not be waiting for work yet,
+        // in which case the synchronous hand-off rejects the new fiber
+        for (int i = 0; i < 100 && running.getCount() > 0; i++) {
+            e.createFiber().start(blockingTube, new Packet(), new SimpleCompletionCallback());
+            running.await(100, TimeUnit.MILLISECONDS);
+        }
+        assertEquals(0, running.getCount());
+    }
+
     static class SimpleCompletionCallback implements CompletionCallback {
         public Packet response = null;
         public Throwable error = null;
@@ -1587,6 +1587,91 @@ public class FiberTest extends TestCase {
         assertEquals(0, calls.size());
     }
     
+    private static class ActiveInterceptor implements FiberContextSwitchInterceptor {
+        volatile boolean active;
+        volatile int callCount;
+
+        @Override
+        public <R, P> R execute(Fiber f, P p, Work<R, P> work) {
+            callCount++;
+            active = true;
+            try {
+                return work.execute(p);
+            } finally {
+                active = false;
+            }
+        }
+    }
+
+    public void testAddRemoveInterceptorWhileRunning() throws InterruptedException {
+        final Semaphore running = new Semaphore(0);
+        final Semaphore changed = new Semaphore(0);
+        final Semaphore atEnd = new Semaphore(0);
+        final ActiveInterceptor removed = new ActiveInterceptor();
+        final ActiveInterceptor added = new ActiveInterceptor();
+        final boolean[] seen = new boolean[2];
+
+        final TestTube tubeC = new TestTube() {
+            @Override
+            @NotNull
+            public NextAction processRequest(@NotNull Packet request) {
+                seen[0] = removed.active;
+                seen[1] = added.active;
+                return super.processRequest(request);
+            }
+        };
+        final FilterTestTube tubeB = new FilterTestTube(tubeC) {
+            @Override
+            @NotNull
+            public NextAction processRequest(@NotNull Packet request) {
+                running.release();
+                try {
+                    changed.acquire();
+                } catch (InterruptedException e) {
+                }
+                return super.processRequest(request);
+            }
+        };
+        final SimpleCompletionCallback callback = new SimpleCompletionCallback() {
+            @Override
+            public void onCompletion(@NotNull Packet response) {
+                super.onCompletion(response);
+                atEnd.release();
+            }
+
+            @Override
+            public void onCompletion(@NotNull Throwable error) {
+                super.onCompletion(error);
+                atEnd.release();
+            }
+        };
+
+        Fiber fiber = threadPoolEngine.createFiber();
+        fiber.addInterceptor(removed);
+        fiber.start(tubeB, new Packet(), callback);
+
+        if (!running.tryAcquire(3, TimeUnit.MINUTES))
+            fail("timeout");
+
+        // the fiber holds its lock while running a tube, which must not
+        // keep other threads from changing its interceptors
+        assertTrue(removed.active);
+        fiber.addInterceptor(added);
+        assertTrue(fiber.removeInterceptor(removed));
+        assertFalse(fiber.removeInterceptor(removed));
+        changed.release();
+
+        if (!atEnd.tryAcquire(3, TimeUnit.MINUTES))
+            fail("timeout");
+
+        assertNull(callback.error);
+        // takes effect once tubeB returns, before tubeC runs
+        assertFalse(seen[0]);
+        assertTrue(seen[1]);
+        assertEquals(1, removed.callCount);
+        assertEquals(1, added.callCount);
+    }
+
     private static final Map<String,Integer> fiberNameToThreadLocalValueMap = new ConcurrentHashMap<String,Integer>();
     private static final Integer retainMeInteger = new Integer(1001);
     
@@ -0,0 +1,141 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017-2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+
+package com.sun.xml.ws.api.server;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import junit.framework.TestCase;
+
+public class MethodHandleInvokerTest extends TestCase {
+
+    public static class Endpoint {
+        public int add(int a, long b) {
+            return (int) (a + b);
+        }
+
+        public void ping() {
+        }
+
+        public String fail(String message) {
+            throw new IllegalStateException(message);
+        }
+    }
+
+    static class Hidden {
+        public String echo(String s) {
+            return s;
+        }
+    }
+
+    private final MethodHandleInvoker invoker = new MethodHandleInvoker();
+
+    public void testPrimitiveArguments() throws Exception {
+        Object r = invoker.invoke(new Endpoint(), Endpoint.class.getMethod("add", int.class, long.class), new Object[]{1, 2L});
+        assertEquals(3, r);
+    }
+
+    public void testVoidMethodWithoutArguments() throws Exception {
+        assertNull(invoker.invoke(new Endpoint(), Endpoint.class.getMethod("ping"), null));
+        assertNull(invoker.invoke(new Endpoint(), Endpoint.class.getMethod("ping"), new Object[0]));
+    }
+
+    public void testExceptionIsWrapped() throws Exception {
+        try {
+            invoker.invoke(new Endpoint(), Endpoint.class.getMethod("fail", String.class), new Object[]{"boom"});
+            fail();
+        } catch (InvocationTargetException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+            assertEquals("boom", e.getCause().getMessage());
+        }
+    }
+
+    public void testPrimitiveArgumentsAreWidened() throws Exception {
+        Method add = Endpoint.class.getMethod("add", int.class, long.class);
+        assertEquals(3, invoker.invoke(new Endpoint(), add, new Object[]{(short) 1, 2}));
+        assertEquals(98, invoker.invoke(new Endpoint(), add, new Object[]{'a', (byte) 1}));
+        assertIllegalArgument(add, new Endpoint(), new Object[]{1L, 2L});
+        assertIllegalArgument(add, new Endpoint(), new Object[]{1, 2.0});
+    }
+
+    public void testNullPrimitiveArgument() throws Exception {
+        assertIllegalArgument(Endpoint.class.getMethod("add", int.class, long.class), new Endpoint(), new Object[]{null, 2L});
+    }
+
+    public void testWrongArguments() throws Exception {
+        Method add = Endpoint.class.getMethod("add", int.class, long.class);
+        assertIllegalArgument(add, new Endpoint(), new Object[]{1});
+        assertIllegalArgument(add, new Endpoint(), null);
+        assertIllegalArgument(Endpoint.class.getMethod("fail", String.class), new Endpoint(), new Object[]{1});
+        assertIllegalArgument(Endpoint.class.getMethod("ping"), new Endpoint(), new Object[]{"extra"});
+    }
+
+    public void testWrongReceiver() throws Exception {
+        assertIllegalArgument(Endpoint.class.getMethod("ping"), "not an endpoint", null);
+        try {
+            invoker.invoke(null, Endpoint.class.getMethod("ping"), null);
+            fail();
+        } catch (NullPointerException e) {
+            // as with reflection
+        }
+    }
+
+    public void testNonPublicClassFallsBackToReflection() throws Exception {
+        invoker.prepare(Hidden.class.getMethod("echo", String.class));
+        try {
+            // the reflective path applies the usual access checks
+            invoker.invoke(new Hidden(), Hidden.class.getMethod("echo", String.class), new Object[]{"x"});
+            fail();
+        } catch (IllegalAccessException e) {
+            // expected
+        }
+    }
+
+    private void assertIllegalArgument(Method method, Object target, Object[] args) throws Exception {
+        try {
+            invoker.invoke(target, method, args);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // the endpoint wasn't invoked, as with reflection
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.client;
+
+import javax.xml.namespace.QName;
+import javax.xml.ws.soap.AddressingFeature;
+import javax.xml.ws.soap.MTOMFeature;
+
+import com.sun.xml.ws.binding.WebServiceFeatureList;
+import com.sun.xml.ws.developer.JAXBContextFactory;
+import com.sun.xml.ws.developer.SerializationFeature;
+import com.sun.xml.ws.developer.UsesJAXBContextFeature;
+import junit.framework.TestCase;
+
+/**
+ * Keys of the {@link SEIModelCache}.
+ */
+public class SEIModelCacheTest extends TestCase {
+
+    private static final QName SERVICE = new QName("urn:test", "Service");
+    private static final QName PORT = new QName("urn:test", "Port");
+
+    public void testSameFeaturesInAnyOrder() {
+        SEIModelCache.Key a = SEIModelCache.createKey(SERVICE, PORT, null, null,
+                new WebServiceFeatureList(new AddressingFeature(), new MTOMFeature()));
+        SEIModelCache.Key b = SEIModelCache.createKey(SERVICE, PORT, null, null,
+                new WebServiceFeatureList(new MTOMFeature(), new AddressingFeature()));
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+    }
+
+    public void testDifferentFeatures() {
+        SEIModelCache.Key a = SEIModelCache.createKey(SERVICE, PORT, null, null,
+                new WebServiceFeatureList(new MTOMFeature(true)));
+        SEIModelCache.Key b = SEIModelCache.createKey(SERVICE, PORT, null, null,
+                new WebServiceFeatureList(new MTOMFeature(false)));
+        assertFalse(a.equals(b));
+    }
+
+    public void testDifferentMTOMThreshold() {
+        SEIModelCache.Key a = SEIModelCache.createKey(SERVICE, PORT, null, null,
+                new WebServiceFeatureList(new MTOMFeature(true, 1024)));
+        SEIModelCache.Key b = SEIModelCache.createKey(SERVICE, PORT, null, null,
+                new WebServiceFeatureList(new MTOMFeature(true, 4096)));
+        assertFalse(a.equals(b));
+        assertEquals(a, SEIModelCache.createKey(SERVICE, PORT, null, null,
+                new WebServiceFeatureList(new MTOMFeature(true, 1024))));
+    }
+
+    public void testDifferentAddressingResponses() {
+        SEIModelCache.Key a = SEIModelCache.createKey(SERVICE, PORT, null, null,
+                new WebServiceFeatureList(new AddressingFeature(true, false, AddressingFeature.Responses.ALL)));
+        SEIModelCache.Key b = SEIModelCache.createKey(SERVICE, PORT, null, null,
+                new WebServiceFeatureList(new AddressingFeature(true, false, AddressingFeature.Responses.ANONYMOUS)));
+        assertFalse(a.equals(b));
+    }
+
+    public void testDifferentSerializationEncoding() {
+        SEIModelCache.Key a = SEIModelCache.createKey(SERVICE, PORT, null, null,
+                new WebServiceFeatureList(new SerializationFeature("UTF-8")));
+        SEIModelCache.Key b = SEIModelCache.createKey(SERVICE, PORT, null, null,
+                new WebServiceFeatureList(new SerializationFeature("UTF-16")));
+        assertFalse(a.equals(b));
+    }
+
+    public void testDifferentPort() {
+        SEIModelCache.Key a = SEIModelCache.createKey(SERVICE, PORT, null, null, new WebServiceFeatureList());
+        SEIModelCache.Key b = SEIModelCache.createKey(SERVICE, new QName("urn:test", "Other"), null, null,
+                new WebServiceFeatureList());
+        assertFalse(a.equals(b));
+    }
+
+    public void testNotSharedWithOwnJAXBContext() {
+        assertNull(SEIModelCache.createKey(SERVICE, PORT, null, null,
+                new WebServiceFeatureList(new UsesJAXBContextFeature(JAXBContextFactory.DEFAULT))));
+    }
+
+    public void testMissForUnknownModel() {
+        SEIModelCache.Key key = SEIModelCache.createKey(SERVICE, PORT, null, null, new WebServiceFeatureList());
+        assertNull(SEIModelCache.get(DocServicePortType.class, key));
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.client;
+
+import java.io.ByteArrayInputStream;
+import java.net.URL;
+
+import javax.xml.transform.stream.StreamSource;
+
+import com.sun.xml.ws.api.model.wsdl.WSDLModel;
+import com.sun.xml.ws.api.server.Container;
+import com.sun.xml.ws.api.wsdl.parser.WSDLParserExtension;
+import com.sun.xml.ws.model.wsdl.WSDLModelImpl;
+import junit.framework.TestCase;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Keys, eviction and invalidation of the {@link WSDLModelCache}.
+ */
+public class WSDLModelCacheTest extends TestCase {
+
+    private static final WSDLParserExtension[] NO_EXTENSIONS = new WSDLParserExtension[0];
+
+    public void testDisabledByDefault() {
+        assertFalse(new WSDLModelCache(0, 0).isEnabled());
+    }
+
+    public void testHitAndMiss() throws Exception {
+        WSDLModelCache cache = new WSDLModelCache(10, 0);
+        WSDLModelCache.Key key = key("http://example.com/a?wsdl");
+        assertNull(cache.get(key));
+        WSDLModel model = new WSDLModelImpl();
+        cache.put(key, model);
+        assertSame(model, cache.get(key("http://example.com/a?wsdl")));
+        assertNull(cache.get(key("http://example.com/b?wsdl")));
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    public void testLeastRecentlyUsedIsEvicted() throws Exception {
+        WSDLModelCache cache = new WSDLModelCache(2, 0);
+        cache.put(key("http://example.com/a"), new WSDLModelImpl());
+        cache.put(key("http://example.com/b"), new WSDLModelImpl());
+        assertNotNull(cache.get(key("http://example.com/a")));
+        cache.put(key("http://example.com/c"), new WSDLModelImpl());
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertNull(cache.get(key("http://example.com/b")));
+        assertNotNull(cache.get(key("http://example.com/a")));
+
+        cache.setMaxSize(1);
+        assertEquals(1, cache.size());
+        cache.setMaxSize(0);
+        assertFalse(cache.isEnabled());
+        assertEquals(0, cache.size());
+    }
+
+    public void testInvalidate() throws Exception {
+        WSDLModelCache cache = new WSDLModelCache(10, 0);
+        cache.put(key("http://example.com/a"), new WSDLModelImpl());
+        cache.put(key("http://example.com/b"), new WSDLModelImpl());
+        cache.invalidate(new URL("http://example.com/a"));
+        assertNull(cache.get(key("http://example.com/a")));
+        assertNotNull(cache.get(key("http://example.com/b")));
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+    }
+
+    public void testExpiry() throws Exception {
+        WSDLModelCache cache = new WSDLModelCache(10, 1);
+        cache.put(key("http://example.com/a"), new WSDLModelImpl());
+        Thread.sleep(20);
+        assertNull(cache.get(key("http://example.com/a")));
+        assertEquals(0, cache.size());
+    }
+
+    public void testOnlyLocationsAreCached() throws Exception {
+        URL url = new URL("http://example.com/a");
+        assertNull(WSDLModelCache.createKey(null, new StreamSource("http://example.com/a"),
+                new DefaultHandler(), Container.NONE, null, NO_EXTENSIONS));
+        assertNull(WSDLModelCache.createKey(url, new StreamSource(new ByteArrayInputStream(new byte[0]), url.toExternalForm()),
+                new DefaultHandler(), Container.NONE, null, NO_EXTENSIONS));
+        assertNotNull(key(url.toExternalForm()));
+    }
+
+    public void testContainerIsPartOfTheKey() throws Exception {
+        URL url = new URL("http://example.com/a");
+        StreamSource source = new StreamSource(url.toExternalForm());
+        assertEquals(
+                WSDLModelCache.createKey(url, source, new DefaultHandler(), new ClientContainer(), null, NO_EXTENSIONS),
+                WSDLModelCache.createKey(url, source, new DefaultHandler(), new ClientContainer(), null, NO_EXTENSIONS));
+        assertFalse(
+                WSDLModelCache.createKey(url, source, new DefaultHandler(), new Container() {}, null, NO_EXTENSIONS).equals(
+                WSDLModelCache.createKey(url, source, new DefaultHandler(), new Container() {}, null, NO_EXTENSIONS)));
+    }
+
+    private static WSDLModelCache.Key key(String location) throws Exception {
+        return WSDLModelCache.createKey(new URL(location), new StreamSource(location),
+                new DefaultHandler(), Container.NONE, WSDLModelCacheTest.class, NO_EXTENSIONS);
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012-2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.dump;
+
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.pipe.Engine;
+import com.sun.xml.ws.api.pipe.NextAction;
+import com.sun.xml.ws.api.pipe.TubeCloner;
+import com.sun.xml.ws.api.pipe.helper.AbstractTubeImpl;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Sampling and asynchronous logging of the {@link LoggingDumpTube}.
+ */
+public class LoggingDumpTubeTest extends TestCase {
+
+    private final Engine engine = new Engine("dump-test");
+    private Logger logger;
+    private Handler handler;
+
+    @Override
+    protected void tearDown() throws Exception {
+        if (handler != null) {
+            logger.removeHandler(handler);
+        }
+        super.tearDown();
+    }
+
+    public void testSampling() {
+        RecordingHandler records = new RecordingHandler();
+        LoggingDumpTube tube = createTube("testSampling", records, new Terminal(false), 3, false);
+        for (int i = 0; i < 7; i++) {
+            engine.createFiber().runSync(tube, new Packet());
+        }
+        // the request and the response of the 1st, 4th and 7th exchanges
+        assertEquals(6, records.messages.size());
+        assertTrue(records.messages.get(0).startsWith("Request message"));
+        assertTrue(records.messages.get(1).startsWith("Response message"));
+    }
+
+    public void testExceptionsAlwaysDumped() {
+        RecordingHandler records = new RecordingHandler();
+        Terminal terminal = new Terminal(false);
+        LoggingDumpTube tube = createTube("testExceptionsAlwaysDumped", records, terminal, 100, false);
+        engine.createFiber().runSync(tube, new Packet());
+        assertEquals(2, records.messages.size());
+
+        // the next exchange isn't sampled, but its exception is dumped
+        terminal.fail = true;
+        try {
+            engine.createFiber().runSync(tube, new Packet());
+            fail();
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assertEquals(3, records.messages.size());
+        assertTrue(records.messages.get(2).startsWith("Response exception"));
+    }
+
+    public void testAsyncQueueOverflow() throws Exception {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        LoggingDumpTube tube = createTube("testAsyncQueueOverflow", new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                entered.countDown();
+                try {
+                    release.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        }, new Terminal(false), 1, true);
+        try {
+            // the dumping thread blocks on the request, the response waits in the queue
+            engine.createFiber().runSync(tube, new Packet());
+            assertTrue(entered.await(10, TimeUnit.SECONDS));
+            assertEquals(0, tube.getDroppedMessageCount());
+
+            int queueSize = Math.max(1, Integer.getInteger(AsyncMessageDumper.class.getName() + ".queueSize", 1024));
+            int exchanges = queueSize / 2 + 5;
+            for (int i = 0; i < exchanges; i++) {
+                engine.createFiber().runSync(tube, new Packet());
+            }
+            assertEquals(2 * exchanges - (queueSize - 1), tube.getDroppedMessageCount());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private LoggingDumpTube createTube(String name, Handler h, Terminal next, int sampleRate, boolean asynchronous) {
+        LoggingDumpTube tube = new LoggingDumpTube(Level.INFO, LoggingDumpTube.Position.Before, next, sampleRate, 0, asynchronous);
+        String loggerName = LoggingDumpTubeTest.class.getName() + "." + name;
+        tube.setLoggedTubeName(loggerName);
+        if (handler != null) {
+            logger.removeHandler(handler);
+        }
+        logger = Logger.getLogger(loggerName);
+        logger.setUseParentHandlers(false);
+        logger.setLevel(Level.INFO);
+        logger.addHandler(h);
+        handler = h;
+        return tube;
+    }
+
+    private static final class RecordingHandler extends Handler {
+        final List<String> messages = new ArrayList<String>();
+
+        @Override
+        public void publish(LogRecord record) {
+            messages.add(record.getMessage());
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class Terminal extends AbstractTubeImpl {
+        boolean fail;
+
+        Terminal(boolean fail) {
+            this.fail = fail;
+        }
+
+        public NextAction processRequest(Packet request) {
+            if (fail) {
+                return doThrow(new IllegalStateException("failed"));
+            }
+            return doReturnWith(request);
+        }
+
+        public NextAction processResponse(Packet response) {
+            return doReturnWith(response);
+        }
+
+        public NextAction processException(Throwable t) {
+            return doThrow(t);
+        }
+
+        public void preDestroy() {
+        }
+
+        public Terminal copy(TubeCloner cloner) {
+            return this;
+        }
+    }
+}
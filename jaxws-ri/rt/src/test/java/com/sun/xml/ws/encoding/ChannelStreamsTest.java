@@ -0,0 +1,182 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+
+package com.sun.xml.ws.encoding;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+import com.sun.xml.ws.api.SOAPVersion;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.pipe.Codec;
+import com.sun.xml.ws.api.pipe.Codecs;
+import com.sun.xml.ws.api.pipe.ContentType;
+import junit.framework.TestCase;
+
+/**
+ * Channel methods of the codecs, implemented with {@link ChannelStreams}.
+ */
+public class ChannelStreamsTest extends TestCase {
+
+    private static final String MESSAGE =
+            "<S:Envelope xmlns:S='http://schemas.xmlsoap.org/soap/envelope/'>" +
+            "<S:Body><ns:echo xmlns:ns='urn:test'>hello</ns:echo></S:Body></S:Envelope>";
+
+    public void testStreamSOAPCodecRoundTrip() throws Exception {
+        Codec codec = Codecs.createSOAPEnvelopeXmlCodec(SOAPVersion.SOAP_11);
+        Packet packet = new Packet();
+        codec.decode(Channels.newChannel(new ByteArrayInputStream(MESSAGE.getBytes("UTF-8"))), "text/xml", packet);
+        assertEquals("echo", packet.getMessage().getPayloadLocalPart());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ContentType ct = codec.encode(packet, Channels.newChannel(out));
+        assertTrue(ct.getContentType().startsWith("text/xml"));
+        String encoded = out.toString("UTF-8");
+        assertTrue(encoded, encoded.contains("hello</ns:echo>"));
+        assertTrue(encoded, encoded.endsWith("Envelope>"));
+    }
+
+    public void testSmallAndLargeWrites() throws Exception {
+        byte[] large = new byte[20000];
+        Arrays.fill(large, (byte) 'x');
+        WritingCodec codec = new WritingCodec(large);
+
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        codec.encode(new Packet(), Channels.newChannel(plain));
+        assertTrue(Arrays.equals(codec.expected(), plain.toByteArray()));
+
+        RecordingChannel gathering = new RecordingChannel();
+        codec.encode(new Packet(), gathering);
+        assertTrue(Arrays.equals(codec.expected(), gathering.out.toByteArray()));
+        assertTrue(gathering.gatheringWrites > 0);
+    }
+
+    /**
+     * Writes a few single bytes, a large array and a small array.
+     */
+    private static final class WritingCodec implements Codec {
+        private final byte[] large;
+
+        WritingCodec(byte[] large) {
+            this.large = large;
+        }
+
+        byte[] expected() throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            encode(null, out);
+            return out.toByteArray();
+        }
+
+        public ContentType encode(Packet packet, OutputStream out) throws IOException {
+            out.write('-');
+            out.write('-');
+            out.write(large, 0, large.length);
+            out.write(new byte[] {'a', 'b', 'c'}, 0, 3);
+            return null;
+        }
+
+        public ContentType encode(Packet packet, WritableByteChannel buffer) {
+            return ChannelStreams.encode(this, packet, buffer);
+        }
+
+        public String getMimeType() {
+            return "application/octet-stream";
+        }
+
+        public ContentType getStaticContentType(Packet packet) {
+            return null;
+        }
+
+        public Codec copy() {
+            return this;
+        }
+
+        public void decode(InputStream in, String contentType, Packet response) {
+            throw new UnsupportedOperationException();
+        }
+
+        public void decode(ReadableByteChannel in, String contentType, Packet response) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class RecordingChannel implements GatheringByteChannel {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int gatheringWrites;
+
+        public int write(ByteBuffer src) {
+            int n = src.remaining();
+            while (src.hasRemaining()) {
+                out.write(src.get());
+            }
+            return n;
+        }
+
+        public long write(ByteBuffer[] srcs, int offset, int length) {
+            gatheringWrites++;
+            long n = 0;
+            for (int i = offset; i < offset + length; i++) {
+                n += write(srcs[i]);
+            }
+            return n;
+        }
+
+        public long write(ByteBuffer[] srcs) {
+            return write(srcs, 0, srcs.length);
+        }
+
+        public boolean isOpen() {
+            return true;
+        }
+
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+
+package com.sun.xml.ws.encoding;
+
+import javax.xml.ws.WebServiceException;
+
+import junit.framework.TestCase;
+
+public class ContentTypeImplTest extends TestCase {
+
+    public void testParametersOfHeader() {
+        String header = "application/soap+xml; charset=utf-8; action=\"urn:echo\"";
+        for (int i = 0; i < 2; i++) {
+            ContentTypeImpl ct = ContentTypeImpl.fromHeader(header);
+            assertEquals(header, ct.getContentType());
+            assertEquals("utf-8", ct.getCharSet());
+            assertNull(ct.getBoundary());
+            assertEquals("\"\"", ct.getSOAPActionHeader());
+            assertEquals("urn:echo", ContentTypeImpl.getActionParameter(header));
+        }
+    }
+
+    public void testHeadersAreNotShared() {
+        String header = "text/xml; charset=utf-8";
+        ContentTypeImpl ct = ContentTypeImpl.fromHeader(header);
+        ct.setAcceptHeader("application/fastinfoset");
+        assertNull(ContentTypeImpl.fromHeader(header).getAcceptHeader());
+    }
+
+    public void testMultipartHeader() {
+        String header = "multipart/related; type=\"application/xop+xml\"; boundary=\"uuid:1234\"; start=\"<root>\"";
+        ContentTypeImpl ct = ContentTypeImpl.fromHeader(header);
+        assertEquals("uuid:1234", ct.getBoundary());
+        assertEquals("<root>", ct.getRootId());
+        assertNull(ct.getCharSet());
+    }
+
+    public void testUnparsableHeader() {
+        assertNull(ContentTypeImpl.fromHeader("text").getCharSet());
+        assertNull(ContentTypeImpl.fromHeader(null).getCharSet());
+        try {
+            ContentTypeImpl.getActionParameter("text");
+            fail();
+        } catch (WebServiceException e) {
+            // expected
+        }
+    }
+
+    public void testSupportedCharset() {
+        assertTrue(ContentTypeImpl.isSupportedCharset("UTF-8"));
+        assertTrue(ContentTypeImpl.isSupportedCharset("UTF-8"));
+        assertFalse(ContentTypeImpl.isSupportedCharset("x-no-such-charset"));
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.encoding;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.activation.DataHandler;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.ws.soap.MTOMFeature;
+
+import com.sun.xml.ws.encoding.MtomCodec.ByteArrayBuffer;
+import com.sun.xml.ws.encoding.MtomCodec.MtomStreamWriterImpl;
+import com.sun.xml.ws.util.ByteArrayDataSource;
+import junit.framework.TestCase;
+
+/**
+ * {@link MTOMFeature#getThreshold()} applied by {@link MtomStreamWriterImpl}.
+ */
+public class MtomThresholdTest extends TestCase {
+
+    private static final int THRESHOLD = 100;
+
+    private final List<ByteArrayBuffer> attachments = new ArrayList<ByteArrayBuffer>();
+    private final StringWriter out = new StringWriter();
+    private MtomStreamWriterImpl writer;
+
+    @Override
+    protected void setUp() throws Exception {
+        XMLStreamWriter w = XMLOutputFactory.newInstance().createXMLStreamWriter(out);
+        writer = new MtomStreamWriterImpl(w, attachments, "boundary", new MTOMFeature(true, THRESHOLD));
+        writer.writeStartElement("data");
+    }
+
+    public void testSmallDataHandlerIsInlined() throws Exception {
+        writer.writeBinary(dataHandler(THRESHOLD - 1));
+        writer.writeEndElement();
+        writer.flush();
+        assertTrue(attachments.isEmpty());
+        assertFalse(out.toString().contains("Include"));
+    }
+
+    public void testLargeDataHandlerIsAttached() throws Exception {
+        writer.writeBinary(dataHandler(THRESHOLD));
+        writer.writeEndElement();
+        writer.flush();
+        assertEquals(1, attachments.size());
+        assertTrue(out.toString().contains("Include"));
+    }
+
+    public void testSmallBytesAreInlined() throws Exception {
+        writer.writeBinary(new byte[THRESHOLD - 1], 0, THRESHOLD - 1, "application/octet-stream");
+        assertTrue(attachments.isEmpty());
+    }
+
+    public void testSmallMarshallerAttachmentIsInlined() {
+        assertNull(writer.getAttachmentMarshaller().addMtomAttachment(dataHandler(THRESHOLD - 1), "urn:test", "data"));
+        assertNotNull(writer.getAttachmentMarshaller().addMtomAttachment(dataHandler(THRESHOLD), "urn:test", "data"));
+        assertEquals(1, attachments.size());
+    }
+
+    private static DataHandler dataHandler(int size) {
+        return new DataHandler(new ByteArrayDataSource(new byte[size], "application/octet-stream"));
+    }
+}
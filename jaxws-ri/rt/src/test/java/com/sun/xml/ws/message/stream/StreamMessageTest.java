@@ -207,6 +207,91 @@ public class StreamMessageTest extends TestCase {
         SOAPFaultBuilder.create(message).createException(null);
     }
 
+    /*
+     * With lazy copies, the message and its copies read the same payload
+     * from the shared buffer, whatever the order they are read in
+     */
+    public void testCopiesReadSamePayload() throws Exception {
+        String msg =
+"<S:Envelope xmlns:S='http://schemas.xmlsoap.org/soap/envelope/' xmlns:ns4='urn:ns4'>" +
+  "<S:Body>" +
+    "<ns4:echo><arg0 a='1'>text <![CDATA[<data/>]]></arg0><arg1 xmlns:ns4='urn:inner'><ns4:x/></arg1></ns4:echo>" +
+  "</S:Body>" +
+"</S:Envelope>";
+        boolean old = StreamMessage.lazyCopy;
+        StreamMessage.lazyCopy = true;
+        try {
+            Message message = useStreamCodec(msg);
+            Message copy = message.copy();
+            Message copyOfCopy = copy.copy();
+            String expected = toString(useStreamCodec(msg).readPayloadAsSource());
+            assertEquals(expected, toString(copy.readPayloadAsSource()));
+            assertEquals(expected, toString(message.readPayloadAsSource()));
+            assertEquals(expected, toString(copyOfCopy.readPayloadAsSource()));
+        } finally {
+            StreamMessage.lazyCopy = old;
+        }
+    }
+
+    /*
+     * By default a copy doesn't depend on the transport stream, so it can
+     * be read after the transport has closed it
+     */
+    public void testCopyOutlivesTransport() throws Exception {
+        StringBuilder payload = new StringBuilder("<ns4:echo xmlns:ns4='urn:ns4'>");
+        for (int i = 0; i < 10000; i++) {
+            payload.append("<arg>").append(i).append("</arg>");
+        }
+        payload.append("</ns4:echo>");
+        String msg =
+"<S:Envelope xmlns:S='http://schemas.xmlsoap.org/soap/envelope/'><S:Body>" + payload + "</S:Body></S:Envelope>";
+        final boolean[] closed = new boolean[1];
+        InputStream transport = new ByteArrayInputStream(msg.getBytes()) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                if (closed[0]) {
+                    throw new IllegalStateException("transport stream is closed");
+                }
+                return super.read(b, off, len);
+            }
+        };
+        Codec codec = Codecs.createSOAPEnvelopeXmlCodec(SOAPVersion.SOAP_11);
+        Packet packet = new Packet();
+        codec.decode(transport, "text/xml", packet);
+        Message copy = packet.getInternalMessage().copy();
+        closed[0] = true;
+
+        String expected = toString(useStreamCodec(msg).readPayloadAsSource());
+        assertEquals(expected, toString(copy.readPayloadAsSource()));
+    }
+
+    public void testHeaderBufferPool() throws Exception {
+        String msg =
+"<S:Envelope xmlns:S='http://schemas.xmlsoap.org/soap/envelope/'>" +
+  "<S:Header><ns2:id xmlns:ns2='urn:test'>1234</ns2:id></S:Header>" +
+  "<S:Body><ns3:echo xmlns:ns3='urn:test'/></S:Body>" +
+"</S:Envelope>";
+        HeaderBufferPool pool = new HeaderBufferPool();
+        StreamMessage message = useStreamCodec(msg);
+        message.setHeaderBufferPool(pool);
+        assertEquals("1234", message.getHeaders().get(new QName("urn:test", "id"), false).getStringContent());
+        // small headers make the pool create small buffers
+        assertEquals(32, pool.getInitialSize());
+        message.recycleHeaderBuffer();
+        message.recycleHeaderBuffer();
+        assertEquals("echo", message.getPayloadLocalPart());
+    }
+
+    private String toString(Source source) throws Exception {
+        InputStream in = getInputStream(source);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buf = new byte[1024];
+        for (int len = in.read(buf); len != -1; len = in.read(buf)) {
+            out.write(buf, 0, len);
+        }
+        return out.toString("UTF-8");
+    }
+
     /*
      * ns4 is declared on Envelope and is used in faultcode. So making sure
      * it is picked up for payload source
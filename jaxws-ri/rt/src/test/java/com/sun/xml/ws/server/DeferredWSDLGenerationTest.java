@@ -0,0 +1,168 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012-2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.server;
+
+import com.sun.xml.ws.api.BindingID;
+import com.sun.xml.ws.api.SOAPVersion;
+import com.sun.xml.ws.api.WSBinding;
+import com.sun.xml.ws.api.addressing.AddressingVersion;
+import com.sun.xml.ws.api.message.AddressingUtils;
+import com.sun.xml.ws.api.message.Message;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.server.InstanceResolver;
+import com.sun.xml.ws.api.server.WSEndpoint;
+import com.sun.xml.ws.binding.BindingImpl;
+import com.sun.xml.ws.model.AbstractSEIModelImpl;
+import com.sun.xml.ws.model.JavaMethodImpl;
+import junit.framework.TestCase;
+import org.xml.sax.EntityResolver;
+
+import javax.jws.WebService;
+import javax.xml.ws.WebServiceFeature;
+import javax.xml.ws.soap.AddressingFeature;
+import java.io.ByteArrayInputStream;
+
+/**
+ * Endpoints created with {@link EndpointFactory#deferWSDLGeneration}.
+ */
+public class DeferredWSDLGenerationTest extends TestCase {
+
+    private static final String NS = "http://example.org/echo";
+
+    private boolean deferWSDLGeneration;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        deferWSDLGeneration = EndpointFactory.deferWSDLGeneration;
+        EndpointFactory.deferWSDLGeneration = true;
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        EndpointFactory.deferWSDLGeneration = deferWSDLGeneration;
+        super.tearDown();
+    }
+
+    public void testDefaultActions() {
+        WSEndpoint<EchoImpl> endpoint = createEndpoint();
+        try {
+            assertNull(endpoint.getPort());
+            JavaMethodImpl echo = ((AbstractSEIModelImpl) endpoint.getSEIModel()).getJavaMethods().iterator().next();
+            assertEquals(NS + "/EchoImpl/echoRequest", echo.getInputAction());
+            assertEquals(NS + "/EchoImpl/echoResponse", echo.getOutputAction());
+        } finally {
+            endpoint.dispose();
+        }
+    }
+
+    public void testDispatchWithDefaultAction() throws Exception {
+        WSEndpoint<EchoImpl> endpoint = createEndpoint();
+        try {
+            Packet request = createRequest(endpoint.getBinding(), NS + "/EchoImpl/echoRequest");
+            Packet response = endpoint.createPipeHead().process(request, null, null);
+
+            Message reply = response.getMessage();
+            assertFalse(reply.isFault());
+            assertEquals(NS + "/EchoImpl/echoResponse",
+                    AddressingUtils.getAction(reply.getHeaders(), AddressingVersion.W3C, SOAPVersion.SOAP_11));
+            assertEquals("echoResponse", reply.getPayloadLocalPart());
+        } finally {
+            endpoint.dispose();
+        }
+    }
+
+    public void testDispatchWithUnknownAction() throws Exception {
+        WSEndpoint<EchoImpl> endpoint = createEndpoint();
+        try {
+            Packet request = createRequest(endpoint.getBinding(), NS + "/EchoImpl/unknown");
+            Packet response = endpoint.createPipeHead().process(request, null, null);
+
+            assertTrue(response.getMessage().isFault());
+        } finally {
+            endpoint.dispose();
+        }
+    }
+
+    public void testWSDLGeneratedOnFirstUse() {
+        WSEndpoint<EchoImpl> endpoint = createEndpoint();
+        try {
+            ServiceDefinitionImpl sd = (ServiceDefinitionImpl) endpoint.getServiceDefinition();
+            assertNotNull(sd);
+            assertNotNull(sd.getPrimary());
+        } finally {
+            endpoint.dispose();
+        }
+    }
+
+    private static WSEndpoint<EchoImpl> createEndpoint() {
+        WSBinding binding = BindingImpl.create(BindingID.SOAP11_HTTP,
+                new WebServiceFeature[] {new AddressingFeature()});
+        return WSEndpoint.create(EchoImpl.class, false,
+                InstanceResolver.createSingleton(new EchoImpl()).createInvoker(),
+                null, null, null, binding, null, null, (EntityResolver) null, true);
+    }
+
+    private static Packet createRequest(WSBinding binding, String action) throws Exception {
+        String envelope =
+            "<S:Envelope xmlns:S='http://schemas.xmlsoap.org/soap/envelope/'" +
+            " xmlns:wsa='http://www.w3.org/2005/08/addressing'>" +
+              "<S:Header>" +
+                "<wsa:To>http://localhost/echo</wsa:To>" +
+                "<wsa:Action>" + action + "</wsa:Action>" +
+                "<wsa:MessageID>uuid:" + System.nanoTime() + "</wsa:MessageID>" +
+                "<wsa:ReplyTo><wsa:Address>http://www.w3.org/2005/08/addressing/anonymous</wsa:Address></wsa:ReplyTo>" +
+              "</S:Header>" +
+              "<S:Body><ns:echo xmlns:ns='" + NS + "'><arg0>hello</arg0></ns:echo></S:Body>" +
+            "</S:Envelope>";
+        Packet packet = new Packet();
+        ((BindingImpl) binding).createCodec().decode(new ByteArrayInputStream(envelope.getBytes("UTF-8")),
+                "text/xml; charset=utf-8", packet);
+        return packet;
+    }
+
+    @WebService(targetNamespace = NS)
+    public static class EchoImpl {
+        public String echo(String s) {
+            return s;
+        }
+    }
+}
@@ -60,6 +60,38 @@ public class JAXBWrapperAccessorTest  extends TestCase {
     	assertNotNull(jaxbWrapperAccessor.getPropertySetter(new QName("names")));
     }
     
+    public void testMethodHandleAccessors() {
+        JAXBWrapperAccessor jaxbWrapperAccessor = new JAXBWrapperAccessor(EchoRequest.class);
+        assertTrue(jaxbWrapperAccessor.getPropertySetter(new QName("text")) instanceof MethodHandleSetter);
+        assertTrue(jaxbWrapperAccessor.getPropertyGetter(new QName("count")) instanceof MethodHandleGetter);
+
+        EchoRequest request = new EchoRequest();
+        PropertyAccessor text = jaxbWrapperAccessor.getPropertyAccessor("", "text");
+        PropertyAccessor count = jaxbWrapperAccessor.getPropertyAccessor("", "count");
+        PropertyAccessor names = jaxbWrapperAccessor.getPropertyAccessor("", "names");
+        text.set(request, "hello");
+        count.set(request, 3);
+        assertEquals("hello", text.get(request));
+        assertEquals(3, count.get(request));
+        count.set(request, null);
+        assertEquals(0, count.get(request));
+        assertNotNull(names.get(request));
+        assertSame(names.get(request), request.getNames());
+    }
+
+    public void testReflectiveAccessors() {
+        JAXBWrapperAccessor.useMethodHandles = false;
+        try {
+            JAXBWrapperAccessor jaxbWrapperAccessor = new JAXBWrapperAccessor(EchoRequest.class);
+            assertFalse(jaxbWrapperAccessor.getPropertySetter(new QName("text")) instanceof MethodHandleSetter);
+            EchoRequest request = new EchoRequest();
+            jaxbWrapperAccessor.getPropertyAccessor("", "text").set(request, "hello");
+            assertEquals("hello", request.getText());
+        } finally {
+            JAXBWrapperAccessor.useMethodHandles = true;
+        }
+    }
+
     public void testAccessor() throws Exception {
 
         try {
@@ -97,6 +129,25 @@ public class JAXBWrapperAccessorTest  extends TestCase {
         }
     }
     
+@XmlAccessorType(XmlAccessType.FIELD)
+static class EchoRequest {
+	private String text;
+	public int count;
+	private List<String> names;
+
+	public String getText() {
+		return this.text;
+	}
+
+	public void setText(String text) {
+		this.text = text;
+	}
+
+	public List<String> getNames() {
+		return this.names;
+	}
+}
+
 @XmlAccessorType(XmlAccessType.FIELD)
 class HelloRequest {
 	@XmlElementWrapper(name = "names")
@@ -0,0 +1,135 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.transport.http;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+/**
+ * Ordering and error reporting of {@link ParallelDeployment}.
+ */
+public class ParallelDeploymentTest extends TestCase {
+
+    public void testResultsInOrder() {
+        ParallelDeployment<Integer> deployment = new ParallelDeployment<Integer>(4);
+        final CountDownLatch first = new CountDownLatch(1);
+        deployment.add("slow", new Callable<Integer>() {
+            public Integer call() throws Exception {
+                // completes after the other tasks
+                assertTrue(first.await(10, TimeUnit.SECONDS));
+                return 0;
+            }
+        });
+        for (int i = 1; i < 4; i++) {
+            final int value = i;
+            deployment.add("ep" + i, new Callable<Integer>() {
+                public Integer call() {
+                    first.countDown();
+                    return value;
+                }
+            });
+        }
+        assertEquals(Arrays.asList(0, 1, 2, 3), deployment.run());
+    }
+
+    public void testFirstFailureReported() {
+        ParallelDeployment<Integer> deployment = new ParallelDeployment<Integer>(4);
+        final IllegalStateException first = new IllegalStateException("first");
+        final IllegalStateException second = new IllegalStateException("second");
+        deployment.add("ok", constant(1));
+        deployment.add("first", failing(first));
+        deployment.add("second", failing(second));
+        try {
+            deployment.run();
+            fail();
+        } catch (IllegalStateException e) {
+            assertSame(first, e);
+            assertEquals(Arrays.asList(second), Arrays.asList(e.getSuppressed()));
+        }
+    }
+
+    public void testContextClassLoader() throws Exception {
+        ClassLoader loader = new ClassLoader() {};
+        Thread thread = Thread.currentThread();
+        ClassLoader old = thread.getContextClassLoader();
+        thread.setContextClassLoader(loader);
+        try {
+            ParallelDeployment<ClassLoader> deployment = new ParallelDeployment<ClassLoader>(2);
+            for (int i = 0; i < 2; i++) {
+                deployment.add("ep" + i, new Callable<ClassLoader>() {
+                    public ClassLoader call() {
+                        return Thread.currentThread().getContextClassLoader();
+                    }
+                });
+            }
+            assertEquals(Arrays.asList(loader, loader), deployment.run());
+        } finally {
+            thread.setContextClassLoader(old);
+        }
+    }
+
+    public void testParallelism() {
+        assertEquals(1, ParallelDeployment.getParallelism("1"));
+        assertEquals(3, ParallelDeployment.getParallelism(" 3 "));
+        assertEquals(1, ParallelDeployment.getParallelism("many"));
+        assertEquals(Runtime.getRuntime().availableProcessors(), ParallelDeployment.getParallelism("0"));
+    }
+
+    private static Callable<Integer> constant(final int value) {
+        return new Callable<Integer>() {
+            public Integer call() {
+                return value;
+            }
+        };
+    }
+
+    private static Callable<Integer> failing(final RuntimeException e) {
+        return new Callable<Integer>() {
+            public Integer call() {
+                throw e;
+            }
+        };
+    }
+}
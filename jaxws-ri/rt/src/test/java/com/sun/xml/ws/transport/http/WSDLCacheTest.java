@@ -0,0 +1,164 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.transport.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+import com.sun.xml.ws.util.ByteArrayBuffer;
+import junit.framework.TestCase;
+
+/**
+ * Validators and bounds of the {@link WSDLCache}.
+ */
+public class WSDLCacheTest extends TestCase {
+
+    private static final byte[] WSDL = "<definitions/>".getBytes();
+
+    public void testCachedPerBaseAddress() {
+        WSDLCache cache = new WSDLCache();
+        WSDLCache.Document doc = cache.put("http://a:8080/ctx", "wsdl", WSDL);
+        assertSame(doc, cache.get("http://a:8080/ctx", "wsdl"));
+        assertNull(cache.get("http://b:8080/ctx", "wsdl"));
+        assertNull(cache.get("http://a:8080/ctx", "xsd=1"));
+        cache.clear();
+        assertNull(cache.get("http://a:8080/ctx", "wsdl"));
+    }
+
+    public void testBounded() {
+        int old = HttpAdapter.wsdlCacheSize;
+        HttpAdapter.wsdlCacheSize = 2;
+        try {
+            WSDLCache cache = new WSDLCache();
+            for (int i = 0; i < 5; i++) {
+                assertNotNull(cache.put("http://host" + i, "wsdl", WSDL));
+            }
+            assertEquals(2, cache.size());
+        } finally {
+            HttpAdapter.wsdlCacheSize = old;
+        }
+    }
+
+    public void testLeastRecentlyUsedEvicted() {
+        int old = HttpAdapter.wsdlCacheSize;
+        HttpAdapter.wsdlCacheSize = 2;
+        try {
+            WSDLCache cache = new WSDLCache();
+            WSDLCache.Document a = cache.put("http://a", "wsdl", WSDL);
+            cache.put("http://b", "wsdl", WSDL);
+            assertSame(a, cache.get("http://a", "wsdl"));
+            // bogus Host headers fill the cache, but can't disable it
+            for (int i = 0; i < 64; i++) {
+                cache.put("http://bogus" + i, "wsdl", WSDL);
+            }
+            assertNull(cache.get("http://a", "wsdl"));
+            WSDLCache.Document c = cache.put("http://c", "wsdl", WSDL);
+            assertSame(c, cache.get("http://c", "wsdl"));
+            assertEquals(2, cache.size());
+        } finally {
+            HttpAdapter.wsdlCacheSize = old;
+        }
+    }
+
+    public void testAccessKeepsEntry() {
+        int old = HttpAdapter.wsdlCacheSize;
+        HttpAdapter.wsdlCacheSize = 2;
+        try {
+            WSDLCache cache = new WSDLCache();
+            WSDLCache.Document a = cache.put("http://a", "wsdl", WSDL);
+            cache.put("http://b", "wsdl", WSDL);
+            cache.get("http://a", "wsdl");
+            cache.put("http://c", "wsdl", WSDL);
+            assertSame(a, cache.get("http://a", "wsdl"));
+            assertNull(cache.get("http://b", "wsdl"));
+        } finally {
+            HttpAdapter.wsdlCacheSize = old;
+        }
+    }
+
+    public void testETag() {
+        WSDLCache.Document doc = new WSDLCache.Document(WSDL, System.currentTimeMillis());
+        assertTrue(doc.etag.startsWith("\"") && doc.etag.endsWith("\""));
+        assertEquals(doc.etag, new WSDLCache.Document(WSDL, 0).etag);
+        assertFalse(doc.etag.equals(new WSDLCache.Document("<definitions />".getBytes(), 0).etag));
+
+        assertTrue(doc.isNotModified(false, doc.etag, null));
+        assertTrue(doc.isNotModified(false, "\"other\", W/" + doc.etag, null));
+        assertTrue(doc.isNotModified(false, "*", null));
+        assertFalse(doc.isNotModified(false, "\"other\"", null));
+        assertFalse(doc.isNotModified(false, null, null));
+    }
+
+    public void testGzipETag() {
+        WSDLCache.Document doc = new WSDLCache.Document(WSDL, 0);
+        assertEquals(doc.etag, doc.getETag(false));
+        assertEquals(doc.gzipEtag, doc.getETag(true));
+        assertFalse(doc.etag.equals(doc.gzipEtag));
+        assertTrue(doc.gzipEtag.startsWith("\"") && doc.gzipEtag.endsWith("-gzip\""));
+
+        // each representation only matches its own validator
+        assertTrue(doc.isNotModified(true, doc.gzipEtag, null));
+        assertFalse(doc.isNotModified(true, doc.etag, null));
+        assertFalse(doc.isNotModified(false, doc.gzipEtag, null));
+        assertTrue(doc.isNotModified(true, "*", null));
+    }
+
+    public void testIfModifiedSince() {
+        WSDLCache.Document doc = new WSDLCache.Document(WSDL, System.currentTimeMillis());
+        String lastModified = doc.getLastModifiedHeader();
+        assertTrue(doc.isNotModified(false, null, lastModified));
+        assertFalse(doc.isNotModified(false, null, "Thu, 01 Jan 1970 00:00:00 GMT"));
+        assertFalse(doc.isNotModified(false, null, "not a date"));
+        // If-None-Match takes precedence
+        assertFalse(doc.isNotModified(false, "\"other\"", lastModified));
+    }
+
+    public void testGzipped() throws IOException {
+        WSDLCache.Document doc = new WSDLCache.Document(WSDL, 0);
+        byte[] gz = doc.getGzipped();
+        assertSame(gz, doc.getGzipped());
+        ByteArrayBuffer buf = new ByteArrayBuffer();
+        buf.write(new GZIPInputStream(new ByteArrayInputStream(gz)));
+        assertTrue(Arrays.equals(WSDL, buf.toByteArray()));
+    }
+}
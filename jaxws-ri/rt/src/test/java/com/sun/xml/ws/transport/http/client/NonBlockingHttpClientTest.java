@@ -0,0 +1,123 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.transport.http.client;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+import junit.framework.TestCase;
+
+/**
+ * Response parsing of the {@link NonBlockingHttpClient}.
+ */
+public class NonBlockingHttpClientTest extends TestCase {
+
+    private static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
+
+    public void testContentLength() throws Exception {
+        NonBlockingHttpClient.Exchange ex = exchange();
+        assertTrue(feed(ex, "HTTP/1.1 200 OK\r\nContent-Type: text/xml\r\nContent-Length: 5\r\n\r\nhello"));
+        assertEquals(200, ex.statusCode);
+        assertEquals("OK", ex.statusMessage);
+        assertEquals("text/xml", ex.headers.getFirst("content-type"));
+        assertEquals("hello", ex.body.toString());
+        assertTrue(ex.keepAlive);
+    }
+
+    public void testChunkedInPieces() throws Exception {
+        NonBlockingHttpClient.Exchange ex = exchange();
+        String response = "HTTP/1.1 500 Internal Server Error\r\nTransfer-Encoding: chunked\r\n\r\n"
+                + "3;ext=1\r\nabc\r\n4\r\ndefg\r\n0\r\nX-Trailer: t\r\n\r\n";
+        // feed byte by byte to cross every state boundary
+        for (int i = 0; i < response.length() - 1; i++) {
+            assertFalse(feed(ex, response.substring(i, i + 1)));
+        }
+        assertTrue(feed(ex, response.substring(response.length() - 1)));
+        assertEquals(500, ex.statusCode);
+        assertEquals("Internal Server Error", ex.statusMessage);
+        assertEquals("abcdefg", ex.body.toString());
+        assertTrue(ex.keepAlive);
+    }
+
+    public void testInterimResponseAndClose() throws Exception {
+        NonBlockingHttpClient.Exchange ex = exchange();
+        assertFalse(feed(ex, "HTTP/1.1 100 Continue\r\n\r\nHTTP/1.0 202 Accepted\r\n\r\nbody"));
+        assertEquals(202, ex.statusCode);
+        assertTrue(ex.endOfStream());
+        assertEquals("body", ex.body.toString());
+        assertFalse(ex.keepAlive);
+    }
+
+    public void testConnectionClose() throws Exception {
+        NonBlockingHttpClient.Exchange ex = exchange();
+        assertTrue(feed(ex, "HTTP/1.1 200 OK\r\nConnection: close\r\nContent-Length: 0\r\n\r\n"));
+        assertFalse(ex.keepAlive);
+        assertEquals(0, ex.body.size());
+    }
+
+    public void testInvalidStatusLine() throws Exception {
+        try {
+            feed(exchange(), "garbage\r\n");
+            fail();
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    private static boolean feed(NonBlockingHttpClient.Exchange ex, String data) throws IOException {
+        return ex.feed(ByteBuffer.wrap(data.getBytes(ISO_8859_1)));
+    }
+
+    private static NonBlockingHttpClient.Exchange exchange() {
+        return new NonBlockingHttpClient.Exchange(InetSocketAddress.createUnresolved("localhost", 80),
+                new ByteBuffer[] { ByteBuffer.allocate(0) }, 0, 0, 0) {
+            @Override
+            void completed() {
+            }
+
+            @Override
+            void failed(IOException e) {
+            }
+        };
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017-2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+
+package com.sun.xml.ws.util;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import junit.framework.TestCase;
+
+public class JAXBContextPoolsTest extends TestCase {
+
+    @XmlRootElement
+    public static class Bean {
+        public String value;
+    }
+
+    public void testOnePoolPerContext() throws Exception {
+        JAXBContext context = JAXBContext.newInstance(Bean.class);
+        assertSame(JAXBContextPools.of(context), JAXBContextPools.of(context));
+        assertNotSame(JAXBContextPools.of(context), JAXBContextPools.of(JAXBContext.newInstance(Bean.class)));
+    }
+
+    public void testRecycledObjectsAreReset() throws Exception {
+        JAXBContextPools pools = JAXBContextPools.of(JAXBContext.newInstance(Bean.class));
+
+        Marshaller m = pools.takeMarshaller();
+        m.setListener(new Marshaller.Listener() {
+        });
+        pools.recycle(m);
+        assertSame(m, pools.takeMarshaller());
+        assertNull(m.getListener());
+        assertEquals(1, pools.getMarshallerPool().getHitCount());
+
+        Unmarshaller u = pools.takeUnmarshaller();
+        u.setListener(new Unmarshaller.Listener() {
+        });
+        pools.recycle(u);
+        assertSame(u, pools.takeUnmarshaller());
+        assertNull(u.getListener());
+    }
+
+    public void testBounded() throws Exception {
+        JAXBContextPools pools = JAXBContextPools.of(JAXBContext.newInstance(Bean.class));
+        Marshaller[] taken = new Marshaller[JAXBContextPools.MAX_SIZE + 1];
+        for (int i = 0; i < taken.length; i++) {
+            taken[i] = pools.takeMarshaller();
+        }
+        for (Marshaller m : taken) {
+            pools.recycle(m);
+        }
+        assertEquals(JAXBContextPools.MAX_SIZE, pools.getMarshallerPool().getIdleCount());
+        assertEquals(1, pools.getMarshallerPool().getDiscardedCount());
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017-2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.util;
+
+import junit.framework.TestCase;
+
+public class PoolTest extends TestCase {
+
+    private static final class CountingPool extends Pool<Object> {
+        CountingPool() {
+        }
+
+        CountingPool(int maxSize, boolean soft) {
+            super(maxSize, soft);
+        }
+
+        @Override
+        protected Object create() {
+            return new Object();
+        }
+    }
+
+    public void testCounters() {
+        Pool<Object> pool = new CountingPool();
+        Object first = pool.take();
+        assertEquals(1, pool.getMissCount());
+        assertEquals(0, pool.getHitCount());
+        pool.recycle(first);
+        assertSame(first, pool.take());
+        assertEquals(1, pool.getHitCount());
+        assertEquals(1, pool.getCreatedCount());
+    }
+
+    public void testPrewarm() {
+        Pool<Object> pool = new CountingPool(0, false);
+        pool.prewarm(4);
+        assertEquals(4, pool.getIdleCount());
+        assertEquals(4, pool.getCreatedCount());
+        for (int i = 0; i < 4; i++) {
+            pool.take();
+        }
+        assertEquals(4, pool.getHitCount());
+        assertEquals(0, pool.getMissCount());
+        assertEquals(0, pool.getIdleCount());
+    }
+
+    public void testMaximumSize() {
+        Pool<Object> pool = new CountingPool(2, false);
+        pool.prewarm(5);
+        assertEquals(2, pool.getIdleCount());
+        pool.recycle(new Object());
+        assertEquals(2, pool.getIdleCount());
+        assertEquals(1, pool.getDiscardedCount());
+        pool.take();
+        pool.recycle(new Object());
+        assertEquals(2, pool.getIdleCount());
+        assertEquals(1, pool.getDiscardedCount());
+    }
+}
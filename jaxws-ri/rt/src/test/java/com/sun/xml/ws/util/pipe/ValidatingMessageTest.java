@@ -0,0 +1,120 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012-2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.util.pipe;
+
+import java.io.StringReader;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+
+import com.sun.xml.ws.api.SOAPVersion;
+import com.sun.xml.ws.api.message.Message;
+import com.sun.xml.ws.api.message.Messages;
+import com.sun.xml.ws.util.Pool;
+import com.sun.xml.ws.util.xml.ValidatingXMLStreamReader;
+import junit.framework.TestCase;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+
+public class ValidatingMessageTest extends TestCase {
+
+    private static final String SCHEMA =
+            "<xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema' targetNamespace='urn:test' elementFormDefault='qualified'>"
+            + "<xs:element name='add'><xs:complexType><xs:sequence>"
+            + "<xs:element name='a' type='xs:int'/><xs:element name='b' type='xs:int'/>"
+            + "</xs:sequence></xs:complexType></xs:element>"
+            + "</xs:schema>";
+
+    private static final ErrorHandler DRACONIAN = new ErrorHandler() {
+        public void warning(SAXParseException e) {
+        }
+
+        public void error(SAXParseException e) throws SAXException {
+            throw e;
+        }
+
+        public void fatalError(SAXParseException e) throws SAXException {
+            throw e;
+        }
+    };
+
+    private Pool.ValidatorHandler handlers;
+
+    @Override
+    protected void setUp() throws Exception {
+        Schema schema = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI)
+                .newSchema(new StreamSource(new StringReader(SCHEMA)));
+        handlers = new Pool.ValidatorHandler(schema);
+    }
+
+    public void testCopyIsValidated() throws Exception {
+        Message message = createMessage("<t:add xmlns:t='urn:test'><t:a>one</t:a><t:b>2</t:b></t:add>");
+        Message copy = message.copy();
+        assertTrue(copy instanceof ValidatingMessage);
+        assertFalse(validates(copy));
+        assertFalse(validates(message));
+    }
+
+    public void testCopyOfValidPayload() throws Exception {
+        Message message = createMessage("<t:add xmlns:t='urn:test'><t:a>1</t:a><t:b>2</t:b></t:add>");
+        assertTrue(validates(message.copy()));
+        assertTrue(validates(message));
+    }
+
+    private Message createMessage(String payload) {
+        return new ValidatingMessage(
+                Messages.createUsingPayload(new StreamSource(new StringReader(payload)), SOAPVersion.SOAP_11),
+                handlers, DRACONIAN);
+    }
+
+    private static boolean validates(Message message) throws Exception {
+        try {
+            ((ValidatingXMLStreamReader) message.readPayload()).validateRest();
+            return true;
+        } catch (XMLStreamException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.util.xml;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+
+import com.sun.xml.ws.util.Pool;
+import junit.framework.TestCase;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+
+/**
+ * Validation of SOAP payloads by {@link ValidatingXMLStreamReader} and {@link ValidatingXMLStreamWriter}.
+ */
+public class ValidatingXMLStreamTest extends TestCase {
+
+    private static final String SOAP_NS = "http://schemas.xmlsoap.org/soap/envelope/";
+
+    private static final String SCHEMA =
+            "<xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema' xmlns:t='urn:test' targetNamespace='urn:test' elementFormDefault='qualified'>"
+            + "<xs:element name='add'><xs:complexType><xs:sequence>"
+            + "<xs:element name='a' type='xs:int'/><xs:element name='b' type='xs:int'/><xs:element name='c' type='t:base' minOccurs='0'/>"
+            + "</xs:sequence></xs:complexType></xs:element>"
+            + "<xs:element name='ping'><xs:complexType/></xs:element>"
+            + "<xs:complexType name='base'/>"
+            + "<xs:complexType name='ext'><xs:complexContent><xs:extension base='t:base'>"
+            + "<xs:sequence><xs:element name='x' type='xs:int'/></xs:sequence>"
+            + "</xs:extension></xs:complexContent></xs:complexType>"
+            + "</xs:schema>";
+
+    private static final ErrorHandler DRACONIAN = new ErrorHandler() {
+        public void warning(SAXParseException e) {
+        }
+
+        public void error(SAXParseException e) throws SAXException {
+            throw e;
+        }
+
+        public void fatalError(SAXParseException e) throws SAXException {
+            throw e;
+        }
+    };
+
+    private static final String VALID = envelope("<t:add><t:a>1</t:a><t:b>2</t:b></t:add>");
+    // xsi:type value uses a prefix declared on the envelope
+    private static final String VALID_XSI_TYPE = envelope("<t:add><t:a>1</t:a><t:b>2</t:b><t:c xsi:type='t:ext'><t:x>3</t:x></t:c></t:add>");
+    private static final String INVALID_VALUE = envelope("<t:add><t:a>one</t:a><t:b>2</t:b></t:add>");
+    private static final String MISSING_ELEMENT = envelope("<t:add><t:a>1</t:a></t:add>");
+
+    private Pool.ValidatorHandler handlers;
+
+    @Override
+    protected void setUp() throws Exception {
+        Schema schema = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI)
+                .newSchema(new StreamSource(new StringReader(SCHEMA)));
+        handlers = new Pool.ValidatorHandler(schema);
+    }
+
+    public void testRead() throws Exception {
+        assertTrue(read(VALID));
+        assertTrue(read(VALID_XSI_TYPE));
+        assertFalse(read(INVALID_VALUE));
+        assertFalse(read(MISSING_ELEMENT));
+        // the recycled handler is reusable
+        assertTrue(read(VALID));
+    }
+
+    public void testWrite() throws Exception {
+        assertTrue(write(VALID));
+        assertTrue(write(VALID_XSI_TYPE));
+        assertFalse(write(INVALID_VALUE));
+        assertFalse(write(MISSING_ELEMENT));
+    }
+
+    public void testWriteEmptyRoot() throws Exception {
+        assertFalse(writeEmptyRoot("add"));
+        assertTrue(writeEmptyRoot("ping"));
+    }
+
+    public void testRecycledHandlerForgetsErrorHandler() throws Exception {
+        assertTrue(read(VALID));
+        long hits = handlers.getHitCount();
+        javax.xml.validation.ValidatorHandler recycled = handlers.take();
+        assertEquals(hits + 1, handlers.getHitCount());
+        assertNull(recycled.getErrorHandler());
+    }
+
+    /**
+     * Writes a payload made of a single empty element, with nothing after it.
+     */
+    private boolean writeEmptyRoot(String localName) throws Exception {
+        ValidatingXMLStreamWriter writer = new ValidatingXMLStreamWriter(
+                XMLOutputFactory.newInstance().createXMLStreamWriter(new StringWriter()),
+                null, handlers, DRACONIAN);
+        try {
+            writer.writeEmptyElement("t", localName, "urn:test");
+            writer.writeNamespace("t", "urn:test");
+            writer.writeEndSubtree();
+            return true;
+        } catch (XMLStreamException e) {
+            return false;
+        }
+    }
+
+    private boolean read(String envelope) throws Exception {
+        XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(envelope));
+        while (!(reader.isStartElement() && reader.getLocalName().equals("Body"))) {
+            reader.next();
+        }
+        reader.nextTag();
+        try {
+            ValidatingXMLStreamReader validating = new ValidatingXMLStreamReader(reader, handlers, DRACONIAN);
+            validating.nextTag();
+            assertEquals("1", validating.getElementText());
+            validating.validateRest();
+            return true;
+        } catch (XMLStreamException e) {
+            return false;
+        }
+    }
+
+    private boolean write(String envelope) throws Exception {
+        XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(envelope));
+        XMLStreamWriter writer = new ValidatingXMLStreamWriter(
+                XMLOutputFactory.newInstance().createXMLStreamWriter(new StringWriter()),
+                new QName(SOAP_NS, "Body"), handlers, DRACONIAN);
+        try {
+            XMLStreamReaderToXMLStreamWriter bridge = new XMLStreamReaderToXMLStreamWriter();
+            reader.nextTag();
+            bridge.bridge(reader, writer);
+            writer.writeEndDocument();
+            return true;
+        } catch (XMLStreamException e) {
+            return false;
+        }
+    }
+
+    private static String envelope(String payload) {
+        return "<S:Envelope xmlns:S='" + SOAP_NS + "' xmlns:t='urn:test' xmlns:xsi='http://www.w3.org/2001/XMLSchema-instance'>"
+                + "<S:Header><h>1</h></S:Header><S:Body>" + payload + "</S:Body></S:Envelope>";
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.transport.http.servlet;
+
+import com.sun.istack.NotNull;
+import com.sun.xml.ws.util.ByteArrayBuffer;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link ServletConnectionImpl} that moves the request and response bodies
+ * with the Servlet 3.1 non-blocking I/O API, so that no container thread
+ * waits on a slow client.
+ *
+ * <p>
+ * The request body is {@link #readRequest(RequestListener) read} into memory
+ * as it arrives, and the codec then decodes it from there. The codec encodes
+ * the response into memory too, which is then {@link #writeResponse(Runnable) written}
+ * whenever the client is ready to take more of it.
+ *
+ * <p>
+ * Both bodies are held in memory up to a maximum size. A larger request is
+ * rejected with a 413 status, and a larger response is written to the client
+ * with blocking I/O from then on.
+ *
+ * @see ServletAdapter#nonBlockingIO
+ */
+final class NonBlockingServletConnection extends ServletConnectionImpl {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    static final int SC_REQUEST_ENTITY_TOO_LARGE = 413;
+
+    private final int maxBodySize;
+    private final ByteArrayBuffer requestBody = new ByteArrayBuffer();
+    private ResponseBody responseBody;
+
+    NonBlockingServletConnection(@NotNull ServletAdapter adapter, ServletContext context, HttpServletRequest request,
+                                 HttpServletResponse response, int maxBodySize) {
+        super(adapter, context, request, response);
+        this.maxBodySize = maxBodySize;
+    }
+
+    /**
+     * Notified once the request body has been read.
+     */
+    interface RequestListener {
+        void onRequestRead() throws IOException;
+
+        /**
+         * Called when the request can't be read or processed, including when
+         * its body is larger than the maximum size, in which case the 413 status
+         * is already set. The request isn't processed any further.
+         */
+        void onError(Throwable t);
+    }
+
+    /**
+     * Starts reading the request body. Must be called in asynchronous mode.
+     */
+    void readRequest(final RequestListener listener) throws IOException {
+        if (getRequest().getContentLengthLong() > maxBodySize) {
+            rejectRequest(listener);
+            return;
+        }
+        final ServletInputStream in = getRequest().getInputStream();
+        in.setReadListener(new ReadListener() {
+            private final byte[] buf = new byte[CHUNK_SIZE];
+            private boolean rejected;
+
+            public void onDataAvailable() throws IOException {
+                int len;
+                while (!rejected && in.isReady() && (len = in.read(buf)) != -1) {
+                    if (requestBody.size() + len > maxBodySize) {
+                        // stop reading, the container won't call back before this is completed
+                        rejected = true;
+                        rejectRequest(listener);
+                        return;
+                    }
+                    requestBody.write(buf, 0, len);
+                }
+            }
+
+            public void onAllDataRead() throws IOException {
+                if (rejected) {
+                    return;
+                }
+                try {
+                    listener.onRequestRead();
+                } catch (IOException e) {
+                    listener.onError(e);
+                } catch (RuntimeException e) {
+                    listener.onError(e);
+                }
+            }
+
+            public void onError(Throwable t) {
+                if (!rejected) {
+                    listener.onError(t);
+                }
+            }
+        });
+    }
+
+    private void rejectRequest(RequestListener listener) {
+        getResponse().setStatus(SC_REQUEST_ENTITY_TOO_LARGE);
+        listener.onError(new IOException("Request body of " + getRequestURI()
+                + " is larger than " + maxBodySize + " bytes"));
+    }
+
+    @Override
+    public @NotNull InputStream getInput() {
+        return requestBody.newInputStream();
+    }
+
+    @Override
+    public @NotNull OutputStream getOutput() throws IOException {
+        if (responseBody == null) {
+            // sends the status and the headers
+            responseBody = new ResponseBody(super.getOutput());
+        }
+        return responseBody;
+    }
+
+    /**
+     * Writes the encoded response body, then runs {@code done}, also when
+     * the client has gone away. Must be called in asynchronous mode.
+     */
+    void writeResponse(final Runnable done) throws IOException {
+        if (responseBody == null || responseBody.out != null || responseBody.buffer.size() == 0) {
+            // nothing buffered, or already written with blocking I/O
+            done.run();
+            return;
+        }
+        final byte[] data = responseBody.buffer.getRawData();
+        final int size = responseBody.buffer.size();
+        HttpServletResponse response = getResponse();
+        if (!response.isCommitted()) {
+            response.setContentLength(size);
+        }
+        final ServletOutputStream out = response.getOutputStream();
+        out.setWriteListener(new WriteListener() {
+            private int written;
+
+            public void onWritePossible() throws IOException {
+                while (out.isReady()) {
+                    if (written == size) {
+                        done.run();
+                        return;
+                    }
+                    int len = Math.min(CHUNK_SIZE, size - written);
+                    out.write(data, written, len);
+                    written += len;
+                }
+            }
+
+            public void onError(Throwable t) {
+                LOGGER.log(Level.FINE, "Failed to write the response of " + getRequestURI(), t);
+                done.run();
+            }
+        });
+    }
+
+    /**
+     * Buffers the response body up to the maximum size, then writes it
+     * and the rest of the body to the servlet output stream.
+     */
+    private final class ResponseBody extends OutputStream {
+        final ByteArrayBuffer buffer = new ByteArrayBuffer();
+        private final OutputStream servletOut;
+        /**
+         * Set once the body has outgrown the buffer.
+         */
+        OutputStream out;
+
+        ResponseBody(OutputStream servletOut) {
+            this.servletOut = servletOut;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (out == null && buffer.size() + 1 > maxBodySize) {
+                spill();
+            }
+            if (out != null) {
+                out.write(b);
+            } else {
+                buffer.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (out == null && buffer.size() + len > maxBodySize) {
+                spill();
+            }
+            if (out != null) {
+                out.write(b, off, len);
+            } else {
+                buffer.write(b, off, len);
+            }
+        }
+
+        private void spill() throws IOException {
+            LOGGER.log(Level.FINE, "Response of {0} is larger than {1} bytes, writing it with blocking I/O",
+                    new Object[]{getRequestURI(), maxBodySize});
+            buffer.writeTo(servletOut);
+            buffer.reset();
+            out = servletOut;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (out != null) {
+                out.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            // a buffered body is written by writeResponse
+            flush();
+        }
+    }
+
+    private static final Logger LOGGER = Logger.getLogger(NonBlockingServletConnection.class.getName());
+}
@@ -0,0 +1,147 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.transport.http.servlet;
+
+import java.util.Arrays;
+
+/**
+ * Finds the endpoint of a path among path URL patterns ({@code /abc/*}),
+ * with a character trie of the pattern prefixes.
+ *
+ * <p>
+ * A path matches a prefix if it is equal to it, or continues it with
+ * {@code '/'} or {@code '?'}. When several prefixes match, the one
+ * {@link #add(String, Object) added} first wins, as when the patterns
+ * are tried one after the other in registration order.
+ *
+ * <p>
+ * All the patterns are added before the router is shared; lookups
+ * don't modify it, so they need no locking.
+ *
+ * @author WS Development Team
+ */
+final class PathPatternRouter<T> {
+
+    private final Node<T> root = new Node<T>();
+
+    /**
+     * Number of patterns added so far, which orders them.
+     */
+    private int size;
+
+    /**
+     * @param prefix
+     *      the URL pattern without its trailing {@code /*}.
+     * @return
+     *      false if the prefix was already added, in which case
+     *      the value added first is kept.
+     */
+    boolean add(String prefix, T value) {
+        Node<T> node = root;
+        for (int i = 0; i < prefix.length(); i++) {
+            node = node.getOrCreate(prefix.charAt(i));
+        }
+        if (node.value != null) {
+            return false;
+        }
+        node.value = value;
+        node.order = size++;
+        return true;
+    }
+
+    /**
+     * @return
+     *      the value of the earliest added prefix that matches the path, or null.
+     */
+    T match(String path) {
+        Node<T> node = root;
+        Node<T> best = null;
+        int length = path.length();
+        for (int i = 0; node != null; i++) {
+            if (node.value != null && (best == null || node.order < best.order)
+                    && (i == length || path.charAt(i) == '/' || path.charAt(i) == '?')) {
+                best = node;
+            }
+            if (i == length) {
+                break;
+            }
+            node = node.get(path.charAt(i));
+        }
+        return best != null ? best.value : null;
+    }
+
+    private static final class Node<T> {
+        private char[] keys = new char[0];
+        private Node<T>[] children = newArray(0);
+        private T value;
+        private int order;
+
+        Node<T> get(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node<T> getOrCreate(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i >= 0) {
+                return children[i];
+            }
+            i = -i - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node<T>[] newChildren = newArray(keys.length + 1);
+            System.arraycopy(keys, 0, newKeys, 0, i);
+            System.arraycopy(children, 0, newChildren, 0, i);
+            System.arraycopy(keys, i, newKeys, i + 1, keys.length - i);
+            System.arraycopy(children, i, newChildren, i + 1, keys.length - i);
+            Node<T> child = new Node<T>();
+            newKeys[i] = c;
+            newChildren[i] = child;
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> Node<T>[] newArray(int size) {
+            return new Node[size];
+        }
+    }
+}
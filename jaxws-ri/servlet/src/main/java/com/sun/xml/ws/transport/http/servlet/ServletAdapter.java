@@ -79,6 +79,24 @@ import java.util.logging.Logger;
 public class ServletAdapter extends HttpAdapter implements BoundEndpoint {
     final String name;
 
+    /**
+     * When true, asynchronous requests read their body and write their response
+     * with the Servlet 3.1 non-blocking I/O API, and the endpoint is only invoked
+     * once the whole request body has arrived. Slow clients then don't hold
+     * a container thread, at the cost of keeping both bodies in memory.
+     *
+     * @see NonBlockingServletConnection
+     * @see #nonBlockingIOMaxBodySize
+     */
+    public static volatile boolean nonBlockingIO = Boolean.getBoolean(ServletAdapter.class.getName() + ".nonBlockingIO");
+
+    /**
+     * The largest request or response body, in bytes, held in memory in
+     * {@link #nonBlockingIO} mode, 16MB by default. Larger requests are rejected
+     * with a 413 status, larger responses are written with blocking I/O.
+     */
+    public static volatile int nonBlockingIOMaxBodySize = Integer.getInteger(ServletAdapter.class.getName() + ".nonBlockingIOMaxBodySize", 16 * 1024 * 1024);
+
     @SuppressWarnings("unchecked")
 	protected ServletAdapter(String name, String urlPattern, WSEndpoint endpoint, ServletAdapterList owner) {
         super(endpoint, owner, urlPattern);
@@ -204,7 +222,10 @@ public class ServletAdapter extends HttpAdapter implements BoundEndpoint {
                 isServlet30Based = false;
             }
 
-            if (asyncRequest) {
+            if (asyncRequest && nonBlockingIO && isServlet31Based) {
+                invokeNonBlocking(context, request, response, callback);
+                asyncStarted = true;
+            } else if (asyncRequest) {
                 final javax.servlet.AsyncContext asyncContext = request.startAsync(request, response);
                 final AsyncCompletionCheck completionCheck = new AsyncCompletionCheck();
                 new WSAsyncListener(connection, callback).addListenerTo(asyncContext,completionCheck);
@@ -231,6 +252,50 @@ public class ServletAdapter extends HttpAdapter implements BoundEndpoint {
         }
     }
 
+    private void invokeNonBlocking(ServletContext context, HttpServletRequest request, HttpServletResponse response, CompletionCallback callback) throws IOException {
+        final NonBlockingServletConnection connection = new NonBlockingServletConnection(this, context, request, response, nonBlockingIOMaxBodySize);
+        final javax.servlet.AsyncContext asyncContext = request.startAsync(request, response);
+        final AsyncCompletionCheck completionCheck = new AsyncCompletionCheck();
+        new WSAsyncListener(connection, callback).addListenerTo(asyncContext,completionCheck);
+        final Runnable complete = new Runnable() {
+            @Override
+            public void run() {
+                synchronized (completionCheck) {
+                    if(!completionCheck.isCompleted()) {
+                        asyncContext.complete();
+                        completionCheck.markComplete();
+                    }
+                }
+            }
+        };
+        connection.readRequest(new NonBlockingServletConnection.RequestListener() {
+            @Override
+            public void onRequestRead() throws IOException {
+                ServletAdapter.super.invokeAsync(connection, new CompletionCallback() {
+                    @Override
+                    public void onCompletion() {
+                        try {
+                            connection.writeResponse(complete);
+                        } catch (IOException e) {
+                            LOGGER.log(Level.FINE, e.getMessage(), e);
+                            complete.run();
+                        }
+                    }
+                });
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                LOGGER.log(Level.FINE, "Failed to read or process the request to " + connection.getRequestURI(), t);
+                HttpServletResponse r = connection.getResponse();
+                if (!r.isCommitted() && r.getStatus() < HttpServletResponse.SC_BAD_REQUEST) {
+                    r.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                }
+                complete.run();
+            }
+        });
+    }
+
     /**
      * Synchronizes the CompletionHandler action and Container's timeout action.
      */
@@ -268,4 +333,6 @@ public class ServletAdapter extends HttpAdapter implements BoundEndpoint {
 
     private boolean isServlet30Based = ServletUtil.isServlet30Based();
 
+    private final boolean isServlet31Based = ServletUtil.isServlet31Based();
+
 }
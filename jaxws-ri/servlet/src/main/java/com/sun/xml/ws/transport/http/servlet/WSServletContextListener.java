@@ -45,6 +45,7 @@ import com.sun.xml.ws.api.server.Container;
 import com.sun.xml.ws.resources.WsservletMessages;
 import com.sun.xml.ws.transport.http.DeploymentDescriptorParser;
 import com.sun.xml.ws.transport.http.HttpAdapter;
+import com.sun.xml.ws.transport.http.ParallelDeployment;
 
 import javax.servlet.*;
 import javax.xml.ws.WebServiceException;
@@ -63,6 +64,11 @@ import java.util.logging.Logger;
  * The user application writes this in their <tt>web.xml</tt> so that we can
  * start when the container starts the webapp.
  *
+ * <p>
+ * Endpoints can be created concurrently by setting the
+ * {@link ParallelDeployment#PARALLELISM_PROPERTY} context parameter
+ * (or system property) to the number of threads to use.
+ *
  * @author WS Development Team
  */
 public final class WSServletContextListener
@@ -128,6 +134,8 @@ public final class WSServletContextListener
             // Parse the descriptor file and build endpoint infos
             DeploymentDescriptorParser<ServletAdapter> parser = new DeploymentDescriptorParser<ServletAdapter>(
                 classLoader,new ServletResourceLoader(context), createContainer(context), new ServletAdapterList(context));
+            parser.setParallelism(ParallelDeployment.getParallelism(
+                    context.getInitParameter(ParallelDeployment.PARALLELISM_PROPERTY)));
             adapters = parser.parse(sunJaxWsXml.toExternalForm(), sunJaxWsXml.openStream());
             registerWSServlet(adapters, context);
             delegate = createDelegate(adapters, context);
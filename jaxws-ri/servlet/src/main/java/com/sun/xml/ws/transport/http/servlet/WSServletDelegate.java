@@ -55,11 +55,12 @@ import javax.xml.ws.Binding;
 import javax.xml.ws.http.HTTPBinding;
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -82,8 +83,8 @@ public class WSServletDelegate {
     public final List<ServletAdapter> adapters;
 
     private final Map<String, ServletAdapter> fixedUrlPatternEndpoints = new HashMap<String, ServletAdapter>();
-    private final List<ServletAdapter> pathUrlPatternEndpoints = new ArrayList<ServletAdapter>();
-    private final Map<Locale,Localizer> localizerMap = new HashMap<Locale,Localizer>();
+    private final PathPatternRouter<ServletAdapter> pathUrlPatternEndpoints = new PathPatternRouter<ServletAdapter>();
+    private final ConcurrentMap<Locale,Localizer> localizerMap = new ConcurrentHashMap<Locale,Localizer>();
     private final JAXWSRIServletProbeProvider probe = new JAXWSRIServletProbeProvider();
 
     public WSServletDelegate(List<ServletAdapter> adapters, ServletContext context) {
@@ -274,7 +275,10 @@ public class WSServletDelegate {
             logger.warning(
                 WsservletMessages.SERVLET_WARNING_IGNORING_IMPLICIT_URL_PATTERN(a.name));
         } else if (urlPattern.endsWith("/*")) {
-            pathUrlPatternEndpoints.add(a);
+            if (!pathUrlPatternEndpoints.add(a.getValidPath(), a)) {
+                logger.warning(
+                    WsservletMessages.SERVLET_WARNING_DUPLICATE_ENDPOINT_URL_PATTERN(a.name));
+            }
         } else {
             if (fixedUrlPatternEndpoints.containsKey(urlPattern)) {
                 logger.warning(
@@ -295,13 +299,7 @@ public class WSServletDelegate {
                 request.getContextPath().length());
         ServletAdapter result = fixedUrlPatternEndpoints.get(path);
         if (result == null) {
-            for (ServletAdapter candidate : pathUrlPatternEndpoints) {
-                String noSlashStar = candidate.getValidPath();
-                if (path.equals(noSlashStar) || path.startsWith(noSlashStar+"/") || path.startsWith(noSlashStar+"?")) {
-                    result = candidate;
-                    break;
-                }
-            }
+            result = pathUrlPatternEndpoints.match(path);
         }
 
         return result;
@@ -313,14 +311,15 @@ public class WSServletDelegate {
             return defaultLocalizer;
         }
 
-        synchronized (localizerMap) {
-            Localizer localizer = localizerMap.get(locale);
-            if (localizer == null) {
-                localizer = new Localizer(locale);
-                localizerMap.put(locale, localizer);
+        Localizer localizer = localizerMap.get(locale);
+        if (localizer == null) {
+            localizer = new Localizer(locale);
+            Localizer existing = localizerMap.putIfAbsent(locale, localizer);
+            if (existing != null) {
+                localizer = existing;
             }
-            return localizer;
         }
+        return localizer;
     }
 
     private static final Localizer defaultLocalizer = new Localizer();
@@ -0,0 +1,367 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012-2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.transport.http.servlet;
+
+import junit.framework.TestCase;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reading and writing of {@link NonBlockingServletConnection} through
+ * the Servlet 3.1 listeners.
+ */
+public class NonBlockingServletConnectionTest extends TestCase {
+
+    public void testReadRequest() throws IOException {
+        byte[] body = bytes(20000);
+        FakeInputStream in = new FakeInputStream(body, 8000);
+        FakeResponse response = new FakeResponse();
+        NonBlockingServletConnection connection = connection(in, body.length, response, 1024 * 1024);
+        Listener listener = new Listener();
+
+        connection.readRequest(listener);
+        in.deliver();
+
+        assertEquals(1, listener.read);
+        assertNull(listener.error);
+        assertTrue(Arrays.equals(body, readAll(connection.getInput())));
+    }
+
+    public void testRequestTooLargeByContentLength() throws IOException {
+        FakeInputStream in = new FakeInputStream(bytes(2000), 8000);
+        FakeResponse response = new FakeResponse();
+        NonBlockingServletConnection connection = connection(in, 2000, response, 1000);
+        Listener listener = new Listener();
+
+        connection.readRequest(listener);
+
+        assertNull(in.listener);
+        assertEquals(0, listener.read);
+        assertNotNull(listener.error);
+        assertEquals(NonBlockingServletConnection.SC_REQUEST_ENTITY_TOO_LARGE, response.status);
+    }
+
+    public void testRequestTooLargeWhileReading() throws IOException {
+        FakeInputStream in = new FakeInputStream(bytes(20000), 4000);
+        FakeResponse response = new FakeResponse();
+        NonBlockingServletConnection connection = connection(in, -1, response, 10000);
+        Listener listener = new Listener();
+
+        connection.readRequest(listener);
+        in.deliver();
+
+        assertEquals(0, listener.read);
+        assertEquals(1, listener.errors);
+        assertEquals(NonBlockingServletConnection.SC_REQUEST_ENTITY_TOO_LARGE, response.status);
+        assertTrue(in.offset <= 12000);
+    }
+
+    public void testFailureWhileProcessingIsReported() throws IOException {
+        byte[] body = bytes(100);
+        FakeInputStream in = new FakeInputStream(body, 8000);
+        NonBlockingServletConnection connection = connection(in, body.length, new FakeResponse(), 1000);
+        final IOException failure = new IOException("failed");
+        Listener listener = new Listener() {
+            @Override
+            public void onRequestRead() throws IOException {
+                super.onRequestRead();
+                throw failure;
+            }
+        };
+
+        connection.readRequest(listener);
+        in.deliver();
+
+        assertEquals(1, listener.read);
+        assertSame(failure, listener.error);
+    }
+
+    public void testWriteResponse() throws IOException {
+        byte[] body = bytes(20000);
+        FakeResponse response = new FakeResponse();
+        NonBlockingServletConnection connection = connection(new FakeInputStream(new byte[0], 1), 0, response, 1024 * 1024);
+        OutputStream out = connection.getOutput();
+        out.write(body);
+        out.close();
+        assertEquals(0, response.out.data.size());
+
+        Done done = new Done();
+        connection.writeResponse(done);
+        assertNotNull(response.out.listener);
+        // the client takes one chunk at a time
+        for (int i = 0; i < 10 && !done.done; i++) {
+            response.out.ready = true;
+            response.out.listener.onWritePossible();
+        }
+
+        assertTrue(done.done);
+        assertEquals(body.length, response.contentLength);
+        assertTrue(Arrays.equals(body, response.out.data.toByteArray()));
+    }
+
+    public void testLargeResponseIsWrittenWithBlockingIO() throws IOException {
+        byte[] body = bytes(5000);
+        FakeResponse response = new FakeResponse();
+        NonBlockingServletConnection connection = connection(new FakeInputStream(new byte[0], 1), 0, response, 1000);
+        OutputStream out = connection.getOutput();
+        out.write(body, 0, 800);
+        assertEquals(0, response.out.data.size());
+        out.write(body, 800, body.length - 800);
+        out.close();
+
+        Done done = new Done();
+        connection.writeResponse(done);
+
+        assertTrue(done.done);
+        assertNull(response.out.listener);
+        assertEquals(-1, response.contentLength);
+        assertTrue(Arrays.equals(body, response.out.data.toByteArray()));
+    }
+
+    private static NonBlockingServletConnection connection(FakeInputStream in, long contentLength,
+                                                           FakeResponse response, int maxBodySize) {
+        return new NonBlockingServletConnection(null, null, request(in, contentLength),
+                response.proxy(), maxBodySize);
+    }
+
+    private static byte[] bytes(int size) {
+        byte[] b = new byte[size];
+        for (int i = 0; i < size; i++) {
+            b[i] = (byte) i;
+        }
+        return b;
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buf = new byte[1024];
+        int len;
+        while ((len = in.read(buf)) != -1) {
+            out.write(buf, 0, len);
+        }
+        return out.toByteArray();
+    }
+
+    private static HttpServletRequest request(final FakeInputStream in, final long contentLength) {
+        return (HttpServletRequest) Proxy.newProxyInstance(HttpServletRequest.class.getClassLoader(),
+                new Class[]{HttpServletRequest.class}, new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        String name = method.getName();
+                        if (name.equals("getInputStream")) {
+                            return in;
+                        } else if (name.equals("getContentLengthLong")) {
+                            return contentLength;
+                        } else if (name.equals("getRequestURI")) {
+                            return "/echo";
+                        }
+                        throw new UnsupportedOperationException(name);
+                    }
+                });
+    }
+
+    static class Listener implements NonBlockingServletConnection.RequestListener {
+        int read;
+        int errors;
+        Throwable error;
+
+        public void onRequestRead() throws IOException {
+            read++;
+        }
+
+        public void onError(Throwable t) {
+            errors++;
+            error = t;
+        }
+    }
+
+    static class Done implements Runnable {
+        boolean done;
+
+        public void run() {
+            assertFalse("completed twice", done);
+            done = true;
+        }
+    }
+
+    /**
+     * Makes a chunk of the body available at a time, the way a container
+     * notifies the {@link ReadListener} as data arrives.
+     */
+    static class FakeInputStream extends ServletInputStream {
+        private final byte[] data;
+        private final int chunkSize;
+        int offset;
+        private int available;
+        ReadListener listener;
+
+        FakeInputStream(byte[] data, int chunkSize) {
+            this.data = data;
+            this.chunkSize = chunkSize;
+        }
+
+        /**
+         * Delivers the body chunk by chunk, then notifies the end of it.
+         */
+        void deliver() throws IOException {
+            while (offset < data.length) {
+                if (available == 0) {
+                    available = Math.min(chunkSize, data.length - offset);
+                }
+                int before = offset;
+                listener.onDataAvailable();
+                if (offset == before) {
+                    // the listener stopped reading
+                    return;
+                }
+            }
+            listener.onAllDataRead();
+        }
+
+        public boolean isFinished() {
+            return offset == data.length;
+        }
+
+        public boolean isReady() {
+            return available > 0 || isFinished();
+        }
+
+        public void setReadListener(ReadListener readListener) {
+            this.listener = readListener;
+        }
+
+        @Override
+        public int read() {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (isFinished()) {
+                return -1;
+            }
+            int n = Math.min(len, available);
+            System.arraycopy(data, offset, b, off, n);
+            offset += n;
+            available -= n;
+            return n;
+        }
+    }
+
+    /**
+     * Takes one write at a time, like a slow client.
+     */
+    static class FakeOutputStream extends ServletOutputStream {
+        final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        boolean ready = true;
+        WriteListener listener;
+
+        public boolean isReady() {
+            return ready;
+        }
+
+        public void setWriteListener(WriteListener writeListener) {
+            this.listener = writeListener;
+            ready = false;
+        }
+
+        @Override
+        public void write(int b) {
+            data.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            data.write(b, off, len);
+            if (listener != null) {
+                ready = false;
+            }
+        }
+    }
+
+    static class FakeResponse {
+        final FakeOutputStream out = new FakeOutputStream();
+        final List<String> headers = new ArrayList<String>();
+        int status = 200;
+        int contentLength = -1;
+
+        HttpServletResponse proxy() {
+            return (HttpServletResponse) Proxy.newProxyInstance(HttpServletResponse.class.getClassLoader(),
+                    new Class[]{HttpServletResponse.class}, new InvocationHandler() {
+                        public Object invoke(Object proxy, Method method, Object[] args) {
+                            String name = method.getName();
+                            if (name.equals("setStatus")) {
+                                status = (Integer) args[0];
+                                return null;
+                            } else if (name.equals("getStatus")) {
+                                return status;
+                            } else if (name.equals("isCommitted")) {
+                                return false;
+                            } else if (name.equals("setContentLength")) {
+                                contentLength = (Integer) args[0];
+                                return null;
+                            } else if (name.equals("addHeader")) {
+                                headers.add(args[0] + ": " + args[1]);
+                                return null;
+                            } else if (name.equals("getOutputStream")) {
+                                return out;
+                            }
+                            throw new UnsupportedOperationException(name);
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.transport.http.servlet;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Checks that {@link PathPatternRouter} picks the same endpoint as trying
+ * the path URL patterns one after the other in registration order.
+ */
+public class PathPatternRouterTest extends TestCase {
+
+    public void testExactPath() {
+        PathPatternRouter<String> router = new PathPatternRouter<String>();
+        router.add("/echo", "echo");
+        assertEquals("echo", router.match("/echo"));
+    }
+
+    public void testPrefix() {
+        PathPatternRouter<String> router = new PathPatternRouter<String>();
+        router.add("/echo", "echo");
+        assertEquals("echo", router.match("/echo/"));
+        assertEquals("echo", router.match("/echo/sub/path"));
+        assertEquals("echo", router.match("/echo?wsdl"));
+        // only whole path segments match
+        assertNull(router.match("/echoes"));
+        assertNull(router.match("/ech"));
+    }
+
+    public void testExtension() {
+        PathPatternRouter<String> router = new PathPatternRouter<String>();
+        router.add("/echo", "echo");
+        assertNull(router.match("/echo.wsdl"));
+        assertEquals("echo", router.match("/echo/schema.xsd"));
+    }
+
+    public void testRootPattern() {
+        // url pattern "/*"
+        PathPatternRouter<String> router = new PathPatternRouter<String>();
+        router.add("", "all");
+        assertEquals("all", router.match(""));
+        assertEquals("all", router.match("/"));
+        assertEquals("all", router.match("/anything/else"));
+    }
+
+    public void testRegistrationOrder() {
+        PathPatternRouter<String> router = new PathPatternRouter<String>();
+        router.add("/a/b", "ab");
+        router.add("/a", "a");
+        assertEquals("ab", router.match("/a/b/c"));
+        assertEquals("a", router.match("/a/c"));
+
+        // the shorter prefix added first wins, even for the longer path
+        router = new PathPatternRouter<String>();
+        router.add("/a", "a");
+        router.add("/a/b", "ab");
+        assertEquals("a", router.match("/a/b/c"));
+    }
+
+    public void testDuplicateKeepsFirst() {
+        PathPatternRouter<String> router = new PathPatternRouter<String>();
+        assertTrue(router.add("/echo", "first"));
+        assertFalse(router.add("/echo", "second"));
+        assertEquals("first", router.match("/echo"));
+    }
+
+    public void testNoMatch() {
+        PathPatternRouter<String> router = new PathPatternRouter<String>();
+        assertNull(router.match("/echo"));
+        router.add("/echo", "echo");
+        router.add("/hello/world", "hello");
+        assertNull(router.match(""));
+        assertNull(router.match("/"));
+        assertNull(router.match("/hello"));
+        assertNull(router.match("/other/echo"));
+    }
+
+    public void testSameAsLinearScan() {
+        List<String> prefixes = Arrays.asList("/svc/a/b", "/svc", "/svc/a", "/x", "/x/y/z", "/xy", "/svc/ab");
+        PathPatternRouter<String> router = new PathPatternRouter<String>();
+        for (String prefix : prefixes) {
+            router.add(prefix, prefix);
+        }
+        List<String> paths = new ArrayList<String>(Arrays.asList(
+                "", "/", "/s", "/svc", "/svc/", "/svc?wsdl", "/svcs", "/svc/a", "/svc/a/", "/svc/ab",
+                "/svc/abc", "/svc/a/b", "/svc/a/b?x", "/svc/a/bc", "/x", "/x/", "/xy", "/xyz", "/x/y",
+                "/x/y/z", "/x/y/z/w", "/y"));
+        for (String path : paths) {
+            assertEquals(path, linearScan(prefixes, path), router.match(path));
+        }
+    }
+
+    /**
+     * How {@link WSServletDelegate} found the endpoint before it had a router.
+     */
+    private static String linearScan(List<String> prefixes, String path) {
+        for (String noSlashStar : prefixes) {
+            if (path.equals(noSlashStar) || path.startsWith(noSlashStar + "/") || path.startsWith(noSlashStar + "?")) {
+                return noSlashStar;
+            }
+        }
+        return null;
+    }
+}
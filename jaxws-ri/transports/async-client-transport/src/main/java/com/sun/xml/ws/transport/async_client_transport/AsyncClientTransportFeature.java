@@ -50,15 +50,40 @@ public class AsyncClientTransportFeature extends WebServiceFeature{
      * Constant value identifying the NonAnonymousFeature
      */
     public static final String ID = "http://java.sun.com/xml/ns/jaxws/async/client/transport";
+
+    /**
+     * Milliseconds to wait for a non-anonymous response before failing the
+     * request, unless specified otherwise. 0 means wait forever. Can be set
+     * with the {@code com.sun.xml.ws.transport.async_client_transport.AsyncClientTransportFeature.responseTimeout}
+     * system property, defaults to 5 minutes.
+     */
+    public static final long DEFAULT_RESPONSE_TIMEOUT = Long.getLong(
+            AsyncClientTransportFeature.class.getName() + ".responseTimeout", 5 * 60 * 1000L);
+
     private NonAnonymousResponsesReceiver receiver;
     private String nonanonAddress;
+    private final long responseTimeout;
+    private final NonAnonymousResponseStatistics statistics = new NonAnonymousResponseStatistics();
 
     public AsyncClientTransportFeature() {
         this(null,null);
     }
     public AsyncClientTransportFeature(String nonanonAddress, NonAnonymousResponsesReceiver receiver) {
+        this(nonanonAddress, receiver, DEFAULT_RESPONSE_TIMEOUT);
+    }
+
+    /**
+     * @param responseTimeout
+     *      milliseconds to wait for a non-anonymous response before failing
+     *      the request, 0 to wait forever.
+     */
+    public AsyncClientTransportFeature(String nonanonAddress, NonAnonymousResponsesReceiver receiver, long responseTimeout) {
+        if (responseTimeout < 0) {
+            throw new IllegalArgumentException("responseTimeout must not be negative: " + responseTimeout);
+        }
         this.receiver = receiver;
         this.nonanonAddress = nonanonAddress;
+        this.responseTimeout = responseTimeout;
     }
 
     public NonAnonymousResponsesReceiver getReceiver() {
@@ -77,4 +102,18 @@ public class AsyncClientTransportFeature extends WebServiceFeature{
         return nonanonAddress;
     }
 
+    /**
+     * Milliseconds to wait for a non-anonymous response, 0 if forever.
+     */
+    public long getResponseTimeout() {
+        return responseTimeout;
+    }
+
+    /**
+     * Correlation metrics of all the ports configured with this feature.
+     */
+    public NonAnonymousResponseStatistics getStatistics() {
+        return statistics;
+    }
+
 }
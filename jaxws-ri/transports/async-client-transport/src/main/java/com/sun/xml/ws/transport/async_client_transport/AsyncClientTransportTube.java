@@ -58,7 +58,6 @@ import com.sun.xml.ws.binding.BindingImpl;
 import com.sun.istack.NotNull;
 
 import javax.xml.stream.XMLStreamWriter;
-import java.util.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -88,7 +87,8 @@ public class AsyncClientTransportTube extends AbstractFilterTubeImpl {
                 responseReceiver = nonanonftr.getReceiver();
             }
         }
-        nonAnonHandler = new RINonAnonymousResponseHandler();
+        nonAnonHandler = new RINonAnonymousResponseHandler(new NonAnonymousResponseRegistry<Message>(
+                nonanonftr.getResponseTimeout(), nonanonftr.getStatistics()));
         responseReceiver.register(nonAnonHandler);
         requestSender = new RequestSender(toString(), next);
         nonAnonymousEPR = new WSEndpointReference(responseReceiver.getAddress(), binding.getAddressingVersion());
@@ -187,9 +187,14 @@ public class AsyncClientTransportTube extends AbstractFilterTubeImpl {
 
         }
 
+        /**
+         * Runs on the thread of the response receiver. Resuming the fiber
+         * hands the rest of the response processing over to the executor of
+         * the fiber's {@link Engine}, rather than to a thread of its own.
+         */
         @Override
         public void onReceive(@NotNull Message msg) {
-            LOGGER.log(Level.INFO, "Client being resumed for processing message with id{0}", getRelatesTo(msg));
+            LOGGER.log(Level.FINE, "Client being resumed for processing message with id{0}", getRelatesTo(msg));
             try {
                 if (dump) {
                     System.out.println("Received message: ");
@@ -202,6 +207,7 @@ public class AsyncClientTransportTube extends AbstractFilterTubeImpl {
                 }
             } catch (Exception e) {
                 onError(e);
+                return;
             }
             Packet reply = request.createClientResponse(msg);
             fiber.resume(reply);
@@ -215,19 +221,26 @@ public class AsyncClientTransportTube extends AbstractFilterTubeImpl {
     }
 
     class RINonAnonymousResponseHandler implements NonAnonymousResponseHandler<Message> {
-        Map<String, NonAnonymousResponseHandler> waiting = Collections.synchronizedMap(
-                new HashMap<String, NonAnonymousResponseHandler>());
+        final NonAnonymousResponseRegistry<Message> waiting;
 
-        public void addNonAnonymousResponseHandler(String msgId, NonAnonymousResponseHandler handler) {
-            waiting.put(msgId, handler);
+        RINonAnonymousResponseHandler(NonAnonymousResponseRegistry<Message> waiting) {
+            this.waiting = waiting;
         }
 
-        public NonAnonymousResponseHandler remove(String msgId) {
+        public void addNonAnonymousResponseHandler(String msgId, NonAnonymousResponseHandler<Message> handler) {
+            waiting.add(msgId, handler);
+        }
+
+        public NonAnonymousResponseHandler<Message> match(String msgId) {
+            return waiting.match(msgId);
+        }
+
+        public NonAnonymousResponseHandler<Message> remove(String msgId) {
             return waiting.remove(msgId);
         }
 
         public void cleanUp() {
-            waiting.clear();
+            waiting.cleanUp();
         }
 
         @Override
@@ -235,21 +248,11 @@ public class AsyncClientTransportTube extends AbstractFilterTubeImpl {
             String msgId = getRelatesTo(response);
             LOGGER.log(Level.FINE, "Received message with id{0}", msgId);
             if (msgId != null) {
-                final NonAnonymousResponseHandler handler = waiting.remove(msgId);
+                final NonAnonymousResponseHandler<Message> handler = waiting.match(msgId);
                 if (handler == null) {
                     LOGGER.log(Level.WARNING, "Received unexpected message with realtesTo id = {0}", msgId);
                 } else {
                     handler.onReceive(response);
-                    /*
-                    Thread clientResponseHandlerThread = new Thread(new Runnable() {
-
-                        public void run() {
-                            handler.onReceive(response);
-                        }
-                    }, "Client ResponseHadler Thread for handling response for message id" + msgId);
-
-                    clientResponseHandlerThread.start();
-                    */
                 }
             } else {
                 LOGGER.warning("Received unexpected message - cannot find key");
@@ -282,7 +285,7 @@ public class AsyncClientTransportTube extends AbstractFilterTubeImpl {
                     if (!msgId.equals(relatesToId)) {
                         LOGGER.log(Level.WARNING, "Received unexpected message for id = {0}with id = {1}", new Object[]{msgId, getMessageId(responseMessage)});
                     }
-                    NonAnonymousResponseHandler responseHandler = nonAnonResponseTracker.remove(msgId);
+                    NonAnonymousResponseHandler<Message> responseHandler = nonAnonResponseTracker.match(msgId);
                     if (responseHandler != null) {
                         responseHandler.onReceive(responseMessage);
                     }
@@ -295,7 +298,7 @@ public class AsyncClientTransportTube extends AbstractFilterTubeImpl {
         public void onCompletion(@NotNull Throwable error) {
             LOGGER.log(Level.WARNING, "Received unexpected error for request with id = {0}", msgId);
 
-            NonAnonymousResponseHandler responseHandler = nonAnonResponseTracker.remove(msgId);
+            NonAnonymousResponseHandler<Message> responseHandler = nonAnonResponseTracker.remove(msgId);
             if (responseHandler != null) {
                 responseHandler.onError(error);
             }
@@ -0,0 +1,204 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.transport.async_client_transport;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.xml.ws.WebServiceException;
+
+/**
+ * Correlates outstanding requests with the non-anonymous responses relating
+ * to them.
+ *
+ * <p>
+ * Lookups don't contend on a global lock. Requests whose response doesn't
+ * arrive within the configured timeout are expired by a periodic sweep and
+ * their handler is failed, so that the waiting fiber doesn't hang forever.
+ *
+ * @param <T> response type
+ */
+final class NonAnonymousResponseRegistry<T> {
+
+    /**
+     * Shared by all registries, the sweep is cheap.
+     * Lazily created.
+     */
+    private static Timer timer;
+
+    private final ConcurrentHashMap<String, Waiter<T>> waiting = new ConcurrentHashMap<String, Waiter<T>>();
+    private final NonAnonymousResponseStatistics statistics;
+    private final long timeoutNanos;
+    private final TimerTask sweeper;
+
+    /**
+     * @param timeout
+     *      milliseconds to wait for a response, 0 to wait forever.
+     */
+    NonAnonymousResponseRegistry(long timeout, NonAnonymousResponseStatistics statistics) {
+        this.statistics = statistics;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeout);
+        if (timeout > 0) {
+            sweeper = new TimerTask() {
+                @Override
+                public void run() {
+                    expire(System.nanoTime());
+                }
+            };
+            long period = Math.max(1000L, timeout / 2);
+            getTimer().schedule(sweeper, period, period);
+        } else {
+            sweeper = null;
+        }
+    }
+
+    private static synchronized Timer getTimer() {
+        if (timer == null) {
+            timer = new Timer("jaxws-async-client-transport-expiry", true);
+        }
+        return timer;
+    }
+
+    /**
+     * Registers the handler waiting for the response to the given request.
+     *
+     * @throws WebServiceException
+     *      if a request with the same message id is still waiting for its
+     *      response. That request keeps its handler.
+     */
+    void add(String msgId, NonAnonymousResponseHandler<T> handler) {
+        if (waiting.putIfAbsent(msgId, new Waiter<T>(handler, System.nanoTime())) != null) {
+            throw new WebServiceException("Duplicate message id " + msgId
+                    + ", a request with this id is still waiting for its response");
+        }
+        statistics.registered();
+    }
+
+    /**
+     * Removes the handler waiting for a response that was received for the
+     * given request, recording the delivery latency, or recording the
+     * response as unmatched if nobody waits for it.
+     *
+     * @return null if nobody is waiting for the response.
+     */
+    NonAnonymousResponseHandler<T> match(String msgId) {
+        Waiter<T> w = waiting.remove(msgId);
+        if (w == null) {
+            statistics.unmatched();
+            return null;
+        }
+        statistics.delivered(System.nanoTime() - w.registered);
+        return w.handler;
+    }
+
+    /**
+     * Removes the handler waiting for the response to the given request,
+     * when the request failed and no response is going to be delivered.
+     *
+     * @return null if nobody is waiting for the response.
+     */
+    NonAnonymousResponseHandler<T> remove(String msgId) {
+        Waiter<T> w = waiting.remove(msgId);
+        if (w == null) {
+            return null;
+        }
+        statistics.discarded();
+        return w.handler;
+    }
+
+    int size() {
+        return waiting.size();
+    }
+
+    /**
+     * Fails the handlers that waited longer than the timeout.
+     */
+    void expire(long now) {
+        for (Iterator<Map.Entry<String, Waiter<T>>> it = waiting.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<String, Waiter<T>> e = it.next();
+            Waiter<T> w = e.getValue();
+            // remove(key, value) so that a concurrent delivery wins or loses cleanly
+            if (now - w.registered > timeoutNanos && waiting.remove(e.getKey(), w)) {
+                statistics.expired();
+                LOGGER.log(Level.FINE, "No response received for message id {0}, expiring", e.getKey());
+                try {
+                    w.handler.onError(new WebServiceException(
+                            "No response received for message id " + e.getKey() + " within "
+                            + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + " ms"));
+                } catch (Throwable t) {
+                    LOGGER.log(Level.WARNING, "Handler for message id " + e.getKey() + " failed", t);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops the expiry sweep and forgets all outstanding requests.
+     */
+    void cleanUp() {
+        if (sweeper != null) {
+            sweeper.cancel();
+            getTimer().purge();
+        }
+        for (Iterator<Waiter<T>> it = waiting.values().iterator(); it.hasNext();) {
+            it.next();
+            it.remove();
+            statistics.discarded();
+        }
+    }
+
+    private static final class Waiter<T> {
+        final NonAnonymousResponseHandler<T> handler;
+        final long registered;
+
+        Waiter(NonAnonymousResponseHandler<T> handler, long registered) {
+            this.handler = handler;
+            this.registered = registered;
+        }
+    }
+
+    private static final Logger LOGGER = Logger.getLogger(NonAnonymousResponseRegistry.class.getName());
+}
@@ -0,0 +1,146 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.transport.async_client_transport;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Correlation metrics of the non-anonymous responses awaited by the ports
+ * configured with one {@link AsyncClientTransportFeature}.
+ *
+ * <p>
+ * The delivery latency is measured from the time the request is sent until
+ * the response correlated to it is handed back to the waiting fiber.
+ *
+ * @see AsyncClientTransportFeature#getStatistics()
+ */
+public final class NonAnonymousResponseStatistics {
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong unmatched = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong();
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    /**
+     * Number of requests still waiting for their response.
+     */
+    public int getOutstandingResponses() {
+        return outstanding.get();
+    }
+
+    /**
+     * Number of responses delivered to the waiting fiber.
+     */
+    public long getDeliveredResponses() {
+        return delivered.get();
+    }
+
+    /**
+     * Number of requests failed because no response arrived within
+     * {@link AsyncClientTransportFeature#getResponseTimeout()}.
+     */
+    public long getExpiredResponses() {
+        return expired.get();
+    }
+
+    /**
+     * Number of received responses that did not relate to any waiting request,
+     * for example because the request had already expired.
+     */
+    public long getUnmatchedResponses() {
+        return unmatched.get();
+    }
+
+    /**
+     * Average delivery latency in milliseconds.
+     */
+    public long getAverageDeliveryLatency() {
+        long count = delivered.get();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalLatency.get() / count);
+    }
+
+    /**
+     * Maximum delivery latency in milliseconds.
+     */
+    public long getMaxDeliveryLatency() {
+        return TimeUnit.NANOSECONDS.toMillis(maxLatency.get());
+    }
+
+    void registered() {
+        outstanding.incrementAndGet();
+    }
+
+    void delivered(long latencyNanos) {
+        outstanding.decrementAndGet();
+        delivered.incrementAndGet();
+        totalLatency.addAndGet(latencyNanos);
+        long max;
+        do {
+            max = maxLatency.get();
+        } while (latencyNanos > max && !maxLatency.compareAndSet(max, latencyNanos));
+    }
+
+    void expired() {
+        outstanding.decrementAndGet();
+        expired.incrementAndGet();
+    }
+
+    void discarded() {
+        outstanding.decrementAndGet();
+    }
+
+    void unmatched() {
+        unmatched.incrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        return "NonAnonymousResponseStatistics[outstanding=" + getOutstandingResponses()
+                + ", delivered=" + getDeliveredResponses()
+                + ", expired=" + getExpiredResponses()
+                + ", unmatched=" + getUnmatchedResponses()
+                + ", averageLatency=" + getAverageDeliveryLatency()
+                + "ms, maxLatency=" + getMaxDeliveryLatency() + "ms]";
+    }
+}
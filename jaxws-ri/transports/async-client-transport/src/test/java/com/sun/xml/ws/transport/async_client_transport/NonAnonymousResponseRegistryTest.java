@@ -0,0 +1,165 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012-2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.transport.async_client_transport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.ws.WebServiceException;
+
+import junit.framework.TestCase;
+
+public class NonAnonymousResponseRegistryTest extends TestCase {
+
+    private final NonAnonymousResponseStatistics statistics = new NonAnonymousResponseStatistics();
+    private NonAnonymousResponseRegistry<String> registry;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        registry = new NonAnonymousResponseRegistry<String>(60000, statistics);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        registry.cleanUp();
+        super.tearDown();
+    }
+
+    public void testRegister() {
+        registry.add("uuid:1", new RecordingHandler());
+        registry.add("uuid:2", new RecordingHandler());
+        assertEquals(2, registry.size());
+        assertEquals(2, statistics.getOutstandingResponses());
+    }
+
+    public void testDuplicateMessageId() {
+        RecordingHandler first = new RecordingHandler();
+        registry.add("uuid:1", first);
+        try {
+            registry.add("uuid:1", new RecordingHandler());
+            fail("duplicate message id accepted");
+        } catch (WebServiceException e) {
+            // expected
+        }
+        assertEquals(1, statistics.getOutstandingResponses());
+        assertTrue(first.errors.isEmpty());
+
+        // the first request still receives its response, and can expire
+        assertSame(first, registry.match("uuid:1"));
+        registry.add("uuid:1", first);
+        registry.expire(System.nanoTime() + TimeUnit.MINUTES.toNanos(2));
+        assertEquals(1, first.errors.size());
+    }
+
+    public void testMatch() {
+        RecordingHandler handler = new RecordingHandler();
+        registry.add("uuid:1", handler);
+        assertSame(handler, registry.match("uuid:1"));
+        assertEquals(0, registry.size());
+        assertEquals(0, statistics.getOutstandingResponses());
+        assertEquals(1, statistics.getDeliveredResponses());
+        assertEquals(0, statistics.getUnmatchedResponses());
+    }
+
+    public void testMiss() {
+        registry.add("uuid:1", new RecordingHandler());
+        assertNull(registry.match("uuid:2"));
+        assertEquals(1, statistics.getUnmatchedResponses());
+        assertEquals(1, statistics.getOutstandingResponses());
+
+        // a response arriving after the first one was delivered
+        registry.match("uuid:1");
+        assertNull(registry.match("uuid:1"));
+        assertEquals(2, statistics.getUnmatchedResponses());
+        assertEquals(1, statistics.getDeliveredResponses());
+    }
+
+    public void testRemoveIsNotAMiss() {
+        RecordingHandler handler = new RecordingHandler();
+        registry.add("uuid:1", handler);
+        assertSame(handler, registry.remove("uuid:1"));
+        // the error path of a request that never registered, or was already removed
+        assertNull(registry.remove("uuid:1"));
+        assertNull(registry.remove("uuid:2"));
+        assertEquals(0, statistics.getUnmatchedResponses());
+        assertEquals(0, statistics.getDeliveredResponses());
+        assertEquals(0, statistics.getOutstandingResponses());
+    }
+
+    public void testTimeoutExpiry() {
+        RecordingHandler late = new RecordingHandler();
+        registry.add("uuid:1", late);
+        registry.expire(System.nanoTime());
+        assertEquals(1, registry.size());
+        assertTrue(late.errors.isEmpty());
+
+        registry.expire(System.nanoTime() + TimeUnit.MINUTES.toNanos(2));
+        assertEquals(0, registry.size());
+        assertEquals(1, statistics.getExpiredResponses());
+        assertEquals(0, statistics.getOutstandingResponses());
+        assertEquals(1, late.errors.size());
+        assertTrue(late.errors.get(0) instanceof WebServiceException);
+
+        // the response finally arrives
+        assertNull(registry.match("uuid:1"));
+        assertEquals(1, statistics.getUnmatchedResponses());
+    }
+
+    public void testCleanUp() {
+        registry.add("uuid:1", new RecordingHandler());
+        registry.cleanUp();
+        assertEquals(0, registry.size());
+        assertEquals(0, statistics.getOutstandingResponses());
+    }
+
+    private static final class RecordingHandler implements NonAnonymousResponseHandler<String> {
+        final List<Throwable> errors = new ArrayList<Throwable>();
+
+        public void onReceive(String response) {
+        }
+
+        public void onError(Throwable t) {
+            errors.add(t);
+        }
+    }
+}
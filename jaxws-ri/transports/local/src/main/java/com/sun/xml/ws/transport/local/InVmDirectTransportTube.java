@@ -0,0 +1,221 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 1997-2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.transport.local;
+
+import com.sun.istack.NotNull;
+import com.sun.xml.ws.api.SOAPVersion;
+import com.sun.xml.ws.api.message.Message;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.pipe.NextAction;
+import com.sun.xml.ws.api.pipe.Tube;
+import com.sun.xml.ws.api.pipe.TubeCloner;
+import com.sun.xml.ws.api.pipe.helper.AbstractTubeImpl;
+import com.sun.xml.ws.api.server.TransportBackChannel;
+import com.sun.xml.ws.api.server.WSEndpoint;
+import com.sun.xml.ws.transport.http.HttpAdapter;
+import com.sun.xml.ws.transport.http.WSHTTPConnection;
+import com.sun.xml.ws.util.Pool;
+
+import javax.xml.ws.handler.MessageContext;
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transport {@link Tube} that hands the request {@link Message} itself to an
+ * endpoint running in the same VM, without encoding it to bytes and parsing it again.
+ *
+ * <p>
+ * The endpoint gets a {@link Message#copy() copy} of the request, so the
+ * client and the server never work on the same message. Payloads still go
+ * through their infoset when the other side reads them as JAXB objects,
+ * so the two sides don't share objects either.
+ *
+ * <p>
+ * Everything else is set up the way {@link HttpAdapter} would do it for a
+ * request received over HTTP, so that handlers and WS-Addressing processing
+ * see the same request: the transport headers, the SOAPAction, the
+ * {@link com.sun.xml.ws.api.server.WebServiceContextDelegate} and the back channel
+ * for one-way and non-anonymous responses.
+ */
+final class InVmDirectTransportTube extends AbstractTubeImpl {
+
+    private final WSEndpoint<?> endpoint;
+
+    /**
+     * The address of the endpoint deployed in this tube.
+     */
+    private final URI baseURI;
+
+    /**
+     * {@link WSEndpoint.PipeHead}s of the endpoint, shared by this tube and its copies.
+     * A head clones the whole server tubeline, so they are only created when
+     * more requests run at the same time than there are idle heads, as
+     * {@link HttpAdapter} does with its toolkits.
+     */
+    private final Pool<WSEndpoint.PipeHead> heads;
+
+    InVmDirectTransportTube(URI baseURI, final WSEndpoint<?> endpoint) {
+        this.baseURI = baseURI;
+        this.endpoint = endpoint;
+        this.heads = new Pool<WSEndpoint.PipeHead>() {
+            protected WSEndpoint.PipeHead create() {
+                return endpoint.createPipeHead();
+            }
+        };
+    }
+
+    /**
+     * Copy constructor for {@link Tube#copy(TubeCloner)}.
+     */
+    private InVmDirectTransportTube(InVmDirectTransportTube that, TubeCloner cloner) {
+        this.baseURI = that.baseURI;
+        this.endpoint = that.endpoint;
+        this.heads = that.heads;
+        cloner.add(that, this);
+    }
+
+    public Packet process(Packet request) {
+        SOAPVersion soapVersion = endpoint.getBinding().getSOAPVersion();
+
+        Map<String, List<String>> reqHeaders = new HashMap<String, List<String>>();
+        Map<String, List<String>> rh = (Map<String, List<String>>) request.invocationProperties.get(MessageContext.HTTP_REQUEST_HEADERS);
+        if (rh != null) {
+            reqHeaders.putAll(rh);
+        }
+        // the headers the codec and HttpTransportPipe would have sent
+        String soapAction = request.soapAction;
+        if (soapVersion == SOAPVersion.SOAP_11 || soapAction != null) {
+            soapAction = quote(soapAction);
+        }
+        if (soapVersion == SOAPVersion.SOAP_11) {
+            reqHeaders.put("Content-Type", Collections.singletonList(soapVersion.contentType));
+            reqHeaders.put("SOAPAction", Collections.singletonList(soapAction));
+        } else {
+            reqHeaders.put("Content-Type", Collections.singletonList(
+                    (soapAction == null) ? soapVersion.contentType : soapVersion.contentType + ";action=" + soapAction));
+        }
+        LocalConnectionImpl con = new LocalConnectionImpl(baseURI, reqHeaders);
+
+        Packet serverRequest = new Packet(request.getMessage().copy());
+        serverRequest.soapAction = soapAction;
+        serverRequest.wasTransportSecure = con.isSecure();
+        serverRequest.acceptableMimeTypes = con.getRequestHeader("Accept");
+        serverRequest.addSatellite(con);
+        OneWay backChannel = new OneWay(con);
+        serverRequest.transportBackChannel = backChannel;
+        serverRequest.webServiceContextDelegate = con.getWebServiceContextDelegate();
+        serverRequest.setState(Packet.State.ServerRequest);
+
+        Packet serverResponse;
+        WSEndpoint.PipeHead head = heads.take();
+        try {
+            serverResponse = head.process(serverRequest, con.getWebServiceContextDelegate(), backChannel);
+        } finally {
+            heads.recycle(head);
+        }
+
+        if (backChannel.closed || serverResponse.getMessage() == null) {
+            return request.createClientResponse(null);    // one way. no response given.
+        }
+        // the server is done with the response, so its message can be handed over as is
+        return request.createClientResponse(serverResponse.getMessage());
+    }
+
+    /**
+     * Quotes the SOAPAction the way {@link com.sun.xml.ws.encoding.ContentTypeImpl} does
+     * for the HTTP header, as {@link Packet#soapAction} is quoted on the server side.
+     */
+    private static String quote(String soapAction) {
+        if (soapAction == null || soapAction.length() == 0) {
+            return "\"\"";
+        } else if (soapAction.charAt(0) != '"' && soapAction.charAt(soapAction.length() - 1) != '"') {
+            return "\"" + soapAction + "\"";
+        } else {
+            return soapAction;
+        }
+    }
+
+    @NotNull
+    public NextAction processRequest(@NotNull Packet request) {
+        return doReturnWith(process(request));
+    }
+
+    @NotNull
+    public NextAction processResponse(@NotNull Packet response) {
+        throw new IllegalStateException("InVmDirectTransportTube's processResponse shouldn't be called.");
+    }
+
+    public @NotNull NextAction processException(@NotNull Throwable t) {
+        return doThrow(t);
+    }
+
+    public void preDestroy() {
+        // the pipe heads are shared with the other copies, and go away with the endpoint
+    }
+
+    public InVmDirectTransportTube copy(TubeCloner cloner) {
+        return new InVmDirectTransportTube(this, cloner);
+    }
+
+    /**
+     * Back channel that records that the endpoint sent no response on it.
+     */
+    private static final class OneWay implements TransportBackChannel {
+        private final LocalConnectionImpl con;
+        boolean closed;
+
+        OneWay(LocalConnectionImpl con) {
+            this.con = con;
+        }
+
+        public void close() {
+            if (!closed) {
+                closed = true;
+                if (con.getStatus() == 0) {
+                    con.setStatus(WSHTTPConnection.ONEWAY);
+                }
+            }
+        }
+    }
+}
@@ -62,5 +62,10 @@
  * application by using {@link com.sun.xml.ws.transport.local.InVmServer},
  * {@link com.sun.xml.ws.transport.local.InVmServer#getAddress() obtain its address}, configure the JAX-WS RI
  * with that endpoint, then use that to talk to the running service.
+ *
+ * <p>
+ * Replacing the "in-vm" scheme of the address with "in-vm-direct" skips
+ * encoding and decoding the messages altogether; the client and the service
+ * exchange {@link com.sun.xml.ws.api.message.Message} objects instead.
  */
 package com.sun.xml.ws.transport.local;
@@ -0,0 +1,292 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.xml.ws.transport.local;
+
+import com.sun.xml.ws.api.BindingID;
+import com.sun.xml.ws.api.SOAPVersion;
+import com.sun.xml.ws.api.WSBinding;
+import com.sun.xml.ws.api.message.Message;
+import com.sun.xml.ws.api.message.Messages;
+import com.sun.xml.ws.api.message.Packet;
+import com.sun.xml.ws.api.model.SEIModel;
+import com.sun.xml.ws.api.model.wsdl.WSDLPort;
+import com.sun.xml.ws.api.pipe.Codec;
+import com.sun.xml.ws.api.pipe.FiberContextSwitchInterceptor;
+import com.sun.xml.ws.api.pipe.ServerTubeAssemblerContext;
+import com.sun.xml.ws.api.pipe.ThrowableContainerPropertySet;
+import com.sun.xml.ws.api.pipe.TubeCloner;
+import com.sun.xml.ws.api.server.Container;
+import com.sun.xml.ws.api.server.EndpointComponent;
+import com.sun.xml.ws.api.server.ServiceDefinition;
+import com.sun.xml.ws.api.server.TransportBackChannel;
+import com.sun.xml.ws.api.server.WSEndpoint;
+import com.sun.xml.ws.api.server.WebServiceContextDelegate;
+import com.sun.xml.ws.binding.BindingImpl;
+import com.sun.xml.ws.policy.PolicyMap;
+import com.sun.xml.ws.transport.http.WSHTTPConnection;
+import com.sun.xml.ws.wsdl.OperationDispatcher;
+import junit.framework.TestCase;
+import org.glassfish.gmbal.ManagedObjectManager;
+import org.w3c.dom.Element;
+
+import javax.xml.namespace.QName;
+import javax.xml.ws.EndpointReference;
+import javax.xml.ws.handler.MessageContext;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * Checks that {@link InVmDirectTransportTube} sets up the server request the
+ * way {@link com.sun.xml.ws.transport.http.HttpAdapter} would for the same
+ * request received over HTTP.
+ */
+public class InVmDirectTransportTubeTest extends TestCase {
+
+    public void testSOAP11Headers() throws Exception {
+        StubEndpoint endpoint = new StubEndpoint(BindingID.SOAP11_HTTP);
+        Packet request = new Packet(Messages.createEmpty(SOAPVersion.SOAP_11));
+        request.soapAction = "urn:echo";
+        Packet response = createTube(endpoint).process(request);
+
+        Packet serverRequest = endpoint.requests.get(0);
+        assertEquals("\"urn:echo\"", serverRequest.soapAction);
+        assertEquals(Packet.State.ServerRequest, serverRequest.getState());
+        assertNotSame(request.getMessage(), serverRequest.getMessage());
+        assertNotNull(serverRequest.webServiceContextDelegate);
+        assertNotNull(serverRequest.transportBackChannel);
+        Map<String, List<String>> headers = serverRequest.getSatellite(LocalConnectionImpl.class).getRequestHeaders();
+        assertEquals(Collections.singletonList("\"urn:echo\""), headers.get("SOAPAction"));
+        assertEquals(Collections.singletonList(SOAPVersion.SOAP_11.contentType), headers.get("Content-Type"));
+
+        // the server's response message is handed over as is
+        assertSame(endpoint.responses.get(0), response.getMessage());
+    }
+
+    public void testSOAP11EmptyAction() throws Exception {
+        StubEndpoint endpoint = new StubEndpoint(BindingID.SOAP11_HTTP);
+        createTube(endpoint).process(new Packet(Messages.createEmpty(SOAPVersion.SOAP_11)));
+
+        Packet serverRequest = endpoint.requests.get(0);
+        assertEquals("\"\"", serverRequest.soapAction);
+        assertEquals(Collections.singletonList("\"\""),
+                serverRequest.getSatellite(LocalConnectionImpl.class).getRequestHeaders().get("SOAPAction"));
+    }
+
+    public void testSOAP12ActionInContentType() throws Exception {
+        StubEndpoint endpoint = new StubEndpoint(BindingID.SOAP12_HTTP);
+        InVmDirectTransportTube tube = createTube(endpoint);
+        Packet request = new Packet(Messages.createEmpty(SOAPVersion.SOAP_12));
+        request.soapAction = "urn:echo";
+        tube.process(request);
+        tube.process(new Packet(Messages.createEmpty(SOAPVersion.SOAP_12)));
+
+        Map<String, List<String>> headers = endpoint.requests.get(0).getSatellite(LocalConnectionImpl.class).getRequestHeaders();
+        assertEquals(Collections.singletonList(SOAPVersion.SOAP_12.contentType + ";action=\"urn:echo\""),
+                headers.get("Content-Type"));
+        assertNull(headers.get("SOAPAction"));
+
+        headers = endpoint.requests.get(1).getSatellite(LocalConnectionImpl.class).getRequestHeaders();
+        assertEquals(Collections.singletonList(SOAPVersion.SOAP_12.contentType), headers.get("Content-Type"));
+        assertNull(endpoint.requests.get(1).soapAction);
+    }
+
+    public void testApplicationHeadersPassedOn() throws Exception {
+        StubEndpoint endpoint = new StubEndpoint(BindingID.SOAP11_HTTP);
+        Packet request = new Packet(Messages.createEmpty(SOAPVersion.SOAP_11));
+        Map<String, List<String>> appHeaders = new HashMap<String, List<String>>();
+        appHeaders.put("X-Trace", Collections.singletonList("42"));
+        request.invocationProperties.put(MessageContext.HTTP_REQUEST_HEADERS, appHeaders);
+        createTube(endpoint).process(request);
+
+        Map<String, List<String>> headers = endpoint.requests.get(0).getSatellite(LocalConnectionImpl.class).getRequestHeaders();
+        assertEquals(Collections.singletonList("42"), headers.get("X-Trace"));
+        assertNotNull(headers.get("Content-Type"));
+        // the application's map isn't changed
+        assertEquals(1, appHeaders.size());
+    }
+
+    public void testOneWay() throws Exception {
+        StubEndpoint endpoint = new StubEndpoint(BindingID.SOAP11_HTTP);
+        endpoint.oneWay = true;
+        Packet response = createTube(endpoint).process(new Packet(Messages.createEmpty(SOAPVersion.SOAP_11)));
+
+        assertNull(response.getMessage());
+        assertEquals(WSHTTPConnection.ONEWAY,
+                endpoint.requests.get(0).getSatellite(LocalConnectionImpl.class).getStatus());
+    }
+
+    public void testCopiesSharePipeHeads() throws Exception {
+        StubEndpoint endpoint = new StubEndpoint(BindingID.SOAP11_HTTP);
+        InVmDirectTransportTube tube = createTube(endpoint);
+        InVmDirectTransportTube copy = (InVmDirectTransportTube) TubeCloner.clone(tube);
+        assertNotSame(tube, copy);
+
+        tube.process(new Packet(Messages.createEmpty(SOAPVersion.SOAP_11)));
+        copy.process(new Packet(Messages.createEmpty(SOAPVersion.SOAP_11)));
+        copy.preDestroy();
+        tube.process(new Packet(Messages.createEmpty(SOAPVersion.SOAP_11)));
+
+        assertEquals(3, endpoint.requests.size());
+        assertEquals(1, endpoint.pipeHeads);
+    }
+
+    private static InVmDirectTransportTube createTube(WSEndpoint<?> endpoint) throws Exception {
+        return new InVmDirectTransportTube(new URI("in-vm-direct://test/"), endpoint);
+    }
+
+    /**
+     * Endpoint whose pipe heads record the requests, and reply with an empty message.
+     */
+    private static final class StubEndpoint extends WSEndpoint<Object> {
+        private final WSBinding binding;
+        final List<Packet> requests = new ArrayList<Packet>();
+        final List<Message> responses = new ArrayList<Message>();
+        boolean oneWay;
+        int pipeHeads;
+
+        StubEndpoint(BindingID bindingId) {
+            this.binding = BindingImpl.create(bindingId);
+        }
+
+        public WSBinding getBinding() {
+            return binding;
+        }
+
+        public PipeHead createPipeHead() {
+            pipeHeads++;
+            return new PipeHead() {
+                public Packet process(Packet request, WebServiceContextDelegate wscd, TransportBackChannel tbc) {
+                    requests.add(request);
+                    if (oneWay) {
+                        tbc.close();
+                        return request.createServerResponse(null, null, null, binding);
+                    }
+                    Message reply = Messages.createEmpty(binding.getSOAPVersion());
+                    responses.add(reply);
+                    return request.createServerResponse(reply, null, null, binding);
+                }
+            };
+        }
+
+        public Codec createCodec() {
+            throw new UnsupportedOperationException();
+        }
+
+        public QName getServiceName() {
+            return new QName("http://example.org/", "StubService");
+        }
+
+        public QName getPortName() {
+            return new QName("http://example.org/", "StubPort");
+        }
+
+        public Class<Object> getImplementationClass() {
+            return Object.class;
+        }
+
+        public Container getContainer() {
+            return Container.NONE;
+        }
+
+        public WSDLPort getPort() {
+            return null;
+        }
+
+        public void setExecutor(Executor exec) {
+        }
+
+        public void schedule(Packet request, CompletionCallback callback, FiberContextSwitchInterceptor interceptor) {
+            throw new UnsupportedOperationException();
+        }
+
+        public void dispose() {
+        }
+
+        public ServiceDefinition getServiceDefinition() {
+            return null;
+        }
+
+        public Set<EndpointComponent> getComponentRegistry() {
+            return Collections.emptySet();
+        }
+
+        public SEIModel getSEIModel() {
+            return null;
+        }
+
+        public PolicyMap getPolicyMap() {
+            return null;
+        }
+
+        public ManagedObjectManager getManagedObjectManager() {
+            throw new UnsupportedOperationException();
+        }
+
+        public void closeManagedObjectManager() {
+        }
+
+        public ServerTubeAssemblerContext getAssemblerContext() {
+            throw new UnsupportedOperationException();
+        }
+
+        public <T extends EndpointReference> T getEndpointReference(Class<T> clazz, String address, String wsdlAddress, Element... referenceParameters) {
+            throw new UnsupportedOperationException();
+        }
+
+        public <T extends EndpointReference> T getEndpointReference(Class<T> clazz, String address, String wsdlAddress, List<Element> metadata, List<Element> referenceParameters) {
+            throw new UnsupportedOperationException();
+        }
+
+        public OperationDispatcher getOperationDispatcher() {
+            return null;
+        }
+
+        public Packet createServiceResponseForException(ThrowableContainerPropertySet tc, Packet responsePacket, SOAPVersion soapVersion, WSDLPort wsdlPort, SEIModel seiModel, WSBinding binding) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}